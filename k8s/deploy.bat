@@ -25,6 +25,13 @@ if errorlevel 1 (
     exit /b 1
 )
 
+echo Aplicando PersistentVolumeClaim...
+kubectl apply -f k8s/pvc.yaml
+if errorlevel 1 (
+    echo Falha ao aplicar PersistentVolumeClaim
+    exit /b 1
+)
+
 echo Aplicando Deployment...
 kubectl apply -f k8s/deployment.yaml
 if errorlevel 1 (
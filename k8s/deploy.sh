@@ -41,6 +41,14 @@ if [ $? -ne 0 ]; then
     exit 1
 fi
 
+# Aplicar volume das importações
+echo "Aplicando PersistentVolumeClaim..."
+kubectl apply -f k8s/pvc.yaml
+if [ $? -ne 0 ]; then
+    echo -e "${RED}Falha ao aplicar PersistentVolumeClaim${NC}"
+    exit 1
+fi
+
 # Aplicar Deployment
 echo "Aplicando Deployment..."
 kubectl apply -f k8s/deployment.yaml
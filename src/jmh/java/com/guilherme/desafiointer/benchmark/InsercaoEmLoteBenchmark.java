@@ -0,0 +1,107 @@
+package com.guilherme.desafiointer.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Vazão de inserts em lote pelo Hibernate com IDs IDENTITY (sem batch JDBC)
+ * e com sequência + otimizador pooled (batch de 50), no H2 em memória.
+ *
+ * No H2 em memória não há latência de rede; no PostgreSQL cada insert
+ * individual do IDENTITY custa também uma ida e volta, e a diferença cresce.
+ *
+ * Execução:
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="InsercaoEmLote -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsercaoEmLoteBenchmark {
+
+    @Param({"1000"})
+    private int linhas;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        // Sem logback.xml no classpath de teste o nível padrão é DEBUG
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(RemessaIdentity.class)
+                .addAnnotatedClass(RemessaSequencia.class)
+                .setProperty(AvailableSettings.URL, "jdbc:h2:mem:insercao-lote;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void identity() {
+        inserir(RemessaIdentity::new);
+    }
+
+    @Benchmark
+    public void sequenciaPooled() {
+        inserir(RemessaSequencia::new);
+    }
+
+    private void inserir(Supplier<Object> fabrica) {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < linhas; i++) {
+                session.persist(fabrica.get());
+            }
+            session.flush();
+            session.getTransaction().commit();
+        }
+    }
+
+    @Entity
+    @Table(name = "bench_remessas_identity")
+    public static class RemessaIdentity {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+        BigDecimal valor = new BigDecimal("100.00");
+        LocalDateTime dataCriacao = LocalDateTime.now();
+    }
+
+    @Entity
+    @Table(name = "bench_remessas_sequencia")
+    public static class RemessaSequencia {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bench_remessas_seq")
+        @SequenceGenerator(name = "bench_remessas_seq", sequenceName = "bench_remessas_seq", allocationSize = 50)
+        Long id;
+        BigDecimal valor = new BigDecimal("100.00");
+        LocalDateTime dataCriacao = LocalDateTime.now();
+    }
+}
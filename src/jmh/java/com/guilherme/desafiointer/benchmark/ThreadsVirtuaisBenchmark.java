@@ -0,0 +1,206 @@
+package com.guilherme.desafiointer.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Atendimento de requisições bloqueantes com threads de plataforma (pool
+ * fixo, como o do Tomcat) e com threads virtuais (spring.threads.virtual.enabled).
+ *
+ * Cada requisição simula o caminho de uma remessa: fica bloqueada por
+ * latenciaMs (lock pessimista, chamada ao BCB, commit) segurando uma trava
+ * própria, adquirida com ReentrantLock ou synchronized. Em threads virtuais,
+ * bloquear dentro de synchronized fixa a thread portadora e a vazão cai para
+ * a de um pool do tamanho do número de CPUs.
+ *
+ * - rajada: requisicoesAtendidas/s é a vazão com `requisicoes` requisições simultâneas
+ * - memoriaEmVoo: bytes de heap e de RSS (Linux) por requisição bloqueada,
+ *   com uma thread por requisição (a trava não se aplica)
+ *
+ * Execução (o modo VIRTUAL requer Java 21+):
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ThreadsVirtuais -prof gc"
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadsVirtuaisBenchmark {
+
+    public enum Modo {
+        PLATAFORMA, VIRTUAL
+    }
+
+    public enum Trava {
+        REENTRANT_LOCK, SYNCHRONIZED
+    }
+
+    private static final Path STATUS_PROCESSO = Path.of("/proc/self/status");
+
+    @Param({"PLATAFORMA", "VIRTUAL"})
+    private Modo modo;
+
+    @Param({"REENTRANT_LOCK", "SYNCHRONIZED"})
+    private Trava trava;
+
+    /** Requisições simultâneas */
+    @Param({"2000"})
+    private int requisicoes;
+
+    /** Espera bloqueante de cada requisição */
+    @Param({"10"})
+    private long latenciaMs;
+
+    /** Threads do pool de plataforma (padrão de server.tomcat.threads.max) */
+    @Param({"200"})
+    private int threadsPlataforma;
+
+    private ExecutorService pool;
+    private Executor executor;
+    private ThreadFactory fabrica;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Vazao {
+        public long requisicoesAtendidas;
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Memoria {
+        public long bytesHeapPorRequisicao;
+        public long bytesRssPorRequisicao;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (modo == Modo.VIRTUAL) {
+            VirtualThreadTaskExecutor virtual = new VirtualThreadTaskExecutor("benchmark-virtual-");
+            executor = virtual;
+            fabrica = virtual.getVirtualThreadFactory();
+        } else {
+            pool = Executors.newFixedThreadPool(threadsPlataforma);
+            executor = pool;
+            fabrica = Executors.defaultThreadFactory();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void rajada(Vazao vazao) throws InterruptedException {
+        CountDownLatch concluidas = new CountDownLatch(requisicoes);
+        for (int i = 0; i < requisicoes; i++) {
+            executor.execute(() -> {
+                atender();
+                concluidas.countDown();
+            });
+        }
+        concluidas.await();
+        vazao.requisicoesAtendidas += requisicoes;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    public void memoriaEmVoo(Memoria memoria) throws InterruptedException {
+        CountDownLatch emVoo = new CountDownLatch(requisicoes);
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(requisicoes);
+
+        System.gc();
+        long heapAntes = heapUsado();
+        long rssAntes = rss();
+        for (int i = 0; i < requisicoes; i++) {
+            Thread thread = fabrica.newThread(() -> {
+                emVoo.countDown();
+                aguardar(liberar);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        emVoo.await();
+        System.gc();
+        memoria.bytesHeapPorRequisicao = Math.max(0, heapUsado() - heapAntes) / requisicoes;
+        memoria.bytesRssPorRequisicao = Math.max(0, rss() - rssAntes) / requisicoes;
+
+        liberar.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private void atender() {
+        if (trava == Trava.SYNCHRONIZED) {
+            Object monitor = new Object();
+            synchronized (monitor) {
+                esperar();
+            }
+        } else {
+            ReentrantLock lock = new ReentrantLock();
+            lock.lock();
+            try {
+                esperar();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void esperar() {
+        try {
+            Thread.sleep(latenciaMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void aguardar(CountDownLatch liberar) {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long heapUsado() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Memória residente do processo em bytes (0 fora do Linux).
+     */
+    private static long rss() {
+        try {
+            for (String linha : Files.readAllLines(STATUS_PROCESSO)) {
+                if (linha.startsWith("VmRSS:")) {
+                    return Long.parseLong(linha.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,202 @@
+package com.guilherme.desafiointer.benchmark;
+
+import com.guilherme.desafiointer.service.validator.DocumentoValidationService;
+import com.guilherme.desafiointer.service.validator.ValidadorDocumento;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Comparação entre a validação de documentos anterior (regex + cópia limpa)
+ * e o {@link ValidadorDocumento} (varredura única, sem alocação).
+ *
+ * Execução:
+ * mvn -Pjmh test-compile exec:exec
+ *
+ * Para medir alocação por operação:
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ValidacaoDocumento -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoDocumentoBenchmark {
+
+    private static final int QUANTIDADE = 1024;
+
+    private String[] cpfs;
+    private String[] cnpjs;
+    private DocumentoValidationService service;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        cpfs = IntStream.range(0, QUANTIDADE).mapToObj(i -> gerarCPF(random)).toArray(String[]::new);
+        cnpjs = IntStream.range(0, QUANTIDADE).mapToObj(i -> gerarCNPJ(random)).toArray(String[]::new);
+        service = new DocumentoValidationService();
+
+        for (int i = 0; i < QUANTIDADE; i++) {
+            if (ImplementacaoAnterior.validarCPF(cpfs[i]) != ValidadorDocumento.validarCPF(cpfs[i])
+                    || ImplementacaoAnterior.validarCNPJ(cnpjs[i]) != ValidadorDocumento.validarCNPJ(cnpjs[i])) {
+                throw new IllegalStateException("Implementações divergem: " + cpfs[i] + " / " + cnpjs[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public void cpfAnterior(Blackhole bh) {
+        for (String cpf : cpfs) {
+            bh.consume(ImplementacaoAnterior.validarCPF(cpf));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public void cpfVarredura(Blackhole bh) {
+        for (String cpf : cpfs) {
+            bh.consume(ValidadorDocumento.validarCPF(cpf));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public void cnpjAnterior(Blackhole bh) {
+        for (String cnpj : cnpjs) {
+            bh.consume(ImplementacaoAnterior.validarCNPJ(cnpj));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE)
+    public void cnpjVarredura(Blackhole bh) {
+        for (String cnpj : cnpjs) {
+            bh.consume(ValidadorDocumento.validarCNPJ(cnpj));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * QUANTIDADE)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object loteParalelo() {
+        return service.validarLote(IntStream.range(0, 2 * QUANTIDADE)
+                .mapToObj(i -> i < QUANTIDADE ? cpfs[i] : cnpjs[i - QUANTIDADE]));
+    }
+
+    /**
+     * Gera CPF formatado; 1 em cada 8 com verificador alterado.
+     */
+    private static String gerarCPF(Random random) {
+        int[] d = new int[11];
+        for (int i = 0; i < 9; i++) {
+            d[i] = random.nextInt(10);
+        }
+        int soma = 0;
+        for (int i = 0; i < 9; i++) {
+            soma += d[i] * (10 - i);
+        }
+        d[9] = (11 - soma % 11) >= 10 ? 0 : 11 - soma % 11;
+        soma = 0;
+        for (int i = 0; i < 10; i++) {
+            soma += d[i] * (11 - i);
+        }
+        d[10] = (11 - soma % 11) >= 10 ? 0 : 11 - soma % 11;
+        if (random.nextInt(8) == 0) {
+            d[10] = (d[10] + 1) % 10;
+        }
+        return String.format("%d%d%d.%d%d%d.%d%d%d-%d%d",
+                d[0], d[1], d[2], d[3], d[4], d[5], d[6], d[7], d[8], d[9], d[10]);
+    }
+
+    /**
+     * Gera CNPJ numérico formatado; 1 em cada 8 com verificador alterado.
+     */
+    private static String gerarCNPJ(Random random) {
+        int[] pesos = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+        int[] d = new int[14];
+        for (int i = 0; i < 12; i++) {
+            d[i] = random.nextInt(10);
+        }
+        for (int v = 12; v < 14; v++) {
+            int soma = 0;
+            for (int i = 0; i < v; i++) {
+                soma += d[i] * pesos[i + 13 - v];
+            }
+            d[v] = soma % 11 < 2 ? 0 : 11 - soma % 11;
+        }
+        if (random.nextInt(8) == 0) {
+            d[13] = (d[13] + 1) % 10;
+        }
+        return String.format("%d%d.%d%d%d.%d%d%d/%d%d%d%d-%d%d",
+                d[0], d[1], d[2], d[3], d[4], d[5], d[6], d[7], d[8], d[9], d[10], d[11], d[12], d[13]);
+    }
+
+    /**
+     * Implementação anterior, mantida apenas como referência de comparação.
+     */
+    static final class ImplementacaoAnterior {
+
+        static boolean validarCPF(String cpf) {
+            String cpfLimpo = cpf.replaceAll("[^0-9]", "");
+            if (cpfLimpo.length() != 11 || cpfLimpo.matches("(\\d)\\1{10}")) {
+                return false;
+            }
+            int[] numeros = new int[11];
+            for (int i = 0; i < 11; i++) {
+                numeros[i] = Character.getNumericValue(cpfLimpo.charAt(i));
+            }
+            int soma = 0;
+            for (int i = 0; i < 9; i++) {
+                soma += numeros[i] * (10 - i);
+            }
+            int dv1 = 11 - (soma % 11);
+            if (dv1 >= 10) {
+                dv1 = 0;
+            }
+            if (numeros[9] != dv1) {
+                return false;
+            }
+            soma = 0;
+            for (int i = 0; i < 10; i++) {
+                soma += numeros[i] * (11 - i);
+            }
+            int dv2 = 11 - (soma % 11);
+            if (dv2 >= 10) {
+                dv2 = 0;
+            }
+            return numeros[10] == dv2;
+        }
+
+        static boolean validarCNPJ(String cnpj) {
+            String cnpjLimpo = cnpj.replaceAll("[^0-9]", "");
+            if (cnpjLimpo.length() != 14 || cnpjLimpo.matches("(\\d)\\1{13}")) {
+                return false;
+            }
+            int[] numeros = new int[14];
+            for (int i = 0; i < 14; i++) {
+                numeros[i] = Character.getNumericValue(cnpjLimpo.charAt(i));
+            }
+            int[] pesos1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+            int soma = 0;
+            for (int i = 0; i < 12; i++) {
+                soma += numeros[i] * pesos1[i];
+            }
+            int dv1 = soma % 11 < 2 ? 0 : 11 - soma % 11;
+            if (numeros[12] != dv1) {
+                return false;
+            }
+            int[] pesos2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+            soma = 0;
+            for (int i = 0; i < 13; i++) {
+                soma += numeros[i] * pesos2[i];
+            }
+            int dv2 = soma % 11 < 2 ? 0 : 11 - soma % 11;
+            return numeros[13] == dv2;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.guilherme.desafiointer.benchmark;
+
+import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.service.validator.RemessaRequestValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparação entre a validação de {@link RemessaRequestDTO} por Bean Validation
+ * (executada três vezes por requisição antes da mudança) e o
+ * {@link RemessaRequestValidator} pré-compilado.
+ *
+ * Execução:
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ValidacaoRemessa -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoRemessaBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator beanValidator;
+    private RemessaRequestDTO requisicao;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidator = validatorFactory.getValidator();
+        requisicao = RemessaRequestDTO.builder()
+                .usuarioId(1L)
+                .destinatarioId(2L)
+                .valor(new BigDecimal("1500.00"))
+                .moedaDestino("USD")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public void beanValidationTresPassadas(Blackhole bh) {
+        bh.consume(beanValidator.validate(requisicao));
+        bh.consume(beanValidator.validate(requisicao));
+        bh.consume(beanValidator.validate(requisicao));
+    }
+
+    @Benchmark
+    public Object beanValidationUmaPassada() {
+        return beanValidator.validate(requisicao);
+    }
+
+    @Benchmark
+    public int validadorPreCompilado() {
+        return RemessaRequestValidator.verificar(requisicao);
+    }
+}
@@ -0,0 +1,111 @@
+package com.guilherme.desafiointer.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import java.time.Duration;
+
+/**
+ * Propriedades do controle de admissão de remessas individuais e de
+ * consultas de histórico.
+ *
+ * Cada remetente tem um balde de tokens (taxa sustentada e rajada) e o
+ * total de remessas (e de consultas) em processamento na instância é
+ * limitado. Requisições acima disso são recusadas com 429 e Retry-After
+ * antes de ocupar uma conexão ou esperar pelo lock da carteira. O estado
+ * é mantido por instância.
+ *
+ * Com o limite adaptativo, os máximos passam a ser tetos: o limite efetivo
+ * é ajustado pela latência observada e pela espera por conexões do pool.
+ *
+ * Exemplo de configuração:
+ * remessas.admissao.habilitado=true
+ * remessas.admissao.remessas-por-segundo=5
+ * remessas.admissao.rajada=10
+ * remessas.admissao.maximo-em-processamento=50
+ * remessas.admissao.maximo-consultas=100
+ * remessas.admissao.adaptativo.habilitado=true
+ * remessas.admissao.adaptativo.tolerancia=1.5
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "remessas.admissao")
+@Validated
+public class AdmissaoRemessasProperties {
+
+    /** Habilita o controle de admissão */
+    private boolean habilitado = false;
+
+    /** Remessas por segundo sustentadas por remetente */
+    @Min(1)
+    private int remessasPorSegundo = 5;
+
+    /** Remessas aceitas de uma vez por um remetente sem uso recente */
+    @Min(1)
+    private int rajada = 10;
+
+    /** Remessas em processamento na instância, somando todos os remetentes */
+    @Min(1)
+    private int maximoEmProcessamento = 50;
+
+    /** Consultas de histórico em processamento na instância */
+    @Min(1)
+    private int maximoConsultas = 100;
+
+    /** Retry-After informado quando o limite da instância é atingido */
+    @NotNull
+    private Duration esperaCapacidadeEsgotada = Duration.ofSeconds(1);
+
+    /** Intervalo de remoção dos baldes de remetentes sem uso */
+    @NotNull
+    private Duration intervaloLimpeza = Duration.ofMinutes(1);
+
+    /** Limite de concorrência ajustado pela latência */
+    @Valid
+    @NotNull
+    private Adaptativo adaptativo = new Adaptativo();
+
+    /**
+     * Ajuste do limite de concorrência por gradiente de latência: o limite
+     * cai quando a latência recente supera a média de longo prazo além da
+     * tolerância, ou quando uma fração do pool está esperando conexão, e
+     * cresce enquanto a latência se mantém.
+     */
+    @Data
+    public static class Adaptativo {
+
+        /** Ajusta os limites da instância pela latência em vez de usar os máximos fixos */
+        private boolean habilitado = false;
+
+        /** Limite mínimo, mesmo sob latência alta */
+        @Min(1)
+        private int limiteMinimo = 2;
+
+        /** Razão entre a latência recente e a de longo prazo tolerada antes de reduzir o limite */
+        @DecimalMin("1.0")
+        private double tolerancia = 1.5;
+
+        /** Peso de cada ajuste no limite (0 a 1) */
+        @DecimalMin("0.01")
+        @DecimalMax("1.0")
+        private double suavizacao = 0.2;
+
+        /** Amostras da média de longo prazo da latência */
+        @Min(10)
+        private int amostrasLatenciaLonga = 600;
+
+        /**
+         * Fração do tamanho máximo do pool de conexões em espera que reduz o
+         * limite; inclui os trabalhos em segundo plano, que usam o mesmo pool
+         */
+        @DecimalMin("0.01")
+        @DecimalMax("1.0")
+        private double razaoEsperaConexoes = 0.5;
+    }
+}
@@ -29,6 +29,7 @@ import java.util.List;
  *   <li><strong>cotacoes</strong>: Cache de cotações de moedas do BCB</li>
  *   <li><strong>historico</strong>: Cache de consultas de histórico de transações</li>
  *   <li><strong>totais</strong>: Cache de totais agregados por usuário</li>
+ *   <li><strong>usuarios</strong>: Snapshots de usuários por ID, com índices por documento e email</li>
  * </ul>
  */
 @Slf4j
@@ -44,7 +45,10 @@ public class CacheConfig {
     private static final List<String> CACHE_NAMES = Arrays.asList(
             AppConstants.CACHE_COTACOES,
             AppConstants.CACHE_HISTORICO,
-            AppConstants.CACHE_TOTAIS
+            AppConstants.CACHE_TOTAIS,
+            AppConstants.CACHE_USUARIOS,
+            AppConstants.CACHE_USUARIOS_DOCUMENTO,
+            AppConstants.CACHE_USUARIOS_EMAIL
     );
 
     /**
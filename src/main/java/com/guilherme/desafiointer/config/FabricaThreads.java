@@ -0,0 +1,73 @@
+package com.guilherme.desafiointer.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Fábrica das threads de processamento em segundo plano da aplicação.
+ *
+ * Com spring.threads.virtual.enabled=true em Java 21+, o Spring Boot atende
+ * as requisições HTTP (e portanto as chamadas ao BCB e o BCrypt feitos nelas)
+ * e as tarefas @Async/@Scheduled em threads virtuais. Esta fábrica estende o
+ * mesmo modo aos executores próprios que bloqueiam em I/O de banco:
+ * partições da importação de remessas, agrupamento e envio assíncrono.
+ * Em Java 17, ou com a propriedade desligada, as threads são de plataforma
+ * (daemon), como antes.
+ */
+@Slf4j
+@Component
+public class FabricaThreads {
+
+    private final boolean virtuais;
+
+    public FabricaThreads(Environment environment) {
+        this.virtuais = Threading.VIRTUAL.isActive(environment);
+        log.info("Threads de processamento em segundo plano: {}", virtuais ? "virtuais" : "plataforma");
+    }
+
+    /**
+     * @return true se as threads criadas são virtuais
+     */
+    public boolean virtuais() {
+        return virtuais;
+    }
+
+    /**
+     * Fábrica para executores de uma única thread.
+     *
+     * @param nome nome da thread (threads virtuais recebem o sufixo "-N")
+     * @return fábrica de threads
+     */
+    public ThreadFactory criar(String nome) {
+        return virtuais ? virtual(nome) : plataforma(indice -> nome);
+    }
+
+    /**
+     * Fábrica para executores com várias threads, numeradas a partir de zero.
+     *
+     * @param prefixo prefixo do nome das threads
+     * @return fábrica de threads
+     */
+    public ThreadFactory criarNumeradas(String prefixo) {
+        return virtuais ? virtual(prefixo) : plataforma(indice -> prefixo + "-" + indice);
+    }
+
+    private static ThreadFactory virtual(String prefixo) {
+        return new VirtualThreadTaskExecutor(prefixo + "-").getVirtualThreadFactory();
+    }
+
+    private static ThreadFactory plataforma(IntFunction<String> nomes) {
+        AtomicInteger contador = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, nomes.apply(contador.getAndIncrement()));
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.guilherme.desafiointer.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriedades do filtro de unicidade de documentos e emails.
+ *
+ * O filtro é um pré-teste probabilístico: resposta negativa dispensa as
+ * consultas de existência no banco; as constraints únicas continuam
+ * sendo a fonte da verdade. Seguro com múltiplas réplicas.
+ *
+ * Exemplo de configuração:
+ * usuarios.filtro-unicidade.habilitado=true
+ * usuarios.filtro-unicidade.capacidade-esperada=1000000
+ * usuarios.filtro-unicidade.taxa-falso-positivo=0.01
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "usuarios.filtro-unicidade")
+@Validated
+public class FiltroUnicidadeProperties {
+
+    /** Habilita o pré-teste em memória */
+    private boolean habilitado = true;
+
+    /** Quantidade de usuários para a qual o filtro é dimensionado */
+    @Min(1)
+    private int capacidadeEsperada = 1_000_000;
+
+    /** Taxa de falso positivo desejada na capacidade esperada */
+    @DecimalMin(value = "0.0", inclusive = false)
+    @DecimalMax(value = "1.0", inclusive = false)
+    private double taxaFalsoPositivo = 0.01;
+}
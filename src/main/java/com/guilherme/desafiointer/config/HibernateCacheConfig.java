@@ -0,0 +1,103 @@
+package com.guilherme.desafiointer.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.guilherme.desafiointer.config.constants.AppConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Configuração do cache de segundo nível do Hibernate sobre JCache (Caffeine).
+ *
+ * Cada região de entidade é criada explicitamente com tamanho máximo e
+ * expiração lidos de {@link CacheProperties} (chave {@code cache.config.<regiao>});
+ * uma entidade anotada com região não configurada impede a inicialização
+ * em vez de criar um cache sem limite. Sem esta configuração (ex.: testes
+ * de repositório), o cache de segundo nível permanece desligado.
+ *
+ * Exemplo de configuração:
+ * cache.segundo-nivel.habilitado=true
+ * cache.config.entidadeUsuario.maximum-size=50000
+ *
+ * Regiões:
+ * - entidadeUsuario: {@code Usuario} (READ_WRITE)
+ *
+ * O cache é local a cada réplica: alterações feitas em outra instância só
+ * são vistas após a expiração da região, por isso ela expira antes do cache
+ * de usuários que carrega a partir dela. {@code CotacaoHistorico} não é
+ * cacheada: é lida apenas por consultas JPQL (última cotação), que não
+ * passam pelo cache de entidades.
+ *
+ * As entradas são guardadas por referência (sem cópia serializada), e as
+ * estatísticas do Hibernate (acertos/erros por região) são publicadas
+ * como métricas {@code hibernate.second.level.cache.requests}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "cache.segundo-nivel", name = "habilitado", havingValue = "true",
+        matchIfMissing = true)
+@RequiredArgsConstructor
+public class HibernateCacheConfig {
+
+    private static final List<String> REGIOES = List.of(
+            AppConstants.REGIAO_USUARIO
+    );
+
+    private final CacheProperties cacheProperties;
+
+    /**
+     * CacheManager JCache exclusivo do Hibernate. A URI é única por contexto
+     * para que contextos distintos (ex.: testes) não compartilhem regiões.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+                CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("hibernate-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        REGIOES.forEach(regiao -> cacheManager.createCache(regiao, configuracao(regiao)));
+        log.info("Cache de segundo nível configurado com regiões {}", REGIOES);
+        return cacheManager;
+    }
+
+    /**
+     * Liga o cache de segundo nível e entrega o CacheManager configurado
+     * à fábrica de regiões JCache do Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    private CaffeineConfiguration<Object, Object> configuracao(String regiao) {
+        CacheProperties.CacheConfig config = cacheProperties.getConfig().getOrDefault(regiao,
+                cacheProperties.getConfig().getOrDefault("default", new CacheProperties.CacheConfig()));
+
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setTypes(Object.class, Object.class);
+        configuracao.setStoreByValue(false);
+        configuracao.setStatisticsEnabled(true);
+        configuracao.setMaximumSize(OptionalLong.of(config.getMaximumSize()));
+        configuracao.setExpireAfterWrite(OptionalLong.of(config.getExpireAfterWrite().toNanos()));
+        return configuracao;
+    }
+}
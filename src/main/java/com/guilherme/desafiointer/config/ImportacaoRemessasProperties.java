@@ -0,0 +1,57 @@
+package com.guilherme.desafiointer.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import java.time.Duration;
+
+/**
+ * Propriedades da importação de remessas por arquivo.
+ *
+ * Exemplo de configuração:
+ * remessas.importacao.particoes=8
+ * remessas.importacao.tamanho-bloco=500
+ * remessas.importacao.capacidade-fila=10000
+ * remessas.importacao.diretorio=/var/lib/conversor/importacoes-remessas
+ * remessas.importacao.expiracao-execucao=PT2M
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "remessas.importacao")
+@Validated
+public class ImportacaoRemessasProperties {
+
+    /** Partições (uma thread cada) em que as linhas são divididas por remetente */
+    @Min(1)
+    private int particoes = 4;
+
+    /** Linhas de uma partição gravadas por transação */
+    @Min(1)
+    private int tamanhoBloco = 500;
+
+    /** Linhas lidas e ainda não processadas por partição (limita a memória da leitura) */
+    @Min(1)
+    private int capacidadeFila = 10_000;
+
+    /**
+     * Diretório dos arquivos recebidos e dos resultados por linha. Com mais de
+     * uma instância deve ser um volume compartilhado e persistente (PVC
+     * ReadWriteMany, k8s/pvc.yaml): a importação pode ser retomada e o
+     * resultado lido por qualquer instância, e sobrevive a reinícios.
+     * Obrigatório no perfil prod (REMESSAS_IMPORTACAO_DIRETORIO); fora dele o
+     * application.yml usa um diretório temporário local.
+     */
+    @NotBlank
+    private String diretorio;
+
+    /**
+     * Tempo sem renovação após o qual uma execução em andamento é considerada
+     * encerrada e a importação pode ser retomada (renovada a cada um terço dele)
+     */
+    @NotNull
+    private Duration expiracaoExecucao = Duration.ofMinutes(2);
+}
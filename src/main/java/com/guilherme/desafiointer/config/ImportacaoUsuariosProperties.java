@@ -0,0 +1,41 @@
+package com.guilherme.desafiointer.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import java.time.Duration;
+
+/**
+ * Propriedades da importação em lote de usuários.
+ *
+ * Exemplo de configuração:
+ * usuarios.importacao.paralelismo=8
+ * usuarios.importacao.tamanho-lote=1000
+ * usuarios.importacao.maximo-erros=1000
+ * usuarios.importacao.retencao=PT1H
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "usuarios.importacao")
+@Validated
+public class ImportacaoUsuariosProperties {
+
+    /** Threads do pool de validação e hash de senhas (BCrypt) */
+    @Min(1)
+    private int paralelismo = Runtime.getRuntime().availableProcessors();
+
+    /** Linhas processadas e gravadas por lote (uma transação por lote) */
+    @Min(1)
+    private int tamanhoLote = 1000;
+
+    /** Quantidade máxima de erros de linha mantidos no resultado */
+    @Min(0)
+    private int maximoErros = 1000;
+
+    /** Tempo em que a situação de uma importação finalizada permanece disponível para consulta */
+    @NotNull
+    private Duration retencao = Duration.ofHours(1);
+}
@@ -0,0 +1,36 @@
+package com.guilherme.desafiointer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import java.time.Duration;
+
+/**
+ * Propriedades do acumulador de limite diário em memória.
+ *
+ * O acumulador mantém o uso diário por usuário na própria instância,
+ * portanto só deve ser habilitado quando uma única instância processa
+ * as remessas de cada usuário. Com múltiplas réplicas sem afinidade,
+ * mantenha desabilitado (controle via banco).
+ *
+ * Exemplo de configuração:
+ * limite.acumulador.habilitado=true
+ * limite.acumulador.intervalo-flush=PT1S
+ * limite.acumulador.tamanho-lote=500
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "limite.acumulador")
+@Validated
+public class LimiteAcumuladorProperties {
+
+    /** Habilita o controle de limite diário em memória */
+    private boolean habilitado = false;
+
+    /** Intervalo entre gravações assíncronas dos totais no banco */
+    private Duration intervaloFlush = Duration.ofSeconds(1);
+
+    /** Número máximo de usuários gravados por lote */
+    private int tamanhoLote = 500;
+}
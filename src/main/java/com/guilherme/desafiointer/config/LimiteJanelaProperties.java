@@ -0,0 +1,39 @@
+package com.guilherme.desafiointer.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import java.time.Duration;
+
+/**
+ * Propriedades do limite em janela deslizante (últimas 24h por padrão).
+ *
+ * A janela é dividida em baldes de duração fixa; o total da janela
+ * é a soma dos baldes. Assim como o acumulador diário, o estado é
+ * mantido por instância.
+ *
+ * Exemplo de configuração:
+ * limite.janela.habilitado=true
+ * limite.janela.baldes=96
+ * limite.janela.duracao-balde=PT15M
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "limite.janela")
+@Validated
+public class LimiteJanelaProperties {
+
+    /** Habilita o limite em janela deslizante */
+    private boolean habilitado = false;
+
+    /** Quantidade de baldes da janela */
+    @Min(1)
+    private int baldes = 96;
+
+    /** Duração de cada balde */
+    @NotNull
+    private Duration duracaoBalde = Duration.ofMinutes(15);
+}
@@ -0,0 +1,53 @@
+package com.guilherme.desafiointer.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import java.time.Duration;
+
+/**
+ * Propriedades do agrupamento de remessas individuais em uma transação
+ * (group commit).
+ *
+ * A janela é o tempo máximo que a primeira remessa de um grupo espera por
+ * outras; com pouca carga ela aumenta a latência sem ganho, por isso o
+ * agrupamento fica desabilitado por padrão.
+ *
+ * Exemplo de configuração:
+ * remessas.agrupamento.habilitado=true
+ * remessas.agrupamento.janela=PT0.005S
+ * remessas.agrupamento.tamanho-maximo=200
+ * remessas.agrupamento.capacidade-fila=10000
+ * remessas.agrupamento.tempo-maximo-espera=PT30S
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "remessas.agrupamento")
+@Validated
+public class RemessaAgrupamentoProperties {
+
+    /** Agrupa remessas independentes recebidas na janela em uma única transação */
+    private boolean habilitado = false;
+
+    /** Tempo máximo de espera da primeira remessa do grupo */
+    @NotNull
+    private Duration janela = Duration.ofMillis(5);
+
+    /** Remessas por transação */
+    @Min(1)
+    private int tamanhoMaximo = 200;
+
+    /** Remessas aguardando transação; acima disso novas remessas são recusadas */
+    @Min(1)
+    private int capacidadeFila = 10_000;
+
+    /**
+     * Espera máxima do chamador pelo resultado da remessa; deve superar a
+     * janela somada à gravação de um grupo (incluindo a espera pelos locks)
+     */
+    @NotNull
+    private Duration tempoMaximoEspera = Duration.ofSeconds(30);
+}
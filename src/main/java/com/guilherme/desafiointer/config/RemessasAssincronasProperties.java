@@ -0,0 +1,56 @@
+package com.guilherme.desafiointer.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import java.time.Duration;
+
+/**
+ * Propriedades do envio assíncrono de remessas (202 Accepted).
+ *
+ * Exemplo de configuração:
+ * remessas.assincronas.particoes=8
+ * remessas.assincronas.capacidade-fila=1000
+ * remessas.assincronas.retencao=PT1H
+ * remessas.assincronas.tempo-maximo-eventos=PT1M
+ * remessas.assincronas.espera-retomada=PT1M
+ * remessas.assincronas.intervalo-retomada=PT15S
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "remessas.assincronas")
+@Validated
+public class RemessasAssincronasProperties {
+
+    /** Partições (uma thread cada) em que as remessas são divididas por remetente */
+    @Min(1)
+    private int particoes = 4;
+
+    /** Remessas aguardando processamento por partição; acima disso novos envios são recusados */
+    @Min(1)
+    private int capacidadeFila = 1_000;
+
+    /** Tempo em que a situação de uma remessa finalizada permanece gravada para consulta */
+    @NotNull
+    private Duration retencao = Duration.ofHours(1);
+
+    /** Tempo máximo de uma conexão de eventos (SSE) aguardando a conclusão */
+    @NotNull
+    private Duration tempoMaximoEventos = Duration.ofMinutes(1);
+
+    /**
+     * Tempo sem início de processamento após o qual uma remessa pendente é
+     * retomada por qualquer instância, e sem conclusão após o qual uma remessa
+     * em processamento é considerada interrompida. Deve superar a espera
+     * normal na fila e a duração de uma remessa.
+     */
+    @NotNull
+    private Duration esperaRetomada = Duration.ofMinutes(1);
+
+    /** Intervalo da verificação de remessas a retomar e das finalizadas a remover */
+    @NotNull
+    private Duration intervaloRetomada = Duration.ofSeconds(15);
+}
@@ -0,0 +1,27 @@
+package com.guilherme.desafiointer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Propriedades do cache de leitura de usuários.
+ *
+ * Tamanho máximo e expiração são definidos em {@code cache.config.usuarios},
+ * {@code cache.config.usuariosPorDocumento} e {@code cache.config.usuariosPorEmail}.
+ * A invalidação ocorre apenas na instância que alterou o usuário; nas demais
+ * réplicas a expiração limita o tempo de leitura desatualizada.
+ *
+ * Exemplo de configuração:
+ * usuarios.cache.habilitado=true
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "usuarios.cache")
+@Validated
+public class UsuarioCacheProperties {
+
+    /** Habilita a leitura de usuários via cache */
+    private boolean habilitado = true;
+}
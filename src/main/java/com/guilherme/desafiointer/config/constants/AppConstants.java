@@ -24,6 +24,9 @@ public class AppConstants {
     public static final int TAMANHO_PAGINA_PADRAO = 20;
     public static final int TAMANHO_MAXIMO_PAGINA = 100;
 
+    // Remessas em lote (um remetente, vários destinatários)
+    public static final int TAMANHO_MAXIMO_LOTE_REMESSAS = 5000;
+
     // Períodos
     public static final int PERIODO_MAXIMO_HISTORICO_DIAS = 90;
 
@@ -31,4 +34,13 @@ public class AppConstants {
     public static final String CACHE_COTACOES = "cotacoes";
     public static final String CACHE_HISTORICO = "historicoTransacoes";
     public static final String CACHE_TOTAIS = "totaisTransacoes";
+    public static final String CACHE_USUARIOS = "usuarios";
+    public static final String CACHE_USUARIOS_DOCUMENTO = "usuariosPorDocumento";
+    public static final String CACHE_USUARIOS_EMAIL = "usuariosPorEmail";
+
+    // Geração de IDs: sequências com otimizador pooled, alinhadas ao hibernate.jdbc.batch_size
+    public static final int TAMANHO_ALOCACAO_IDS = 50;
+
+    // Regiões do cache de segundo nível do Hibernate
+    public static final String REGIAO_USUARIO = "entidadeUsuario";
 }
\ No newline at end of file
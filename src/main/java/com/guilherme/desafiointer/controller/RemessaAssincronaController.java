@@ -0,0 +1,99 @@
+package com.guilherme.desafiointer.controller;
+
+import com.guilherme.desafiointer.dto.remessa.RemessaAssincronaDTO;
+import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.exception.domain.AdmissaoRecusadaException;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.service.admissao.ControleAdmissao;
+import com.guilherme.desafiointer.service.assincrona.RemessasAssincronasService;
+import com.guilherme.desafiointer.service.validator.RemessaRequestValidator;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.util.UUID;
+
+/**
+ * Controller REST para envio assíncrono de remessas.
+ *
+ * Alternativa ao POST /api/remessas para picos de carga: a remessa é
+ * aceita (202) após a validação dos campos e processada em segundo plano,
+ * com as mesmas regras da remessa síncrona. A taxa do remetente
+ * (remessas.admissao) é verificada no envio.
+ *
+ * Endpoints disponíveis:
+ * - POST /api/remessas/assincronas - Envia remessa para processamento
+ * - GET /api/remessas/assincronas/{id} - Consulta situação
+ * - GET /api/remessas/assincronas/{id}/eventos - Acompanha a situação por eventos (SSE)
+ *
+ * @see RemessasAssincronasService
+ */
+@RestController
+@RequestMapping("/api/remessas/assincronas")
+@RequiredArgsConstructor
+@Slf4j
+public class RemessaAssincronaController {
+
+    private final RemessasAssincronasService remessasAssincronasService;
+    private final RemessaRequestValidator remessaRequestValidator;
+    private final ControleAdmissao controleAdmissao;
+
+    /**
+     * Usa o mesmo validador pré-compilado da remessa síncrona.
+     */
+    @InitBinder("remessaRequestDTO")
+    void configurarValidador(WebDataBinder binder) {
+        binder.setValidator(remessaRequestValidator);
+    }
+
+    /**
+     * Envia uma remessa para processamento em segundo plano.
+     *
+     * @param request dados da remessa
+     * @return 202 com a situação inicial e o endereço de consulta em Location
+     * @throws RemessaException quando dados inválidos ou a fila do remetente está cheia
+     * @throws AdmissaoRecusadaException quando a taxa do remetente foi excedida (429)
+     */
+    @PostMapping
+    public ResponseEntity<RemessaAssincronaDTO> enviar(@Valid @RequestBody RemessaRequestDTO request) {
+        log.debug("Recebendo remessa assíncrona: {}", request);
+        controleAdmissao.verificarTaxa(request.getUsuarioId());
+        RemessaAssincronaDTO situacao = remessasAssincronasService.enviar(request);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{id}")
+                        .buildAndExpand(situacao.id())
+                        .toUri())
+                .body(situacao);
+    }
+
+    /**
+     * Consulta a situação de uma remessa enviada.
+     *
+     * @param id identificador retornado no envio
+     * @return situação e, se concluída, a remessa realizada
+     * @throws RemessaException quando a remessa não existe ou a retenção expirou
+     */
+    @GetMapping("/{id}")
+    public RemessaAssincronaDTO consultar(@PathVariable UUID id) {
+        return remessasAssincronasService.consultar(id);
+    }
+
+    /**
+     * Acompanha a remessa por eventos "situacao"; o fluxo termina quando a
+     * remessa é concluída ou rejeitada.
+     *
+     * @param id identificador retornado no envio
+     * @return fluxo de eventos
+     * @throws RemessaException quando a remessa não existe ou a retenção expirou
+     */
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanhar(@PathVariable UUID id) {
+        return remessasAssincronasService.acompanhar(id);
+    }
+}
@@ -1,17 +1,27 @@
 package com.guilherme.desafiointer.controller;
 
 import com.guilherme.desafiointer.domain.Remessa;
+import com.guilherme.desafiointer.dto.remessa.RemessaLiquidacaoRequestDTO;
+import com.guilherme.desafiointer.dto.remessa.RemessaLiquidacaoResponseDTO;
+import com.guilherme.desafiointer.dto.remessa.RemessaLoteRequestDTO;
+import com.guilherme.desafiointer.dto.remessa.RemessaLoteResponseDTO;
 import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
 import com.guilherme.desafiointer.dto.remessa.RemessaResponseDTO;
+import com.guilherme.desafiointer.exception.domain.AdmissaoRecusadaException;
 import com.guilherme.desafiointer.exception.domain.SaldoInsuficienteException;
 import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.service.admissao.ControleAdmissao;
+import com.guilherme.desafiointer.service.agrupamento.AgrupadorRemessas;
 import com.guilherme.desafiointer.service.interfaces.RemessaServiceInterface;
+import com.guilherme.desafiointer.service.validator.RemessaRequestValidator;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * Controller REST para operações de remessa internacional.
@@ -28,6 +38,8 @@ import org.springframework.web.bind.annotation.*;
  *
  * Endpoints disponíveis:
  * - POST /api/remessas - Realizar nova remessa
+ * - POST /api/remessas/lote - Realizar remessas de um remetente para vários destinatários
+ * - POST /api/remessas/liquidacoes - Liquidar remessas entre vários participantes por compensação
  *
  * Limites diários:
  * - Pessoa Física (PF): R$ 10.000,00
@@ -40,11 +52,23 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/api/remessas")
 @RequiredArgsConstructor
-@Validated
 @Slf4j
 public class RemessaController {
 
     private final RemessaServiceInterface remessaService;
+    private final RemessaRequestValidator remessaRequestValidator;
+    private final AgrupadorRemessas agrupadorRemessas;
+    private final ControleAdmissao controleAdmissao;
+
+    /**
+     * Substitui o Bean Validation pelo validador pré-compilado da remessa.
+     * O DTO aprovado segue marcado como validado e não é verificado de novo
+     * no serviço.
+     */
+    @InitBinder("remessaRequestDTO")
+    void configurarValidador(WebDataBinder binder) {
+        binder.setValidator(remessaRequestValidator);
+    }
 
     /**
      * Realiza uma remessa internacional entre usuários.
@@ -59,16 +83,77 @@ public class RemessaController {
      * - Limite diário não excedido
      * - Dados válidos da requisição
      *
+     * Com o agrupamento habilitado (remessas.agrupamento), a remessa é gravada
+     * na mesma transação de outras remessas independentes recebidas na janela.
+     *
+     * Com o controle de admissão habilitado (remessas.admissao), remessas acima
+     * da taxa do remetente ou da capacidade da instância são recusadas antes
+     * do processamento; o mesmo vale para lotes e liquidações.
+     *
      * @param request dados da remessa incluindo IDs dos usuários, valor e moeda
      * @return RemessaResponseDTO com detalhes da transação processada
      * @throws RemessaException quando dados inválidos ou regras violadas
      * @throws SaldoInsuficienteException quando saldo insuficiente
+     * @throws AdmissaoRecusadaException quando a remessa não é admitida (429)
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public RemessaResponseDTO realizarRemessa(@Valid @RequestBody RemessaRequestDTO request) {
         log.info("Processando remessa internacional: {}", request);
-        Remessa remessa = remessaService.realizarRemessa(request);
+        Remessa remessa = controleAdmissao.executar(request.getUsuarioId(),
+                () -> agrupadorRemessas.realizar(request));
         return RemessaResponseDTO.from(remessa);
     }
-}
\ No newline at end of file
+
+    /**
+     * Realiza remessas de um remetente para vários destinatários (folha de
+     * pagamento, fornecedores) em uma única transação.
+     *
+     * O remetente é bloqueado e a cotação obtida uma única vez; saldo e limite
+     * diário são validados para o total do lote. Se qualquer remessa falhar,
+     * nenhuma é realizada.
+     *
+     * @param request remetente, moeda de destino e itens (destinatário e valor)
+     * @return RemessaLoteResponseDTO com totais e remessas realizadas
+     * @throws RemessaException quando dados inválidos ou regras violadas
+     * @throws SaldoInsuficienteException quando o saldo não cobre o lote
+     * @throws AdmissaoRecusadaException quando o lote não é admitido (429)
+     */
+    @PostMapping("/lote")
+    @ResponseStatus(HttpStatus.CREATED)
+    public RemessaLoteResponseDTO realizarRemessaLote(@Valid @RequestBody RemessaLoteRequestDTO request) {
+        log.info("Processando lote de remessas: [usuarioId={}, remessas={}]",
+                request.usuarioId(), request.itens().size());
+        List<Remessa> remessas = controleAdmissao.executar(request.usuarioId(),
+                () -> remessaService.realizarRemessaLote(request));
+        return RemessaLoteResponseDTO.from(remessas);
+    }
+
+    /**
+     * Liquida remessas entre vários remetentes e destinatários por compensação
+     * multilateral, em uma única transação.
+     *
+     * As remessas são compensadas em posições líquidas por carteira e moeda e
+     * cada carteira recebe uma única atualização de saldo; todas as remessas
+     * continuam registradas individualmente. O saldo é validado contra a
+     * posição líquida e o limite diário contra o total enviado por remetente.
+     *
+     * @param request remessas da liquidação
+     * @return RemessaLiquidacaoResponseDTO com posições líquidas e remessas realizadas
+     * @throws RemessaException quando dados inválidos ou regras violadas
+     * @throws SaldoInsuficienteException quando uma posição líquida não é coberta pelo saldo
+     * @throws AdmissaoRecusadaException quando a liquidação não é admitida (429)
+     */
+    @PostMapping("/liquidacoes")
+    @ResponseStatus(HttpStatus.CREATED)
+    public RemessaLiquidacaoResponseDTO realizarLiquidacao(@Valid @RequestBody RemessaLiquidacaoRequestDTO request) {
+        log.info("Processando liquidação multilateral: [remessas={}]", request.remessas().size());
+        List<Long> remetentes = request.remessas().stream()
+                .map(RemessaRequestDTO::getUsuarioId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        return RemessaLiquidacaoResponseDTO.from(controleAdmissao.executar(remetentes,
+                () -> remessaService.realizarLiquidacao(request)));
+    }
+}
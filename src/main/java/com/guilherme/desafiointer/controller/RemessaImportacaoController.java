@@ -0,0 +1,96 @@
+package com.guilherme.desafiointer.controller;
+
+import com.guilherme.desafiointer.domain.ImportacaoRemessa.Formato;
+import com.guilherme.desafiointer.dto.remessa.ImportacaoRemessasDTO;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.service.importacao.ImportacaoRemessasService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.util.UUID;
+
+/**
+ * Controller REST para importação de remessas por arquivo.
+ *
+ * Endpoints disponíveis:
+ * - POST /api/remessas/importacoes - Envia arquivo CSV ou NDJSON para importação
+ * - GET /api/remessas/importacoes/{id} - Consulta situação e progresso
+ * - POST /api/remessas/importacoes/{id}/retomada - Retoma importação interrompida
+ * - GET /api/remessas/importacoes/{id}/resultado - Resultado por linha (CSV)
+ *
+ * Formatos do arquivo:
+ * - CSV (separador ';', cabeçalho opcional): usuarioId;destinatarioId;valor;moedaDestino
+ * - NDJSON: um objeto por linha com os campos de RemessaRequestDTO
+ *
+ * @see ImportacaoRemessasService
+ */
+@RestController
+@RequestMapping("/api/remessas/importacoes")
+@RequiredArgsConstructor
+@Slf4j
+public class RemessaImportacaoController {
+
+    private final ImportacaoRemessasService importacaoRemessasService;
+
+    /**
+     * Recebe o arquivo e inicia a importação em segundo plano.
+     *
+     * @param arquivo arquivo com uma remessa por linha
+     * @param formato CSV ou NDJSON; se omitido, deduzido da extensão do arquivo
+     * @return situação inicial da importação
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportacaoRemessasDTO importar(@RequestParam("arquivo") MultipartFile arquivo,
+                                          @RequestParam(value = "formato", required = false) Formato formato) {
+        log.info("Recebendo arquivo de importação de remessas: {}", arquivo.getOriginalFilename());
+        return importacaoRemessasService.iniciar(arquivo, formato);
+    }
+
+    /**
+     * Consulta a situação de uma importação.
+     *
+     * @param id identificador retornado no envio
+     * @return situação e contadores confirmados
+     * @throws RemessaException quando a importação não existe
+     */
+    @GetMapping("/{id}")
+    public ImportacaoRemessasDTO consultar(@PathVariable UUID id) {
+        return importacaoRemessasService.consultar(id);
+    }
+
+    /**
+     * Retoma uma importação interrompida a partir das últimas linhas confirmadas.
+     *
+     * @param id identificador da importação
+     * @return situação da importação reagendada
+     * @throws RemessaException quando a importação não existe, já foi concluída ou está em execução
+     */
+    @PostMapping("/{id}/retomada")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportacaoRemessasDTO retomar(@PathVariable UUID id) {
+        return importacaoRemessasService.retomar(id);
+    }
+
+    /**
+     * Resultado por linha: linha;status;remessaId;mensagem.
+     * Durante o processamento contém apenas as linhas já confirmadas.
+     *
+     * @param id identificador da importação
+     * @return arquivo CSV com o resultado
+     * @throws RemessaException quando a importação não existe
+     */
+    @GetMapping(value = "/{id}/resultado", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> resultado(@PathVariable UUID id) {
+        importacaoRemessasService.consultar(id);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"resultado-" + id + ".csv\"")
+                .body(saida -> importacaoRemessasService.escreverResultado(id, saida));
+    }
+}
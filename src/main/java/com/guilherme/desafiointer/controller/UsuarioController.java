@@ -0,0 +1,45 @@
+package com.guilherme.desafiointer.controller;
+
+import com.guilherme.desafiointer.config.constants.AppConstants;
+import com.guilherme.desafiointer.dto.usuario.PaginaUsuariosDTO;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.service.UsuarioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST para consulta de usuários (back-office).
+ *
+ * Endpoints disponíveis:
+ * - GET /api/usuarios?cursor={id}&tamanho={n} - Lista usuários por página
+ *
+ * A paginação é por cursor: a resposta traz {@code proximoCursor}, que deve
+ * ser enviado na requisição seguinte. A listagem traz apenas o resumo do
+ * usuário, sem senha e sem carteira.
+ *
+ * @see UsuarioService#listarPagina(Long, int)
+ */
+@RestController
+@RequestMapping("/api/usuarios")
+@RequiredArgsConstructor
+public class UsuarioController {
+
+    private final UsuarioService usuarioService;
+
+    /**
+     * Lista uma página de usuários ordenada por ID.
+     *
+     * @param cursor último ID da página anterior (omitido na primeira página)
+     * @param tamanho tamanho da página
+     * @return usuários da página e cursor da próxima
+     * @throws RemessaException quando o tamanho excede o máximo permitido
+     */
+    @GetMapping
+    public PaginaUsuariosDTO listar(@RequestParam(required = false) Long cursor,
+                                    @RequestParam(defaultValue = "" + AppConstants.TAMANHO_PAGINA_PADRAO) int tamanho) {
+        return usuarioService.listarPagina(cursor, tamanho);
+    }
+}
@@ -0,0 +1,58 @@
+package com.guilherme.desafiointer.controller;
+
+import com.guilherme.desafiointer.dto.usuario.ImportacaoUsuariosDTO;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.service.importacao.ImportacaoUsuariosService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import java.util.UUID;
+
+/**
+ * Controller REST para importação de usuários em lote.
+ *
+ * Endpoints disponíveis:
+ * - POST /api/usuarios/importacoes - Envia arquivo CSV para importação
+ * - GET /api/usuarios/importacoes/{id} - Consulta situação da importação
+ *
+ * Formato do arquivo (separador ';', cabeçalho opcional):
+ * nomeCompleto;email;senha;tipoUsuario;documento
+ *
+ * @see ImportacaoUsuariosService
+ */
+@RestController
+@RequestMapping("/api/usuarios/importacoes")
+@RequiredArgsConstructor
+@Slf4j
+public class UsuarioImportacaoController {
+
+    private final ImportacaoUsuariosService importacaoUsuariosService;
+
+    /**
+     * Recebe o arquivo e inicia a importação em segundo plano.
+     *
+     * @param arquivo arquivo CSV com os usuários
+     * @return situação inicial da importação
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportacaoUsuariosDTO importar(@RequestParam("arquivo") MultipartFile arquivo) {
+        log.info("Recebendo arquivo de importação de usuários: {}", arquivo.getOriginalFilename());
+        return importacaoUsuariosService.iniciar(arquivo);
+    }
+
+    /**
+     * Consulta a situação de uma importação.
+     *
+     * @param id identificador retornado no envio
+     * @return contadores e erros por linha
+     * @throws RemessaException quando a importação não existe
+     */
+    @GetMapping("/{id}")
+    public ImportacaoUsuariosDTO consultar(@PathVariable UUID id) {
+        return importacaoUsuariosService.consultar(id);
+    }
+}
@@ -1,5 +1,6 @@
 package com.guilherme.desafiointer.domain;
 
+import com.guilherme.desafiointer.config.constants.AppConstants;
 import com.guilherme.desafiointer.exception.domain.SaldoInsuficienteException;
 import com.guilherme.desafiointer.repository.CarteiraRepository;
 import jakarta.persistence.*;
@@ -47,7 +48,8 @@ import java.math.BigDecimal;
 public class Carteira {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "carteiras_seq")
+    @SequenceGenerator(name = "carteiras_seq", sequenceName = "carteiras_seq", allocationSize = AppConstants.TAMANHO_ALOCACAO_IDS)
     private Long id;
 
     /**
@@ -66,9 +68,9 @@ public class Carteira {
 
     /**
      * Usuário proprietário desta carteira.
-     * Relacionamento obrigatório e único (OneToOne).
+     * Relacionamento obrigatório e único (OneToOne), carregado sob demanda.
      */
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "usuario_id", nullable = false)
     private Usuario usuario;
 
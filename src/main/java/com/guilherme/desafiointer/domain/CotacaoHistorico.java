@@ -1,5 +1,6 @@
 package com.guilherme.desafiointer.domain;
 
+import com.guilherme.desafiointer.config.constants.AppConstants;
 import com.guilherme.desafiointer.repository.CotacaoHistoricoRepository;
 import com.guilherme.desafiointer.service.impl.CotacaoServiceImpl;
 import jakarta.persistence.*;
@@ -25,6 +26,7 @@ import java.time.LocalDateTime;
  * - Sistema sempre tenta usar última cotação útil (dia útil) como fallback
  * - Precisão de 4 casas decimais para valores de cotação
  * - Timestamp de criação e última atualização para auditoria
+ * - Registros nunca são alterados após a inserção
  *
  * Usado por:
  * - CotacaoService para fallback em caso de indisponibilidade da API
@@ -41,10 +43,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(of = "id")
-@Table(name = "cotacoes_historico")
+@Table(name = "cotacoes_historico", indexes = {
+        @Index(name = "idx_cotacoes_historico_moeda_util_data", columnList = "moeda, is_fim_de_semana, data_hora")
+})
 public class CotacaoHistorico {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cotacoes_historico_seq")
+    @SequenceGenerator(name = "cotacoes_historico_seq", sequenceName = "cotacoes_historico_seq", allocationSize = AppConstants.TAMANHO_ALOCACAO_IDS)
     private Long id;
 
     /**
@@ -0,0 +1,85 @@
+package com.guilherme.desafiointer.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Importação de remessas a partir de arquivo (CSV ou NDJSON).
+ *
+ * Guarda o arquivo recebido e a quantidade de partições usada na divisão
+ * das linhas por remetente, para que uma importação interrompida possa ser
+ * retomada com a mesma distribuição. O progresso confirmado de cada
+ * partição fica em ImportacaoRemessaParticao. O status só muda por
+ * compare-and-set no banco (ImportacaoRemessaRepository).
+ *
+ * @see com.guilherme.desafiointer.service.importacao.ImportacaoRemessasService
+ */
+@Entity
+@Table(name = "importacoes_remessas")
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoRemessa {
+
+    @Id
+    private UUID id;
+
+    /**
+     * Formato do arquivo recebido
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Formato formato;
+
+    /**
+     * Caminho do arquivo recebido no diretório de importações
+     */
+    @Column(nullable = false, length = 500)
+    private String arquivo;
+
+    /**
+     * Quantidade de partições (workers) em que as linhas são divididas por remetente
+     */
+    @Column(nullable = false)
+    private int particoes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    /**
+     * Linhas lidas do arquivo na última execução concluída
+     */
+    @Column(nullable = false)
+    private long linhasLidas;
+
+    @Column(nullable = false)
+    private LocalDateTime criadaEm;
+
+    private LocalDateTime concluidaEm;
+
+    /**
+     * Execução que assumiu a importação (status PROCESSANDO)
+     */
+    private UUID execucao;
+
+    /**
+     * Última renovação da execução em andamento; sem renovação por
+     * remessas.importacao.expiracao-execucao, outra instância pode retomá-la
+     */
+    private LocalDateTime renovadaEm;
+
+    public enum Formato {
+        CSV, NDJSON
+    }
+
+    public enum Status {
+        PENDENTE, PROCESSANDO, CONCLUIDA, FALHOU
+    }
+}
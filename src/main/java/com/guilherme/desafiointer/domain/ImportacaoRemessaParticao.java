@@ -0,0 +1,57 @@
+package com.guilherme.desafiointer.domain;
+
+import com.guilherme.desafiointer.config.constants.AppConstants;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ponto de retomada de uma partição de uma importação de remessas.
+ *
+ * As linhas de uma partição são processadas na ordem do arquivo, então
+ * ultimaLinha separa o que já foi confirmado (linhas até ela, inclusive)
+ * do que ainda precisa ser processado. É atualizada na mesma transação
+ * das remessas de cada bloco (ImportacaoRemessaParticaoRepository.avancar).
+ */
+@Entity
+@Table(name = "importacoes_remessas_particoes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_importacoes_remessas_particoes", columnNames = {"importacao_id", "particao"})
+})
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoRemessaParticao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "importacoes_remessas_particoes_seq")
+    @SequenceGenerator(name = "importacoes_remessas_particoes_seq", sequenceName = "importacoes_remessas_particoes_seq", allocationSize = AppConstants.TAMANHO_ALOCACAO_IDS)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "importacao_id", nullable = false)
+    private ImportacaoRemessa importacao;
+
+    @Column(nullable = false)
+    private int particao;
+
+    /**
+     * Número da última linha confirmada (0 = nenhuma)
+     */
+    @Column(nullable = false)
+    private long ultimaLinha;
+
+    /**
+     * Remessas realizadas pela partição
+     */
+    @Column(nullable = false)
+    private long realizadas;
+
+    /**
+     * Linhas rejeitadas pela partição
+     */
+    @Column(nullable = false)
+    private long rejeitadas;
+}
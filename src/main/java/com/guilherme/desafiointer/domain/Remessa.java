@@ -1,5 +1,6 @@
 package com.guilherme.desafiointer.domain;
 
+import com.guilherme.desafiointer.config.constants.AppConstants;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -47,19 +48,32 @@ import java.time.LocalDateTime;
  * @see com.guilherme.desafiointer.domain.TransacaoDiaria
  */
 @Entity
-@Table(name = "remessas")
+@Table(name = "remessas", indexes = {
+        @Index(name = "idx_remessas_usuario_data", columnList = "usuario_id, data_criacao"),
+        @Index(name = "idx_remessas_data_criacao", columnList = "data_criacao"),
+        @Index(name = "idx_remessas_destinatario", columnList = "destinatario_id")
+})
+@NamedEntityGraph(name = Remessa.GRAFO_HISTORICO, attributeNodes = {
+        @NamedAttributeNode("usuario"),
+        @NamedAttributeNode("destinatario")
+})
 @Getter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Remessa {
 
+    /** Histórico: remetente e destinatário na mesma consulta, sem carteiras */
+    public static final String GRAFO_HISTORICO = "Remessa.historico";
+
     /**
      * Identificador único da remessa.
-     * Chave primária gerada pelo banco de dados.
+     * Chave primária obtida da sequência {@code remessas_seq} em blocos
+     * (otimizador pooled), o que permite o batch de inserts.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "remessas_seq")
+    @SequenceGenerator(name = "remessas_seq", sequenceName = "remessas_seq", allocationSize = AppConstants.TAMANHO_ALOCACAO_IDS)
     private Long id;
 
     /**
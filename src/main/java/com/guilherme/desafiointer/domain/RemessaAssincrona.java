@@ -0,0 +1,83 @@
+package com.guilherme.desafiointer.domain;
+
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Remessa enviada de forma assíncrona (202 Accepted).
+ *
+ * Guarda a requisição aceita e a situação do processamento, para que a
+ * remessa seja consultável em qualquer instância e retomada se a instância
+ * que a recebeu for encerrada antes de processá-la. O status só muda por
+ * compare-and-set no banco (RemessaAssincronaRepository).
+ *
+ * @see com.guilherme.desafiointer.service.assincrona.RemessasAssincronasService
+ */
+@Entity
+@Table(name = "remessas_assincronas")
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RemessaAssincrona {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private Long usuarioId;
+
+    @Column(nullable = false)
+    private Long destinatarioId;
+
+    @Column(nullable = false, precision = 38, scale = 2)
+    private BigDecimal valor;
+
+    @Column(nullable = false, length = 3)
+    private String moedaDestino;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    /**
+     * Remessa realizada, se concluída
+     */
+    private Long remessaId;
+
+    /**
+     * Tipo do erro, se rejeitada
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private RemessaErrorType erro;
+
+    /**
+     * Motivo da rejeição
+     */
+    @Column(length = 500)
+    private String mensagem;
+
+    @Column(nullable = false)
+    private LocalDateTime recebidaEm;
+
+    /**
+     * Última mudança de status; um processamento sem conclusão por
+     * remessas.assincronas.espera-retomada é considerado interrompido
+     */
+    @Column(nullable = false)
+    private LocalDateTime atualizadaEm;
+
+    private LocalDateTime concluidaEm;
+
+    public enum Status {
+        PENDENTE, PROCESSANDO, CONCLUIDA, REJEITADA
+    }
+}
@@ -0,0 +1,73 @@
+package com.guilherme.desafiointer.domain;
+
+import com.guilherme.desafiointer.config.constants.AppConstants;
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Consolidação das remessas enviadas por usuário, mês e moeda de destino.
+ *
+ * Uma linha por (usuario, mês, moeda), incrementada na mesma transação
+ * de cada remessa (ResumoRemessaService). Totais de períodos longos
+ * são obtidos somando poucas linhas de resumo em vez das remessas.
+ */
+@Entity
+@Table(name = "resumos_remessa_mensais", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_resumos_remessa_mensais", columnNames = {"usuario_id", "mes", "moeda"})
+})
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoRemessaMensal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resumos_remessa_mensais_seq")
+    @SequenceGenerator(name = "resumos_remessa_mensais_seq", sequenceName = "resumos_remessa_mensais_seq", allocationSize = AppConstants.TAMANHO_ALOCACAO_IDS)
+    private Long id;
+
+    /**
+     * Usuário remetente
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    private Usuario usuario;
+
+    /**
+     * Primeiro dia do mês de referência
+     */
+    @Column(nullable = false)
+    private LocalDate mes;
+
+    /**
+     * Moeda de destino das remessas
+     */
+    @Column(nullable = false, length = 3)
+    private String moeda;
+
+    /**
+     * Quantidade de remessas
+     */
+    @Column(nullable = false)
+    private Long quantidade;
+
+    /**
+     * Soma dos valores enviados (moeda de origem)
+     */
+    @Column(nullable = false)
+    private BigDecimal totalValor;
+
+    /**
+     * Soma das taxas cobradas
+     */
+    @Column(nullable = false)
+    private BigDecimal totalTaxa;
+
+    /**
+     * Soma dos valores convertidos (moeda de destino)
+     */
+    @Column(nullable = false)
+    private BigDecimal totalValorConvertido;
+}
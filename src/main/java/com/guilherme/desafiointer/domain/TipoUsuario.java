@@ -40,7 +40,7 @@ public enum TipoUsuario {
     /**
      * Pessoa Jurídica - Usuario empresarial do sistema.
      * Características:
-     * - Documento: CNPJ com 14 dígitos numéricos
+     * - Documento: CNPJ com 14 caracteres (numérico ou alfanumérico)
      * - Limite diário: R$ 50.000,00 para remessas
      * - Taxa aplicada: 1% sobre o valor da remessa (taxa corporativa)
      * - Validação: Algoritmo oficial de CNPJ da Receita Federal
@@ -62,7 +62,7 @@ public enum TipoUsuario {
 
         @Override
         public String getFormatoDocumento() {
-            return "CNPJ deve conter 14 dígitos numéricos";
+            return "CNPJ deve conter 14 caracteres: 12 alfanuméricos e 2 dígitos verificadores";
         }
     };
 
@@ -73,7 +73,7 @@ public enum TipoUsuario {
      * Construtor do enum TipoUsuario.
      *
      * @param descricao descrição do tipo de usuário
-     * @param tamanhoDocumento tamanho esperado do documento (11 para CPF, 14 para CNPJ)
+     * @param tamanhoDocumento tamanho do documento sem formatação (11 para CPF, 14 para CNPJ)
      */
     TipoUsuario(String descricao, int tamanhoDocumento) {
         this.descricao = descricao;
@@ -82,23 +82,15 @@ public enum TipoUsuario {
 
     /**
      * Valida o documento conforme o tipo de usuario.
-     * Remove caracteres não numéricos antes da validação.
-     * Processo de validação:
-     * 1. Verifica se o documento não é nulo
-     * 2. Remove todos os caracteres não numéricos (pontos, hífens, barras)
-     * 3. Verifica se o tamanho corresponde ao esperado para o tipo
-     * 4. Executa validação específica do algoritmo (CPF ou CNPJ)
+     * O documento pode conter formatação (pontos, hífens, barras); a
+     * limpeza, a verificação de tamanho e o cálculo dos dígitos
+     * verificadores são feitos em uma única varredura, sem cópia.
      *
      * @param documento documento a ser validado (pode conter formatação)
      * @return true se o documento é válido segundo as regras da Receita Federal
      */
     public boolean validarDocumento(String documento) {
-        if (documento == null) {
-            return false;
-        }
-        String apenasNumeros = documento.replaceAll("[^0-9]", "");
-        return apenasNumeros.length() == this.tamanhoDocumento &&
-                validarDocumentoEspecifico(apenasNumeros);
+        return documento != null && validarDocumentoEspecifico(documento);
     }
 
     /**
@@ -108,7 +100,7 @@ public enum TipoUsuario {
      * - Algoritmo de validação de CPF para PF
      * - Algoritmo de validação de CNPJ para PJ
      *
-     * @param documento documento a ser validado (apenas números, sem formatação)
+     * @param documento documento a ser validado (pode conter formatação)
      * @return true se o documento é válido segundo o algoritmo específico
      */
     protected abstract boolean validarDocumentoEspecifico(String documento);
@@ -1,5 +1,6 @@
 package com.guilherme.desafiointer.domain;
 
+import com.guilherme.desafiointer.config.constants.AppConstants;
 import jakarta.persistence.*;
 import lombok.*;
 import java.math.BigDecimal;
@@ -12,9 +13,14 @@ import java.time.LocalDate;
  * permitindo validação de limites regulamentares antes de novas operações.
  *
  * Limites: PF (R$ 10.000/dia) | PJ (R$ 50.000/dia)
+ *
+ * Há no máximo uma linha por usuario e data, criada ou incrementada
+ * via upsert (TransacaoDiariaRepository.incrementarValorTotal).
  */
 @Entity
-@Table(name = "transacoes_diarias")
+@Table(name = "transacoes_diarias", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_transacoes_diarias_usuario_data", columnNames = {"usuario_id", "data"})
+})
 @Getter
 @Setter
 @Builder
@@ -23,7 +29,8 @@ import java.time.LocalDate;
 public class TransacaoDiaria {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transacoes_diarias_seq")
+    @SequenceGenerator(name = "transacoes_diarias_seq", sequenceName = "transacoes_diarias_seq", allocationSize = AppConstants.TAMANHO_ALOCACAO_IDS)
     private Long id;
 
     /**
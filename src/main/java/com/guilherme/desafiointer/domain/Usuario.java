@@ -1,7 +1,10 @@
 package com.guilherme.desafiointer.domain;
 
+import com.guilherme.desafiointer.config.constants.AppConstants;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -14,9 +17,18 @@ import jakarta.validation.constraints.NotNull;
  * cada um com limites diários específicos para transferências internacionais.
  *
  * Limites: PF (R$ 10.000/dia) | PJ (R$ 50.000/dia)
+ *
+ * Mantida no cache de segundo nível do Hibernate: raramente alterada e
+ * carregada a cada remessa.
+ *
+ * A carteira é carregada sob demanda (requer o enhancement de bytecode do
+ * build); quem precisa dela usa o grafo {@value #GRAFO_COM_CARTEIRA}.
  */
 @Entity
 @Table(name = "usuarios")
+@NamedEntityGraph(name = Usuario.GRAFO_COM_CARTEIRA, attributeNodes = @NamedAttributeNode("carteira"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppConstants.REGIAO_USUARIO)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -24,8 +36,12 @@ import jakarta.validation.constraints.NotNull;
 @EqualsAndHashCode(of = "id")
 public class Usuario {
 
+    /** Administração do usuário: carrega a carteira na mesma consulta */
+    public static final String GRAFO_COM_CARTEIRA = "Usuario.comCarteira";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @SequenceGenerator(name = "usuarios_seq", sequenceName = "usuarios_seq", allocationSize = AppConstants.TAMANHO_ALOCACAO_IDS)
     private Long id;
 
     /**
@@ -67,10 +83,11 @@ public class Usuario {
     private TipoUsuario tipoUsuario;
 
     /**
-     * Carteira digital associada com saldos BRL e USD
+     * Carteira digital associada com saldos BRL e USD.
+     * Lado inverso: sem o enhancement seria sempre carregado junto com o usuário.
      */
     @Setter
-    @OneToOne(mappedBy = "usuario", cascade = CascadeType.ALL)
+    @OneToOne(mappedBy = "usuario", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Carteira carteira;
 
     /**
@@ -0,0 +1,32 @@
+package com.guilherme.desafiointer.dto.remessa;
+
+import com.guilherme.desafiointer.domain.ImportacaoRemessa.Formato;
+import com.guilherme.desafiointer.domain.ImportacaoRemessa.Status;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Situação de uma importação de remessas por arquivo.
+ *
+ * Realizadas e rejeitadas contam apenas linhas confirmadas no banco; em
+ * uma importação retomada incluem as execuções anteriores.
+ *
+ * @param id identificador da importação
+ * @param formato formato do arquivo
+ * @param status situação atual
+ * @param linhasLidas linhas lidas do arquivo (durante o processamento, até o momento)
+ * @param realizadas remessas realizadas
+ * @param rejeitadas linhas rejeitadas (detalhes no arquivo de resultado)
+ * @param inicio recebimento do arquivo
+ * @param fim fim do processamento, se concluído ou interrompido
+ */
+public record ImportacaoRemessasDTO(
+        UUID id,
+        Formato formato,
+        Status status,
+        long linhasLidas,
+        long realizadas,
+        long rejeitadas,
+        LocalDateTime inicio,
+        LocalDateTime fim
+) {}
@@ -0,0 +1,56 @@
+package com.guilherme.desafiointer.dto.remessa;
+
+import com.guilherme.desafiointer.domain.RemessaAssincrona;
+import com.guilherme.desafiointer.domain.RemessaAssincrona.Status;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Situação de uma remessa enviada de forma assíncrona.
+ *
+ * @param id identificador retornado no envio
+ * @param status situação atual
+ * @param remessa remessa realizada, se concluída
+ * @param erro tipo do erro, se rejeitada
+ * @param mensagem motivo da rejeição
+ * @param recebidaEm recebimento do envio
+ * @param concluidaEm fim do processamento, se concluída ou rejeitada
+ */
+public record RemessaAssincronaDTO(
+        UUID id,
+        Status status,
+        RemessaResponseDTO remessa,
+        RemessaErrorType erro,
+        String mensagem,
+        LocalDateTime recebidaEm,
+        LocalDateTime concluidaEm
+) {
+
+    /**
+     * Situação gravada de uma remessa.
+     *
+     * @param registro remessa gravada
+     * @param remessaRealizada remessa realizada, se concluída
+     */
+    public static RemessaAssincronaDTO from(RemessaAssincrona registro, RemessaResponseDTO remessaRealizada) {
+        return new RemessaAssincronaDTO(registro.getId(), registro.getStatus(), remessaRealizada,
+                registro.getErro(), registro.getMensagem(), registro.getRecebidaEm(), registro.getConcluidaEm());
+    }
+
+    public RemessaAssincronaDTO processando() {
+        return new RemessaAssincronaDTO(id, Status.PROCESSANDO, null, null, null, recebidaEm, null);
+    }
+
+    public RemessaAssincronaDTO concluida(RemessaResponseDTO remessaRealizada, LocalDateTime fim) {
+        return new RemessaAssincronaDTO(id, Status.CONCLUIDA, remessaRealizada, null, null, recebidaEm, fim);
+    }
+
+    public RemessaAssincronaDTO rejeitada(RemessaErrorType tipoErro, String motivo, LocalDateTime fim) {
+        return new RemessaAssincronaDTO(id, Status.REJEITADA, null, tipoErro, motivo, recebidaEm, fim);
+    }
+
+    public boolean finalizada() {
+        return status == Status.CONCLUIDA || status == Status.REJEITADA;
+    }
+}
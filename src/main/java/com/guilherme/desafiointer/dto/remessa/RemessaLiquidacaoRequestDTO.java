@@ -0,0 +1,26 @@
+package com.guilherme.desafiointer.dto.remessa;
+
+import com.guilherme.desafiointer.config.constants.AppConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * DTO para liquidação multilateral: remessas entre vários remetentes e
+ * destinatários (compensação entre parceiros) liquidadas em conjunto.
+ *
+ * Cada remessa é registrada individualmente, mas as carteiras recebem uma
+ * única atualização com a posição líquida de cada moeda. O lote é
+ * processado em uma única transação: todas as remessas são realizadas ou
+ * nenhuma é.
+ *
+ * @param remessas remessas do lote, até {@link AppConstants#TAMANHO_MAXIMO_LOTE_REMESSAS}
+ */
+public record RemessaLiquidacaoRequestDTO(
+        @NotEmpty(message = "A liquidação deve conter ao menos uma remessa")
+        @Size(max = AppConstants.TAMANHO_MAXIMO_LOTE_REMESSAS,
+                message = "A liquidação deve conter no máximo " + AppConstants.TAMANHO_MAXIMO_LOTE_REMESSAS + " remessas")
+        List<@Valid @NotNull(message = "Remessa da liquidação é obrigatória") RemessaRequestDTO> remessas
+) {}
@@ -0,0 +1,30 @@
+package com.guilherme.desafiointer.dto.remessa;
+
+import com.guilherme.desafiointer.service.processor.LiquidacaoMultilateral;
+import com.guilherme.desafiointer.service.processor.LiquidacaoMultilateral.PosicaoLiquida;
+import java.util.List;
+
+/**
+ * DTO de resposta de uma liquidação multilateral.
+ *
+ * @param quantidade número de remessas realizadas
+ * @param carteirasAtualizadas carteiras com posição líquida diferente de zero
+ * @param posicoes posição líquida de cada participante por moeda
+ * @param remessas remessas realizadas, na ordem da requisição
+ */
+public record RemessaLiquidacaoResponseDTO(
+        int quantidade,
+        long carteirasAtualizadas,
+        List<PosicaoLiquida> posicoes,
+        List<RemessaResponseDTO> remessas
+) {
+
+    public static RemessaLiquidacaoResponseDTO from(LiquidacaoMultilateral liquidacao) {
+        return new RemessaLiquidacaoResponseDTO(
+                liquidacao.remessas().size(),
+                liquidacao.carteirasAtualizadas(),
+                liquidacao.posicoes(),
+                liquidacao.remessas().stream().map(RemessaResponseDTO::from).toList()
+        );
+    }
+}
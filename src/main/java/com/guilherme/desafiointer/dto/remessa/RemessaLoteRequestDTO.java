@@ -0,0 +1,52 @@
+package com.guilherme.desafiointer.dto.remessa;
+
+import com.guilherme.desafiointer.config.constants.AppConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO para remessas em lote: um remetente pagando vários destinatários
+ * (folha de pagamento, pagamento de fornecedores) na mesma moeda.
+ *
+ * O lote é processado em uma única transação: todas as remessas são
+ * realizadas ou nenhuma é.
+ *
+ * @param usuarioId ID do usuário remetente
+ * @param moedaDestino moeda de destino (USD, BRL) no padrão ISO-4217
+ * @param itens destinatários e valores, até {@link AppConstants#TAMANHO_MAXIMO_LOTE_REMESSAS}
+ */
+public record RemessaLoteRequestDTO(
+        @NotNull(message = "ID do usuário é obrigatório")
+        Long usuarioId,
+
+        @NotNull(message = "Moeda de destino é obrigatória")
+        @Pattern(regexp = "^[A-Z]{3}$", message = "Moeda destino deve seguir o padrão ISO-4217")
+        String moedaDestino,
+
+        @NotEmpty(message = "O lote deve conter ao menos uma remessa")
+        @Size(max = AppConstants.TAMANHO_MAXIMO_LOTE_REMESSAS,
+                message = "O lote deve conter no máximo " + AppConstants.TAMANHO_MAXIMO_LOTE_REMESSAS + " remessas")
+        List<@Valid @NotNull(message = "Item do lote é obrigatório") Item> itens
+) {
+
+    /**
+     * Remessa individual do lote.
+     *
+     * @param destinatarioId ID do usuário destinatário
+     * @param valor valor a ser transferido na moeda de origem
+     */
+    public record Item(
+            @NotNull(message = "ID do destinatário é obrigatório")
+            Long destinatarioId,
+
+            @NotNull(message = "Valor é obrigatório")
+            @Positive(message = "Valor deve ser maior que zero")
+            BigDecimal valor
+    ) {}
+}
@@ -0,0 +1,40 @@
+package com.guilherme.desafiointer.dto.remessa;
+
+import com.guilherme.desafiointer.domain.Remessa;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO de resposta de uma remessa em lote.
+ *
+ * @param usuarioId ID do remetente
+ * @param moedaDestino moeda de destino do lote
+ * @param cotacao cotação aplicada a todas as remessas
+ * @param quantidade número de remessas realizadas
+ * @param valorTotal soma dos valores enviados
+ * @param taxaTotal soma das taxas cobradas
+ * @param remessas remessas realizadas, na ordem dos itens da requisição
+ */
+public record RemessaLoteResponseDTO(
+        Long usuarioId,
+        String moedaDestino,
+        BigDecimal cotacao,
+        int quantidade,
+        BigDecimal valorTotal,
+        BigDecimal taxaTotal,
+        List<RemessaResponseDTO> remessas
+) {
+
+    public static RemessaLoteResponseDTO from(List<Remessa> remessas) {
+        Remessa primeira = remessas.get(0);
+        return new RemessaLoteResponseDTO(
+                primeira.getUsuario().getId(),
+                primeira.getMoedaDestino(),
+                primeira.getCotacao(),
+                remessas.size(),
+                remessas.stream().map(Remessa::getValor).reduce(BigDecimal.ZERO, BigDecimal::add),
+                remessas.stream().map(Remessa::getTaxa).reduce(BigDecimal.ZERO, BigDecimal::add),
+                remessas.stream().map(RemessaResponseDTO::from).toList()
+        );
+    }
+}
@@ -1,9 +1,9 @@
 package com.guilherme.desafiointer.dto.remessa;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,11 +19,14 @@ import java.math.BigDecimal;
  * - IDs obrigatórios e não nulos
  * - Valor positivo e obrigatório
  * - Moeda no padrão ISO-4217 (3 letras maiúsculas)
+ *
+ * As anotações documentam o contrato; a verificação é feita uma única vez
+ * pelo RemessaRequestValidator, que marca a requisição como validada.
+ * A marcação fica fora do builder e do construtor: só é feita por
+ * {@link #marcarComoValidada()}.
  */
 @Getter
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
 public class RemessaRequestDTO {
 
     /** ID do usuário remetente (origem da transferência) */
@@ -41,6 +44,26 @@ public class RemessaRequestDTO {
 
     /** Moeda de destino (USD, BRL) no padrão ISO-4217 */
     @NotNull(message = "Moeda de destino é obrigatória")
-        @Pattern(regexp = "^[A-Z]{3}$", message = "Moeda destino deve seguir o padrão ISO-4217")
+    @Pattern(regexp = "^[A-Z]{3}$", message = "Moeda destino deve seguir o padrão ISO-4217")
     private String moedaDestino;
+
+    /** Indica que a requisição já passou pela validação; não é exposto no JSON */
+    @JsonIgnore
+    private boolean validada;
+
+    @Builder
+    public RemessaRequestDTO(Long usuarioId, Long destinatarioId, BigDecimal valor, String moedaDestino) {
+        this.usuarioId = usuarioId;
+        this.destinatarioId = destinatarioId;
+        this.valor = valor;
+        this.moedaDestino = moedaDestino;
+    }
+
+    /**
+     * Registra que a requisição foi validada, evitando nova validação
+     * nas camadas seguintes.
+     */
+    public void marcarComoValidada() {
+        this.validada = true;
+    }
 }
\ No newline at end of file
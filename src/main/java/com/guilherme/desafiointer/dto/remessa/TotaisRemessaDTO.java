@@ -0,0 +1,45 @@
+package com.guilherme.desafiointer.dto.remessa;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais agregados de remessas enviadas num período.
+ *
+ * Somas ausentes (período sem remessas) são normalizadas para zero.
+ *
+ * @param quantidade quantidade de remessas
+ * @param totalValor soma dos valores enviados
+ * @param totalTaxa soma das taxas cobradas
+ * @param totalValorConvertido soma dos valores convertidos
+ */
+public record TotaisRemessaDTO(
+        Long quantidade,
+        BigDecimal totalValor,
+        BigDecimal totalTaxa,
+        BigDecimal totalValorConvertido
+) {
+
+    public static final TotaisRemessaDTO VAZIO = new TotaisRemessaDTO(0L, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+    public TotaisRemessaDTO {
+        quantidade = quantidade == null ? 0L : quantidade;
+        totalValor = totalValor == null ? BigDecimal.ZERO : totalValor;
+        totalTaxa = totalTaxa == null ? BigDecimal.ZERO : totalTaxa;
+        totalValorConvertido = totalValorConvertido == null ? BigDecimal.ZERO : totalValorConvertido;
+    }
+
+    /**
+     * Soma dois conjuntos de totais.
+     *
+     * @param outro totais a acrescentar
+     * @return novos totais
+     */
+    public TotaisRemessaDTO somar(TotaisRemessaDTO outro) {
+        return new TotaisRemessaDTO(
+                quantidade + outro.quantidade,
+                totalValor.add(outro.totalValor),
+                totalTaxa.add(outro.totalTaxa),
+                totalValorConvertido.add(outro.totalValorConvertido)
+        );
+    }
+}
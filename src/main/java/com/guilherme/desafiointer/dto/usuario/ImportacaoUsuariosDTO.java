@@ -0,0 +1,41 @@
+package com.guilherme.desafiointer.dto.usuario;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Situação de uma importação em lote de usuários.
+ *
+ * @param id identificador da importação
+ * @param status situação atual
+ * @param linhasProcessadas linhas lidas do arquivo
+ * @param importados usuários criados
+ * @param rejeitados linhas rejeitadas
+ * @param erros primeiros erros de linha (limitados por configuração)
+ * @param inicio início do processamento
+ * @param fim fim do processamento, se concluído
+ */
+public record ImportacaoUsuariosDTO(
+        UUID id,
+        StatusImportacao status,
+        long linhasProcessadas,
+        long importados,
+        long rejeitados,
+        List<ErroLinha> erros,
+        LocalDateTime inicio,
+        LocalDateTime fim
+) {
+
+    public enum StatusImportacao {
+        PENDENTE, PROCESSANDO, CONCLUIDA, FALHOU
+    }
+
+    /**
+     * Erro de uma linha do arquivo.
+     *
+     * @param linha número da linha (1 = primeira linha do arquivo)
+     * @param mensagem motivo da rejeição
+     */
+    public record ErroLinha(long linha, String mensagem) {}
+}
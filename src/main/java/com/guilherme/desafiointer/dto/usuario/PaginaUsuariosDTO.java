@@ -0,0 +1,17 @@
+package com.guilherme.desafiointer.dto.usuario;
+
+import java.util.List;
+
+/**
+ * Página de usuários paginada por cursor (keyset).
+ *
+ * Para obter a próxima página, repasse {@code proximoCursor} como cursor.
+ * O custo de cada página independe da posição, ao contrário de OFFSET.
+ *
+ * @param usuarios usuários da página, ordenados por ID
+ * @param proximoCursor ID do último usuário da página; nulo quando não há mais páginas
+ */
+public record PaginaUsuariosDTO(
+        List<UsuarioResumoDTO> usuarios,
+        Long proximoCursor
+) {}
@@ -0,0 +1,23 @@
+package com.guilherme.desafiointer.dto.usuario;
+
+import com.guilherme.desafiointer.domain.TipoUsuario;
+
+/**
+ * Dados de listagem de um usuário, sem senha e sem carteira.
+ *
+ * Projeção montada diretamente na consulta (expressão construtora JPQL):
+ * não cria entidades no contexto de persistência nem carrega a carteira.
+ *
+ * @param id identificador do usuário
+ * @param nomeCompleto nome completo
+ * @param email email
+ * @param documento CPF ou CNPJ
+ * @param tipoUsuario PF ou PJ
+ */
+public record UsuarioResumoDTO(
+        Long id,
+        String nomeCompleto,
+        String email,
+        String documento,
+        TipoUsuario tipoUsuario
+) {}
@@ -0,0 +1,51 @@
+package com.guilherme.desafiointer.exception.domain;
+
+import com.guilherme.desafiointer.exception.base.BusinessException;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import java.time.Duration;
+
+/**
+ * Exceção lançada quando uma requisição é recusada pelo controle de admissão,
+ * antes de qualquer acesso ao banco.
+ * Cenários de uso:
+ * - Remetente acima da taxa de remessas por segundo
+ * - Instância com o máximo de remessas em processamento
+ * Características:
+ * - Tempo sugerido para nova tentativa (cabeçalho Retry-After)
+ * - Sem stack trace: a recusa é esperada e precisa ser barata sob carga
+ * - Status HTTP: 429 TOO_MANY_REQUESTS
+ */
+@Getter
+public class AdmissaoRecusadaException extends BusinessException {
+
+    /** Tempo até que uma nova tentativa possa ser aceita */
+    private final Duration tentarNovamenteEm;
+
+    /**
+     * Construtor com mensagem e tempo para nova tentativa.
+     *
+     * @param message motivo da recusa
+     * @param tentarNovamenteEm tempo até que uma nova tentativa possa ser aceita
+     */
+    public AdmissaoRecusadaException(String message, Duration tentarNovamenteEm) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS);
+        this.tentarNovamenteEm = tentarNovamenteEm;
+    }
+
+    /**
+     * Valor do cabeçalho Retry-After: segundos inteiros, arredondados para
+     * cima, no mínimo 1.
+     *
+     * @return segundos até a nova tentativa
+     */
+    public long segundosParaNovaTentativa() {
+        long segundos = tentarNovamenteEm.getSeconds() + (tentarNovamenteEm.getNano() > 0 ? 1 : 0);
+        return Math.max(1, segundos);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
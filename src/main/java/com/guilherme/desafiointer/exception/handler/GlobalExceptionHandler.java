@@ -2,11 +2,13 @@ package com.guilherme.desafiointer.exception.handler;
 
 import com.guilherme.desafiointer.dto.error.ErrorResponse;
 import com.guilherme.desafiointer.exception.base.BusinessException;
+import com.guilherme.desafiointer.exception.domain.AdmissaoRecusadaException;
 import com.guilherme.desafiointer.exception.domain.LimiteDiarioExcedidoException;
 import com.guilherme.desafiointer.exception.domain.SaldoInsuficienteException;
 import com.guilherme.desafiointer.exception.remessa.RemessaException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -32,12 +34,14 @@ import java.util.stream.Collectors;
  *
  * Hierarquia de tratamento:
  * 1. RemessaException (mais específica)
- * 2. BusinessException (intermediária)
- * 3. MethodArgumentNotValidException (validação)
- * 4. Exception (fallback geral)
+ * 2. AdmissaoRecusadaException (controle de admissão)
+ * 3. BusinessException (intermediária)
+ * 4. MethodArgumentNotValidException (validação)
+ * 5. Exception (fallback geral)
  *
  * Status HTTP mapeados:
  * - RemessaException: Status definido por RemessaErrorType
+ * - AdmissaoRecusadaException: 429 TOO_MANY_REQUESTS com Retry-After
  * - BusinessException: 422 UNPROCESSABLE_ENTITY (padrão)
  * - Validation: 400 BAD_REQUEST
  * - Exception: 500 INTERNAL_SERVER_ERROR
@@ -83,6 +87,29 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * Trata requisições recusadas pelo controle de admissão. A recusa é
+     * esperada sob carga, por isso o log é de depuração.
+     *
+     * @param ex AdmissaoRecusadaException capturada
+     * @param request requisição HTTP atual
+     * @return ResponseEntity 429 com o cabeçalho Retry-After
+     */
+    @ExceptionHandler(AdmissaoRecusadaException.class)
+    public ResponseEntity<ErrorResponse> handleAdmissaoRecusada(
+            AdmissaoRecusadaException ex, HttpServletRequest request) {
+        log.debug("Requisição recusada: {}", ex.getMessage());
+        ResponseEntity<ErrorResponse> resposta = createErrorResponse(
+                ex.getMessage(),
+                HttpStatus.TOO_MANY_REQUESTS,
+                request.getRequestURI(),
+                null
+        );
+        return ResponseEntity.status(resposta.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.segundosParaNovaTentativa()))
+                .body(resposta.getBody());
+    }
+
     /**
      * Trata exceções gerais de negócio (fallback para BusinessException).
      *
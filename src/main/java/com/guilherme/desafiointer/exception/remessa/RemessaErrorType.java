@@ -18,6 +18,10 @@ public enum RemessaErrorType {
     USUARIO_NAO_ENCONTRADO("Usuário não encontrado", HttpStatus.NOT_FOUND),
     DOCUMENTO_JA_CADASTRADO("Documento já cadastrado", HttpStatus.CONFLICT),
     EMAIL_JA_CADASTRADO("Email já cadastrado", HttpStatus.CONFLICT),
+    USUARIO_JA_CADASTRADO("Email ou documento já cadastrado", HttpStatus.CONFLICT),
+    IMPORTACAO_NAO_ENCONTRADA("Importação de usuários não encontrada", HttpStatus.NOT_FOUND),
+    IMPORTACAO_REMESSAS_NAO_ENCONTRADA("Importação de remessas não encontrada", HttpStatus.NOT_FOUND),
+    REMESSA_ASSINCRONA_NAO_ENCONTRADA("Remessa assíncrona não encontrada", HttpStatus.NOT_FOUND),
 
     // Erros de Carteira e Limites
     SALDO_INSUFICIENTE("Saldo insuficiente para realizar a operação", HttpStatus.UNPROCESSABLE_ENTITY),
@@ -26,6 +30,7 @@ public enum RemessaErrorType {
 
     // Erros de Concorrência
     OPERACAO_EM_ANDAMENTO("Operação em andamento para este usuário", HttpStatus.CONFLICT),
+    FILA_REMESSAS_CHEIA("Capacidade de processamento de remessas esgotada", HttpStatus.SERVICE_UNAVAILABLE),
 
     // Erros de Integração Externa
     ERRO_COTACAO("Erro ao obter cotação da moeda", HttpStatus.SERVICE_UNAVAILABLE),
@@ -0,0 +1,56 @@
+package com.guilherme.desafiointer.migracao;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * V2: troca os IDs por IDENTITY por sequências com incremento de 50.
+ *
+ * O Hibernate reserva blocos de IDs (otimizador pooled) para agrupar os inserts
+ * em batch JDBC, o que o IDENTITY impede. Cada sequência começa acima do maior
+ * ID existente. Idempotente: pode rodar sobre bancos em que as sequências já
+ * foram criadas manualmente.
+ */
+public class V2__IdsPorSequencia extends BaseJavaMigration {
+
+    /** Igual a AppConstants.TAMANHO_ALOCACAO_IDS; fixo aqui para a migração não mudar com o código. */
+    private static final int INCREMENTO = 50;
+
+    private static final List<String> TABELAS = List.of(
+            "usuarios",
+            "carteiras",
+            "remessas",
+            "transacoes_diarias",
+            "cotacoes_historico"
+    );
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        boolean postgreSQL = connection.getMetaData().getDatabaseProductName().startsWith("PostgreSQL");
+
+        try (Statement statement = connection.createStatement()) {
+            for (String tabela : TABELAS) {
+                String sequencia = tabela + "_seq";
+                statement.execute("ALTER TABLE " + tabela + " ALTER COLUMN id DROP IDENTITY"
+                        + (postgreSQL ? " IF EXISTS" : ""));
+                statement.execute("CREATE SEQUENCE IF NOT EXISTS " + sequencia
+                        + " START WITH 1 INCREMENT BY " + INCREMENTO);
+                statement.execute("ALTER SEQUENCE " + sequencia
+                        + " RESTART WITH " + proximoId(statement, tabela));
+            }
+        }
+    }
+
+    private static long proximoId(Statement statement, String tabela) throws SQLException {
+        try (ResultSet resultado = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + tabela)) {
+            resultado.next();
+            return resultado.getLong(1) + INCREMENTO;
+        }
+    }
+}
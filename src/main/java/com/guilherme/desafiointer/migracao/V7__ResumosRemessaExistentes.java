@@ -0,0 +1,55 @@
+package com.guilherme.desafiointer.migracao;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * V7: preenche os resumos diários e mensais (V6) com as remessas existentes.
+ *
+ * Os totais por período leem dias e meses completos dos resumos, que só são
+ * incrementados pelas remessas novas; sem o preenchimento, o histórico
+ * anterior à V6 sumiria dos totais. Roda na mesma migração que cria as
+ * tabelas, antes de a aplicação incrementá-las, agrupando como
+ * ResumoRemessaService: remetente, dia (ou primeiro dia do mês) e moeda
+ * em maiúsculas.
+ *
+ * Cada linha recebe um valor avulso da sequência da tabela, como o upsert
+ * dos resumos; só a sintaxe do próximo valor muda entre os bancos.
+ */
+public class V7__ResumosRemessaExistentes extends BaseJavaMigration {
+
+    private static final String PREENCHIMENTO = """
+            INSERT INTO %1$s (id, usuario_id, %2$s, moeda, quantidade, total_valor, total_taxa, total_valor_convertido)
+            SELECT %3$s, r.usuario_id, r.periodo, r.moeda, r.quantidade, r.total_valor, r.total_taxa, r.total_valor_convertido
+            FROM (
+                SELECT usuario_id, %4$s AS periodo, UPPER(moeda_destino) AS moeda, COUNT(*) AS quantidade,
+                       SUM(valor) AS total_valor, SUM(taxa) AS total_taxa, SUM(valor_convertido) AS total_valor_convertido
+                FROM remessas
+                GROUP BY usuario_id, %4$s, UPPER(moeda_destino)
+            ) r
+            """;
+
+    private static final String DIA = "CAST(data_criacao AS DATE)";
+    private static final String MES = "CAST(DATE_TRUNC('MONTH', data_criacao) AS DATE)";
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        boolean postgreSQL = connection.getMetaData().getDatabaseProductName().startsWith("PostgreSQL");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(preenchimento("resumos_remessa_diarios", "dia", DIA, postgreSQL));
+            statement.execute(preenchimento("resumos_remessa_mensais", "mes", MES, postgreSQL));
+        }
+    }
+
+    private static String preenchimento(String tabela, String colunaPeriodo, String periodo, boolean postgreSQL) {
+        String proximoId = postgreSQL
+                ? "nextval('" + tabela + "_seq')"
+                : "NEXT VALUE FOR " + tabela + "_seq";
+        return PREENCHIMENTO.formatted(tabela, colunaPeriodo, proximoId, periodo);
+    }
+}
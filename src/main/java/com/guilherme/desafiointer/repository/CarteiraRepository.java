@@ -10,6 +10,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -47,4 +49,23 @@ public interface CarteiraRepository extends JpaRepository<Carteira, Long> {
             @QueryHint(name = "org.hibernate.cacheable", value = "false")
     })
     Optional<Carteira> findByUsuarioIdWithPessimisticLock(@NotNull Long usuarioId);
-}
\ No newline at end of file
+
+    /**
+     * Busca, com bloqueio pessimista, as carteiras dos usuários informados
+     * junto com seus usuários, em uma única consulta.
+     *
+     * A ordenação por usuário garante que os locks sejam sempre obtidos na
+     * mesma ordem, evitando deadlock entre remessas cruzadas (A→B e B→A).
+     *
+     * @param usuarioIds IDs dos usuários (remetente e destinatário)
+     * @return carteiras encontradas, ordenadas pelo ID do usuário
+     * @throws PessimisticLockException se não for possível obter o bloqueio em 3 segundos
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Carteira c JOIN FETCH c.usuario u WHERE u.id IN :usuarioIds ORDER BY u.id")
+    @QueryHints({
+            @QueryHint(name = "javax.persistence.lock.timeout", value = "3000"),
+            @QueryHint(name = "org.hibernate.cacheable", value = "false")
+    })
+    List<Carteira> buscarPorUsuariosComLock(@NotNull Collection<Long> usuarioIds);
+}
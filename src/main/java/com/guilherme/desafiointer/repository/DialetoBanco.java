@@ -0,0 +1,23 @@
+package com.guilherme.desafiointer.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.experimental.UtilityClass;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Identificação do dialeto para instruções nativas específicas (upserts).
+ */
+@UtilityClass
+class DialetoBanco {
+
+    /**
+     * Indica se o dialeto configurado é PostgreSQL; caso contrário assume H2.
+     */
+    static boolean isPostgreSQL(EntityManager entityManager) {
+        return entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+}
@@ -0,0 +1,59 @@
+package com.guilherme.desafiointer.repository;
+
+import com.guilherme.desafiointer.domain.ImportacaoRemessaParticao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositório dos pontos de retomada das partições de uma importação de remessas.
+ */
+@Repository
+public interface ImportacaoRemessaParticaoRepository extends JpaRepository<ImportacaoRemessaParticao, Long> {
+
+    /**
+     * Busca as partições de uma importação pelo índice único (importação, partição).
+     *
+     * @param importacaoId identificador da importação
+     * @return partições em ordem de número
+     */
+    @Query("SELECT p FROM ImportacaoRemessaParticao p WHERE p.importacao.id = :importacaoId ORDER BY p.particao")
+    List<ImportacaoRemessaParticao> buscarPorImportacao(@Param("importacaoId") UUID importacaoId);
+
+    /**
+     * Registra o bloco confirmado de uma partição. Deve ser executado na
+     * mesma transação das remessas do bloco, para que o ponto de retomada
+     * nunca fique à frente (ou atrás) do que foi gravado.
+     *
+     * Só avança se nenhuma linha do bloco já foi confirmada: com duas
+     * execuções da mesma importação, o bloco da segunda não atualiza nada e
+     * deve ser desfeito.
+     *
+     * @param importacaoId identificador da importação
+     * @param particao número da partição
+     * @param primeiraLinha primeira linha do bloco
+     * @param ultimaLinha última linha do bloco
+     * @param realizadas remessas realizadas no bloco
+     * @param rejeitadas linhas rejeitadas no bloco
+     * @return quantidade de linhas atualizadas (1, ou 0 se o bloco já foi confirmado)
+     */
+    @Modifying
+    @Query("""
+            UPDATE ImportacaoRemessaParticao p
+            SET p.ultimaLinha = :ultimaLinha,
+                p.realizadas = p.realizadas + :realizadas,
+                p.rejeitadas = p.rejeitadas + :rejeitadas
+            WHERE p.importacao.id = :importacaoId AND p.particao = :particao
+              AND p.ultimaLinha < :primeiraLinha
+            """)
+    int avancar(@Param("importacaoId") UUID importacaoId,
+                @Param("particao") int particao,
+                @Param("primeiraLinha") long primeiraLinha,
+                @Param("ultimaLinha") long ultimaLinha,
+                @Param("realizadas") long realizadas,
+                @Param("rejeitadas") long rejeitadas);
+}
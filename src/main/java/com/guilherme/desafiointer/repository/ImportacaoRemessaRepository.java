@@ -0,0 +1,105 @@
+package com.guilherme.desafiointer.repository;
+
+import com.guilherme.desafiointer.domain.ImportacaoRemessa;
+import com.guilherme.desafiointer.domain.ImportacaoRemessa.Status;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Repositório das importações de remessas por arquivo.
+ *
+ * As mudanças de status são condicionais (compare-and-set no banco), para
+ * que só uma instância da aplicação execute cada importação.
+ */
+@Repository
+public interface ImportacaoRemessaRepository extends JpaRepository<ImportacaoRemessa, UUID> {
+
+    /**
+     * Devolve a importação à fila se estiver em um dos status informados ou
+     * se a execução em andamento não é renovada desde antes de expiradaAntesDe
+     * (instância encerrada durante a execução).
+     *
+     * @param id identificador da importação
+     * @param pendente status de destino
+     * @param retomaveis status que podem ser retomados
+     * @param processando status das execuções em andamento
+     * @param expiradaAntesDe limite da última renovação de uma execução ativa
+     * @return quantidade de linhas atualizadas (0 se a importação não pode ser retomada)
+     */
+    @Modifying
+    @Query("""
+            UPDATE ImportacaoRemessa i
+            SET i.status = :pendente, i.execucao = null, i.concluidaEm = null
+            WHERE i.id = :id
+              AND (i.status IN :retomaveis OR (i.status = :processando AND i.renovadaEm < :expiradaAntesDe))
+            """)
+    int reagendar(@Param("id") UUID id,
+                  @Param("pendente") Status pendente,
+                  @Param("retomaveis") Collection<Status> retomaveis,
+                  @Param("processando") Status processando,
+                  @Param("expiradaAntesDe") LocalDateTime expiradaAntesDe);
+
+    /**
+     * Assume a execução de uma importação pendente.
+     *
+     * @param id identificador da importação
+     * @param execucao identificador da execução que assume a importação
+     * @param pendente status exigido
+     * @param processando status de destino
+     * @param agora instante da primeira renovação
+     * @return quantidade de linhas atualizadas (0 se outra execução assumiu antes)
+     */
+    @Modifying
+    @Query("""
+            UPDATE ImportacaoRemessa i
+            SET i.status = :processando, i.execucao = :execucao, i.renovadaEm = :agora
+            WHERE i.id = :id AND i.status = :pendente
+            """)
+    int assumir(@Param("id") UUID id,
+                @Param("execucao") UUID execucao,
+                @Param("pendente") Status pendente,
+                @Param("processando") Status processando,
+                @Param("agora") LocalDateTime agora);
+
+    /**
+     * Renova a execução em andamento, enquanto ela ainda pertence à execução informada.
+     *
+     * @param id identificador da importação
+     * @param execucao identificador da execução
+     * @param agora instante da renovação
+     * @return quantidade de linhas atualizadas (0 se a execução foi retomada por outra)
+     */
+    @Modifying
+    @Query("UPDATE ImportacaoRemessa i SET i.renovadaEm = :agora WHERE i.id = :id AND i.execucao = :execucao")
+    int renovar(@Param("id") UUID id,
+                @Param("execucao") UUID execucao,
+                @Param("agora") LocalDateTime agora);
+
+    /**
+     * Registra o fim da execução, se ela ainda pertence à execução informada.
+     *
+     * @param id identificador da importação
+     * @param execucao identificador da execução
+     * @param status status final
+     * @param linhasLidas linhas lidas do arquivo
+     * @param agora instante da conclusão
+     * @return quantidade de linhas atualizadas (0 se a execução foi retomada por outra)
+     */
+    @Modifying
+    @Query("""
+            UPDATE ImportacaoRemessa i
+            SET i.status = :status, i.linhasLidas = :linhasLidas, i.concluidaEm = :agora, i.execucao = null
+            WHERE i.id = :id AND i.execucao = :execucao
+            """)
+    int finalizar(@Param("id") UUID id,
+                  @Param("execucao") UUID execucao,
+                  @Param("status") Status status,
+                  @Param("linhasLidas") long linhasLidas,
+                  @Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,122 @@
+package com.guilherme.desafiointer.repository;
+
+import com.guilherme.desafiointer.domain.RemessaAssincrona;
+import com.guilherme.desafiointer.domain.RemessaAssincrona.Status;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositório das remessas enviadas de forma assíncrona.
+ *
+ * O início do processamento é condicional (compare-and-set no banco), para
+ * que uma remessa retomada por mais de uma instância seja processada uma única vez.
+ */
+@Repository
+public interface RemessaAssincronaRepository extends JpaRepository<RemessaAssincrona, UUID> {
+
+    /**
+     * Remessas pendentes recebidas antes do instante informado, das mais antigas
+     * para as mais recentes (ordem de envio de cada remetente).
+     *
+     * @param status status das remessas
+     * @param recebidaAntesDe limite do recebimento
+     * @param pagina quantidade máxima de remessas
+     * @return remessas encontradas
+     */
+    List<RemessaAssincrona> findByStatusAndRecebidaEmBeforeOrderByRecebidaEm(Status status,
+                                                                            LocalDateTime recebidaAntesDe,
+                                                                            Pageable pagina);
+
+    /**
+     * Assume o processamento de uma remessa pendente.
+     *
+     * @param id identificador da remessa
+     * @param pendente status exigido
+     * @param processando status de destino
+     * @param agora instante do início do processamento
+     * @return quantidade de linhas atualizadas (0 se outra instância assumiu antes)
+     */
+    @Modifying
+    @Query("""
+            UPDATE RemessaAssincrona r
+            SET r.status = :processando, r.atualizadaEm = :agora
+            WHERE r.id = :id AND r.status = :pendente
+            """)
+    int assumir(@Param("id") UUID id,
+                @Param("pendente") Status pendente,
+                @Param("processando") Status processando,
+                @Param("agora") LocalDateTime agora);
+
+    /**
+     * Registra o resultado do processamento. Não é condicional: prevalece
+     * sobre uma interrupção registrada enquanto a remessa ainda era processada.
+     *
+     * @param id identificador da remessa
+     * @param status status final
+     * @param remessaId remessa realizada, se concluída
+     * @param erro tipo do erro, se rejeitada
+     * @param mensagem motivo da rejeição
+     * @param agora instante da conclusão
+     * @return quantidade de linhas atualizadas
+     */
+    @Modifying
+    @Query("""
+            UPDATE RemessaAssincrona r
+            SET r.status = :status, r.remessaId = :remessaId, r.erro = :erro, r.mensagem = :mensagem,
+                r.atualizadaEm = :agora, r.concluidaEm = :agora
+            WHERE r.id = :id
+            """)
+    int finalizar(@Param("id") UUID id,
+                  @Param("status") Status status,
+                  @Param("remessaId") Long remessaId,
+                  @Param("erro") RemessaErrorType erro,
+                  @Param("mensagem") String mensagem,
+                  @Param("agora") LocalDateTime agora);
+
+    /**
+     * Rejeita as remessas em processamento sem conclusão desde antes do
+     * instante informado (instância encerrada durante o processamento).
+     *
+     * @param processando status das remessas em processamento
+     * @param rejeitada status de destino
+     * @param erro tipo do erro registrado
+     * @param mensagem motivo registrado
+     * @param atualizadaAntesDe limite do início do processamento
+     * @param agora instante da rejeição
+     * @return quantidade de remessas rejeitadas
+     */
+    @Modifying
+    @Query("""
+            UPDATE RemessaAssincrona r
+            SET r.status = :rejeitada, r.erro = :erro, r.mensagem = :mensagem,
+                r.atualizadaEm = :agora, r.concluidaEm = :agora
+            WHERE r.status = :processando AND r.atualizadaEm < :atualizadaAntesDe
+            """)
+    int interromper(@Param("processando") Status processando,
+                    @Param("rejeitada") Status rejeitada,
+                    @Param("erro") RemessaErrorType erro,
+                    @Param("mensagem") String mensagem,
+                    @Param("atualizadaAntesDe") LocalDateTime atualizadaAntesDe,
+                    @Param("agora") LocalDateTime agora);
+
+    /**
+     * Remove as remessas finalizadas antes do instante informado (fim da retenção).
+     *
+     * @param finalizadas status finais
+     * @param concluidaAntesDe limite da conclusão
+     * @return quantidade de remessas removidas
+     */
+    @Modifying
+    @Query("DELETE FROM RemessaAssincrona r WHERE r.status IN :finalizadas AND r.concluidaEm < :concluidaAntesDe")
+    int removerFinalizadas(@Param("finalizadas") Collection<Status> finalizadas,
+                           @Param("concluidaAntesDe") LocalDateTime concluidaAntesDe);
+}
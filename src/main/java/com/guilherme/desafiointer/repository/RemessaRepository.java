@@ -2,22 +2,25 @@ package com.guilherme.desafiointer.repository;
 
 import com.guilherme.desafiointer.domain.Remessa;
 import com.guilherme.desafiointer.domain.Usuario;
-import org.springframework.cache.annotation.Cacheable;
+import com.guilherme.desafiointer.dto.remessa.TotaisRemessaDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface RemessaRepository extends JpaRepository<Remessa, Long> {
 
     /**
      * Busca o histórico de transações de um usuário num período específico.
-     * Usa cache para melhorar o desempenho para consultas frequentes com os mesmos parâmetros.
+     * Ordem padrão por data de criação decrescente (mais recentes primeiro).
+     * Usada sem cache para consultas com ordenação customizada.
      *
      * @param usuario usuário alvo da busca
      * @param inicio início do período
@@ -25,9 +28,10 @@ public interface RemessaRepository extends JpaRepository<Remessa, Long> {
      * @param pageable configuração de paginação
      * @return Page<Remessa> contendo as remessas do período
      */
-    @Cacheable(value = "historicoTransacoes", key = "#usuario.id + '-' + #inicio + '-' + #fim + '-' + #pageable.pageNumber + '-' + #pageable.pageSize")
+    @EntityGraph(Remessa.GRAFO_HISTORICO)
     @Query("SELECT r FROM Remessa r WHERE r.usuario = :usuario " +
-            "AND r.dataCriacao BETWEEN :inicio AND :fim")
+            "AND r.dataCriacao BETWEEN :inicio AND :fim " +
+            "ORDER BY r.dataCriacao DESC")
     Page<Remessa> buscarHistoricoTransacoes(
             @Param("usuario") Usuario usuario,
             @Param("inicio") LocalDateTime inicio,
@@ -35,38 +39,80 @@ public interface RemessaRepository extends JpaRepository<Remessa, Long> {
             Pageable pageable);
 
     /**
-     * FUNCIONALIDADE FUTURA
-     * Calcula o total de remessas enviadas por um usuário num período.
-     * Usa cache para evitar recalcular valores para períodos já consultados.
+     * Lista todas as remessas enviadas por um usuário num período, sem paginação.
+     * Usado para carregar segmentos diários do cache de histórico.
+     * Remetente e destinatário vêm na mesma consulta: os segmentos ficam
+     * utilizáveis fora da sessão.
      *
-     * @param usuario usuário alvo do cálculo
+     * @param usuario usuário remetente
      * @param inicio início do período
      * @param fim fim do período
-     * @return BigDecimal representando o valor total enviado
+     * @return remessas do período em ordem de data de criação decrescente
      */
-    @Cacheable(value = "totaisTransacoes", key = "#usuario.id + '-' + #inicio + '-' + #fim + '-totalEnviado'")
-    @Query("SELECT SUM(r.valor) FROM Remessa r WHERE r.usuario = :usuario " +
-            "AND r.dataCriacao BETWEEN :inicio AND :fim")
-    BigDecimal calcularTotalEnviadoPorPeriodo(
+    @EntityGraph(Remessa.GRAFO_HISTORICO)
+    @Query("SELECT r FROM Remessa r WHERE r.usuario = :usuario " +
+            "AND r.dataCriacao BETWEEN :inicio AND :fim " +
+            "ORDER BY r.dataCriacao DESC")
+    List<Remessa> buscarRemessasDoPeriodo(
             @Param("usuario") Usuario usuario,
             @Param("inicio") LocalDateTime inicio,
             @Param("fim") LocalDateTime fim);
 
     /**
-     * FUNCIONALIDADE FUTURA
-     * Calcula o total de taxas cobradas de um usuário num período.
-     * Usa cache para evitar recalcular valores já consultados.
+     * Soma os valores enviados por usuário a partir de um instante.
+     * Usado para reconstruir o uso diário em memória na inicialização.
+     *
+     * @param inicio início do período
+     * @return total enviado por usuário remetente
+     */
+    @Query("SELECT r.usuario.id AS usuarioId, SUM(r.valor) AS total FROM Remessa r " +
+            "WHERE r.dataCriacao >= :inicio GROUP BY r.usuario.id")
+    List<TotalEnviadoPorUsuario> somarEnviadoPorUsuarioDesde(@Param("inicio") LocalDateTime inicio);
+
+    /**
+     * Projeção do total enviado por usuário.
+     */
+    interface TotalEnviadoPorUsuario {
+        Long getUsuarioId();
+        BigDecimal getTotal();
+    }
+
+    /**
+     * Lista os envios (remetente, data e valor) a partir de um instante.
+     * Usado para reconstruir a janela deslizante de limites na inicialização.
+     *
+     * @param inicio início do período
+     * @return envios do período
+     */
+    @Query("SELECT r.usuario.id AS usuarioId, r.dataCriacao AS dataCriacao, r.valor AS valor " +
+            "FROM Remessa r WHERE r.dataCriacao >= :inicio")
+    List<EnvioRecente> buscarEnviosDesde(@Param("inicio") LocalDateTime inicio);
+
+    /**
+     * Projeção de um envio recente.
+     */
+    interface EnvioRecente {
+        Long getUsuarioId();
+        LocalDateTime getDataCriacao();
+        BigDecimal getValor();
+    }
+
+    /**
+     * Soma quantidade, valores, taxas e valores convertidos das remessas
+     * enviadas por um usuário num intervalo, diretamente na tabela de remessas.
+     * Usado apenas para frações de dia; períodos longos usam os resumos.
      *
-     * @param usuario usuário alvo do cálculo
+     * @param usuarioId remetente
      * @param inicio início do período
      * @param fim fim do período
-     * @return BigDecimal representando o valor total de taxas
+     * @return totais do intervalo
      */
-    @Cacheable(value = "totaisTransacoes", key = "#usuario.id + '-' + #inicio + '-' + #fim + '-totalTaxas'")
-    @Query("SELECT SUM(r.taxa) FROM Remessa r WHERE r.usuario = :usuario " +
+    @Query("SELECT new com.guilherme.desafiointer.dto.remessa.TotaisRemessaDTO(" +
+            "COUNT(r), SUM(r.valor), SUM(r.taxa), SUM(r.valorConvertido)) " +
+            "FROM Remessa r WHERE r.usuario.id = :usuarioId " +
             "AND r.dataCriacao BETWEEN :inicio AND :fim")
-    BigDecimal calcularTotalTaxasPorPeriodo(
-            @Param("usuario") Usuario usuario,
+    TotaisRemessaDTO somarTotaisPorPeriodo(
+            @Param("usuarioId") Long usuarioId,
             @Param("inicio") LocalDateTime inicio,
             @Param("fim") LocalDateTime fim);
-}
\ No newline at end of file
+}
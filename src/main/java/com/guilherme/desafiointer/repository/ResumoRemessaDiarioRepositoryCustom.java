@@ -0,0 +1,24 @@
+package com.guilherme.desafiointer.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Incremento atômico do resumo diário de remessas.
+ */
+public interface ResumoRemessaDiarioRepositoryCustom {
+
+    /**
+     * Cria ou incrementa a linha (usuário, dia, moeda) com uma ou mais remessas.
+     *
+     * @param usuarioId remetente
+     * @param periodo dia de referência
+     * @param moeda moeda de destino
+     * @param quantidade número de remessas
+     * @param valor soma dos valores enviados
+     * @param taxa soma das taxas cobradas
+     * @param valorConvertido soma dos valores convertidos
+     */
+    void acumular(Long usuarioId, LocalDate periodo, String moeda, long quantidade,
+                  BigDecimal valor, BigDecimal taxa, BigDecimal valorConvertido);
+}
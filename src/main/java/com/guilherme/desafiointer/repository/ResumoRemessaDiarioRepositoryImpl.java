@@ -0,0 +1,11 @@
+package com.guilherme.desafiointer.repository;
+
+/**
+ * Upsert do resumo diário de remessas na tabela resumos_remessa_diarios.
+ */
+class ResumoRemessaDiarioRepositoryImpl extends UpsertResumoRemessa implements ResumoRemessaDiarioRepositoryCustom {
+
+    ResumoRemessaDiarioRepositoryImpl() {
+        super("resumos_remessa_diarios", "dia");
+    }
+}
@@ -0,0 +1,33 @@
+package com.guilherme.desafiointer.repository;
+
+import com.guilherme.desafiointer.domain.ResumoRemessaMensal;
+import com.guilherme.desafiointer.dto.remessa.TotaisRemessaDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+
+/**
+ * Repositório do resumo mensal de remessas por usuário e moeda.
+ */
+@Repository
+public interface ResumoRemessaMensalRepository extends JpaRepository<ResumoRemessaMensal, Long>,
+        ResumoRemessaMensalRepositoryCustom {
+
+    /**
+     * Soma os resumos do usuário entre dois períodos (inclusive), em todas as moedas.
+     *
+     * @param usuarioId remetente
+     * @param inicio primeiro período
+     * @param fim último período
+     * @return totais do intervalo
+     */
+    @Query("SELECT new com.guilherme.desafiointer.dto.remessa.TotaisRemessaDTO(" +
+            "SUM(r.quantidade), SUM(r.totalValor), SUM(r.totalTaxa), SUM(r.totalValorConvertido)) " +
+            "FROM ResumoRemessaMensal r WHERE r.usuario.id = :usuarioId AND r.mes BETWEEN :inicio AND :fim")
+    TotaisRemessaDTO somarPeriodo(
+            @Param("usuarioId") Long usuarioId,
+            @Param("inicio") LocalDate inicio,
+            @Param("fim") LocalDate fim);
+}
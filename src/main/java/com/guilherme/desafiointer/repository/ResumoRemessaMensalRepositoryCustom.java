@@ -0,0 +1,24 @@
+package com.guilherme.desafiointer.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Incremento atômico do resumo mensal de remessas.
+ */
+public interface ResumoRemessaMensalRepositoryCustom {
+
+    /**
+     * Cria ou incrementa a linha (usuário, mês, moeda) com uma ou mais remessas.
+     *
+     * @param usuarioId remetente
+     * @param periodo primeiro dia do mês de referência
+     * @param moeda moeda de destino
+     * @param quantidade número de remessas
+     * @param valor soma dos valores enviados
+     * @param taxa soma das taxas cobradas
+     * @param valorConvertido soma dos valores convertidos
+     */
+    void acumular(Long usuarioId, LocalDate periodo, String moeda, long quantidade,
+                  BigDecimal valor, BigDecimal taxa, BigDecimal valorConvertido);
+}
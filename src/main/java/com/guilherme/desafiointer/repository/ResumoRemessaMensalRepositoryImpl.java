@@ -0,0 +1,11 @@
+package com.guilherme.desafiointer.repository;
+
+/**
+ * Upsert do resumo mensal de remessas na tabela resumos_remessa_mensais.
+ */
+class ResumoRemessaMensalRepositoryImpl extends UpsertResumoRemessa implements ResumoRemessaMensalRepositoryCustom {
+
+    ResumoRemessaMensalRepositoryImpl() {
+        super("resumos_remessa_mensais", "mes");
+    }
+}
@@ -4,9 +4,13 @@ import com.guilherme.desafiointer.domain.TransacaoDiaria;
 import com.guilherme.desafiointer.domain.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +19,7 @@ import java.util.Optional;
  * Fornece métodos para rastreamento e validação de limites diários.
  */
 @Repository
-public interface TransacaoDiariaRepository extends JpaRepository<TransacaoDiaria, Long> {
+public interface TransacaoDiariaRepository extends JpaRepository<TransacaoDiaria, Long>, TransacaoDiariaRepositoryCustom {
 
     /**
      * Busca a transação diária de um usuário numa data específica.
@@ -27,6 +31,28 @@ public interface TransacaoDiariaRepository extends JpaRepository<TransacaoDiaria
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<TransacaoDiaria> findByUsuarioAndData(Usuario usuario, LocalDate data);
 
+    /**
+     * Lê o total diário do usuário sem lock.
+     *
+     * @param usuarioId identificador do usuário
+     * @param data data da transação
+     * @return total do dia, se houver registro
+     */
+    @Query("SELECT t.valorTotal FROM TransacaoDiaria t WHERE t.usuario.id = :usuarioId AND t.data = :data")
+    Optional<BigDecimal> buscarValorTotal(@Param("usuarioId") Long usuarioId, @Param("data") LocalDate data);
+
+    /**
+     * Busca as transações diárias de vários usuários numa data, em uma consulta.
+     * Usado na gravação em lote do acumulador de limite diário. Filtra pela
+     * coluna usuario_id para usar o índice único (usuário, data), sem junção com usuarios.
+     *
+     * @param data data das transações
+     * @param usuarioIds identificadores dos usuários
+     * @return transações existentes na data
+     */
+    @Query("SELECT t FROM TransacaoDiaria t WHERE t.usuario.id IN :usuarioIds AND t.data = :data")
+    List<TransacaoDiaria> findByDataAndUsuarioIdIn(@Param("data") LocalDate data, @Param("usuarioIds") Collection<Long> usuarioIds);
+
     /**
      * FUNCIONALIDADE FUTURA
      * Busca transações diárias de um usuário num período específico.
@@ -0,0 +1,26 @@
+package com.guilherme.desafiointer.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Operações de transações diárias executadas com SQL nativo.
+ */
+public interface TransacaoDiariaRepositoryCustom {
+
+    /**
+     * Cria ou incrementa o total diário do usuário em uma única instrução,
+     * apenas se o novo total não ultrapassar o limite.
+     *
+     * A linha afetada permanece bloqueada até o fim da transação corrente;
+     * a unicidade de (usuario_id, data) impede linhas duplicadas no dia.
+     *
+     * @param usuarioId identificador do usuário
+     * @param data data de referência
+     * @param valor valor a acrescentar
+     * @param limite total diário máximo permitido
+     * @return novo total, ou vazio se o limite seria excedido
+     */
+    Optional<BigDecimal> incrementarValorTotal(Long usuarioId, LocalDate data, BigDecimal valor, BigDecimal limite);
+}
@@ -0,0 +1,78 @@
+package com.guilherme.desafiointer.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Upsert condicional de transações diárias.
+ *
+ * PostgreSQL: INSERT ... ON CONFLICT DO UPDATE ... WHERE ... RETURNING
+ * H2: MERGE ... USING condicional lido via FINAL TABLE
+ *
+ * Em ambos os casos a criação, o incremento, a verificação do limite e o
+ * retorno do novo total ocorrem em uma única ida ao banco.
+ *
+ * O ID de linhas novas é um valor avulso da sequência da entidade. Ele não
+ * colide com os blocos do otimizador pooled, que reservam (valor - 49, valor]
+ * apenas para os valores lidos pelo Hibernate.
+ */
+class TransacaoDiariaRepositoryImpl implements TransacaoDiariaRepositoryCustom {
+
+    private static final String UPSERT_POSTGRESQL = """
+            INSERT INTO transacoes_diarias (id, usuario_id, data, valor_total)
+            SELECT nextval('transacoes_diarias_seq'), CAST(:usuarioId AS BIGINT), CAST(:data AS DATE), CAST(:valor AS NUMERIC)
+            WHERE CAST(:valor AS NUMERIC) <= CAST(:limite AS NUMERIC)
+            ON CONFLICT (usuario_id, data) DO UPDATE
+            SET valor_total = transacoes_diarias.valor_total + EXCLUDED.valor_total
+            WHERE transacoes_diarias.valor_total + EXCLUDED.valor_total <= CAST(:limite AS NUMERIC)
+            RETURNING valor_total
+            """;
+
+    private static final String UPSERT_H2 = """
+            SELECT valor_total FROM FINAL TABLE (
+                MERGE INTO transacoes_diarias t
+                USING (VALUES (CAST(:usuarioId AS BIGINT), CAST(:data AS DATE), CAST(:valor AS NUMERIC(38, 2))))
+                    AS s(usuario_id, data, valor)
+                ON t.usuario_id = s.usuario_id AND t.data = s.data
+                WHEN MATCHED AND t.valor_total + s.valor <= :limite THEN
+                    UPDATE SET valor_total = t.valor_total + s.valor
+                WHEN NOT MATCHED AND s.valor <= :limite THEN
+                    INSERT (id, usuario_id, data, valor_total)
+                    VALUES (NEXT VALUE FOR transacoes_diarias_seq, s.usuario_id, s.data, s.valor)
+            )
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String upsert;
+
+    @Override
+    public Optional<BigDecimal> incrementarValorTotal(Long usuarioId, LocalDate data,
+                                                      BigDecimal valor, BigDecimal limite) {
+        List<?> resultado = entityManager.createNativeQuery(sqlUpsert())
+                .setParameter("usuarioId", usuarioId)
+                .setParameter("data", data)
+                .setParameter("valor", valor)
+                .setParameter("limite", limite)
+                .getResultList();
+
+        return resultado.stream()
+                .findFirst()
+                .map(total -> new BigDecimal(total.toString()));
+    }
+
+    /**
+     * Seleciona a instrução conforme o dialeto configurado.
+     */
+    private String sqlUpsert() {
+        if (upsert == null) {
+            upsert = DialetoBanco.isPostgreSQL(entityManager) ? UPSERT_POSTGRESQL : UPSERT_H2;
+        }
+        return upsert;
+    }
+}
@@ -0,0 +1,79 @@
+package com.guilherme.desafiointer.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Incremento atômico de linhas de resumo de remessas (diário ou mensal).
+ *
+ * PostgreSQL: INSERT ... ON CONFLICT DO UPDATE
+ * H2: MERGE ... USING
+ *
+ * Uma única instrução cria ou incrementa a linha (usuario, período, moeda).
+ * Linhas novas recebem um valor avulso da sequência {@code <tabela>_seq}.
+ */
+abstract class UpsertResumoRemessa {
+
+    private static final String UPSERT_POSTGRESQL = """
+            INSERT INTO %1$s (id, usuario_id, %2$s, moeda, quantidade, total_valor, total_taxa, total_valor_convertido)
+            VALUES (nextval('%1$s_seq'), :usuarioId, :periodo, :moeda, :quantidade, :valor, :taxa, :valorConvertido)
+            ON CONFLICT (usuario_id, %2$s, moeda) DO UPDATE
+            SET quantidade = %1$s.quantidade + EXCLUDED.quantidade,
+                total_valor = %1$s.total_valor + EXCLUDED.total_valor,
+                total_taxa = %1$s.total_taxa + EXCLUDED.total_taxa,
+                total_valor_convertido = %1$s.total_valor_convertido + EXCLUDED.total_valor_convertido
+            """;
+
+    private static final String UPSERT_H2 = """
+            MERGE INTO %1$s t
+            USING (VALUES (CAST(:usuarioId AS BIGINT), CAST(:periodo AS DATE), CAST(:moeda AS VARCHAR(3)),
+                    CAST(:quantidade AS BIGINT), CAST(:valor AS NUMERIC(38, 2)), CAST(:taxa AS NUMERIC(38, 2)),
+                    CAST(:valorConvertido AS NUMERIC(38, 2))))
+                AS s(usuario_id, periodo, moeda, quantidade, valor, taxa, valor_convertido)
+            ON t.usuario_id = s.usuario_id AND t.%2$s = s.periodo AND t.moeda = s.moeda
+            WHEN MATCHED THEN UPDATE SET
+                quantidade = t.quantidade + s.quantidade,
+                total_valor = t.total_valor + s.valor,
+                total_taxa = t.total_taxa + s.taxa,
+                total_valor_convertido = t.total_valor_convertido + s.valor_convertido
+            WHEN NOT MATCHED THEN
+                INSERT (id, usuario_id, %2$s, moeda, quantidade, total_valor, total_taxa, total_valor_convertido)
+                VALUES (NEXT VALUE FOR %1$s_seq, s.usuario_id, s.periodo, s.moeda, s.quantidade, s.valor, s.taxa, s.valor_convertido)
+            """;
+
+    private final String tabela;
+    private final String colunaPeriodo;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile String upsert;
+
+    protected UpsertResumoRemessa(String tabela, String colunaPeriodo) {
+        this.tabela = tabela;
+        this.colunaPeriodo = colunaPeriodo;
+    }
+
+    public void acumular(Long usuarioId, LocalDate periodo, String moeda, long quantidade,
+                         BigDecimal valor, BigDecimal taxa, BigDecimal valorConvertido) {
+        entityManager.createNativeQuery(sqlUpsert())
+                .setParameter("usuarioId", usuarioId)
+                .setParameter("periodo", periodo)
+                .setParameter("moeda", moeda)
+                .setParameter("quantidade", quantidade)
+                .setParameter("valor", valor)
+                .setParameter("taxa", taxa)
+                .setParameter("valorConvertido", valorConvertido)
+                .executeUpdate();
+    }
+
+    private String sqlUpsert() {
+        if (upsert == null) {
+            String modelo = DialetoBanco.isPostgreSQL(entityManager) ? UPSERT_POSTGRESQL : UPSERT_H2;
+            upsert = modelo.formatted(tabela, colunaPeriodo);
+        }
+        return upsert;
+    }
+}
@@ -0,0 +1,74 @@
+package com.guilherme.desafiointer.repository;
+
+import com.guilherme.desafiointer.domain.Carteira;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Inserção de usuários e carteiras em lote.
+ *
+ * Os IDs vêm de sequências com otimizador pooled, então o Hibernate agrupa
+ * os inserts em batches JDBC ({@code hibernate.jdbc.batch_size}): com
+ * {@code order_inserts}, um batch de usuários seguido de um de carteiras.
+ * Os usuários inseridos não são colocados no cache de segundo nível.
+ *
+ * Deve ser executado em uma transação própria: o contexto de persistência
+ * é descarregado e limpo ao final.
+ */
+@Repository
+public class UsuarioLoteRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Usuário pronto para inserção, com senha já criptografada.
+     */
+    public record NovoUsuario(String nomeCompleto, String email, String documento,
+                              String senhaCriptografada, TipoUsuario tipoUsuario) {}
+
+    /**
+     * Insere os usuários e suas carteiras zeradas.
+     *
+     * @param usuarios usuários validados e únicos
+     */
+    public void inserirComCarteiras(List<NovoUsuario> usuarios) {
+        if (usuarios.isEmpty()) {
+            return;
+        }
+
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        try {
+            usuarios.forEach(novo -> entityManager.persist(comCarteira(novo)));
+            entityManager.flush();
+            entityManager.clear();
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+    }
+
+    private Usuario comCarteira(NovoUsuario novo) {
+        Usuario usuario = Usuario.builder()
+                .nomeCompleto(novo.nomeCompleto())
+                .email(novo.email())
+                .documento(novo.documento())
+                .senha(novo.senhaCriptografada())
+                .tipoUsuario(novo.tipoUsuario())
+                .build();
+        usuario.setCarteira(Carteira.builder()
+                .usuario(usuario)
+                .saldoBRL(BigDecimal.ZERO)
+                .saldoUSD(BigDecimal.ZERO)
+                .build());
+        return usuario;
+    }
+}
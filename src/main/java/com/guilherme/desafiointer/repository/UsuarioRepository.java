@@ -1,10 +1,21 @@
 package com.guilherme.desafiointer.repository;
 
 import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.usuario.UsuarioResumoDTO;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repositório responsável pelas operações de persistência de usuários.
@@ -13,6 +24,16 @@ import java.util.Optional;
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
+    /**
+     * Busca um usuário com a carteira carregada na mesma consulta.
+     * Usado na administração do usuário, que precisa preservar a carteira.
+     *
+     * @param id ID do usuário
+     * @return Optional<Usuario> contendo o usuário e sua carteira se encontrado
+     */
+    @EntityGraph(Usuario.GRAFO_COM_CARTEIRA)
+    Optional<Usuario> findComCarteiraById(Long id);
+
     /**
      * Busca um usuário pelo seu email.
      *
@@ -44,4 +65,77 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      * @return boolean indicando se o documento já está cadastrado
      */
     boolean existsByDocumento(String documento);
-}
\ No newline at end of file
+
+    /**
+     * Retorna, dentre os documentos informados, os já cadastrados.
+     * Usado na importação em lote (uma consulta por lote).
+     *
+     * @param documentos documentos a verificar
+     * @return documentos existentes
+     */
+    @Query("SELECT u.documento FROM Usuario u WHERE u.documento IN :documentos")
+    Set<String> buscarDocumentosExistentes(@Param("documentos") Collection<String> documentos);
+
+    /**
+     * Retorna, dentre os emails informados, os já cadastrados.
+     * Usado na importação em lote (uma consulta por lote).
+     *
+     * @param emails emails a verificar
+     * @return emails existentes
+     */
+    @Query("SELECT u.email FROM Usuario u WHERE u.email IN :emails")
+    Set<String> buscarEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    /**
+     * Documento e email de um usuário, usados no filtro de unicidade.
+     */
+    interface ChaveUnicidade {
+        String getDocumento();
+        String getEmail();
+    }
+
+    /**
+     * Percorre documentos e emails de todos os usuários.
+     * O driver busca as linhas em blocos, sem materializar o resultado inteiro.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return stream de chaves de unicidade
+     */
+    @Query("SELECT u.documento AS documento, u.email AS email FROM Usuario u")
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheable", value = "false")
+    })
+    Stream<ChaveUnicidade> buscarChavesUnicidade();
+
+    /**
+     * Busca a página seguinte ao cursor, ordenada por ID (paginação keyset).
+     * Usa o índice da chave primária: o custo não cresce com a posição da página.
+     *
+     * @param cursor ID do último usuário já lido (0 para a primeira página)
+     * @param limite quantidade máxima de usuários
+     * @return resumos dos usuários com ID maior que o cursor
+     */
+    @Query("SELECT new com.guilherme.desafiointer.dto.usuario.UsuarioResumoDTO(" +
+            "u.id, u.nomeCompleto, u.email, u.documento, u.tipoUsuario) " +
+            "FROM Usuario u WHERE u.id > :cursor ORDER BY u.id")
+    List<UsuarioResumoDTO> buscarResumosAposCursor(@Param("cursor") long cursor, Limit limite);
+
+    /**
+     * Percorre os resumos de todos os usuários, ordenados por ID.
+     * O driver busca as linhas em blocos, sem materializar o resultado inteiro.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return stream de resumos
+     */
+    @Query("SELECT new com.guilherme.desafiointer.dto.usuario.UsuarioResumoDTO(" +
+            "u.id, u.nomeCompleto, u.email, u.documento, u.tipoUsuario) " +
+            "FROM Usuario u ORDER BY u.id")
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheable", value = "false")
+    })
+    Stream<UsuarioResumoDTO> percorrerResumos();
+}
@@ -1,18 +1,28 @@
 package com.guilherme.desafiointer.service;
 
+import com.guilherme.desafiointer.config.constants.AppConstants;
 import com.guilherme.desafiointer.domain.Carteira;
 import com.guilherme.desafiointer.domain.TipoUsuario;
 import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.usuario.PaginaUsuariosDTO;
+import com.guilherme.desafiointer.dto.usuario.UsuarioResumoDTO;
 import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
 import com.guilherme.desafiointer.exception.remessa.RemessaException;
 import com.guilherme.desafiointer.repository.UsuarioRepository;
+import com.guilherme.desafiointer.service.cache.CacheUsuarios;
+import com.guilherme.desafiointer.service.unicidade.FiltroUnicidadeUsuario;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Serviço responsável pelo gerenciamento de usuários do sistema.
@@ -25,6 +35,8 @@ public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final FiltroUnicidadeUsuario filtroUnicidade;
+    private final CacheUsuarios cacheUsuarios;
 
     /**
      * Cria usuário completo com carteira inicializada.
@@ -56,8 +68,13 @@ public class UsuarioService {
             // Associa a carteira ao usuário
             usuario.setCarteira(carteira);
 
-            // Salva o usuário e a carteira
-            return usuarioRepository.save(usuario);
+            // Salva o usuário e a carteira; o flush antecipa o INSERT (adiado pelos IDs
+            // por sequência) para que a violação de unicidade seja tratada abaixo
+            Usuario salvo = usuarioRepository.saveAndFlush(usuario);
+            filtroUnicidade.registrar(documento, email);
+            return salvo;
+        } catch (DataIntegrityViolationException e) {
+            throw usuarioJaCadastrado(e);
         } catch (Exception e) {
             log.error("Erro ao criar usuário: {}", e.getMessage());
             throw RemessaException.processamento(
@@ -68,15 +85,19 @@ public class UsuarioService {
         }
     }
 
+    /**
+     * Valida unicidade de documento e email.
+     * Consulta o banco apenas quando o filtro de unicidade indica que o valor pode existir.
+     */
     private void validarUsuarioUnico(String email, String documento) {
-        if (usuarioRepository.existsByDocumento(documento)) {
+        if (filtroUnicidade.documentoPodeExistir(documento) && usuarioRepository.existsByDocumento(documento)) {
             throw RemessaException.validacao(
                     RemessaErrorType.DOCUMENTO_JA_CADASTRADO,
                     "Documento já cadastrado: " + documento
             );
         }
 
-        if (usuarioRepository.existsByEmail(email)) {
+        if (filtroUnicidade.emailPodeExistir(email) && usuarioRepository.existsByEmail(email)) {
             throw RemessaException.validacao(
                     RemessaErrorType.EMAIL_JA_CADASTRADO,
                     "Email já cadastrado: " + email
@@ -84,13 +105,26 @@ public class UsuarioService {
         }
     }
 
+    /**
+     * Converte violação das constraints únicas em erro de conflito.
+     * Ocorre quando o valor foi cadastrado por outra instância ou em concorrência.
+     */
+    private RemessaException usuarioJaCadastrado(DataIntegrityViolationException e) {
+        log.warn("Violação de unicidade ao gravar usuário: {}", e.getMostSpecificCause().getMessage());
+        return RemessaException.validacao(
+                RemessaErrorType.USUARIO_JA_CADASTRADO,
+                "Email ou documento já cadastrado"
+        );
+    }
+
     /**
      * Altera senha com validação de senha atual.
      * Verifica autenticidade antes de permitir alteração.
+     * O cache do usuário é invalidado após o commit.
      */
     @Transactional
     public void alterarSenha(Long userId, String senhaAtual, String novaSenha) {
-        Usuario usuario = buscarPorId(userId);
+        Usuario usuario = carregarParaAlteracao(userId);
 
         if (!passwordEncoder.matches(senhaAtual, usuario.getSenha())) {
             throw RemessaException.validacao(
@@ -102,6 +136,7 @@ public class UsuarioService {
         try {
             usuario.setSenhaEncoded(passwordEncoder.encode(novaSenha));
             usuarioRepository.save(usuario);
+            cacheUsuarios.invalidarAposCommit(usuario);
         } catch (Exception e) {
             log.error("Erro ao alterar senha: {}", e.getMessage());
             throw RemessaException.processamento(
@@ -114,20 +149,43 @@ public class UsuarioService {
 
     /**
      * Busca usuario por ID com exception se não encontrado.
+     * Leitura via cache: retorna cópia desanexada, sem carteira.
      */
     public Usuario buscarPorId(Long id) {
+        return cacheUsuarios.buscarPorId(id)
+                .orElseThrow(() -> usuarioNaoEncontrado(id));
+    }
+
+    /**
+     * Carrega a entidade gerenciada diretamente do banco para alteração.
+     * A carteira não é carregada.
+     */
+    private Usuario carregarParaAlteracao(Long id) {
         return usuarioRepository.findById(id)
-                .orElseThrow(() -> RemessaException.negocio(
-                        RemessaErrorType.USUARIO_NAO_ENCONTRADO,
-                        "Usuário não encontrado com ID: " + id
-                ));
+                .orElseThrow(() -> usuarioNaoEncontrado(id));
+    }
+
+    /**
+     * Carrega a entidade gerenciada com a carteira, em uma única consulta.
+     */
+    private Usuario carregarComCarteira(Long id) {
+        return usuarioRepository.findComCarteiraById(id)
+                .orElseThrow(() -> usuarioNaoEncontrado(id));
+    }
+
+    private RemessaException usuarioNaoEncontrado(Long id) {
+        return RemessaException.negocio(
+                RemessaErrorType.USUARIO_NAO_ENCONTRADO,
+                "Usuário não encontrado com ID: " + id
+        );
     }
 
     /**
      * Busca usuario por documento com exception se não encontrado.
+     * Leitura via cache: retorna cópia desanexada, sem carteira.
      */
     public Usuario buscarPorDocumento(String documento) {
-        return usuarioRepository.findByDocumento(documento)
+        return cacheUsuarios.buscarPorDocumento(documento)
                 .orElseThrow(() -> RemessaException.negocio(
                         RemessaErrorType.USUARIO_NAO_ENCONTRADO,
                         "Usuário não encontrado com documento: " + documento
@@ -145,6 +203,7 @@ public class UsuarioService {
      */
     private void validarAtualizacaoUsuario(Usuario usuario, String novoEmail, String novoDocumento) {
         if (!usuario.getEmail().equals(novoEmail) &&
+                filtroUnicidade.emailPodeExistir(novoEmail) &&
                 usuarioRepository.existsByEmail(novoEmail)) {
             throw RemessaException.validacao(
                     RemessaErrorType.EMAIL_JA_CADASTRADO,
@@ -153,6 +212,7 @@ public class UsuarioService {
         }
 
         if (!usuario.getDocumento().equals(novoDocumento) &&
+                filtroUnicidade.documentoPodeExistir(novoDocumento) &&
                 usuarioRepository.existsByDocumento(novoDocumento)) {
             throw RemessaException.validacao(
                     RemessaErrorType.DOCUMENTO_JA_CADASTRADO,
@@ -164,9 +224,10 @@ public class UsuarioService {
     /**
      * FUNCIONALIDADE FUTURA
      * Busca usuario por email com exception se não encontrado.
+     * Leitura via cache: retorna cópia desanexada, sem carteira.
      */
     public Usuario buscarPorEmail(String email) {
-        return usuarioRepository.findByEmail(email)
+        return cacheUsuarios.buscarPorEmail(email)
                 .orElseThrow(() -> RemessaException.negocio(
                         RemessaErrorType.USUARIO_NAO_ENCONTRADO,
                         "Usuário não encontrado com email: " + email
@@ -174,31 +235,76 @@ public class UsuarioService {
     }
 
     /**
-     * FUNCIONALIDADE FUTURA
-     * Lista todos os usuários com tratamento de erro.
+     * Lista uma página de usuários a partir do cursor (paginação keyset).
+     * Retorna apenas o resumo (sem senha e sem carteira), em ordem de ID.
+     *
+     * @param cursor ID do último usuário da página anterior; nulo para a primeira página
+     * @param tamanho quantidade de usuários por página (máximo {@value AppConstants#TAMANHO_MAXIMO_PAGINA})
+     * @return usuários da página e o cursor da próxima
+     * @throws RemessaException se o tamanho ou o cursor forem inválidos
      */
-    public List<Usuario> listarTodos() {
-        try {
-            return usuarioRepository.findAll();
-        } catch (Exception e) {
-            log.error("Erro ao listar usuários: {}", e.getMessage());
-            throw RemessaException.processamento(
-                    RemessaErrorType.ERRO_PROCESSAMENTO_USUARIO,
-                    "Erro ao listar usuários",
-                    e
+    @Transactional(readOnly = true)
+    public PaginaUsuariosDTO listarPagina(Long cursor, int tamanho) {
+        validarPaginacao(cursor, tamanho);
+
+        // Busca um registro a mais para saber se existe próxima página
+        List<UsuarioResumoDTO> resumos = usuarioRepository.buscarResumosAposCursor(
+                cursor == null ? 0L : cursor, Limit.of(tamanho + 1));
+
+        if (resumos.size() <= tamanho) {
+            return new PaginaUsuariosDTO(resumos, null);
+        }
+        List<UsuarioResumoDTO> pagina = List.copyOf(resumos.subList(0, tamanho));
+        return new PaginaUsuariosDTO(pagina, pagina.get(tamanho - 1).id());
+    }
+
+    private void validarPaginacao(Long cursor, int tamanho) {
+        if (tamanho < 1 || tamanho > AppConstants.TAMANHO_MAXIMO_PAGINA) {
+            throw RemessaException.validacao(
+                    RemessaErrorType.DADOS_INVALIDOS,
+                    "Tamanho da página deve estar entre 1 e " + AppConstants.TAMANHO_MAXIMO_PAGINA
             );
         }
+        if (cursor != null && cursor < 0) {
+            throw RemessaException.validacao(
+                    RemessaErrorType.DADOS_INVALIDOS,
+                    "Cursor da página não pode ser negativo"
+            );
+        }
+    }
+
+    /**
+     * Percorre todos os usuários em ordem de ID, entregando um resumo por vez.
+     * Uso em rotinas em lote: a memória ocupada não depende da quantidade de usuários.
+     * O consumidor roda dentro da transação de leitura e não deve reter os itens.
+     *
+     * @param consumidor processamento de cada usuário
+     * @return quantidade de usuários percorridos
+     */
+    @Transactional(readOnly = true)
+    public long percorrerUsuarios(Consumer<UsuarioResumoDTO> consumidor) {
+        long quantidade = 0;
+        try (Stream<UsuarioResumoDTO> resumos = usuarioRepository.percorrerResumos()) {
+            Iterator<UsuarioResumoDTO> iterator = resumos.iterator();
+            while (iterator.hasNext()) {
+                consumidor.accept(iterator.next());
+                quantidade++;
+            }
+        }
+        log.debug("Usuários percorridos: {}", quantidade);
+        return quantidade;
     }
 
     /**
      * FUNCIONALIDADE FUTURA
      * Atualiza dados do usuário preservando senha e carteira.
      * Valida unicidade apenas para campos alterados.
+     * O cache do usuário (inclusive email e documento anteriores) é invalidado após o commit.
      */
     @Transactional
     public Usuario atualizarUsuario(Long id, String nomeCompleto, String email,
                                     TipoUsuario tipoUsuario, String documento) {
-        Usuario usuarioExistente = buscarPorId(id);
+        Usuario usuarioExistente = carregarComCarteira(id);
         validarAtualizacaoUsuario(usuarioExistente, email, documento);
 
         try {
@@ -212,7 +318,14 @@ public class UsuarioService {
                     .carteira(usuarioExistente.getCarteira())
                     .build();
 
-            return usuarioRepository.save(usuarioAtualizado);
+            // Registrada antes do save: o merge sobrescreve email/documento da entidade existente
+            cacheUsuarios.invalidarAposCommit(usuarioExistente);
+            // Flush para que a violação de unicidade ocorra aqui, e não no commit
+            Usuario salvo = usuarioRepository.saveAndFlush(usuarioAtualizado);
+            filtroUnicidade.registrar(documento, email);
+            return salvo;
+        } catch (DataIntegrityViolationException e) {
+            throw usuarioJaCadastrado(e);
         } catch (Exception e) {
             log.error("Erro ao atualizar usuário: {}", e.getMessage());
             throw RemessaException.processamento(
@@ -0,0 +1,88 @@
+package com.guilherme.desafiointer.service.admissao;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Balde de tokens por usuário, sem travas.
+ *
+ * Implementado como GCRA (generic cell rate algorithm): em vez de tokens e
+ * último reabastecimento, cada usuário guarda apenas o instante teórico em
+ * que o balde estará cheio de novo, em um AtomicLong (nanossegundos).
+ * Consumir um token é avançar esse instante em um intervalo (1 / taxa) com
+ * compareAndSet; o consumo é recusado quando o instante ficaria mais de
+ * `rajada` intervalos à frente do atual. O resultado é o mesmo de um balde
+ * com capacidade `rajada` reabastecido à taxa configurada.
+ *
+ * Baldes cheios equivalem a baldes novos e são removidos por removerCheios.
+ */
+public final class BaldeTokens {
+
+    private final long intervaloNanos;
+    private final long capacidadeNanos;
+    private final ConcurrentHashMap<Long, AtomicLong> baldes = new ConcurrentHashMap<>();
+    private final Function<Long, AtomicLong> criarBalde = usuarioId -> new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param tokensPorSegundo taxa de reabastecimento
+     * @param rajada capacidade do balde
+     */
+    public BaldeTokens(int tokensPorSegundo, int rajada) {
+        if (tokensPorSegundo < 1 || rajada < 1) {
+            throw new IllegalArgumentException("Taxa e rajada devem ser positivas");
+        }
+        this.intervaloNanos = 1_000_000_000L / tokensPorSegundo;
+        this.capacidadeNanos = intervaloNanos * rajada;
+    }
+
+    /**
+     * Consome um token do usuário, se houver.
+     *
+     * @param usuarioId identificador do usuário
+     * @param agoraNanos instante atual (System.nanoTime)
+     * @return 0 se o token foi consumido; senão, nanossegundos até haver um token
+     */
+    public long consumir(Long usuarioId, long agoraNanos) {
+        AtomicLong balde = baldes.get(usuarioId);
+        if (balde == null) {
+            balde = baldes.computeIfAbsent(usuarioId, criarBalde);
+        }
+
+        while (true) {
+            long cheioEm = balde.get();
+            long proximo = Math.max(cheioEm, agoraNanos) + intervaloNanos;
+            long espera = proximo - agoraNanos - capacidadeNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (balde.compareAndSet(cheioEm, proximo)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Remove os baldes já cheios. Um consumo concorrente com a remoção pode
+     * ser perdido, o que libera no máximo um token a mais para o usuário.
+     *
+     * @param agoraNanos instante atual (System.nanoTime)
+     * @return quantidade de baldes removidos
+     */
+    public int removerCheios(long agoraNanos) {
+        int removidos = 0;
+        for (var entrada : baldes.entrySet()) {
+            if (entrada.getValue().get() <= agoraNanos && baldes.remove(entrada.getKey(), entrada.getValue())) {
+                removidos++;
+            }
+        }
+        return removidos;
+    }
+
+    /**
+     * @return quantidade de usuários com balde
+     */
+    public int quantidadeUsuarios() {
+        return baldes.size();
+    }
+}
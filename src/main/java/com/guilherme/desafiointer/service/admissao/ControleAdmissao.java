@@ -0,0 +1,224 @@
+package com.guilherme.desafiointer.service.admissao;
+
+import com.guilherme.desafiointer.config.AdmissaoRemessasProperties;
+import com.guilherme.desafiointer.exception.domain.AdmissaoRecusadaException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Controle de admissão das remessas (individuais, em lote, liquidações e
+ * envios assíncronos) e das consultas de histórico, aplicado antes do
+ * processamento (e portanto antes da conexão, do lock distribuído e do lock
+ * pessimista da carteira).
+ *
+ * Verificações, sem espera:
+ * - vagas da instância (LimiteConcorrencia), separadas para remessas e para
+ *   consultas: máximos fixos ou, com o limite adaptativo, ajustadas pela
+ *   latência de cada caminho e pela espera por conexões do pool (LimiteAdaptativo)
+ * - balde de tokens do remetente (BaldeTokens), só para remessas: taxa
+ *   sustentada e rajada. Um lote consome um token (uma transação e um lock
+ *   da carteira); uma liquidação, um token de cada remetente
+ *
+ * Envios assíncronos consomem apenas o token do remetente: o processamento
+ * acontece depois, nas partições de fila limitada, e não ocupa vaga.
+ *
+ * Sem vaga ou sem token, a requisição é recusada de imediato com
+ * AdmissaoRecusadaException (429 com Retry-After). Assim um remetente que
+ * dispara remessas em excesso esgota apenas o próprio balde, em vez de
+ * ocupar threads e conexões esperando o timeout do lock da carteira, e um
+ * pico de carga é descartado na entrada em vez de enfileirar no pool.
+ *
+ * @see AdmissaoRemessasProperties
+ */
+@Slf4j
+@Component
+public class ControleAdmissao {
+
+    private final AdmissaoRemessasProperties properties;
+    private final EsperaConexoes esperaConexoes;
+    private final BaldeTokens baldes;
+    private final LimiteConcorrencia remessas;
+    private final LimiteConcorrencia consultas;
+    private ScheduledExecutorService limpeza;
+
+    public ControleAdmissao(AdmissaoRemessasProperties properties, EsperaConexoes esperaConexoes) {
+        this.properties = properties;
+        this.esperaConexoes = esperaConexoes;
+        this.baldes = new BaldeTokens(properties.getRemessasPorSegundo(), properties.getRajada());
+        this.remessas = criarLimite(properties.getMaximoEmProcessamento());
+        this.consultas = criarLimite(properties.getMaximoConsultas());
+    }
+
+    /**
+     * Limite fixo no máximo ou, com o limite adaptativo, iniciado na metade
+     * do máximo, que passa a ser o teto.
+     */
+    private LimiteConcorrencia criarLimite(int maximo) {
+        AdmissaoRemessasProperties.Adaptativo adaptativo = properties.getAdaptativo();
+        if (!adaptativo.isHabilitado()) {
+            return new LimiteFixo(maximo);
+        }
+        int minimo = Math.min(adaptativo.getLimiteMinimo(), maximo);
+        return new LimiteAdaptativo(maximo / 2, minimo, maximo,
+                adaptativo.getTolerancia(), adaptativo.getSuavizacao(), adaptativo.getAmostrasLatenciaLonga());
+    }
+
+    @PostConstruct
+    void iniciar() {
+        if (properties.isHabilitado()) {
+            long intervalo = properties.getIntervaloLimpeza().toMillis();
+            limpeza = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "admissao-remessas-limpeza");
+                thread.setDaemon(true);
+                return thread;
+            });
+            limpeza.scheduleWithFixedDelay(this::removerCheios, intervalo, intervalo, TimeUnit.MILLISECONDS);
+            log.info("Controle de admissão de remessas habilitado: [remessasPorSegundo={}, rajada={}, "
+                            + "maximoEmProcessamento={}, maximoConsultas={}, adaptativo={}]",
+                    properties.getRemessasPorSegundo(), properties.getRajada(), properties.getMaximoEmProcessamento(),
+                    properties.getMaximoConsultas(), properties.getAdaptativo().isHabilitado());
+        }
+    }
+
+    /**
+     * Executa a operação do remetente se houver vaga de remessa na instância
+     * e token no balde do remetente.
+     *
+     * @param usuarioId remetente
+     * @param operacao processamento da remessa
+     * @return resultado da operação
+     * @throws AdmissaoRecusadaException se a remessa não for admitida
+     */
+    public <T> T executar(Long usuarioId, Supplier<T> operacao) {
+        return executar(usuarioId == null ? List.of() : List.of(usuarioId), operacao);
+    }
+
+    /**
+     * Executa a operação de vários remetentes (liquidação) se houver vaga de
+     * remessa na instância e token no balde de cada remetente. Tokens já
+     * consumidos de outros remetentes não são devolvidos na recusa.
+     *
+     * @param remetentes remetentes da operação
+     * @param operacao processamento das remessas
+     * @return resultado da operação
+     * @throws AdmissaoRecusadaException se a operação não for admitida
+     */
+    public <T> T executar(Collection<Long> remetentes, Supplier<T> operacao) {
+        if (!properties.isHabilitado()) {
+            return operacao.get();
+        }
+
+        reservarVaga(remessas, remetentes.size() == 1 ? remetentes.iterator().next() : null);
+        try {
+            remetentes.forEach(this::consumirToken);
+        } catch (AdmissaoRecusadaException e) {
+            remessas.liberar(0, false);
+            throw e;
+        }
+        return medir(remessas, operacao);
+    }
+
+    /**
+     * Consome o token do remetente de um envio assíncrono, sem reservar vaga.
+     *
+     * @param usuarioId remetente
+     * @throws AdmissaoRecusadaException se a taxa do remetente foi excedida
+     */
+    public void verificarTaxa(Long usuarioId) {
+        if (properties.isHabilitado() && usuarioId != null) {
+            consumirToken(usuarioId);
+        }
+    }
+
+    private void consumirToken(Long usuarioId) {
+        long esperaNanos = baldes.consumir(usuarioId, System.nanoTime());
+        if (esperaNanos > 0) {
+            log.debug("Remessa recusada, taxa do remetente excedida: [usuarioId={}]", usuarioId);
+            throw new AdmissaoRecusadaException(
+                    "Limite de remessas por segundo excedido para o usuário " + usuarioId,
+                    Duration.ofNanos(esperaNanos)
+            );
+        }
+    }
+
+    /**
+     * Executa a consulta de histórico se houver vaga de consulta na instância.
+     *
+     * @param usuarioId usuário consultado
+     * @param operacao consulta
+     * @return resultado da consulta
+     * @throws AdmissaoRecusadaException se a consulta não for admitida
+     */
+    public <T> T executarConsulta(Long usuarioId, Supplier<T> operacao) {
+        if (!properties.isHabilitado()) {
+            return operacao.get();
+        }
+
+        reservarVaga(consultas, usuarioId);
+        return medir(consultas, operacao);
+    }
+
+    private void reservarVaga(LimiteConcorrencia limite, Long usuarioId) {
+        if (!limite.adquirir()) {
+            log.debug("Requisição recusada, instância sem vagas: [usuarioId={}, limite={}]", usuarioId, limite.limite());
+            throw new AdmissaoRecusadaException(
+                    "Capacidade de processamento esgotada; tente novamente",
+                    properties.getEsperaCapacidadeEsgotada()
+            );
+        }
+    }
+
+    /**
+     * Executa a operação e devolve a vaga com a latência observada.
+     */
+    private <T> T medir(LimiteConcorrencia limite, Supplier<T> operacao) {
+        long inicio = System.nanoTime();
+        try {
+            return operacao.get();
+        } finally {
+            limite.liberar(System.nanoTime() - inicio, esperaConexoes.saturado());
+        }
+    }
+
+    private void removerCheios() {
+        int removidos = baldes.removerCheios(System.nanoTime());
+        log.debug("Baldes de admissão sem uso removidos: [quantidade={}]", removidos);
+    }
+
+    /**
+     * @return remessas admitidas ainda em processamento
+     */
+    public int emProcessamento() {
+        return remessas.emProcessamento();
+    }
+
+    /**
+     * @return limite atual de remessas em processamento
+     */
+    public int limiteRemessas() {
+        return remessas.limite();
+    }
+
+    /**
+     * @return limite atual de consultas em processamento
+     */
+    public int limiteConsultas() {
+        return consultas.limite();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (limpeza != null) {
+            limpeza.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.guilherme.desafiointer.service.admissao;
+
+import com.guilherme.desafiointer.config.AdmissaoRemessasProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Espera por conexões do pool (Hikari), sinal de saturação do banco para o
+ * LimiteAdaptativo: muitas threads esperando conexão significam mais
+ * concorrência do que o pool atende, antes de a latência refletir.
+ *
+ * O pool é compartilhado com os trabalhos em segundo plano (partições da
+ * importação e do envio assíncrono, agrupamento), que esperam por conexão
+ * sem passar pela admissão. Por isso o sinal exige uma fração do pool
+ * (remessas.admissao.adaptativo.razao-espera-conexoes) em espera, e não
+ * uma única thread: alguns trabalhos em segundo plano esperando não reduzem
+ * o limite das requisições.
+ *
+ * Fora do Hikari, ou antes de o pool ser iniciado, não há espera.
+ */
+@Component
+public class EsperaConexoes {
+
+    private final DataSource dataSource;
+    private final double razaoEspera;
+    private volatile HikariDataSource hikari;
+
+    public EsperaConexoes(DataSource dataSource, AdmissaoRemessasProperties properties) {
+        this.dataSource = dataSource;
+        this.razaoEspera = properties.getAdaptativo().getRazaoEsperaConexoes();
+    }
+
+    /**
+     * @return true se as threads esperando conexão atingem a fração configurada do pool
+     */
+    public boolean saturado() {
+        HikariDataSource pool = hikari();
+        if (pool == null || pool.getHikariPoolMXBean() == null) {
+            return false;
+        }
+        int limiar = Math.max(1, (int) Math.ceil(pool.getMaximumPoolSize() * razaoEspera));
+        return pool.getHikariPoolMXBean().getThreadsAwaitingConnection() >= limiar;
+    }
+
+    private HikariDataSource hikari() {
+        if (hikari == null && dataSource != null) {
+            try {
+                if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                    hikari = dataSource.unwrap(HikariDataSource.class);
+                }
+            } catch (SQLException e) {
+                return null;
+            }
+        }
+        return hikari;
+    }
+}
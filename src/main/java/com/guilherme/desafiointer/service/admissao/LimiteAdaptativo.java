@@ -0,0 +1,126 @@
+package com.guilherme.desafiointer.service.admissao;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concorrência ajustado pela latência observada (gradiente).
+ *
+ * A cada requisição concluída, compara a latência dela com a média de longo
+ * prazo (média exponencial de `amostrasLatenciaLonga` amostras):
+ *
+ *   gradiente = clamp(tolerancia × latenciaLonga / latencia, 0.5, 1.0)
+ *   novo      = limite × gradiente + √limite
+ *
+ * Enquanto a latência fica dentro da tolerância, o limite cresce √limite por
+ * ajuste; quando as requisições passam a enfileirar (no lock das carteiras,
+ * no banco), a latência sobe e o limite cai proporcionalmente. Uma fração
+ * do pool esperando conexão (EsperaConexoes) indica o mesmo antes de a
+ * latência refletir, e reduz o limite em 10%. Cada ajuste entra com peso `suavizacao`.
+ *
+ * O limite só cresce se ao menos metade dele estiver em uso; com pouca carga
+ * a latência não diz nada sobre um limite maior. Depois de um pico, a média
+ * de longo prazo decai até a latência atual para que o limite não cresça
+ * sem controle na volta ao normal.
+ *
+ * Reservar e devolver vagas não usa trava. O ajuste usa tryLock: com outra
+ * thread ajustando, a amostra é descartada em vez de esperar.
+ */
+public final class LimiteAdaptativo implements LimiteConcorrencia {
+
+    private static final double GRADIENTE_MINIMO = 0.5;
+    private static final double FATOR_ESPERA_CONEXOES = 0.9;
+    private static final double RECUPERACAO_LATENCIA_LONGA = 0.95;
+
+    private final int minimo;
+    private final int maximo;
+    private final double tolerancia;
+    private final double suavizacao;
+    private final double pesoLatenciaLonga;
+    private final AtomicInteger emProcessamento = new AtomicInteger();
+    private final ReentrantLock trava = new ReentrantLock();
+
+    private volatile int limite;
+    private double limiteEstimado;
+    private double latenciaLonga;
+
+    /**
+     * @param inicial limite antes da primeira amostra
+     * @param minimo menor limite
+     * @param maximo maior limite
+     * @param tolerancia razão entre latência e média de longo prazo tolerada
+     * @param suavizacao peso de cada ajuste (0 a 1)
+     * @param amostrasLatenciaLonga amostras da média de longo prazo
+     */
+    public LimiteAdaptativo(int inicial, int minimo, int maximo,
+                            double tolerancia, double suavizacao, int amostrasLatenciaLonga) {
+        if (minimo < 1 || maximo < minimo) {
+            throw new IllegalArgumentException("Limites mínimo e máximo inválidos");
+        }
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.tolerancia = tolerancia;
+        this.suavizacao = suavizacao;
+        this.pesoLatenciaLonga = 2.0 / (amostrasLatenciaLonga + 1);
+        this.limiteEstimado = Math.max(minimo, Math.min(maximo, inicial));
+        this.limite = (int) limiteEstimado;
+    }
+
+    @Override
+    public boolean adquirir() {
+        while (true) {
+            int atual = emProcessamento.get();
+            if (atual >= limite) {
+                return false;
+            }
+            if (emProcessamento.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void liberar(long latenciaNanos, boolean esperaConexoes) {
+        int emUso = emProcessamento.getAndDecrement();
+        if (latenciaNanos <= 0 || !trava.tryLock()) {
+            return;
+        }
+        try {
+            ajustar(latenciaNanos, emUso, esperaConexoes);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private void ajustar(double latencia, int emUso, boolean esperaConexoes) {
+        latenciaLonga = latenciaLonga == 0 ? latencia : latenciaLonga + (latencia - latenciaLonga) * pesoLatenciaLonga;
+        if (latenciaLonga > 2 * latencia) {
+            latenciaLonga *= RECUPERACAO_LATENCIA_LONGA;
+        }
+
+        double novo;
+        if (esperaConexoes) {
+            novo = limiteEstimado * FATOR_ESPERA_CONEXOES;
+        } else {
+            double gradiente = Math.max(GRADIENTE_MINIMO, Math.min(1.0, tolerancia * latenciaLonga / latencia));
+            novo = limiteEstimado * gradiente + Math.sqrt(limiteEstimado);
+            if (novo > limiteEstimado && emUso < limiteEstimado / 2) {
+                return;
+            }
+        }
+
+        novo = limiteEstimado * (1 - suavizacao) + novo * suavizacao;
+        limiteEstimado = Math.max(minimo, Math.min(maximo, novo));
+        limite = (int) limiteEstimado;
+    }
+
+    @Override
+    public int limite() {
+        return limite;
+    }
+
+    @Override
+    public int emProcessamento() {
+        return emProcessamento.get();
+    }
+}
@@ -0,0 +1,36 @@
+package com.guilherme.desafiointer.service.admissao;
+
+/**
+ * Limite de requisições em processamento ao mesmo tempo.
+ *
+ * Implementações:
+ * - LimiteFixo: máximo configurado
+ * - LimiteAdaptativo: ajustado pela latência e pela espera por conexões
+ */
+public interface LimiteConcorrencia {
+
+    /**
+     * Reserva uma vaga, sem esperar.
+     *
+     * @return true se havia vaga
+     */
+    boolean adquirir();
+
+    /**
+     * Devolve a vaga reservada.
+     *
+     * @param latenciaNanos duração da requisição
+     * @param esperaConexoes true se havia requisições esperando conexão do pool ao final
+     */
+    void liberar(long latenciaNanos, boolean esperaConexoes);
+
+    /**
+     * @return limite atual
+     */
+    int limite();
+
+    /**
+     * @return vagas reservadas
+     */
+    int emProcessamento();
+}
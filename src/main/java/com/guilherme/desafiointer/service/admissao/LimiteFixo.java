@@ -0,0 +1,47 @@
+package com.guilherme.desafiointer.service.admissao;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de concorrência fixo, reservado com compareAndSet.
+ */
+public final class LimiteFixo implements LimiteConcorrencia {
+
+    private final int maximo;
+    private final AtomicInteger emProcessamento = new AtomicInteger();
+
+    public LimiteFixo(int maximo) {
+        if (maximo < 1) {
+            throw new IllegalArgumentException("Limite deve ser positivo");
+        }
+        this.maximo = maximo;
+    }
+
+    @Override
+    public boolean adquirir() {
+        while (true) {
+            int atual = emProcessamento.get();
+            if (atual >= maximo) {
+                return false;
+            }
+            if (emProcessamento.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void liberar(long latenciaNanos, boolean esperaConexoes) {
+        emProcessamento.decrementAndGet();
+    }
+
+    @Override
+    public int limite() {
+        return maximo;
+    }
+
+    @Override
+    public int emProcessamento() {
+        return emProcessamento.get();
+    }
+}
@@ -0,0 +1,369 @@
+package com.guilherme.desafiointer.service.agrupamento;
+
+import com.guilherme.desafiointer.config.FabricaThreads;
+import com.guilherme.desafiointer.config.RemessaAgrupamentoProperties;
+import com.guilherme.desafiointer.domain.Remessa;
+import com.guilherme.desafiointer.dto.remessa.RemessaLiquidacaoRequestDTO;
+import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.service.interfaces.RemessaServiceInterface;
+import com.guilherme.desafiointer.service.processor.RemessaProcessor;
+import com.guilherme.desafiointer.service.validator.RemessaValidator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Agrupamento de remessas individuais concorrentes em uma transação (group commit).
+ *
+ * Com o agrupamento habilitado, as remessas recebidas são enfileiradas e uma
+ * única thread as grava em grupos: a primeira remessa do grupo espera no
+ * máximo a janela configurada pelas seguintes. Um grupo só contém remessas
+ * independentes (nenhuma carteira em mais de uma remessa); as que tocam
+ * carteiras já presentes ficam para o grupo seguinte, na ordem de chegada.
+ *
+ * Cada grupo é gravado como uma liquidação (RemessaValidator.validarDadosLiquidacao
+ * + RemessaProcessor.processarLiquidacao): um único SELECT FOR UPDATE das
+ * carteiras, inserções e atualizações em batch JDBC e um commit. Como as
+ * carteiras são disjuntas, a compensação não altera o resultado de nenhuma
+ * remessa em relação ao processamento individual.
+ *
+ * Se qualquer remessa do grupo falhar, o grupo é desfeito e cada remessa é
+ * refeita pelo fluxo individual (RemessaServiceInterface.realizarRemessa),
+ * em transação própria, para isolar as rejeitadas. Cada chamador recebe o
+ * próprio resultado ou a própria exceção.
+ *
+ * O chamador espera o resultado por no máximo tempo-maximo-espera. No
+ * encerramento, toda remessa aceita e ainda sem resultado (na fila, adiada
+ * ou no grupo em gravação) é concluída com erro, para que nenhum chamador
+ * fique bloqueado.
+ *
+ * Desabilitado, as remessas seguem direto para o fluxo individual.
+ *
+ * @see RemessaAgrupamentoProperties
+ */
+@Slf4j
+@Service
+public class AgrupadorRemessas {
+
+    private static final long ESPERA_FILA_MS = 100;
+
+    private final RemessaServiceInterface remessaService;
+    private final RemessaValidator remessaValidator;
+    private final RemessaProcessor remessaProcessor;
+    private final TransactionTemplate transactionTemplate;
+    private final RemessaAgrupamentoProperties properties;
+    private final FabricaThreads fabricaThreads;
+
+    private final BlockingQueue<Pedido> fila;
+    private final Set<Pedido> semResultado = ConcurrentHashMap.newKeySet();
+    private ExecutorService confirmador;
+    private volatile boolean ativo;
+
+    public AgrupadorRemessas(RemessaServiceInterface remessaService,
+                             RemessaValidator remessaValidator,
+                             RemessaProcessor remessaProcessor,
+                             TransactionTemplate transactionTemplate,
+                             RemessaAgrupamentoProperties properties,
+                             FabricaThreads fabricaThreads) {
+        this.remessaService = remessaService;
+        this.remessaValidator = remessaValidator;
+        this.remessaProcessor = remessaProcessor;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.fabricaThreads = fabricaThreads;
+        this.fila = new LinkedBlockingQueue<>(properties.getCapacidadeFila());
+    }
+
+    /**
+     * Remessa aguardando gravação e o resultado entregue ao chamador.
+     */
+    record Pedido(RemessaRequestDTO requisicao, CompletableFuture<Remessa> resultado) {
+
+        Long remetenteId() {
+            return requisicao.getUsuarioId();
+        }
+
+        Long destinatarioId() {
+            return requisicao.getDestinatarioId();
+        }
+    }
+
+    @PostConstruct
+    void iniciar() {
+        if (properties.isHabilitado()) {
+            ativo = true;
+            confirmador = Executors.newSingleThreadExecutor(fabricaThreads.criar("remessas-agrupamento"));
+            confirmador.execute(this::executar);
+            log.info("Agrupamento de remessas habilitado: [janela={}, tamanhoMaximo={}]",
+                    properties.getJanela(), properties.getTamanhoMaximo());
+        }
+    }
+
+    /**
+     * Realiza a remessa, agrupada com outras se o agrupamento estiver habilitado,
+     * e aguarda o resultado por no máximo tempo-maximo-espera.
+     *
+     * @param requisicao dados da remessa
+     * @return remessa processada
+     * @throws RemessaException FILA_REMESSAS_CHEIA se a fila estiver cheia ou a
+     *         remessa não saiu da fila no tempo máximo; ERRO_PROCESSAMENTO se o
+     *         tempo máximo acabou com a remessa já em gravação (resultado indeterminado)
+     */
+    public Remessa realizar(RemessaRequestDTO requisicao) {
+        if (!properties.isHabilitado()) {
+            return remessaService.realizarRemessa(requisicao);
+        }
+
+        try {
+            return aguardar(enfileirar(requisicao));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw RemessaException.processamento(
+                    RemessaErrorType.ERRO_PROCESSAMENTO,
+                    "Espera pela remessa interrompida",
+                    e
+            );
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException causa
+                    ? causa
+                    : RemessaException.processamento(RemessaErrorType.ERRO_PROCESSAMENTO,
+                            "Erro ao processar remessa: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Aguarda o resultado por no máximo tempo-maximo-espera. Esgotado o tempo,
+     * a remessa é retirada da fila, se ainda estiver nela, e descartada do grupo
+     * seguinte; se já estiver em gravação, o resultado é indeterminado.
+     */
+    private Remessa aguardar(Pedido pedido) throws InterruptedException, ExecutionException {
+        try {
+            return pedido.resultado().get(properties.getTempoMaximoEspera().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            boolean naFila = fila.remove(pedido);
+            if (!pedido.resultado().completeExceptionally(e)) {
+                return pedido.resultado().get();
+            }
+            if (naFila) {
+                throw RemessaException.negocio(
+                        RemessaErrorType.FILA_REMESSAS_CHEIA,
+                        "Remessa não processada no tempo máximo de espera; tente novamente"
+                );
+            }
+            throw RemessaException.processamento(
+                    RemessaErrorType.ERRO_PROCESSAMENTO,
+                    "Tempo máximo de espera pela remessa esgotado durante a gravação; confira o histórico antes de reenviar",
+                    e
+            );
+        }
+    }
+
+    /**
+     * Enfileira a remessa para o próximo grupo.
+     *
+     * @param requisicao dados da remessa
+     * @return resultado da remessa, concluído após o commit do grupo (ou da remessa refeita)
+     * @throws RemessaException FILA_REMESSAS_CHEIA se a fila estiver cheia ou o agrupamento encerrado
+     */
+    public CompletableFuture<Remessa> submeter(RemessaRequestDTO requisicao) {
+        return enfileirar(requisicao).resultado();
+    }
+
+    private Pedido enfileirar(RemessaRequestDTO requisicao) {
+        Pedido pedido = new Pedido(requisicao, new CompletableFuture<>());
+        semResultado.add(pedido);
+        if (!ativo || !fila.offer(pedido)) {
+            semResultado.remove(pedido);
+            throw RemessaException.negocio(
+                    RemessaErrorType.FILA_REMESSAS_CHEIA,
+                    "Fila de remessas cheia; tente novamente"
+            );
+        }
+        pedido.resultado().whenComplete((remessa, erro) -> semResultado.remove(pedido));
+        return pedido;
+    }
+
+    private void executar() {
+        List<Pedido> adiados = new ArrayList<>();
+        while (ativo || !fila.isEmpty() || !adiados.isEmpty()) {
+            try {
+                List<Pedido> pendentes = coletar(adiados);
+                if (pendentes.isEmpty()) {
+                    continue;
+                }
+
+                List<Pedido> grupo = new ArrayList<>(pendentes.size());
+                adiados = separar(pendentes, grupo);
+                if (!grupo.isEmpty()) {
+                    gravar(grupo);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erro inesperado no agrupamento de remessas", e);
+            }
+        }
+    }
+
+    /**
+     * Junta as remessas do próximo grupo. Sem remessas adiadas, espera a
+     * primeira e, a partir dela, no máximo a janela pelas seguintes; com
+     * adiadas, que já esperaram, só acrescenta as que estão na fila.
+     * Interrompida na espera, recusa as remessas já retiradas da fila.
+     */
+    private List<Pedido> coletar(List<Pedido> adiados) throws InterruptedException {
+        int tamanhoMaximo = properties.getTamanhoMaximo();
+        List<Pedido> pendentes = new ArrayList<>(adiados);
+        if (!pendentes.isEmpty()) {
+            fila.drainTo(pendentes, Math.max(0, tamanhoMaximo - pendentes.size()));
+            return pendentes;
+        }
+
+        Pedido primeiro = fila.poll(ESPERA_FILA_MS, TimeUnit.MILLISECONDS);
+        if (primeiro == null) {
+            return pendentes;
+        }
+        pendentes.add(primeiro);
+
+        long limite = System.nanoTime() + properties.getJanela().toNanos();
+        try {
+            while (pendentes.size() < tamanhoMaximo) {
+                Pedido proximo = fila.poll(limite - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (proximo == null) {
+                    break;
+                }
+                pendentes.add(proximo);
+            }
+        } catch (InterruptedException e) {
+            recusar(pendentes, "Agrupamento de remessas encerrado antes da gravação");
+            throw e;
+        }
+        return pendentes;
+    }
+
+    /**
+     * Separa as remessas independentes (grupo) das que tocam uma carteira já
+     * presente (adiadas). As carteiras das adiadas também ficam reservadas,
+     * para que nenhuma remessa posterior da mesma carteira passe à frente.
+     * Remessas cujo chamador desistiu (tempo máximo de espera) são descartadas.
+     *
+     * @return remessas adiadas, na ordem de chegada
+     */
+    private List<Pedido> separar(List<Pedido> pendentes, List<Pedido> grupo) {
+        Set<Long> carteiras = new HashSet<>();
+        List<Pedido> adiados = new ArrayList<>();
+        for (Pedido pedido : pendentes) {
+            if (pedido.resultado().isDone()) {
+                continue;
+            }
+            boolean independente = !carteiras.contains(pedido.remetenteId())
+                    && !carteiras.contains(pedido.destinatarioId());
+            carteiras.add(pedido.remetenteId());
+            carteiras.add(pedido.destinatarioId());
+            (independente ? grupo : adiados).add(pedido);
+        }
+        return adiados;
+    }
+
+    /**
+     * Grava o grupo em uma transação; se falhar, refaz cada remessa pelo
+     * fluxo individual.
+     */
+    private void gravar(List<Pedido> grupo) {
+        if (grupo.size() == 1) {
+            gravarIndividual(grupo.get(0));
+            return;
+        }
+
+        List<Remessa> remessas;
+        try {
+            List<RemessaRequestDTO> requisicoes = grupo.stream().map(Pedido::requisicao).toList();
+            remessas = transactionTemplate.execute(status -> remessaProcessor.processarLiquidacao(
+                    remessaValidator.validarDadosLiquidacao(new RemessaLiquidacaoRequestDTO(requisicoes))).remessas());
+        } catch (RuntimeException e) {
+            log.debug("Grupo de remessas refeito individualmente: [remessas={}] - {}", grupo.size(), e.getMessage());
+            grupo.forEach(this::gravarIndividual);
+            return;
+        }
+
+        for (int i = 0; i < grupo.size(); i++) {
+            grupo.get(i).resultado().complete(remessas.get(i));
+        }
+        log.debug("Grupo de remessas gravado: [remessas={}]", grupo.size());
+    }
+
+    private void gravarIndividual(Pedido pedido) {
+        try {
+            pedido.resultado().complete(remessaService.realizarRemessa(pedido.requisicao()));
+        } catch (RuntimeException e) {
+            pedido.resultado().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Recusa remessas que não chegaram a ser gravadas; podem ser reenviadas.
+     */
+    private static void recusar(List<Pedido> pedidos, String motivo) {
+        pedidos.forEach(pedido -> pedido.resultado().completeExceptionally(RemessaException.negocio(
+                RemessaErrorType.FILA_REMESSAS_CHEIA,
+                motivo
+        )));
+    }
+
+    /**
+     * Grava as remessas já enfileiradas e recusa as que não couberem no
+     * tempo de encerramento. As que seguirem sem resultado (grupo em gravação
+     * quando a thread não pôde ser interrompida) são concluídas com erro de
+     * resultado indeterminado.
+     */
+    @PreDestroy
+    public void encerrar() {
+        if (confirmador == null) {
+            return;
+        }
+        ativo = false;
+        confirmador.shutdown();
+        try {
+            if (!confirmador.awaitTermination(5, TimeUnit.SECONDS)) {
+                confirmador.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            confirmador.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        List<Pedido> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        recusar(restantes, "Agrupamento de remessas encerrado antes da gravação");
+        if (!restantes.isEmpty()) {
+            log.warn("Remessas recusadas no encerramento do agrupamento: [quantidade={}]", restantes.size());
+        }
+
+        List<Pedido> emGravacao = List.copyOf(semResultado);
+        emGravacao.forEach(pedido -> pedido.resultado().completeExceptionally(RemessaException.negocio(
+                RemessaErrorType.ERRO_PROCESSAMENTO,
+                "Agrupamento de remessas encerrado durante a gravação; confira o histórico antes de reenviar"
+        )));
+        if (!emGravacao.isEmpty()) {
+            log.warn("Remessas sem resultado no encerramento do agrupamento: [quantidade={}]", emGravacao.size());
+        }
+    }
+}
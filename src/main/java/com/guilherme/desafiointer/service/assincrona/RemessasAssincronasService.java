@@ -0,0 +1,565 @@
+package com.guilherme.desafiointer.service.assincrona;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.guilherme.desafiointer.config.FabricaThreads;
+import com.guilherme.desafiointer.config.RemessasAssincronasProperties;
+import com.guilherme.desafiointer.domain.Remessa;
+import com.guilherme.desafiointer.domain.RemessaAssincrona;
+import com.guilherme.desafiointer.domain.RemessaAssincrona.Status;
+import com.guilherme.desafiointer.dto.remessa.RemessaAssincronaDTO;
+import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.dto.remessa.RemessaResponseDTO;
+import com.guilherme.desafiointer.exception.domain.LimiteDiarioExcedidoException;
+import com.guilherme.desafiointer.exception.domain.SaldoInsuficienteException;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.repository.RemessaAssincronaRepository;
+import com.guilherme.desafiointer.repository.RemessaRepository;
+import com.guilherme.desafiointer.service.agrupamento.AgrupadorRemessas;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Envio assíncrono de remessas individuais.
+ *
+ * O envio é aceito assim que a requisição passa pela validação de campos:
+ * a remessa é gravada como PENDENTE (remessas_assincronas), entra na fila
+ * da partição do remetente (hash do usuarioId) e o chamador recebe um
+ * identificador, sem ocupar a thread HTTP nem uma conexão com o banco
+ * durante a espera pelos locks. Cada partição tem uma thread e uma fila
+ * limitada, então as remessas de um mesmo remetente são processadas na
+ * ordem de envio; com a fila cheia o envio é recusado (FILA_REMESSAS_CHEIA).
+ *
+ * O processamento segue o fluxo síncrono (AgrupadorRemessas, que agrupa as
+ * remessas quando o agrupamento está habilitado) e grava o resultado, então
+ * a situação é consultável em qualquer instância pela retenção. O início do
+ * processamento é um compare-and-set no banco (PENDENTE → PROCESSANDO).
+ *
+ * Retomada, a cada intervalo-retomada, em todas as instâncias:
+ * - remessas pendentes há mais de espera-retomada (instância encerrada com a
+ *   fila ocupada, ou reiniciada) entram na fila desta instância
+ * - remessas em processamento há mais de espera-retomada são rejeitadas:
+ *   a remessa pode ou não ter sido realizada antes da interrupção, então não
+ *   é reprocessada; o histórico do remetente indica o resultado
+ * - remessas finalizadas além da retenção são removidas
+ *
+ * O acompanhamento por eventos (SSE) é notificado pela instância que processa
+ * a remessa; em outra instância, a situação gravada é verificada a cada segundo.
+ * Acompanhamentos ficam em memória apenas enquanto a remessa está na fila ou
+ * em processamento nesta instância, ou enquanto há emissores aguardando uma
+ * remessa de outra instância; remessas finalizadas são lidas do banco.
+ *
+ * @see RemessasAssincronasProperties
+ */
+@Slf4j
+@Service
+public class RemessasAssincronasService {
+
+    private static final String EVENTO_SITUACAO = "situacao";
+    private static final Set<Status> FINALIZADAS = EnumSet.of(Status.CONCLUIDA, Status.REJEITADA);
+    private static final Duration INTERVALO_EVENTOS_REMOTOS = Duration.ofSeconds(1);
+    private static final Duration ESPERA_ENCERRAMENTO = Duration.ofSeconds(5);
+    private static final int TAMANHO_MAXIMO_MENSAGEM = 500;
+    private static final String MENSAGEM_INTERROMPIDA =
+            "Processamento interrompido pelo encerramento da instância; confira o histórico antes de reenviar";
+
+    private final AgrupadorRemessas agrupadorRemessas;
+    private final RemessaAssincronaRepository remessaAssincronaRepository;
+    private final RemessaRepository remessaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RemessasAssincronasProperties properties;
+    private final FabricaThreads fabricaThreads;
+
+    private final List<ThreadPoolExecutor> particoes;
+    private final Cache<UUID, Acompanhamento> acompanhamentos;
+    private final Set<UUID> enfileiradas = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService verificacoes;
+
+    public RemessasAssincronasService(AgrupadorRemessas agrupadorRemessas,
+                                      RemessaAssincronaRepository remessaAssincronaRepository,
+                                      RemessaRepository remessaRepository,
+                                      TransactionTemplate transactionTemplate,
+                                      RemessasAssincronasProperties properties,
+                                      FabricaThreads fabricaThreads) {
+        this.agrupadorRemessas = agrupadorRemessas;
+        this.remessaAssincronaRepository = remessaAssincronaRepository;
+        this.remessaRepository = remessaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.fabricaThreads = fabricaThreads;
+        this.particoes = IntStream.range(0, properties.getParticoes())
+                .mapToObj(this::criarParticao)
+                .toList();
+        // Filas e partições locais, mais o mesmo tanto de acompanhamentos de outras instâncias
+        this.acompanhamentos = Caffeine.newBuilder()
+                .maximumSize(2L * properties.getParticoes() * (properties.getCapacidadeFila() + 1))
+                .expireAfterWrite(properties.getRetencao())
+                .build();
+    }
+
+    private ThreadPoolExecutor criarParticao(int particao) {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getCapacidadeFila()),
+                fabricaThreads.criar("remessas-assincronas-" + particao));
+    }
+
+    @PostConstruct
+    void iniciar() {
+        verificacoes = Executors.newSingleThreadScheduledExecutor(fabricaThreads.criar("remessas-assincronas-retomada"));
+        long intervalo = properties.getIntervaloRetomada().toMillis();
+        verificacoes.scheduleWithFixedDelay(this::retomarComSeguranca, 0, intervalo, TimeUnit.MILLISECONDS);
+        long intervaloEventos = INTERVALO_EVENTOS_REMOTOS.toMillis();
+        verificacoes.scheduleWithFixedDelay(this::atualizarRemotasComSeguranca,
+                intervaloEventos, intervaloEventos, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Grava a remessa como pendente e a enfileira para processamento em segundo plano.
+     *
+     * @param requisicao remessa com campos já validados
+     * @return situação inicial (PENDENTE) com o identificador da remessa
+     * @throws RemessaException FILA_REMESSAS_CHEIA se a fila do remetente estiver cheia
+     */
+    public RemessaAssincronaDTO enviar(RemessaRequestDTO requisicao) {
+        if (particao(requisicao.getUsuarioId()).getQueue().remainingCapacity() == 0) {
+            throw filaCheia();
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        RemessaAssincrona registro = remessaAssincronaRepository.save(RemessaAssincrona.builder()
+                .id(UUID.randomUUID())
+                .usuarioId(requisicao.getUsuarioId())
+                .destinatarioId(requisicao.getDestinatarioId())
+                .valor(requisicao.getValor())
+                .moedaDestino(requisicao.getMoedaDestino())
+                .status(Status.PENDENTE)
+                .recebidaEm(agora)
+                .atualizadaEm(agora)
+                .build());
+        RemessaAssincronaDTO situacao = RemessaAssincronaDTO.from(registro, null);
+
+        if (!enfileirar(situacao, requisicao)) {
+            remessaAssincronaRepository.deleteById(registro.getId());
+            throw filaCheia();
+        }
+        return situacao;
+    }
+
+    private static RemessaException filaCheia() {
+        return RemessaException.negocio(
+                RemessaErrorType.FILA_REMESSAS_CHEIA,
+                "Fila de remessas assíncronas cheia; tente novamente"
+        );
+    }
+
+    /**
+     * Consulta a situação gravada de uma remessa enviada.
+     *
+     * @param id identificador retornado no envio
+     * @return situação atual
+     * @throws RemessaException quando a remessa não existe ou a retenção expirou
+     */
+    public RemessaAssincronaDTO consultar(UUID id) {
+        return remessaAssincronaRepository.findById(id)
+                .map(this::situacao)
+                .orElseThrow(() -> RemessaException.negocio(
+                        RemessaErrorType.REMESSA_ASSINCRONA_NAO_ENCONTRADA,
+                        "Remessa não encontrada: " + id
+                ));
+    }
+
+    /**
+     * Acompanha a remessa por eventos (SSE): envia a situação atual e cada
+     * mudança, encerrando o fluxo quando a remessa é concluída ou rejeitada.
+     *
+     * @param id identificador retornado no envio
+     * @return emissor dos eventos "situacao"
+     * @throws RemessaException quando a remessa não existe ou a retenção expirou
+     */
+    public SseEmitter acompanhar(UUID id) {
+        SseEmitter emissor = new SseEmitter(properties.getTempoMaximoEventos().toMillis());
+        // O emissor entra no acompanhamento atomicamente com a entrada, para que o
+        // descarte de acompanhamentos sem emissores não o deixe sem notificações
+        Acompanhamento acompanhamento = acompanhamentos.asMap().computeIfPresent(id,
+                (chave, atual) -> atual.adicionar(emissor));
+        if (acompanhamento == null) {
+            RemessaAssincronaDTO situacao = consultar(id);
+            acompanhamento = situacao.finalizada()
+                    ? new Acompanhamento(situacao, true).adicionar(emissor)
+                    : acompanhamentos.asMap().compute(id, (chave, atual) ->
+                            (atual != null ? atual : new Acompanhamento(situacao, true)).adicionar(emissor));
+        }
+        acompanhamento.enviarSituacao(emissor);
+        return emissor;
+    }
+
+    /**
+     * @return quantidade de acompanhamentos mantidos em memória (remessas na
+     *         fila, em processamento ou com emissores aguardando outra instância)
+     */
+    public long acompanhamentosAtivos() {
+        return acompanhamentos.estimatedSize();
+    }
+
+    /**
+     * Retoma as remessas pendentes sem processamento por espera-retomada,
+     * rejeita as interrompidas durante o processamento e remove as finalizadas
+     * além da retenção. Executado periodicamente em todas as instâncias.
+     */
+    public void retomar() {
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime limite = agora.minus(properties.getEsperaRetomada());
+
+        Integer interrompidas = transactionTemplate.execute(status -> remessaAssincronaRepository.interromper(
+                Status.PROCESSANDO, Status.REJEITADA, RemessaErrorType.ERRO_PROCESSAMENTO,
+                MENSAGEM_INTERROMPIDA, limite, agora));
+        Integer removidas = transactionTemplate.execute(status -> remessaAssincronaRepository.removerFinalizadas(
+                FINALIZADAS, agora.minus(properties.getRetencao())));
+
+        int retomadas = 0;
+        List<RemessaAssincrona> pendentes = remessaAssincronaRepository
+                .findByStatusAndRecebidaEmBeforeOrderByRecebidaEm(
+                        Status.PENDENTE, limite, PageRequest.ofSize(properties.getCapacidadeFila()));
+        for (RemessaAssincrona pendente : pendentes) {
+            if (!enfileiradas.contains(pendente.getId())
+                    && enfileirar(RemessaAssincronaDTO.from(pendente, null), requisicao(pendente))) {
+                retomadas++;
+            }
+        }
+
+        if (retomadas > 0 || (interrompidas != null && interrompidas > 0)) {
+            log.warn("Remessas assíncronas de instâncias encerradas: [retomadas={}, interrompidas={}]",
+                    retomadas, interrompidas);
+        }
+        log.debug("Remessas assíncronas finalizadas removidas: [quantidade={}]", removidas);
+    }
+
+    private void retomarComSeguranca() {
+        try {
+            retomar();
+        } catch (RuntimeException e) {
+            log.error("Falha na retomada de remessas assíncronas: {}", e.getMessage(), e);
+        }
+    }
+
+    private static RemessaRequestDTO requisicao(RemessaAssincrona registro) {
+        RemessaRequestDTO requisicao = RemessaRequestDTO.builder()
+                .usuarioId(registro.getUsuarioId())
+                .destinatarioId(registro.getDestinatarioId())
+                .valor(registro.getValor())
+                .moedaDestino(registro.getMoedaDestino())
+                .build();
+        requisicao.marcarComoValidada();
+        return requisicao;
+    }
+
+    /**
+     * @return true se a remessa entrou na fila da partição do remetente
+     */
+    private boolean enfileirar(RemessaAssincronaDTO situacao, RemessaRequestDTO requisicao) {
+        Acompanhamento acompanhamento = new Acompanhamento(situacao, false);
+        acompanhamentos.put(situacao.id(), acompanhamento);
+        enfileiradas.add(situacao.id());
+        try {
+            particao(requisicao.getUsuarioId()).execute(() -> processar(acompanhamento, requisicao));
+            return true;
+        } catch (RejectedExecutionException e) {
+            enfileiradas.remove(situacao.id());
+            acompanhamentos.invalidate(situacao.id());
+            return false;
+        }
+    }
+
+    private ThreadPoolExecutor particao(Long usuarioId) {
+        return particoes.get(Math.floorMod(usuarioId == null ? 0 : Long.hashCode(usuarioId), particoes.size()));
+    }
+
+    private void processar(Acompanhamento acompanhamento, RemessaRequestDTO requisicao) {
+        UUID id = acompanhamento.situacao().id();
+        enfileiradas.remove(id);
+        Integer assumidas = transactionTemplate.execute(status -> remessaAssincronaRepository.assumir(
+                id, Status.PENDENTE, Status.PROCESSANDO, LocalDateTime.now()));
+        if (assumidas == null || assumidas == 0) {
+            log.debug("Remessa assíncrona assumida por outra instância: [id={}]", id);
+            acompanhamento.tornarRemota();
+            descartarSemEmissores(id, acompanhamento);
+            return;
+        }
+
+        acompanhamento.atualizar(acompanhamento.situacao().processando());
+        try {
+            Remessa remessa = agrupadorRemessas.realizar(requisicao);
+            finalizar(acompanhamento, remessa.getId(),
+                    acompanhamento.situacao().concluida(RemessaResponseDTO.from(remessa), LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            log.debug("Remessa assíncrona rejeitada: [id={}, usuarioId={}] - {}",
+                    id, requisicao.getUsuarioId(), e.getMessage());
+            finalizar(acompanhamento, null,
+                    acompanhamento.situacao().rejeitada(tipoErro(e), mensagem(e), LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Grava o resultado, notifica os acompanhamentos (encerrando seus fluxos) e
+     * os descarta. Se a gravação falhar, a remessa fica em processamento até
+     * ser considerada interrompida.
+     */
+    private void finalizar(Acompanhamento acompanhamento, Long remessaId, RemessaAssincronaDTO situacao) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> remessaAssincronaRepository.finalizar(
+                    situacao.id(), situacao.status(), remessaId, situacao.erro(), situacao.mensagem(),
+                    situacao.concluidaEm()));
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar o resultado da remessa assíncrona: [id={}, status={}, remessaId={}]",
+                    situacao.id(), situacao.status(), remessaId, e);
+        }
+        acompanhamento.atualizar(situacao);
+        acompanhamentos.asMap().remove(situacao.id(), acompanhamento);
+    }
+
+    /**
+     * Descarta o acompanhamento de uma remessa de outra instância sem emissores.
+     * Um emissor registrado depois disso recebe a situação lida do banco.
+     */
+    private void descartarSemEmissores(UUID id, Acompanhamento acompanhamento) {
+        acompanhamentos.asMap().computeIfPresent(id,
+                (chave, atual) -> atual == acompanhamento && !acompanhamento.possuiEmissores() ? null : atual);
+    }
+
+    private static String mensagem(RuntimeException e) {
+        String mensagem = e.getMessage();
+        return mensagem == null || mensagem.length() <= TAMANHO_MAXIMO_MENSAGEM
+                ? mensagem
+                : mensagem.substring(0, TAMANHO_MAXIMO_MENSAGEM);
+    }
+
+    private static RemessaErrorType tipoErro(RuntimeException e) {
+        if (e instanceof RemessaException remessaException) {
+            return remessaException.getErrorType();
+        }
+        if (e instanceof SaldoInsuficienteException) {
+            return RemessaErrorType.SALDO_INSUFICIENTE;
+        }
+        if (e instanceof LimiteDiarioExcedidoException) {
+            return RemessaErrorType.LIMITE_DIARIO_EXCEDIDO;
+        }
+        return RemessaErrorType.ERRO_PROCESSAMENTO;
+    }
+
+    private RemessaAssincronaDTO situacao(RemessaAssincrona registro) {
+        RemessaResponseDTO remessa = registro.getRemessaId() == null ? null : remessaRepository
+                .findById(registro.getRemessaId())
+                .map(RemessaResponseDTO::from)
+                .orElse(null);
+        return RemessaAssincronaDTO.from(registro, remessa);
+    }
+
+    /**
+     * Notifica os acompanhamentos (SSE) de remessas processadas em outra
+     * instância com a situação gravada, quando ela muda, e descarta os
+     * finalizados ou sem emissores.
+     */
+    private void atualizarRemotasComSeguranca() {
+        try {
+            acompanhamentos.asMap().forEach((id, acompanhamento) -> {
+                if (acompanhamento.remota()) {
+                    descartarSemEmissores(id, acompanhamento);
+                }
+            });
+            Map<UUID, Acompanhamento> remotas = acompanhamentos.asMap().entrySet().stream()
+                    .filter(entrada -> entrada.getValue().aguardandoRemota())
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            if (remotas.isEmpty()) {
+                return;
+            }
+            for (RemessaAssincrona registro : remessaAssincronaRepository.findAllById(remotas.keySet())) {
+                Acompanhamento acompanhamento = remotas.get(registro.getId());
+                if (registro.getStatus() != acompanhamento.situacao().status()) {
+                    acompanhamento.atualizar(situacao(registro));
+                }
+                if (acompanhamento.situacao().finalizada()) {
+                    acompanhamentos.asMap().remove(registro.getId(), acompanhamento);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha ao verificar remessas assíncronas de outras instâncias: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Encerra as partições sem descartar remessas aceitas: as que ainda estão
+     * na fila permanecem pendentes no banco e são retomadas por outra
+     * instância (ou após o reinício); as em processamento têm alguns segundos
+     * para concluir.
+     */
+    @PreDestroy
+    public void encerrar() {
+        if (verificacoes != null) {
+            verificacoes.shutdownNow();
+        }
+        int naFila = 0;
+        for (ThreadPoolExecutor particao : particoes) {
+            List<Runnable> pendentes = new ArrayList<>();
+            particao.getQueue().drainTo(pendentes);
+            naFila += pendentes.size();
+            particao.shutdown();
+        }
+        if (naFila > 0) {
+            log.warn("Remessas assíncronas pendentes mantidas para retomada: [quantidade={}]", naFila);
+        }
+
+        try {
+            for (ThreadPoolExecutor particao : particoes) {
+                if (!particao.awaitTermination(ESPERA_ENCERRAMENTO.toMillis(), TimeUnit.MILLISECONDS)) {
+                    log.warn("Remessa assíncrona interrompida em processamento no encerramento");
+                    particao.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            particoes.forEach(ThreadPoolExecutor::shutdownNow);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Situação de uma remessa e os emissores de eventos que a acompanham.
+     *
+     * O envio dos eventos (I/O) acontece com a trava adquirida; por isso
+     * ReentrantLock, e não synchronized, que fixaria a thread portadora
+     * no modo de threads virtuais.
+     */
+    private static final class Acompanhamento {
+
+        private final ReentrantLock trava = new ReentrantLock();
+        private volatile RemessaAssincronaDTO situacao;
+        private final List<SseEmitter> emissores = new ArrayList<>();
+
+        /** Processada em outra instância: a situação vem do banco */
+        private volatile boolean remota;
+
+        Acompanhamento(RemessaAssincronaDTO situacao, boolean remota) {
+            this.situacao = situacao;
+            this.remota = remota;
+        }
+
+        RemessaAssincronaDTO situacao() {
+            return situacao;
+        }
+
+        void tornarRemota() {
+            remota = true;
+        }
+
+        boolean remota() {
+            return remota;
+        }
+
+        boolean possuiEmissores() {
+            trava.lock();
+            try {
+                return !emissores.isEmpty();
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        /**
+         * @return true se processada em outra instância, não finalizada e com emissores
+         */
+        boolean aguardandoRemota() {
+            return remota && !situacao.finalizada() && possuiEmissores();
+        }
+
+        void atualizar(RemessaAssincronaDTO novaSituacao) {
+            trava.lock();
+            try {
+                situacao = novaSituacao;
+                for (SseEmitter emissor : List.copyOf(emissores)) {
+                    notificar(emissor);
+                }
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        Acompanhamento adicionar(SseEmitter emissor) {
+            emissor.onCompletion(() -> remover(emissor));
+            emissor.onTimeout(() -> remover(emissor));
+            trava.lock();
+            try {
+                emissores.add(emissor);
+            } finally {
+                trava.unlock();
+            }
+            return this;
+        }
+
+        /**
+         * Envia a situação atual ao emissor recém-adicionado, se ele ainda não
+         * foi encerrado por uma situação final.
+         */
+        void enviarSituacao(SseEmitter emissor) {
+            trava.lock();
+            try {
+                if (emissores.contains(emissor)) {
+                    notificar(emissor);
+                }
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        private void remover(SseEmitter emissor) {
+            trava.lock();
+            try {
+                emissores.remove(emissor);
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        /**
+         * Envia a situação atual; se for final, encerra o fluxo.
+         */
+        private void notificar(SseEmitter emissor) {
+            try {
+                emissor.send(SseEmitter.event()
+                        .name(EVENTO_SITUACAO)
+                        .data(situacao, MediaType.APPLICATION_JSON));
+                if (situacao.finalizada()) {
+                    emissores.remove(emissor);
+                    emissor.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                emissores.remove(emissor);
+                emissor.completeWithError(e);
+            }
+        }
+    }
+}
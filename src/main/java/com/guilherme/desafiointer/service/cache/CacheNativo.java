@@ -0,0 +1,47 @@
+package com.guilherme.desafiointer.service.cache;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Acesso ao mapa nativo dos caches Spring (Caffeine ou ConcurrentMap).
+ *
+ * Necessário para atualizações atômicas por chave (compute/computeIfPresent),
+ * que a abstração {@link Cache} não oferece.
+ */
+@UtilityClass
+class CacheNativo {
+
+    /**
+     * Retorna o mapa nativo do cache ou vazio se o provedor não for suportado.
+     */
+    @SuppressWarnings("unchecked")
+    Optional<ConcurrentMap<Object, Object>> comoMapa(CacheManager cacheManager, String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return Optional.empty();
+        }
+
+        Object nativo = cache.getNativeCache();
+        if (nativo instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return Optional.of((ConcurrentMap<Object, Object>) caffeine.asMap());
+        }
+        if (nativo instanceof ConcurrentMap<?, ?> mapa) {
+            return Optional.of((ConcurrentMap<Object, Object>) mapa);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Limpa todas as entradas do cache, se registrado.
+     */
+    void limpar(CacheManager cacheManager, String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.guilherme.desafiointer.service.cache;
+
+import com.guilherme.desafiointer.config.UsuarioCacheProperties;
+import com.guilherme.desafiointer.config.constants.AppConstants;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache read-through de usuários por ID, documento e email.
+ *
+ * Os snapshots ficam no cache {@code usuarios} (por ID); documento e email
+ * são índices para o ID. Usuários inexistentes não são cacheados, para que
+ * cadastros novos sejam vistos imediatamente. Tamanho, expiração e
+ * estatísticas (hit ratio) seguem a configuração de {@code cache.config}.
+ *
+ * Alterações de usuário invalidam as entradas após o commit. Uma leitura
+ * iniciada antes de uma invalidação não grava no cache, evitando que um
+ * dado anterior ao commit volte a ser armazenado.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheUsuarios {
+
+    private final CacheManager cacheManager;
+    private final UsuarioRepository usuarioRepository;
+    private final UsuarioCacheProperties properties;
+
+    /** Incrementado a cada invalidação; leituras concorrentes a ela não gravam no cache */
+    private final AtomicLong invalidacoes = new AtomicLong();
+
+    /**
+     * Busca usuário por ID.
+     *
+     * @return cópia desanexada e sem carteira quando o cache está habilitado
+     */
+    public Optional<Usuario> buscarPorId(Long id) {
+        Cache usuarios = cache(AppConstants.CACHE_USUARIOS);
+        if (!properties.isHabilitado() || usuarios == null) {
+            return usuarioRepository.findById(id);
+        }
+
+        UsuarioSnapshot snapshot = usuarios.get(id, UsuarioSnapshot.class);
+        if (snapshot != null) {
+            return Optional.of(snapshot.paraUsuario());
+        }
+        return carregar(() -> usuarioRepository.findById(id));
+    }
+
+    /**
+     * Busca usuário por documento.
+     *
+     * @return cópia desanexada e sem carteira quando o cache está habilitado
+     */
+    public Optional<Usuario> buscarPorDocumento(String documento) {
+        return buscarPorIndice(AppConstants.CACHE_USUARIOS_DOCUMENTO, documento, UsuarioSnapshot::documento,
+                () -> usuarioRepository.findByDocumento(documento));
+    }
+
+    /**
+     * Busca usuário por email.
+     *
+     * @return cópia desanexada e sem carteira quando o cache está habilitado
+     */
+    public Optional<Usuario> buscarPorEmail(String email) {
+        return buscarPorIndice(AppConstants.CACHE_USUARIOS_EMAIL, email, UsuarioSnapshot::email,
+                () -> usuarioRepository.findByEmail(email));
+    }
+
+    /**
+     * Invalida as entradas do usuário após o commit da transação atual.
+     * Sem transação ativa, invalida imediatamente.
+     *
+     * @param usuario usuário com os valores anteriores à alteração
+     */
+    public void invalidarAposCommit(Usuario usuario) {
+        Long id = usuario.getId();
+        String documento = usuario.getDocumento();
+        String email = usuario.getEmail();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidar(id, documento, email);
+                }
+            });
+        } else {
+            invalidar(id, documento, email);
+        }
+    }
+
+    /**
+     * Remove o snapshot e os índices informados.
+     */
+    public void invalidar(Long id, String documento, String email) {
+        invalidacoes.incrementAndGet();
+        evict(AppConstants.CACHE_USUARIOS, id);
+        evict(AppConstants.CACHE_USUARIOS_DOCUMENTO, documento);
+        evict(AppConstants.CACHE_USUARIOS_EMAIL, email);
+        log.debug("Cache de usuário invalidado: [id={}]", id);
+    }
+
+    private Optional<Usuario> buscarPorIndice(String nomeIndice, String chave,
+                                              Function<UsuarioSnapshot, String> campo,
+                                              Supplier<Optional<Usuario>> carregador) {
+        Cache indice = cache(nomeIndice);
+        Cache usuarios = cache(AppConstants.CACHE_USUARIOS);
+        if (!properties.isHabilitado() || indice == null || usuarios == null) {
+            return carregador.get();
+        }
+
+        Long id = indice.get(chave, Long.class);
+        if (id != null) {
+            UsuarioSnapshot snapshot = usuarios.get(id, UsuarioSnapshot.class);
+            // Confere o campo para não seguir um índice que ficou para trás
+            if (snapshot != null && chave.equals(campo.apply(snapshot))) {
+                return Optional.of(snapshot.paraUsuario());
+            }
+        }
+        return carregar(carregador);
+    }
+
+    /**
+     * Carrega do banco e grava snapshot e índices, salvo se houve
+     * invalidação durante a leitura.
+     */
+    private Optional<Usuario> carregar(Supplier<Optional<Usuario>> carregador) {
+        long versao = invalidacoes.get();
+        Optional<UsuarioSnapshot> snapshot = carregador.get().map(UsuarioSnapshot::de);
+
+        snapshot.filter(s -> invalidacoes.get() == versao).ifPresent(s -> {
+            put(AppConstants.CACHE_USUARIOS, s.id(), s);
+            put(AppConstants.CACHE_USUARIOS_DOCUMENTO, s.documento(), s.id());
+            put(AppConstants.CACHE_USUARIOS_EMAIL, s.email(), s.id());
+        });
+        return snapshot.map(UsuarioSnapshot::paraUsuario);
+    }
+
+    private Cache cache(String nome) {
+        return cacheManager.getCache(nome);
+    }
+
+    private void put(String nome, Object chave, Object valor) {
+        Cache cache = cache(nome);
+        if (cache != null && chave != null) {
+            cache.put(chave, valor);
+        }
+    }
+
+    private void evict(String nome, Object chave) {
+        Cache cache = cache(nome);
+        if (cache != null && chave != null) {
+            cache.evict(chave);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.guilherme.desafiointer.service.cache;
+
+import com.guilherme.desafiointer.config.constants.AppConstants;
+import com.guilherme.desafiointer.domain.Remessa;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Atualização dos caches de histórico e totais após o commit de remessas.
+ *
+ * Após o commit de uma remessa, descarta os totais enviados e de taxas cujo
+ * período a contém (ver {@link TotaisPeriodoCache}). O histórico não precisa
+ * de atualização: o segmento do dia atual não é armazenado
+ * (ver {@link HistoricoSegmentadoCache}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HistoricoCacheUpdater {
+
+    private final CacheManager cacheManager;
+    private final TotaisPeriodoCache totaisPeriodoCache;
+
+    /**
+     * Agenda a atualização dos caches para depois do commit da transação atual.
+     * Sem transação ativa, aplica a atualização imediatamente.
+     *
+     * @param remessa remessa recém persistida
+     */
+    public void registrarAposCommit(Remessa remessa) {
+        if (remessa == null || remessa.getUsuario() == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registrar(remessa);
+                }
+            });
+        } else {
+            registrar(remessa);
+        }
+    }
+
+    /**
+     * Agenda a atualização dos caches para um lote de remessas com uma única
+     * sincronização de transação.
+     *
+     * @param remessas remessas recém persistidas
+     */
+    public void registrarAposCommit(List<Remessa> remessas) {
+        if (remessas.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remessas.forEach(HistoricoCacheUpdater.this::registrar);
+                }
+            });
+        } else {
+            remessas.forEach(this::registrar);
+        }
+    }
+
+    /**
+     * Aplica a remessa aos caches de totais do remetente.
+     *
+     * @param remessa remessa confirmada
+     */
+    public void registrar(Remessa remessa) {
+        Long usuarioId = remessa.getUsuario().getId();
+        LocalDateTime dataCriacao = remessa.getDataCriacao();
+
+        try {
+            totaisPeriodoCache.invalidar(usuarioId, dataCriacao);
+        } catch (Exception e) {
+            log.warn("Falha na atualização dos caches; limpando entradas: [usuarioId={}] - {}",
+                    usuarioId, e.getMessage());
+            CacheNativo.limpar(cacheManager, AppConstants.CACHE_TOTAIS);
+        }
+    }
+}
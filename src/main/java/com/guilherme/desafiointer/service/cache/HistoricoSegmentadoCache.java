@@ -0,0 +1,175 @@
+package com.guilherme.desafiointer.service.cache;
+
+import com.guilherme.desafiointer.config.constants.AppConstants;
+import com.guilherme.desafiointer.domain.Remessa;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.repository.RemessaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Cache de histórico de remessas segmentado por usuário e dia.
+ *
+ * Consultas por período são montadas a partir de segmentos diários em cache;
+ * apenas os dias ausentes são carregados do banco, agrupados em faixas
+ * contíguas (uma consulta por faixa). Janelas deslizantes ("últimos 30 dias")
+ * passam a reutilizar quase todos os segmentos entre chamadas.
+ *
+ * Regras de consistência:
+ * - Dias encerrados são imutáveis e carregados em lote
+ * - O dia atual (e o anterior, até {@link #MARGEM_FECHAMENTO} após a meia-noite,
+ *   para remessas criadas antes dela e confirmadas depois) é sempre lido do banco
+ *   e não é armazenado: remessas confirmadas em outra réplica não chegam ao
+ *   cache local, e um segmento em cache ficaria desatualizado até a expiração
+ * - Dias futuros não possuem remessas e não são armazenados
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HistoricoSegmentadoCache {
+
+    /** Tempo após o fim do dia até que o segmento seja considerado encerrado */
+    static final Duration MARGEM_FECHAMENTO = Duration.ofMinutes(1);
+
+    private final CacheManager cacheManager;
+    private final RemessaRepository remessaRepository;
+
+    /**
+     * Monta a página de histórico do período a partir dos segmentos diários.
+     * Resultado em ordem de data de criação decrescente.
+     *
+     * @param usuario usuário remetente
+     * @param inicio início do período (inclusive)
+     * @param fim fim do período (inclusive)
+     * @param pageable paginação (a ordenação é ignorada; usa a ordem padrão)
+     * @return página de remessas do período
+     */
+    public Page<Remessa> buscarHistorico(Usuario usuario, LocalDateTime inicio,
+                                         LocalDateTime fim, Pageable pageable) {
+        Optional<ConcurrentMap<Object, Object>> segmentos = CacheNativo.comoMapa(cacheManager, AppConstants.CACHE_HISTORICO);
+        if (segmentos.isEmpty()) {
+            return remessaRepository.buscarHistoricoTransacoes(usuario, inicio, fim, pageable);
+        }
+
+        LocalDate primeiroDia = inicio.toLocalDate();
+        LocalDate ultimoDia = fim.toLocalDate();
+        Map<LocalDate, List<Remessa>> porDia = carregarSegmentos(usuario, primeiroDia, ultimoDia, segmentos.get());
+
+        return montarPagina(porDia, primeiroDia, ultimoDia, inicio, fim, pageable);
+    }
+
+    /**
+     * Obtém os segmentos do intervalo de dias, carregando os ausentes do banco.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<LocalDate, List<Remessa>> carregarSegmentos(Usuario usuario, LocalDate primeiroDia,
+                                                            LocalDate ultimoDia, ConcurrentMap<Object, Object> mapa) {
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDate hoje = agora.toLocalDate();
+        Map<LocalDate, List<Remessa>> resultado = new HashMap<>();
+        List<LocalDate> ausentes = new ArrayList<>();
+
+        for (LocalDate dia = primeiroDia; !dia.isAfter(ultimoDia); dia = dia.plusDays(1)) {
+            var chave = new SegmentoDiarioKey(usuario.getId(), dia);
+            if (dia.isAfter(hoje)) {
+                resultado.put(dia, List.of());
+            } else if (!encerrado(dia, agora)) {
+                ausentes.add(dia);
+            } else if (mapa.get(chave) instanceof List<?> segmento) {
+                resultado.put(dia, (List<Remessa>) segmento);
+            } else {
+                ausentes.add(dia);
+            }
+        }
+
+        carregarAusentes(usuario, ausentes, mapa, resultado, agora);
+        return resultado;
+    }
+
+    /**
+     * Indica se o dia terminou há mais de {@link #MARGEM_FECHAMENTO} e pode ser armazenado.
+     */
+    private static boolean encerrado(LocalDate dia, LocalDateTime agora) {
+        return dia.plusDays(1).atStartOfDay().plus(MARGEM_FECHAMENTO).isBefore(agora);
+    }
+
+    /**
+     * Carrega dias ausentes agrupando-os em faixas contíguas, uma consulta por
+     * faixa. Apenas os dias encerrados são armazenados.
+     */
+    private void carregarAusentes(Usuario usuario, List<LocalDate> ausentes, ConcurrentMap<Object, Object> mapa,
+                                  Map<LocalDate, List<Remessa>> resultado, LocalDateTime agora) {
+        int i = 0;
+        while (i < ausentes.size()) {
+            int j = i;
+            while (j + 1 < ausentes.size() && ausentes.get(j + 1).equals(ausentes.get(j).plusDays(1))) {
+                j++;
+            }
+
+            LocalDate de = ausentes.get(i);
+            LocalDate ate = ausentes.get(j);
+            log.debug("Carregando segmentos de histórico do banco: [usuarioId={}, de={}, ate={}]",
+                    usuario.getId(), de, ate);
+
+            Map<LocalDate, List<Remessa>> agrupadas = carregarPeriodo(usuario, de, ate).stream()
+                    .collect(Collectors.groupingBy(r -> r.getDataCriacao().toLocalDate()));
+
+            for (LocalDate dia = de; !dia.isAfter(ate); dia = dia.plusDays(1)) {
+                List<Remessa> segmento = List.copyOf(agrupadas.getOrDefault(dia, List.of()));
+                if (encerrado(dia, agora)) {
+                    mapa.putIfAbsent(new SegmentoDiarioKey(usuario.getId(), dia), segmento);
+                }
+                resultado.put(dia, segmento);
+            }
+            i = j + 1;
+        }
+    }
+
+    private List<Remessa> carregarPeriodo(Usuario usuario, LocalDate de, LocalDate ate) {
+        return remessaRepository.buscarRemessasDoPeriodo(usuario, de.atStartOfDay(), ate.atTime(LocalTime.MAX));
+    }
+
+    /**
+     * Percorre os segmentos do dia mais recente ao mais antigo, filtrando pelo
+     * período exato e aplicando a paginação.
+     */
+    private Page<Remessa> montarPagina(Map<LocalDate, List<Remessa>> porDia, LocalDate primeiroDia,
+                                       LocalDate ultimoDia, LocalDateTime inicio, LocalDateTime fim,
+                                       Pageable pageable) {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limite = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        List<Remessa> conteudo = new ArrayList<>(Math.min(limite, 64));
+        long total = 0;
+
+        for (LocalDate dia = ultimoDia; !dia.isBefore(primeiroDia); dia = dia.minusDays(1)) {
+            for (Remessa remessa : porDia.get(dia)) {
+                LocalDateTime dataCriacao = remessa.getDataCriacao();
+                if (dataCriacao.isBefore(inicio) || dataCriacao.isAfter(fim)) {
+                    continue;
+                }
+                if (total >= offset && conteudo.size() < limite) {
+                    conteudo.add(remessa);
+                }
+                total++;
+            }
+        }
+
+        return new PageImpl<>(conteudo, pageable, total);
+    }
+}
@@ -0,0 +1,16 @@
+package com.guilherme.desafiointer.service.cache;
+
+import java.time.LocalDate;
+
+/**
+ * Chave de um segmento diário do histórico de remessas.
+ *
+ * Cada segmento contém todas as remessas enviadas pelo usuário num dia,
+ * independentemente do período consultado, permitindo que consultas
+ * sobrepostas ou deslizantes reutilizem os mesmos segmentos.
+ *
+ * @param usuarioId ID do usuário remetente
+ * @param dia dia de referência do segmento
+ */
+public record SegmentoDiarioKey(Long usuarioId, LocalDate dia) {
+}
@@ -0,0 +1,93 @@
+package com.guilherme.desafiointer.service.cache;
+
+import com.guilherme.desafiointer.config.constants.AppConstants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Cache read-through dos totais agregados por período.
+ *
+ * Remessas confirmadas descartam os totais do remetente cujo período as
+ * contém (em vez de incrementá-los), e um total calculado durante uma dessas
+ * remessas não é gravado: a soma pode ou não incluí-la, e gravá-la perderia
+ * ou duplicaria a remessa até a expiração. As versões são por faixa de
+ * usuários, para que remessas de outros usuários não impeçam a gravação.
+ *
+ * A invalidação é local; em outras réplicas o total só é atualizado pela
+ * expiração curta do cache {@code totaisTransacoes}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TotaisPeriodoCache {
+
+    private static final int FAIXAS = 256;
+
+    private final CacheManager cacheManager;
+
+    /** Incrementada a cada invalidação da faixa; cálculos concorrentes a ela não gravam no cache */
+    private final AtomicLongArray versoes = new AtomicLongArray(FAIXAS);
+
+    /**
+     * Retorna o total em cache ou o calcula, gravando-o apenas se nenhuma
+     * remessa do usuário foi confirmada durante o cálculo.
+     *
+     * @param chave usuário, período e tipo do total
+     * @param calculo cálculo do total no banco
+     * @return total do período
+     */
+    public BigDecimal obter(TotalPeriodoCacheKey chave, Supplier<BigDecimal> calculo) {
+        Optional<ConcurrentMap<Object, Object>> entradas = CacheNativo.comoMapa(cacheManager, AppConstants.CACHE_TOTAIS);
+        if (entradas.isEmpty()) {
+            return calculo.get();
+        }
+
+        ConcurrentMap<Object, Object> mapa = entradas.get();
+        if (mapa.get(chave) instanceof BigDecimal total) {
+            return total;
+        }
+
+        int faixa = faixa(chave.usuarioId());
+        long versao = versoes.get(faixa);
+        BigDecimal total = calculo.get();
+        if (total == null || versoes.get(faixa) != versao) {
+            return total;
+        }
+
+        mapa.put(chave, total);
+        if (versoes.get(faixa) != versao) {
+            // Invalidação entre a verificação e a gravação
+            mapa.remove(chave, total);
+        }
+        return total;
+    }
+
+    /**
+     * Descarta os totais do usuário cujo período contém a remessa.
+     * Deve ser chamado após o commit da remessa.
+     *
+     * @param usuarioId remetente
+     * @param dataCriacao data da remessa
+     */
+    public void invalidar(Long usuarioId, LocalDateTime dataCriacao) {
+        versoes.incrementAndGet(faixa(usuarioId));
+
+        Optional<ConcurrentMap<Object, Object>> entradas = CacheNativo.comoMapa(cacheManager, AppConstants.CACHE_TOTAIS);
+        if (entradas.isEmpty()) {
+            CacheNativo.limpar(cacheManager, AppConstants.CACHE_TOTAIS);
+            return;
+        }
+        entradas.get().keySet().removeIf(key ->
+                key instanceof TotalPeriodoCacheKey chave && chave.abrange(usuarioId, dataCriacao));
+    }
+
+    private static int faixa(Long usuarioId) {
+        return Math.floorMod(usuarioId.hashCode(), FAIXAS);
+    }
+}
@@ -0,0 +1,64 @@
+package com.guilherme.desafiointer.service.cache;
+
+import com.guilherme.desafiointer.domain.Remessa;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Chave do cache de totais agregados por período.
+ *
+ * Identifica o usuário, o período e o tipo de total para permitir
+ * descarte dos totais afetados por cada remessa confirmada.
+ *
+ * @param usuarioId ID do usuário
+ * @param inicio início do período (inclusive)
+ * @param fim fim do período (inclusive)
+ * @param tipo tipo de total armazenado
+ */
+public record TotalPeriodoCacheKey(
+        Long usuarioId,
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        TipoTotal tipo
+) {
+
+    /**
+     * Tipos de total mantidos em cache.
+     */
+    public enum TipoTotal {
+        ENVIADO {
+            @Override
+            public BigDecimal valorDe(Remessa remessa) {
+                return remessa.getValor();
+            }
+        },
+        TAXAS {
+            @Override
+            public BigDecimal valorDe(Remessa remessa) {
+                return remessa.getTaxa();
+            }
+        };
+
+        /**
+         * Retorna a parcela da remessa que compõe este total.
+         */
+        public abstract BigDecimal valorDe(Remessa remessa);
+    }
+
+    public static TotalPeriodoCacheKey enviado(Long usuarioId, LocalDateTime inicio, LocalDateTime fim) {
+        return new TotalPeriodoCacheKey(usuarioId, inicio, fim, TipoTotal.ENVIADO);
+    }
+
+    public static TotalPeriodoCacheKey taxas(Long usuarioId, LocalDateTime inicio, LocalDateTime fim) {
+        return new TotalPeriodoCacheKey(usuarioId, inicio, fim, TipoTotal.TAXAS);
+    }
+
+    /**
+     * Indica se uma remessa criada em {@code dataHora} pelo usuário entra neste total.
+     */
+    public boolean abrange(Long usuarioId, LocalDateTime dataHora) {
+        return this.usuarioId.equals(usuarioId)
+                && !dataHora.isBefore(inicio)
+                && !dataHora.isAfter(fim);
+    }
+}
@@ -0,0 +1,45 @@
+package com.guilherme.desafiointer.service.cache;
+
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+
+/**
+ * Cópia imutável dos campos de um usuário mantida em cache.
+ *
+ * Não guarda a carteira nem referências à sessão JPA; cada leitura
+ * produz um novo {@link Usuario} desanexado.
+ */
+public record UsuarioSnapshot(
+        Long id,
+        String nomeCompleto,
+        String email,
+        String documento,
+        String senha,
+        TipoUsuario tipoUsuario
+) {
+
+    public static UsuarioSnapshot de(Usuario usuario) {
+        return new UsuarioSnapshot(
+                usuario.getId(),
+                usuario.getNomeCompleto(),
+                usuario.getEmail(),
+                usuario.getDocumento(),
+                usuario.getSenha(),
+                usuario.getTipoUsuario()
+        );
+    }
+
+    /**
+     * Cria um usuário desanexado (sem carteira) com os dados do snapshot.
+     */
+    public Usuario paraUsuario() {
+        return Usuario.builder()
+                .id(id)
+                .nomeCompleto(nomeCompleto)
+                .email(email)
+                .documento(documento)
+                .senha(senha)
+                .tipoUsuario(tipoUsuario)
+                .build();
+    }
+}
@@ -3,26 +3,32 @@ package com.guilherme.desafiointer.service.impl;
 import com.guilherme.desafiointer.config.constants.AppConstants;
 import com.guilherme.desafiointer.domain.Remessa;
 import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.RemessaLiquidacaoRequestDTO;
+import com.guilherme.desafiointer.dto.remessa.RemessaLoteRequestDTO;
 import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.exception.domain.AdmissaoRecusadaException;
 import com.guilherme.desafiointer.exception.domain.LimiteDiarioExcedidoException;
 import com.guilherme.desafiointer.exception.domain.SaldoInsuficienteException;
 import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
 import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.service.admissao.ControleAdmissao;
 import com.guilherme.desafiointer.service.interfaces.RemessaServiceInterface;
+import com.guilherme.desafiointer.service.processor.ContextoLiquidacao;
+import com.guilherme.desafiointer.service.processor.ContextoRemessa;
+import com.guilherme.desafiointer.service.processor.ContextoRemessaLote;
+import com.guilherme.desafiointer.service.processor.LiquidacaoMultilateral;
 import com.guilherme.desafiointer.service.processor.RemessaProcessor;
 import com.guilherme.desafiointer.service.validator.RemessaValidator;
-import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.validation.annotation.Validated;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
@@ -32,30 +38,110 @@ import java.util.function.Supplier;
  * e tratamento diferenciado de exceções por categoria.
  */
 @Service
-@Validated
 @RequiredArgsConstructor
 @Slf4j
-@CacheConfig(cacheNames = AppConstants.CACHE_HISTORICO)
 public class RemessaServiceImpl implements RemessaServiceInterface {
 
     private final RemessaProcessor remessaProcessor;
     private final RemessaValidator remessaValidator;
+    private final ControleAdmissao controleAdmissao;
 
     /**
      * Realiza remessa internacional com transação ACID e lock distribuído.
+     * Os campos da requisição são validados uma única vez pelo RemessaValidator,
+     * que dispensa a verificação quando o controller já a realizou.
      *
      * @param remessaRequestDTO dados da remessa
      * @return Remessa processada
      */
     @Override
     @Transactional
-    public Remessa realizarRemessa(@Valid RemessaRequestDTO remessaRequestDTO) {
+    public Remessa realizarRemessa(RemessaRequestDTO remessaRequestDTO) {
         return executarComLockDistribuido(
                 remessaRequestDTO.getUsuarioId(),
                 () -> processarRemessaSegura(remessaRequestDTO)
         );
     }
 
+    /**
+     * Realiza um lote de remessas de um remetente para vários destinatários
+     * em uma única transação, com um único lock do remetente.
+     *
+     * @param requisicao dados do lote
+     * @return remessas processadas, na ordem dos itens
+     */
+    @Override
+    @Transactional
+    public List<Remessa> realizarRemessaLote(RemessaLoteRequestDTO requisicao) {
+        Long usuarioId = requisicao == null ? null : requisicao.usuarioId();
+        return executarComLockDistribuido(usuarioId, () -> processarLoteSeguro(requisicao));
+    }
+
+    /**
+     * Realiza uma liquidação multilateral em uma única transação.
+     *
+     * Não usa o lock distribuído por usuário: os participantes são vários e
+     * a exclusão mútua vem do lock pessimista de todas as carteiras, obtido
+     * em ordem de ID pelo RemessaValidator.
+     *
+     * @param requisicao remessas da liquidação
+     * @return remessas processadas e posições líquidas aplicadas
+     */
+    @Override
+    @Transactional
+    public LiquidacaoMultilateral realizarLiquidacao(RemessaLiquidacaoRequestDTO requisicao) {
+        int quantidade = requisicao == null || requisicao.remessas() == null ? 0 : requisicao.remessas().size();
+        return processarEmLoteSeguro("liquidação", null, quantidade, () -> {
+            ContextoLiquidacao contexto = converterExcecoesValidacao(() -> remessaValidator.validarDadosLiquidacao(requisicao));
+            return remessaProcessor.processarLiquidacao(contexto);
+        });
+    }
+
+    /**
+     * Processa o lote com o mesmo tratamento de exceções da remessa individual.
+     */
+    private List<Remessa> processarLoteSeguro(RemessaLoteRequestDTO requisicao) {
+        int quantidade = requisicao == null || requisicao.itens() == null ? 0 : requisicao.itens().size();
+        Long usuarioId = requisicao == null ? null : requisicao.usuarioId();
+        return processarEmLoteSeguro("lote", usuarioId, quantidade, () -> {
+            ContextoRemessaLote contexto = converterExcecoesValidacao(() -> remessaValidator.validarDadosLote(requisicao));
+            return remessaProcessor.processarLote(contexto);
+        });
+    }
+
+    /**
+     * Tratamento de exceções e logging comum às operações com várias remessas
+     * (lote de um remetente e liquidação multilateral).
+     */
+    private <T> T processarEmLoteSeguro(String operacao, Long usuarioId, int quantidade, Supplier<T> processamento) {
+        log.info("Iniciando processamento de {} de remessas: [usuarioId={}, remessas={}]", operacao, usuarioId, quantidade);
+
+        try {
+            T resultado = processamento.get();
+
+            log.info("Processamento de {} de remessas concluído: [usuarioId={}, remessas={}]", operacao, usuarioId, quantidade);
+            return resultado;
+
+        } catch (LimiteDiarioExcedidoException | SaldoInsuficienteException e) {
+            log.warn("Erro de regra de negócio ao processar {}: [tipo={}, usuarioId={}, remessas={}] - {}",
+                    operacao, e.getClass().getSimpleName(), usuarioId, quantidade, e.getMessage());
+            throw e;
+
+        } catch (RemessaException | DataAccessException e) {
+            log.error("Erro específico ao processar {}: [tipo={}, usuarioId={}] - {}",
+                    operacao, e.getClass().getSimpleName(), usuarioId, e.getMessage());
+            throw e;
+
+        } catch (Exception e) {
+            log.error("Erro inesperado ao processar {}: [usuarioId={}, remessas={}]", operacao, usuarioId, quantidade, e);
+            throw RemessaException.processamento(
+                    RemessaErrorType.ERRO_PROCESSAMENTO,
+                    "Erro ao processar " + operacao + " de remessas: " + e.getMessage(),
+                    e
+            );
+        }
+    }
+
     /**
      * Processa remessa com logging estruturado e tratamento de exceções.
      * Categoriza erros em negócio, validação e processamento.
@@ -68,8 +154,8 @@ public class RemessaServiceImpl implements RemessaServiceInterface {
                 remessaRequestDTO.getMoedaDestino());
 
         try {
-            validarRemessa(remessaRequestDTO);
-            Remessa remessa = processarRemessa(remessaRequestDTO);
+            ContextoRemessa contexto = validarRemessa(remessaRequestDTO);
+            Remessa remessa = processarRemessa(contexto);
 
             log.info("Remessa processada com sucesso: [id={}, usuarioId={}, valor={}, valorConvertido={}]",
                     remessa.getId(),
@@ -166,13 +252,20 @@ public class RemessaServiceImpl implements RemessaServiceInterface {
 
     /**
      * Valida dados da remessa delegando para RemessaValidator.
-     * Converte exceções genéricas para RemessaException tipadas.
+     * Converte exceções genéricas para RemessaException tipadas;
+     * falhas de acesso ao banco (ex.: timeout de lock) são propagadas.
+     *
+     * @return contexto com as carteiras bloqueadas
      */
-    private void validarRemessa(RemessaRequestDTO remessaRequestDTO) {
+    private ContextoRemessa validarRemessa(RemessaRequestDTO remessaRequestDTO) {
+        return converterExcecoesValidacao(() -> remessaValidator.validarDadosRemessa(remessaRequestDTO));
+    }
+
+    private <T> T converterExcecoesValidacao(Supplier<T> validacao) {
         try {
-            remessaValidator.validarDadosRemessa(remessaRequestDTO);
-        } catch (RemessaException e) {
-            // Propaga RemessaException diretamente
+            return validacao.get();
+        } catch (RemessaException | DataAccessException e) {
+            // Propaga RemessaException e falhas de banco diretamente
             throw e;
         } catch (IllegalArgumentException e) {
             // Converte IllegalArgumentException para DADOS_INVALIDOS
@@ -193,13 +286,13 @@ public class RemessaServiceImpl implements RemessaServiceInterface {
      * Processa remessa delegando para RemessaProcessor.
      * Mantém exceções de negócio e converte erros inesperados.
      */
-    private Remessa processarRemessa(RemessaRequestDTO remessaRequestDTO) {
+    private Remessa processarRemessa(ContextoRemessa contexto) {
         try {
-            return remessaProcessor.processarRemessa(remessaRequestDTO);
+            return remessaProcessor.processarRemessa(contexto);
         } catch (LimiteDiarioExcedidoException | SaldoInsuficienteException | RemessaException e) {
             throw e;
         } catch (Exception e) {
-            log.error("Erro inesperado ao processar remessa: {}", remessaRequestDTO, e);
+            log.error("Erro inesperado ao processar remessa: {}", contexto.requisicao(), e);
             throw RemessaException.processamento(
                     RemessaErrorType.ERRO_PROCESSAMENTO,
                     "Erro ao processar remessa: " + e.getMessage(),
@@ -209,8 +302,10 @@ public class RemessaServiceImpl implements RemessaServiceInterface {
     }
 
     /**
-     * Busca histórico paginado com cache automático.
-     * Valida período, paginação e delega para processor.
+     * Busca histórico paginado.
+     * Valida período, paginação e delega para processor, que mantém o cache.
+     * A consulta passa pelo controle de admissão, que limita as consultas
+     * em processamento na instância.
      *
      * @param usuario usuário alvo
      * @param inicio data inicial
@@ -219,7 +314,6 @@ public class RemessaServiceImpl implements RemessaServiceInterface {
      * @return página de remessas
      */
     @Override
-    @Cacheable(key = "#usuario.id + '_' + #inicio + '_' + #fim + '_' + #pageable.pageNumber")
     public Page<Remessa> buscarHistoricoTransacoes(
             Usuario usuario,
             LocalDateTime inicio,
@@ -231,13 +325,16 @@ public class RemessaServiceImpl implements RemessaServiceInterface {
 
         try {
             validarParametrosBusca(usuario, inicio, fim, pageable);
-            Page<Remessa> resultado = remessaProcessor.buscarHistorico(usuario, inicio, fim, pageable);
+            Page<Remessa> resultado = controleAdmissao.executarConsulta(usuario.getId(),
+                    () -> remessaProcessor.buscarHistorico(usuario, inicio, fim, pageable));
 
             log.debug("Histórico recuperado com sucesso: {} registros encontrados",
                     resultado.getTotalElements());
 
             return resultado;
 
+        } catch (AdmissaoRecusadaException e) {
+            throw e;
         } catch (IllegalArgumentException e) {
             throw RemessaException.validacao(
                     RemessaErrorType.DADOS_INVALIDOS,
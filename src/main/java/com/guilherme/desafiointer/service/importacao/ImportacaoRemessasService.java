@@ -0,0 +1,647 @@
+package com.guilherme.desafiointer.service.importacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guilherme.desafiointer.config.FabricaThreads;
+import com.guilherme.desafiointer.config.ImportacaoRemessasProperties;
+import com.guilherme.desafiointer.domain.ImportacaoRemessa;
+import com.guilherme.desafiointer.domain.ImportacaoRemessa.Formato;
+import com.guilherme.desafiointer.domain.ImportacaoRemessa.Status;
+import com.guilherme.desafiointer.domain.ImportacaoRemessaParticao;
+import com.guilherme.desafiointer.dto.remessa.ImportacaoRemessasDTO;
+import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.repository.ImportacaoRemessaParticaoRepository;
+import com.guilherme.desafiointer.repository.ImportacaoRemessaRepository;
+import com.guilherme.desafiointer.service.importacao.LeitorArquivoRemessas.LinhaRemessa;
+import com.guilherme.desafiointer.service.processor.RemessaProcessor;
+import com.guilherme.desafiointer.service.validator.RemessaValidator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Importação de remessas a partir de arquivos grandes (CSV ou NDJSON).
+ *
+ * O arquivo é lido em fluxo, uma linha por vez, e cada linha é enviada à
+ * partição do seu remetente (hash do usuarioId). Cada partição tem uma
+ * thread e uma fila limitada, então as remessas de um mesmo remetente são
+ * processadas na ordem do arquivo e a leitura espera quando as partições
+ * ficam para trás.
+ *
+ * Cada partição grava blocos de linhas em uma transação, com as mesmas
+ * regras da remessa individual (RemessaValidator + RemessaProcessor). As
+ * carteiras de todas as linhas do bloco são bloqueadas no início, em ordem
+ * de ID do usuário, para que blocos de partições diferentes não entrem em
+ * deadlock. Se qualquer linha do bloco falhar, o bloco é desfeito e refeito
+ * linha a linha, uma transação por linha, para isolar as rejeitadas. Falhas
+ * transitórias (timeout de lock, deadlock, conexão) não rejeitam a linha:
+ * ela é repetida e, se continuar falhando, a importação falha e pode ser
+ * retomada a partir da linha.
+ *
+ * Na transação de cada bloco também são gravados o ponto de retomada da
+ * partição (última linha confirmada) e, antes do commit, o resultado por
+ * linha no arquivo da partição. Uma importação interrompida (falha ou
+ * reinício da aplicação) pode ser retomada: as linhas já confirmadas são
+ * lidas e descartadas, sem repetir remessas.
+ *
+ * As importações são executadas uma por vez em segundo plano. Com várias
+ * instâncias, a execução é assumida no banco (compare-and-set de PENDENTE
+ * para PROCESSANDO) e renovada periodicamente; sem renovação por
+ * expiracaoExecucao (instância encerrada), outra instância pode retomá-la.
+ * O ponto de retomada só avança se nenhuma linha do bloco já foi
+ * confirmada, então uma segunda execução da mesma importação desfaz o
+ * bloco e para, sem gravar remessas duas vezes.
+ */
+@Slf4j
+@Service
+public class ImportacaoRemessasService {
+
+    private static final LinhaRemessa FIM = LinhaRemessa.rejeitada(-1, null);
+    private static final String ARQUIVO_ENTRADA = "entrada";
+    private static final long ESPERA_FILA_MS = 100;
+    private static final Set<Status> RETOMAVEIS = EnumSet.of(Status.PENDENTE, Status.FALHOU);
+    private static final int TENTATIVAS_FALHA_TRANSITORIA = 5;
+    private static final long ESPERA_FALHA_TRANSITORIA_MS = 200;
+
+    private final ImportacaoRemessaRepository importacaoRepository;
+    private final ImportacaoRemessaParticaoRepository particaoRepository;
+    private final RemessaValidator remessaValidator;
+    private final RemessaProcessor remessaProcessor;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ImportacaoRemessasProperties properties;
+    private final FabricaThreads fabricaThreads;
+
+    private final ExecutorService executorImportacoes;
+    private final ScheduledExecutorService renovacoes;
+    private final Map<UUID, Execucao> execucoes = new ConcurrentHashMap<>();
+
+    public ImportacaoRemessasService(ImportacaoRemessaRepository importacaoRepository,
+                                     ImportacaoRemessaParticaoRepository particaoRepository,
+                                     RemessaValidator remessaValidator,
+                                     RemessaProcessor remessaProcessor,
+                                     TransactionTemplate transactionTemplate,
+                                     ObjectMapper objectMapper,
+                                     ImportacaoRemessasProperties properties,
+                                     FabricaThreads fabricaThreads) {
+        this.importacaoRepository = importacaoRepository;
+        this.particaoRepository = particaoRepository;
+        this.remessaValidator = remessaValidator;
+        this.remessaProcessor = remessaProcessor;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.fabricaThreads = fabricaThreads;
+        this.executorImportacoes = Executors.newSingleThreadExecutor(fabricaThreads.criar("importacao-remessas"));
+        this.renovacoes = Executors.newSingleThreadScheduledExecutor(
+                fabricaThreads.criar("importacao-remessas-renovacao"));
+    }
+
+    /**
+     * Falha na inicialização se o diretório das importações não puder ser
+     * criado ou escrito, em vez de na primeira importação.
+     */
+    @PostConstruct
+    void verificarDiretorio() throws IOException {
+        Path diretorio = Files.createDirectories(Path.of(properties.getDiretorio()).toAbsolutePath());
+        if (!Files.isWritable(diretorio)) {
+            throw new IllegalStateException("Diretório de importações de remessas sem permissão de escrita: " + diretorio);
+        }
+        log.info("Diretório de importações de remessas: {}", diretorio);
+    }
+
+    /**
+     * Recebe o arquivo e agenda a importação em segundo plano.
+     *
+     * @param arquivo arquivo CSV ou NDJSON
+     * @param formato formato do arquivo; se nulo, deduzido da extensão (.ndjson, .jsonl ou .json = NDJSON)
+     * @return situação inicial da importação
+     */
+    public ImportacaoRemessasDTO iniciar(MultipartFile arquivo, Formato formato) {
+        UUID id = UUID.randomUUID();
+        Formato formatoArquivo = formato != null ? formato : deduzirFormato(arquivo.getOriginalFilename());
+        Path destino = Path.of(properties.getDiretorio(), id.toString(),
+                ARQUIVO_ENTRADA + "." + formatoArquivo.name().toLowerCase()).toAbsolutePath();
+        try {
+            Files.createDirectories(destino.getParent());
+            arquivo.transferTo(destino);
+        } catch (IOException e) {
+            throw RemessaException.processamento(
+                    RemessaErrorType.ERRO_PROCESSAMENTO,
+                    "Falha ao receber arquivo de importação de remessas",
+                    e
+            );
+        }
+
+        ImportacaoRemessa importacao = transactionTemplate.execute(status -> {
+            ImportacaoRemessa nova = importacaoRepository.save(ImportacaoRemessa.builder()
+                    .id(id)
+                    .formato(formatoArquivo)
+                    .arquivo(destino.toString())
+                    .particoes(properties.getParticoes())
+                    .status(Status.PENDENTE)
+                    .criadaEm(LocalDateTime.now())
+                    .build());
+            particaoRepository.saveAll(IntStream.range(0, nova.getParticoes())
+                    .mapToObj(particao -> ImportacaoRemessaParticao.builder()
+                            .importacao(nova)
+                            .particao(particao)
+                            .build())
+                    .toList());
+            return nova;
+        });
+        agendar(id);
+
+        log.info("Importação de remessas agendada: [id={}, arquivo={}, formato={}, tamanho={}]",
+                id, arquivo.getOriginalFilename(), formatoArquivo, arquivo.getSize());
+        return paraDTO(importacao);
+    }
+
+    /**
+     * Retoma uma importação interrompida a partir das últimas linhas confirmadas.
+     *
+     * @param id identificador da importação
+     * @return situação da importação reagendada
+     * @throws RemessaException quando a importação não existe, já foi concluída ou está em execução
+     */
+    public ImportacaoRemessasDTO retomar(UUID id) {
+        ImportacaoRemessa importacao = transactionTemplate.execute(status -> {
+            int reagendadas = importacaoRepository.reagendar(id, Status.PENDENTE, RETOMAVEIS, Status.PROCESSANDO,
+                    LocalDateTime.now().minus(properties.getExpiracaoExecucao()));
+            ImportacaoRemessa existente = buscar(id);
+            if (reagendadas == 0 && existente.getStatus() == Status.CONCLUIDA) {
+                throw RemessaException.validacao(
+                        RemessaErrorType.DADOS_INVALIDOS,
+                        "Importação de remessas já concluída: " + id
+                );
+            }
+            if (reagendadas == 0) {
+                throw RemessaException.negocio(
+                        RemessaErrorType.OPERACAO_EM_ANDAMENTO,
+                        "Importação de remessas em execução: " + id
+                );
+            }
+            return existente;
+        });
+        agendar(id);
+
+        log.info("Importação de remessas reagendada: [id={}]", id);
+        return paraDTO(importacao);
+    }
+
+    /**
+     * Consulta a situação de uma importação.
+     *
+     * @param id identificador da importação
+     * @return situação atual, com os contadores confirmados
+     */
+    public ImportacaoRemessasDTO consultar(UUID id) {
+        return paraDTO(buscar(id));
+    }
+
+    /**
+     * Escreve o resultado por linha da importação (cabeçalho e as linhas
+     * confirmadas de cada partição, em ordem de partição).
+     *
+     * @param id identificador da importação
+     * @param saida destino do conteúdo CSV
+     */
+    public void escreverResultado(UUID id, OutputStream saida) throws IOException {
+        ImportacaoRemessa importacao = buscar(id);
+        Path diretorio = Path.of(importacao.getArquivo()).getParent();
+
+        saida.write((ResultadoParticao.CABECALHO + "\n").getBytes(StandardCharsets.UTF_8));
+        for (int particao = 0; particao < importacao.getParticoes(); particao++) {
+            Path resultado = arquivoResultado(diretorio, particao);
+            if (Files.exists(resultado)) {
+                Files.copy(resultado, saida);
+            }
+        }
+    }
+
+    private ImportacaoRemessa buscar(UUID id) {
+        return importacaoRepository.findById(id)
+                .orElseThrow(() -> RemessaException.negocio(
+                        RemessaErrorType.IMPORTACAO_REMESSAS_NAO_ENCONTRADA,
+                        "Importação não encontrada: " + id
+                ));
+    }
+
+    private void agendar(UUID id) {
+        Execucao execucao = new Execucao(id);
+        if (execucoes.putIfAbsent(id, execucao) != null) {
+            throw RemessaException.negocio(
+                    RemessaErrorType.OPERACAO_EM_ANDAMENTO,
+                    "Importação de remessas em execução: " + id
+            );
+        }
+        executorImportacoes.submit(() -> executar(execucao));
+    }
+
+    private void executar(Execucao execucao) {
+        if (!assumir(execucao)) {
+            execucoes.remove(execucao.id);
+            return;
+        }
+
+        long intervalo = properties.getExpiracaoExecucao().toMillis() / 3;
+        ScheduledFuture<?> renovacao = renovacoes.scheduleWithFixedDelay(
+                () -> renovar(execucao), intervalo, intervalo, TimeUnit.MILLISECONDS);
+        Status statusFinal = Status.FALHOU;
+        try {
+            ImportacaoRemessa importacao = buscar(execucao.id);
+            long[] confirmadas = particaoRepository.buscarPorImportacao(execucao.id).stream()
+                    .mapToLong(ImportacaoRemessaParticao::getUltimaLinha)
+                    .toArray();
+
+            processar(execucao, importacao, confirmadas);
+            statusFinal = Status.CONCLUIDA;
+
+        } catch (Exception e) {
+            log.error("Falha na importação de remessas: [id={}, linhasLidas={}]",
+                    execucao.id, execucao.linhasLidas.get(), e);
+        } finally {
+            renovacao.cancel(false);
+            finalizar(execucao, statusFinal);
+        }
+    }
+
+    /**
+     * Assume a importação pendente no banco; outra instância pode tê-la
+     * assumido antes (retomadas simultâneas).
+     */
+    private boolean assumir(Execucao execucao) {
+        try {
+            Integer assumidas = transactionTemplate.execute(status -> importacaoRepository.assumir(
+                    execucao.id, execucao.token, Status.PENDENTE, Status.PROCESSANDO, LocalDateTime.now()));
+            if (assumidas != null && assumidas == 1) {
+                return true;
+            }
+            log.info("Importação de remessas assumida por outra execução: [id={}]", execucao.id);
+        } catch (Exception e) {
+            log.error("Falha ao assumir importação de remessas: [id={}]", execucao.id, e);
+        }
+        return false;
+    }
+
+    /**
+     * Renova a execução; se outra instância a retomou, interrompe a leitura.
+     */
+    private void renovar(Execucao execucao) {
+        try {
+            Integer renovadas = transactionTemplate.execute(status ->
+                    importacaoRepository.renovar(execucao.id, execucao.token, LocalDateTime.now()));
+            if (renovadas == null || renovadas == 0) {
+                execucao.falha = new ExecucaoSubstituidaException(execucao.id);
+            }
+        } catch (Exception e) {
+            log.warn("Falha ao renovar importação de remessas: [id={}] - {}", execucao.id, e.getMessage());
+        }
+    }
+
+    private void finalizar(Execucao execucao, Status statusFinal) {
+        try {
+            Integer finalizadas = transactionTemplate.execute(status -> importacaoRepository.finalizar(
+                    execucao.id, execucao.token, statusFinal, execucao.linhasLidas.get(), LocalDateTime.now()));
+            if (finalizadas == null || finalizadas == 0) {
+                log.warn("Importação de remessas retomada por outra execução; fim desta execução ignorado: "
+                        + "[id={}, status={}]", execucao.id, statusFinal);
+            } else {
+                log.info("Importação de remessas finalizada: [id={}, status={}, linhasLidas={}]",
+                        execucao.id, statusFinal, execucao.linhasLidas.get());
+            }
+        } catch (Exception e) {
+            log.error("Falha ao registrar fim da importação de remessas: [id={}, status={}]",
+                    execucao.id, statusFinal, e);
+        } finally {
+            execucoes.remove(execucao.id);
+        }
+    }
+
+    /**
+     * Lê o arquivo distribuindo as linhas ainda não confirmadas entre as
+     * partições e aguarda o processamento de todas.
+     */
+    private void processar(Execucao execucao, ImportacaoRemessa importacao, long[] confirmadas) throws Exception {
+        int particoes = importacao.getParticoes();
+        Path entrada = Path.of(importacao.getArquivo());
+        List<BlockingQueue<LinhaRemessa>> filas = new ArrayList<>(particoes);
+        List<ResultadoParticao> resultados = new ArrayList<>(particoes);
+        ExecutorService executorParticoes = Executors.newFixedThreadPool(particoes,
+                fabricaThreads.criarNumeradas("importacao-remessas-particao"));
+
+        try {
+            List<Future<?>> particoesEmExecucao = new ArrayList<>(particoes);
+            for (int particao = 0; particao < particoes; particao++) {
+                BlockingQueue<LinhaRemessa> fila = new ArrayBlockingQueue<>(properties.getCapacidadeFila());
+                ResultadoParticao resultado = ResultadoParticao.abrir(
+                        arquivoResultado(entrada.getParent(), particao), confirmadas[particao]);
+                filas.add(fila);
+                resultados.add(resultado);
+
+                int numero = particao;
+                particoesEmExecucao.add(executorParticoes.submit(() -> {
+                    consumir(execucao, numero, fila, resultado);
+                    return null;
+                }));
+            }
+
+            try (BufferedReader leitor = Files.newBufferedReader(entrada, StandardCharsets.UTF_8)) {
+                LeitorArquivoRemessas arquivo = new LeitorArquivoRemessas(leitor, importacao.getFormato(), objectMapper);
+                LinhaRemessa linha;
+                while ((linha = arquivo.proxima()) != null) {
+                    execucao.linhasLidas.set(arquivo.linhasLidas());
+                    int particao = Math.floorMod(Long.hashCode(linha.remetente()), particoes);
+                    if (linha.numero() > confirmadas[particao]) {
+                        enfileirar(execucao, filas.get(particao), linha);
+                    }
+                }
+                execucao.linhasLidas.set(arquivo.linhasLidas());
+            }
+
+            for (BlockingQueue<LinhaRemessa> fila : filas) {
+                enfileirar(execucao, fila, FIM);
+            }
+            for (Future<?> particao : particoesEmExecucao) {
+                try {
+                    particao.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception causa ? causa : e;
+                }
+            }
+        } finally {
+            executorParticoes.shutdownNow();
+            for (ResultadoParticao resultado : resultados) {
+                resultado.close();
+            }
+        }
+    }
+
+    /**
+     * Entrega a linha à partição, aguardando espaço na fila; desiste se
+     * alguma partição tiver falhado (a leitura pararia à espera dela).
+     */
+    private void enfileirar(Execucao execucao, BlockingQueue<LinhaRemessa> fila, LinhaRemessa linha)
+            throws InterruptedException {
+        while (!fila.offer(linha, ESPERA_FILA_MS, TimeUnit.MILLISECONDS)) {
+            if (execucao.falha != null) {
+                throw new IllegalStateException("Partição da importação interrompida", execucao.falha);
+            }
+        }
+    }
+
+    /**
+     * Processa as linhas de uma partição em blocos de até tamanhoBloco,
+     * na ordem em que chegam, até receber o marcador de fim.
+     */
+    private void consumir(Execucao execucao, int particao, BlockingQueue<LinhaRemessa> fila,
+                          ResultadoParticao resultado) throws Exception {
+        int tamanhoBloco = properties.getTamanhoBloco();
+        List<LinhaRemessa> bloco = new ArrayList<>(tamanhoBloco);
+        try {
+            boolean fim = false;
+            while (!fim) {
+                bloco.add(fila.take());
+                fila.drainTo(bloco, tamanhoBloco - 1);
+                if (bloco.get(bloco.size() - 1) == FIM) {
+                    bloco.remove(bloco.size() - 1);
+                    fim = true;
+                }
+                if (!bloco.isEmpty()) {
+                    processarBloco(execucao.id, particao, bloco, resultado);
+                    bloco.clear();
+                }
+            }
+        } catch (Exception e) {
+            execucao.falha = e;
+            throw e;
+        }
+    }
+
+    private void processarBloco(UUID id, int particao, List<LinhaRemessa> bloco,
+                                ResultadoParticao resultado) throws IOException, InterruptedException {
+        long posicao = resultado.posicao();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                remessaValidator.bloquearParticipantes(bloco.stream()
+                        .filter(linha -> linha.erro() == null)
+                        .map(LinhaRemessa::requisicao)
+                        .toList());
+                List<String> saidas = new ArrayList<>(bloco.size());
+                long realizadas = 0;
+                for (LinhaRemessa linha : bloco) {
+                    if (linha.erro() != null) {
+                        saidas.add(ResultadoParticao.rejeitada(linha.numero(), linha.erro()));
+                    } else {
+                        saidas.add(ResultadoParticao.realizada(linha.numero(), processar(linha.requisicao())));
+                        realizadas++;
+                    }
+                }
+                confirmar(id, particao, bloco.get(0).numero(), bloco.get(bloco.size() - 1).numero(),
+                        realizadas, bloco.size() - realizadas, saidas, resultado);
+            });
+        } catch (ExecucaoSubstituidaException e) {
+            resultado.descartarApartirDe(posicao);
+            throw e;
+        } catch (RuntimeException e) {
+            resultado.descartarApartirDe(posicao);
+            log.debug("Bloco da importação de remessas refeito linha a linha: [id={}, particao={}, linhas={}] - {}",
+                    id, particao, bloco.size(), e.getMessage());
+            for (LinhaRemessa linha : bloco) {
+                processarLinha(id, particao, linha, resultado);
+            }
+        }
+    }
+
+    /**
+     * Processa uma linha em transação própria; se falhar, confirma a
+     * rejeição com o motivo em outra transação. Falhas transitórias são
+     * repetidas até TENTATIVAS_FALHA_TRANSITORIA vezes e então propagadas
+     * (a partição falha sem rejeitar a linha).
+     */
+    private void processarLinha(UUID id, int particao, LinhaRemessa linha,
+                                ResultadoParticao resultado) throws IOException, InterruptedException {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                processarLinhaUmaVez(id, particao, linha, resultado);
+                return;
+            } catch (RuntimeException e) {
+                if (!transitoria(e) || tentativa == TENTATIVAS_FALHA_TRANSITORIA) {
+                    throw e;
+                }
+                log.debug("Falha transitória na linha da importação de remessas; repetindo: "
+                                + "[id={}, particao={}, linha={}, tentativa={}] - {}",
+                        id, particao, linha.numero(), tentativa, e.getMessage());
+                Thread.sleep(ESPERA_FALHA_TRANSITORIA_MS * tentativa);
+            }
+        }
+    }
+
+    private void processarLinhaUmaVez(UUID id, int particao, LinhaRemessa linha,
+                                      ResultadoParticao resultado) throws IOException {
+        long posicao = resultado.posicao();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                boolean valida = linha.erro() == null;
+                String saida = valida
+                        ? ResultadoParticao.realizada(linha.numero(), processar(linha.requisicao()))
+                        : ResultadoParticao.rejeitada(linha.numero(), linha.erro());
+                confirmar(id, particao, linha.numero(), linha.numero(), valida ? 1 : 0, valida ? 0 : 1,
+                        List.of(saida), resultado);
+            });
+        } catch (ExecucaoSubstituidaException e) {
+            resultado.descartarApartirDe(posicao);
+            throw e;
+        } catch (RuntimeException e) {
+            resultado.descartarApartirDe(posicao);
+            if (transitoria(e)) {
+                throw e;
+            }
+            transactionTemplate.executeWithoutResult(status -> confirmar(id, particao, linha.numero(), linha.numero(),
+                    0, 1, List.of(ResultadoParticao.rejeitada(linha.numero(), motivo(e))), resultado));
+        }
+    }
+
+    /**
+     * Falha que não depende da linha (timeout de lock, deadlock, conexão
+     * indisponível) e pode não se repetir em nova tentativa.
+     */
+    private static boolean transitoria(Throwable e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof TransientDataAccessException
+                    || causa instanceof RecoverableDataAccessException
+                    || causa instanceof DataAccessResourceFailureException
+                    || causa instanceof CannotCreateTransactionException
+                    || causa instanceof PessimisticLockException
+                    || causa instanceof LockTimeoutException
+                    || causa instanceof SQLTransientException
+                    || causa instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Long processar(RemessaRequestDTO requisicao) {
+        return remessaProcessor.processarRemessa(remessaValidator.validarDadosRemessa(requisicao)).getId();
+    }
+
+    /**
+     * Avança o ponto de retomada da partição e escreve o resultado das
+     * linhas, dentro da transação do bloco. Se o bloco já foi confirmado por
+     * outra execução, a exceção desfaz a transação.
+     */
+    private void confirmar(UUID id, int particao, long primeiraLinha, long ultimaLinha, long realizadas,
+                           long rejeitadas, List<String> saidas, ResultadoParticao resultado) {
+        if (particaoRepository.avancar(id, particao, primeiraLinha, ultimaLinha, realizadas, rejeitadas) == 0) {
+            throw new ExecucaoSubstituidaException(id);
+        }
+        try {
+            resultado.escrever(saidas);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao escrever resultado da importação", e);
+        }
+    }
+
+    private String motivo(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    private static Path arquivoResultado(Path diretorio, int particao) {
+        return diretorio.resolve("resultado-" + particao + ".csv");
+    }
+
+    private static Formato deduzirFormato(String nomeArquivo) {
+        String nome = nomeArquivo == null ? "" : nomeArquivo.toLowerCase();
+        return nome.endsWith(".ndjson") || nome.endsWith(".jsonl") || nome.endsWith(".json")
+                ? Formato.NDJSON
+                : Formato.CSV;
+    }
+
+    private ImportacaoRemessasDTO paraDTO(ImportacaoRemessa importacao) {
+        List<ImportacaoRemessaParticao> particoes = particaoRepository.buscarPorImportacao(importacao.getId());
+        Execucao execucao = execucoes.get(importacao.getId());
+        long linhasLidas = execucao != null ? execucao.linhasLidas.get() : importacao.getLinhasLidas();
+
+        return new ImportacaoRemessasDTO(
+                importacao.getId(),
+                importacao.getFormato(),
+                importacao.getStatus(),
+                linhasLidas,
+                particoes.stream().mapToLong(ImportacaoRemessaParticao::getRealizadas).sum(),
+                particoes.stream().mapToLong(ImportacaoRemessaParticao::getRejeitadas).sum(),
+                importacao.getCriadaEm(),
+                importacao.getConcluidaEm()
+        );
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executorImportacoes.shutdownNow();
+        renovacoes.shutdownNow();
+    }
+
+    /**
+     * Execução em andamento nesta instância.
+     */
+    private static final class Execucao {
+
+        private final UUID id;
+        private final UUID token = UUID.randomUUID();
+        private final AtomicLong linhasLidas = new AtomicLong();
+        private volatile Exception falha;
+
+        Execucao(UUID id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * A importação passou a outra execução (retomada após expirar a
+     * renovação desta); o bloco em andamento é desfeito e a execução para.
+     */
+    private static final class ExecucaoSubstituidaException extends IllegalStateException {
+
+        ExecucaoSubstituidaException(UUID id) {
+            super("Importação de remessas assumida por outra execução: " + id);
+        }
+    }
+}
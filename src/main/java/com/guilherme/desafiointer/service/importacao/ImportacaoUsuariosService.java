@@ -0,0 +1,427 @@
+package com.guilherme.desafiointer.service.importacao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.guilherme.desafiointer.config.ImportacaoUsuariosProperties;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.usuario.ImportacaoUsuariosDTO;
+import com.guilherme.desafiointer.dto.usuario.ImportacaoUsuariosDTO.ErroLinha;
+import com.guilherme.desafiointer.dto.usuario.ImportacaoUsuariosDTO.StatusImportacao;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.repository.UsuarioLoteRepository;
+import com.guilherme.desafiointer.repository.UsuarioLoteRepository.NovoUsuario;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import com.guilherme.desafiointer.service.unicidade.FiltroUnicidadeUsuario;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em lote de usuários a partir de arquivo CSV.
+ *
+ * Formato (separador ';', cabeçalho opcional):
+ * nomeCompleto;email;senha;tipoUsuario;documento
+ *
+ * Cada lote de linhas passa pelas etapas:
+ * 1. Validação de formato, documento (CPF/CNPJ) e campos, em paralelo
+ * 2. Unicidade dentro do arquivo e no banco (uma consulta por campo por lote)
+ * 3. Hash BCrypt das senhas em pool work-stealing dedicado e limitado
+ * 4. Inserção de usuários e carteiras em batch JDBC, uma transação por lote
+ *
+ * As importações são executadas uma por vez em segundo plano; a situação
+ * fica disponível em memória pelo identificador retornado, enquanto a
+ * importação não termina e depois pelo tempo de retenção
+ * (usuarios.importacao.retencao).
+ *
+ * Limitação: a situação (e o arquivo recebido) ficam só na instância que
+ * recebeu o envio. Com mais de uma réplica, a consulta em outra instância
+ * responde IMPORTACAO_NAO_ENCONTRADA, e uma importação em andamento se perde
+ * no reinício; o envio e as consultas devem chegar à mesma instância (por
+ * exemplo, afinidade de sessão no balanceador). A importação de remessas
+ * (ImportacaoRemessasService) grava a situação no banco e não tem essa limitação.
+ */
+@Slf4j
+@Service
+public class ImportacaoUsuariosService {
+
+    private static final String SEPARADOR = ";";
+    private static final int QUANTIDADE_CAMPOS = 5;
+
+    private final UsuarioRepository usuarioRepository;
+    private final UsuarioLoteRepository usuarioLoteRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportacaoUsuariosProperties properties;
+    private final FiltroUnicidadeUsuario filtroUnicidade;
+
+    private final ForkJoinPool pool;
+    private final ExecutorService executorImportacoes = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "importacao-usuarios");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Cache<UUID, Importacao> importacoes;
+
+    public ImportacaoUsuariosService(UsuarioRepository usuarioRepository,
+                                     UsuarioLoteRepository usuarioLoteRepository,
+                                     PasswordEncoder passwordEncoder,
+                                     Validator validator,
+                                     TransactionTemplate transactionTemplate,
+                                     ImportacaoUsuariosProperties properties,
+                                     FiltroUnicidadeUsuario filtroUnicidade) {
+        this.usuarioRepository = usuarioRepository;
+        this.usuarioLoteRepository = usuarioLoteRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.filtroUnicidade = filtroUnicidade;
+        this.pool = new ForkJoinPool(properties.getParalelismo(), p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("importacao-usuarios-hash-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.importacoes = Caffeine.newBuilder()
+                .expireAfter(new RetencaoAposFim(properties.getRetencao()))
+                .build();
+    }
+
+    /**
+     * Recebe o arquivo e agenda a importação em segundo plano.
+     *
+     * @param arquivo arquivo CSV
+     * @return situação inicial da importação
+     */
+    public ImportacaoUsuariosDTO iniciar(MultipartFile arquivo) {
+        Path temporario;
+        try {
+            temporario = Files.createTempFile("importacao-usuarios-", ".csv");
+            arquivo.transferTo(temporario);
+        } catch (IOException e) {
+            throw RemessaException.processamento(
+                    RemessaErrorType.ERRO_PROCESSAMENTO_USUARIO,
+                    "Falha ao receber arquivo de importação",
+                    e
+            );
+        }
+
+        Importacao importacao = new Importacao(UUID.randomUUID());
+        importacoes.put(importacao.id, importacao);
+        executorImportacoes.submit(() -> executar(importacao, temporario));
+
+        log.info("Importação de usuários agendada: [id={}, arquivo={}, tamanho={}]",
+                importacao.id, arquivo.getOriginalFilename(), arquivo.getSize());
+        return importacao.paraDTO();
+    }
+
+    /**
+     * Consulta a situação de uma importação.
+     *
+     * @param id identificador da importação
+     * @return situação atual
+     */
+    public ImportacaoUsuariosDTO consultar(UUID id) {
+        Importacao importacao = importacoes.getIfPresent(id);
+        if (importacao == null) {
+            throw RemessaException.negocio(
+                    RemessaErrorType.IMPORTACAO_NAO_ENCONTRADA,
+                    "Importação não encontrada: " + id
+            );
+        }
+        return importacao.paraDTO();
+    }
+
+    /**
+     * Importa o conteúdo de forma síncrona.
+     *
+     * @param conteudo conteúdo CSV
+     * @return resultado da importação
+     */
+    public ImportacaoUsuariosDTO importar(Reader conteudo) {
+        Importacao importacao = new Importacao(UUID.randomUUID());
+        processar(importacao, conteudo);
+        return importacao.paraDTO();
+    }
+
+    private void executar(Importacao importacao, Path arquivo) {
+        try (Reader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            processar(importacao, leitor);
+        } catch (IOException e) {
+            log.error("Falha ao ler arquivo de importação: [id={}]", importacao.id, e);
+            importacao.finalizar(StatusImportacao.FALHOU);
+        } finally {
+            // regrava a entrada para que a retenção conte a partir do fim
+            importacoes.put(importacao.id, importacao);
+            try {
+                Files.deleteIfExists(arquivo);
+            } catch (IOException e) {
+                log.warn("Arquivo temporário de importação não removido: {}", arquivo);
+            }
+        }
+    }
+
+    private void processar(Importacao importacao, Reader conteudo) {
+        importacao.status = StatusImportacao.PROCESSANDO;
+        Set<String> documentosVistos = new HashSet<>();
+        Set<String> emailsVistos = new HashSet<>();
+
+        try {
+            BufferedReader leitor = conteudo instanceof BufferedReader br ? br : new BufferedReader(conteudo);
+            List<LinhaArquivo> lote = new ArrayList<>(properties.getTamanhoLote());
+            long numero = 0;
+            String texto;
+            while ((texto = leitor.readLine()) != null) {
+                numero++;
+                if (texto.isBlank() || (numero == 1 && ehCabecalho(texto))) {
+                    continue;
+                }
+                lote.add(new LinhaArquivo(numero, texto));
+                if (lote.size() == properties.getTamanhoLote()) {
+                    processarLote(importacao, lote, documentosVistos, emailsVistos);
+                    lote = new ArrayList<>(properties.getTamanhoLote());
+                }
+            }
+            processarLote(importacao, lote, documentosVistos, emailsVistos);
+            importacao.finalizar(StatusImportacao.CONCLUIDA);
+
+            log.info("Importação de usuários concluída: [id={}, importados={}, rejeitados={}]",
+                    importacao.id, importacao.importados.get(), importacao.rejeitados.get());
+        } catch (Exception e) {
+            log.error("Falha na importação de usuários: [id={}]", importacao.id, e);
+            importacao.finalizar(StatusImportacao.FALHOU);
+        }
+    }
+
+    /**
+     * Executa as etapas de validação, unicidade, hash e gravação de um lote.
+     */
+    private void processarLote(Importacao importacao, List<LinhaArquivo> lote,
+                               Set<String> documentosVistos, Set<String> emailsVistos) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        importacao.linhasProcessadas.addAndGet(lote.size());
+
+        List<Validacao> validacoes = pool.submit(() -> lote.parallelStream()
+                .map(this::validar)
+                .toList()).join();
+
+        List<Candidato> candidatos = new ArrayList<>(validacoes.size());
+        for (Validacao validacao : validacoes) {
+            if (validacao.erro() != null) {
+                importacao.rejeitar(validacao.erro(), properties.getMaximoErros());
+            } else if (!documentosVistos.add(validacao.candidato().documento())) {
+                importacao.rejeitar(erro(validacao.candidato(), "Documento repetido no arquivo"), properties.getMaximoErros());
+            } else if (!emailsVistos.add(validacao.candidato().email())) {
+                importacao.rejeitar(erro(validacao.candidato(), "Email repetido no arquivo"), properties.getMaximoErros());
+            } else {
+                candidatos.add(validacao.candidato());
+            }
+        }
+
+        List<Candidato> novos = removerExistentes(importacao, candidatos);
+        if (novos.isEmpty()) {
+            return;
+        }
+
+        List<NovoUsuario> usuarios = pool.submit(() -> novos.parallelStream()
+                .map(c -> new NovoUsuario(c.nomeCompleto(), c.email(), c.documento(),
+                        passwordEncoder.encode(c.senha()), c.tipoUsuario()))
+                .toList()).join();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> usuarioLoteRepository.inserirComCarteiras(usuarios));
+            importacao.importados.addAndGet(usuarios.size());
+            usuarios.forEach(u -> filtroUnicidade.registrar(u.documento(), u.email()));
+        } catch (Exception e) {
+            log.error("Falha ao gravar lote de usuários: [id={}, quantidade={}] - {}",
+                    importacao.id, usuarios.size(), e.getMessage());
+            novos.forEach(c -> importacao.rejeitar(erro(c, "Falha ao gravar lote: " + e.getMessage()),
+                    properties.getMaximoErros()));
+        }
+    }
+
+    /**
+     * Rejeita candidatos cujo documento ou email já está cadastrado.
+     */
+    private List<Candidato> removerExistentes(Importacao importacao, List<Candidato> candidatos) {
+        if (candidatos.isEmpty()) {
+            return candidatos;
+        }
+
+        Set<String> documentosExistentes = usuarioRepository.buscarDocumentosExistentes(
+                candidatos.stream().map(Candidato::documento).collect(Collectors.toSet()));
+        Set<String> emailsExistentes = usuarioRepository.buscarEmailsExistentes(
+                candidatos.stream().map(Candidato::email).collect(Collectors.toSet()));
+
+        List<Candidato> novos = new ArrayList<>(candidatos.size());
+        for (Candidato candidato : candidatos) {
+            if (documentosExistentes.contains(candidato.documento())) {
+                importacao.rejeitar(erro(candidato, "Documento já cadastrado"), properties.getMaximoErros());
+            } else if (emailsExistentes.contains(candidato.email())) {
+                importacao.rejeitar(erro(candidato, "Email já cadastrado"), properties.getMaximoErros());
+            } else {
+                novos.add(candidato);
+            }
+        }
+        return novos;
+    }
+
+    /**
+     * Valida formato, tipo, documento e campos obrigatórios de uma linha.
+     */
+    private Validacao validar(LinhaArquivo linha) {
+        String[] campos = linha.texto().split(SEPARADOR, -1);
+        if (campos.length != QUANTIDADE_CAMPOS) {
+            return Validacao.rejeitada(linha.numero(),
+                    "Formato inválido: esperado nomeCompleto;email;senha;tipoUsuario;documento");
+        }
+
+        TipoUsuario tipoUsuario;
+        try {
+            tipoUsuario = TipoUsuario.valueOf(campos[3].trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Validacao.rejeitada(linha.numero(), "Tipo de usuário inválido: " + campos[3].trim());
+        }
+
+        Candidato candidato = new Candidato(linha.numero(), campos[0].trim(), campos[1].trim(),
+                campos[2], tipoUsuario, campos[4].trim());
+
+        if (!tipoUsuario.validarDocumento(candidato.documento())) {
+            return Validacao.rejeitada(linha.numero(), "Documento inválido: " + tipoUsuario.getFormatoDocumento());
+        }
+
+        Set<ConstraintViolation<Usuario>> violacoes = validator.validate(Usuario.builder()
+                .nomeCompleto(candidato.nomeCompleto())
+                .email(candidato.email())
+                .senha(candidato.senha())
+                .tipoUsuario(tipoUsuario)
+                .documento(candidato.documento())
+                .build());
+        if (!violacoes.isEmpty()) {
+            return Validacao.rejeitada(linha.numero(), violacoes.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        return new Validacao(candidato, null);
+    }
+
+    private boolean ehCabecalho(String texto) {
+        return texto.trim().toLowerCase().startsWith("nome");
+    }
+
+    private ErroLinha erro(Candidato candidato, String mensagem) {
+        return new ErroLinha(candidato.linha(), mensagem);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executorImportacoes.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /**
+     * Importações em andamento não expiram; as finalizadas expiram após a
+     * retenção, contada da última gravação da entrada (fim da importação).
+     */
+    private record RetencaoAposFim(Duration retencao) implements Expiry<UUID, Importacao> {
+
+        @Override
+        public long expireAfterCreate(UUID id, Importacao importacao, long agora) {
+            return importacao.fim == null ? Long.MAX_VALUE : retencao.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID id, Importacao importacao, long agora, long duracaoAtual) {
+            return expireAfterCreate(id, importacao, agora);
+        }
+
+        @Override
+        public long expireAfterRead(UUID id, Importacao importacao, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+
+    private record LinhaArquivo(long numero, String texto) {}
+
+    private record Candidato(long linha, String nomeCompleto, String email, String senha,
+                             TipoUsuario tipoUsuario, String documento) {}
+
+    private record Validacao(Candidato candidato, ErroLinha erro) {
+        static Validacao rejeitada(long linha, String mensagem) {
+            return new Validacao(null, new ErroLinha(linha, mensagem));
+        }
+    }
+
+    /**
+     * Situação mutável de uma importação em andamento.
+     */
+    private static final class Importacao {
+
+        private final UUID id;
+        private final LocalDateTime inicio = LocalDateTime.now();
+        private final AtomicLong linhasProcessadas = new AtomicLong();
+        private final AtomicLong importados = new AtomicLong();
+        private final AtomicLong rejeitados = new AtomicLong();
+        private final List<ErroLinha> erros = new ArrayList<>();
+        private volatile StatusImportacao status = StatusImportacao.PENDENTE;
+        private volatile LocalDateTime fim;
+
+        Importacao(UUID id) {
+            this.id = id;
+        }
+
+        void rejeitar(ErroLinha erro, int maximoErros) {
+            rejeitados.incrementAndGet();
+            synchronized (erros) {
+                if (erros.size() < maximoErros) {
+                    erros.add(erro);
+                }
+            }
+        }
+
+        void finalizar(StatusImportacao statusFinal) {
+            fim = LocalDateTime.now();
+            status = statusFinal;
+        }
+
+        ImportacaoUsuariosDTO paraDTO() {
+            List<ErroLinha> copiaErros;
+            synchronized (erros) {
+                copiaErros = List.copyOf(erros);
+            }
+            return new ImportacaoUsuariosDTO(id, status, linhasProcessadas.get(), importados.get(),
+                    rejeitados.get(), copiaErros, inicio, fim);
+        }
+    }
+}
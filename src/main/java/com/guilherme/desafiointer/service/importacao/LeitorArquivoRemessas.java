@@ -0,0 +1,112 @@
+package com.guilherme.desafiointer.service.importacao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guilherme.desafiointer.domain.ImportacaoRemessa.Formato;
+import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Leitura em fluxo de um arquivo de remessas, uma linha por vez.
+ *
+ * CSV (separador ';', cabeçalho opcional): usuarioId;destinatarioId;valor;moedaDestino
+ * NDJSON: um objeto por linha, com os mesmos campos de RemessaRequestDTO
+ *
+ * Linhas em branco e o cabeçalho são ignorados. Linhas com formato inválido
+ * não interrompem a leitura: são devolvidas com o erro, para que sejam
+ * registradas como rejeitadas no resultado.
+ */
+class LeitorArquivoRemessas {
+
+    private static final String SEPARADOR = ";";
+    private static final int QUANTIDADE_CAMPOS = 4;
+
+    private final BufferedReader leitor;
+    private final Formato formato;
+    private final ObjectMapper objectMapper;
+    private long numero;
+
+    LeitorArquivoRemessas(BufferedReader leitor, Formato formato, ObjectMapper objectMapper) {
+        this.leitor = leitor;
+        this.formato = formato;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lê a próxima linha com conteúdo.
+     *
+     * @return linha lida, ou null no fim do arquivo
+     */
+    LinhaRemessa proxima() throws IOException {
+        String texto;
+        while ((texto = leitor.readLine()) != null) {
+            numero++;
+            if (texto.isBlank() || (numero == 1 && ehCabecalho(texto))) {
+                continue;
+            }
+            return formato == Formato.NDJSON ? lerJson(texto) : lerCsv(texto);
+        }
+        return null;
+    }
+
+    /**
+     * Quantidade de linhas lidas até o momento, incluindo as ignoradas.
+     */
+    long linhasLidas() {
+        return numero;
+    }
+
+    private LinhaRemessa lerCsv(String texto) {
+        String[] campos = texto.split(SEPARADOR, -1);
+        if (campos.length != QUANTIDADE_CAMPOS) {
+            return LinhaRemessa.rejeitada(numero,
+                    "Formato inválido: esperado usuarioId;destinatarioId;valor;moedaDestino");
+        }
+
+        try {
+            return new LinhaRemessa(numero, RemessaRequestDTO.builder()
+                    .usuarioId(Long.valueOf(campos[0].trim()))
+                    .destinatarioId(Long.valueOf(campos[1].trim()))
+                    .valor(new BigDecimal(campos[2].trim()))
+                    .moedaDestino(campos[3].trim())
+                    .build(), null);
+        } catch (NumberFormatException e) {
+            return LinhaRemessa.rejeitada(numero, "Número inválido: usuarioId, destinatarioId e valor devem ser numéricos");
+        }
+    }
+
+    private LinhaRemessa lerJson(String texto) {
+        try {
+            return new LinhaRemessa(numero, objectMapper.readValue(texto, RemessaRequestDTO.class), null);
+        } catch (JsonProcessingException e) {
+            return LinhaRemessa.rejeitada(numero, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private boolean ehCabecalho(String texto) {
+        return formato == Formato.CSV && texto.trim().toLowerCase().startsWith("usuario");
+    }
+
+    /**
+     * Linha do arquivo: a requisição, ou o motivo de não ter sido possível lê-la.
+     *
+     * @param numero número da linha (1 = primeira linha do arquivo)
+     * @param requisicao dados da remessa, quando a linha é válida
+     * @param erro motivo da rejeição na leitura
+     */
+    record LinhaRemessa(long numero, RemessaRequestDTO requisicao, String erro) {
+
+        static LinhaRemessa rejeitada(long numero, String erro) {
+            return new LinhaRemessa(numero, null, erro);
+        }
+
+        /**
+         * Remetente usado na partição; linhas sem remetente ficam todas na mesma partição.
+         */
+        long remetente() {
+            return requisicao == null || requisicao.getUsuarioId() == null ? 0L : requisicao.getUsuarioId();
+        }
+    }
+}
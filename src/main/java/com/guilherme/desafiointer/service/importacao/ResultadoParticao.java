@@ -0,0 +1,108 @@
+package com.guilherme.desafiointer.service.importacao;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Arquivo de resultado por linha de uma partição da importação de remessas.
+ *
+ * Formato (separador ';'): linha;status;remessaId;mensagem
+ *
+ * Cada bloco é escrito e sincronizado em disco antes do commit da sua
+ * transação; se o commit falhar, o bloco é descartado voltando à posição
+ * anterior. Ao reabrir o arquivo para retomar a importação, as linhas além
+ * do último ponto confirmado (escritas antes de um commit que não ocorreu)
+ * são removidas, e o arquivo fica com exatamente uma linha por linha
+ * confirmada da partição.
+ */
+class ResultadoParticao implements Closeable {
+
+    static final String CABECALHO = "linha;status;remessaId;mensagem";
+
+    private static final String SEPARADOR = ";";
+
+    private final FileChannel canal;
+
+    private ResultadoParticao(FileChannel canal) {
+        this.canal = canal;
+    }
+
+    /**
+     * Abre (ou cria) o arquivo, mantendo apenas as linhas já confirmadas.
+     *
+     * @param arquivo caminho do resultado da partição
+     * @param ultimaLinhaConfirmada última linha do arquivo de entrada confirmada na partição
+     */
+    static ResultadoParticao abrir(Path arquivo, long ultimaLinhaConfirmada) throws IOException {
+        long tamanhoConfirmado = Files.exists(arquivo) ? tamanhoAte(arquivo, ultimaLinhaConfirmada) : 0L;
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        canal.truncate(tamanhoConfirmado);
+        canal.position(tamanhoConfirmado);
+        return new ResultadoParticao(canal);
+    }
+
+    /**
+     * Bytes ocupados pelas linhas de resultado até a linha de entrada informada.
+     */
+    private static long tamanhoAte(Path arquivo, long ultimaLinha) throws IOException {
+        long tamanho = 0;
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            String texto;
+            while ((texto = leitor.readLine()) != null) {
+                int fimNumero = texto.indexOf(SEPARADOR);
+                if (fimNumero <= 0 || Long.parseLong(texto.substring(0, fimNumero)) > ultimaLinha) {
+                    break;
+                }
+                tamanho += texto.getBytes(StandardCharsets.UTF_8).length + 1;
+            }
+        }
+        return tamanho;
+    }
+
+    static String realizada(long linha, Long remessaId) {
+        return linha + SEPARADOR + "REALIZADA" + SEPARADOR + remessaId + SEPARADOR;
+    }
+
+    static String rejeitada(long linha, String mensagem) {
+        String texto = mensagem == null ? "" : mensagem.replaceAll("[;\\r\\n]+", " ").trim();
+        return linha + SEPARADOR + "REJEITADA" + SEPARADOR + SEPARADOR + texto;
+    }
+
+    long posicao() throws IOException {
+        return canal.position();
+    }
+
+    /**
+     * Acrescenta as linhas e sincroniza o arquivo em disco.
+     */
+    void escrever(List<String> linhas) throws IOException {
+        StringBuilder conteudo = new StringBuilder(linhas.size() * 32);
+        linhas.forEach(linha -> conteudo.append(linha).append('\n'));
+        ByteBuffer buffer = ByteBuffer.wrap(conteudo.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        canal.force(false);
+    }
+
+    /**
+     * Descarta o que foi escrito a partir da posição (bloco cujo commit falhou).
+     */
+    void descartarApartirDe(long posicao) throws IOException {
+        canal.truncate(posicao);
+        canal.position(posicao);
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
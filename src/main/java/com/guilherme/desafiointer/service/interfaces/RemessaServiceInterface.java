@@ -2,14 +2,18 @@ package com.guilherme.desafiointer.service.interfaces;
 
 import com.guilherme.desafiointer.domain.Remessa;
 import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.RemessaLiquidacaoRequestDTO;
+import com.guilherme.desafiointer.dto.remessa.RemessaLoteRequestDTO;
 import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.exception.domain.AdmissaoRecusadaException;
 import com.guilherme.desafiointer.exception.domain.LimiteDiarioExcedidoException;
 import com.guilherme.desafiointer.exception.domain.SaldoInsuficienteException;
 import com.guilherme.desafiointer.exception.remessa.RemessaException;
-import jakarta.validation.Valid;
+import com.guilherme.desafiointer.service.processor.LiquidacaoMultilateral;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Interface que define as operações disponíveis para o serviço de remessas.
@@ -25,7 +29,32 @@ public interface RemessaServiceInterface {
      * @throws RemessaException com RemessaErrorType.CARTEIRA_NAO_ENCONTRADA se alguma carteira não for encontrada
      * @throws LimiteDiarioExcedidoException se o limite diário for excedido
      */
-    Remessa realizarRemessa(@Valid RemessaRequestDTO remessaRequestDTO);
+    Remessa realizarRemessa(RemessaRequestDTO remessaRequestDTO);
+
+    /**
+     * Realiza um lote de remessas de um remetente para vários destinatários.
+     * Todas as remessas do lote são confirmadas ou nenhuma é.
+     *
+     * @param requisicao remetente, moeda de destino e itens (destinatário e valor)
+     * @return remessas processadas, na ordem dos itens
+     * @throws SaldoInsuficienteException se o saldo não cobrir o total do lote
+     * @throws LimiteDiarioExcedidoException se o total do lote exceder o limite diário
+     * @throws RemessaException se algum participante ou carteira não for encontrado
+     */
+    List<Remessa> realizarRemessaLote(RemessaLoteRequestDTO requisicao);
+
+    /**
+     * Realiza uma liquidação multilateral: remessas entre vários remetentes e
+     * destinatários, compensadas em posições líquidas por carteira e moeda.
+     * Todas as remessas são confirmadas ou nenhuma é.
+     *
+     * @param requisicao remessas da liquidação
+     * @return remessas processadas e posições líquidas aplicadas
+     * @throws SaldoInsuficienteException se alguma posição líquida exceder o saldo
+     * @throws LimiteDiarioExcedidoException se o total de um remetente exceder o limite diário
+     * @throws RemessaException se algum participante ou carteira não for encontrado
+     */
+    LiquidacaoMultilateral realizarLiquidacao(RemessaLiquidacaoRequestDTO requisicao);
 
     /**
      * Busca o histórico de transações de um usuario num período específico.
@@ -36,6 +65,7 @@ public interface RemessaServiceInterface {
      * @param pageable configuração de paginação
      * @return Page<Remessa> contendo as remessas do período
      * @throws IllegalArgumentException se algum parâmetro obrigatório for nulo
+     * @throws AdmissaoRecusadaException se a instância estiver no limite de consultas
      */
     Page<Remessa> buscarHistoricoTransacoes(Usuario usuario, LocalDateTime inicio, LocalDateTime fim, Pageable pageable);
 }
\ No newline at end of file
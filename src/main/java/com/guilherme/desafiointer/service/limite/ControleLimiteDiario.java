@@ -0,0 +1,29 @@
+package com.guilherme.desafiointer.service.limite;
+
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.exception.domain.LimiteDiarioExcedidoException;
+import java.math.BigDecimal;
+
+/**
+ * Controle do uso diário de remessas por usuário.
+ *
+ * Valida o limite do tipo de usuário (via LimiteDiarioValidator) e reserva
+ * o valor da nova remessa. A reserva é efetivada com o commit da transação
+ * corrente e descartada em caso de rollback.
+ *
+ * Implementações (todas as habilitadas são aplicadas a cada remessa):
+ * - ControleLimiteDiarioBanco: upsert condicional em TransacaoDiaria (padrão)
+ * - ControleLimiteDiarioMemoria: acumulador em memória com gravação assíncrona
+ * - ControleLimiteDiarioJanela: janela deslizante de 24h em memória
+ */
+public interface ControleLimiteDiario {
+
+    /**
+     * Valida o limite diário e reserva o valor para o usuário.
+     *
+     * @param usuario usuário remetente
+     * @param valor valor da remessa (sem taxa)
+     * @throws LimiteDiarioExcedidoException quando o limite seria excedido
+     */
+    void reservar(Usuario usuario, BigDecimal valor);
+}
@@ -0,0 +1,64 @@
+package com.guilherme.desafiointer.service.limite;
+
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.repository.TransacaoDiariaRepository;
+import com.guilherme.desafiointer.service.strategy.LimiteDiarioValidator;
+import com.guilherme.desafiointer.service.strategy.StrategyFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Controle de limite diário baseado na tabela transacoes_diarias.
+ *
+ * Cria ou incrementa o total do dia com um upsert condicional que recusa
+ * ultrapassar o limite, na mesma transação da remessa; o rollback desfaz
+ * a reserva. A linha fica bloqueada até o commit, serializando remessas
+ * concorrentes do mesmo usuário. Seguro com múltiplas instâncias.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "limite.acumulador", name = "habilitado", havingValue = "false", matchIfMissing = true)
+public class ControleLimiteDiarioBanco implements ControleLimiteDiario {
+
+    private final TransacaoDiariaRepository transacaoDiariaRepository;
+    private final StrategyFactory strategyFactory;
+
+    @Override
+    public void reservar(Usuario usuario, BigDecimal valor) {
+        LocalDate hoje = LocalDate.now();
+        LimiteDiarioValidator validator = strategyFactory.getLimiteValidator(usuario.getTipoUsuario());
+
+        Optional<BigDecimal> novoTotal = transacaoDiariaRepository.incrementarValorTotal(
+                usuario.getId(), hoje, valor, validator.getLimiteDiario());
+
+        if (novoTotal.isEmpty()) {
+            rejeitar(usuario, hoje, valor, validator);
+        }
+        log.debug("Limite diário reservado: [usuarioId={}, valor={}, total={}]",
+                usuario.getId(), valor, novoTotal.orElse(null));
+    }
+
+    /**
+     * Lança a exceção do validador para o total atual.
+     * Se o total tiver diminuído desde o upsert (rollback concorrente),
+     * a recusa do banco prevalece.
+     */
+    private void rejeitar(Usuario usuario, LocalDate data, BigDecimal valor, LimiteDiarioValidator validator) {
+        BigDecimal totalAtual = transacaoDiariaRepository.buscarValorTotal(usuario.getId(), data)
+                .orElse(BigDecimal.ZERO);
+        validator.validar(usuario, totalAtual, valor);
+
+        throw RemessaException.negocio(
+                RemessaErrorType.LIMITE_DIARIO_EXCEDIDO,
+                RemessaErrorType.LIMITE_DIARIO_EXCEDIDO.getMessage()
+        );
+    }
+}
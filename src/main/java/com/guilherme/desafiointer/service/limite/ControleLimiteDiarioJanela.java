@@ -0,0 +1,154 @@
+package com.guilherme.desafiointer.service.limite;
+
+import com.guilherme.desafiointer.config.LimiteJanelaProperties;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.repository.RemessaRepository;
+import com.guilherme.desafiointer.service.strategy.LimiteDiarioValidator;
+import com.guilherme.desafiointer.service.strategy.StrategyFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite em janela deslizante (por padrão, últimas 24h em baldes de 15 min).
+ *
+ * Complementa o limite por dia de calendário: impede enviar o dobro do
+ * limite em torno da meia-noite. Usa o mesmo valor de limite do tipo de
+ * usuário (LimiteDiarioValidator) e avalia em memória, sem consulta ao banco.
+ *
+ * O valor é registrado na janela na reserva e estornado em caso de rollback.
+ * Na inicialização, a janela é reconstruída a partir das remessas recentes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "limite.janela", name = "habilitado", havingValue = "true")
+public class ControleLimiteDiarioJanela implements ControleLimiteDiario {
+
+    private final StrategyFactory strategyFactory;
+    private final RemessaRepository remessaRepository;
+    private final LimiteJanelaProperties properties;
+    private final JanelaDeslizanteUso janela;
+    private final long[] limiteCentavosPorTipo;
+    private final ScheduledExecutorService limpeza = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "limite-janela-limpeza");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ControleLimiteDiarioJanela(StrategyFactory strategyFactory,
+                                      RemessaRepository remessaRepository,
+                                      LimiteJanelaProperties properties) {
+        this.strategyFactory = strategyFactory;
+        this.remessaRepository = remessaRepository;
+        this.properties = properties;
+        this.janela = new JanelaDeslizanteUso(properties.getBaldes(), properties.getDuracaoBalde().toMillis());
+        this.limiteCentavosPorTipo = new long[TipoUsuario.values().length];
+        for (TipoUsuario tipo : TipoUsuario.values()) {
+            limiteCentavosPorTipo[tipo.ordinal()] = paraCentavos(strategyFactory.getLimiteValidator(tipo).getLimiteDiario());
+        }
+    }
+
+    @Override
+    public void reservar(Usuario usuario, BigDecimal valor) {
+        long agora = System.currentTimeMillis();
+        long centavos = paraCentavos(valor);
+        long limite = limiteCentavosPorTipo[usuario.getTipoUsuario().ordinal()];
+
+        if (!janela.registrar(usuario.getId(), centavos, limite, agora)) {
+            rejeitar(usuario, valor, agora);
+        }
+        registrarEstorno(usuario.getId(), centavos, janela.balde(agora));
+    }
+
+    /**
+     * Lança a exceção do validador do tipo de usuário para o total da janela.
+     */
+    private void rejeitar(Usuario usuario, BigDecimal valor, long agora) {
+        LimiteDiarioValidator validator = strategyFactory.getLimiteValidator(usuario.getTipoUsuario());
+        validator.validar(usuario, BigDecimal.valueOf(janela.total(usuario.getId(), agora), 2), valor);
+
+        throw RemessaException.negocio(
+                RemessaErrorType.LIMITE_DIARIO_EXCEDIDO,
+                RemessaErrorType.LIMITE_DIARIO_EXCEDIDO.getMessage()
+        );
+    }
+
+    /**
+     * Estorna o valor da janela se a transação corrente não for confirmada.
+     */
+    private void registrarEstorno(Long usuarioId, long centavos, long balde) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    janela.estornar(usuarioId, centavos, balde, System.currentTimeMillis());
+                }
+            }
+        });
+    }
+
+    /**
+     * Reconstrói a janela a partir das remessas recentes e agenda a limpeza
+     * de usuários sem uso na janela.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        long agora = System.currentTimeMillis();
+        Duration duracaoJanela = properties.getDuracaoBalde().multipliedBy(properties.getBaldes());
+        ZoneId zona = ZoneId.systemDefault();
+
+        var envios = remessaRepository.buscarEnviosDesde(LocalDateTime.now().minus(duracaoJanela));
+        envios.forEach(envio -> janela.carregar(envio.getUsuarioId(), paraCentavos(envio.getValor()),
+                envio.getDataCriacao().atZone(zona).toInstant().toEpochMilli(), agora));
+
+        log.info("Janela deslizante de limites reconstruída: [envios={}, usuarios={}]",
+                envios.size(), janela.quantidadeUsuarios());
+
+        long intervalo = properties.getDuracaoBalde().toMillis();
+        limpeza.scheduleWithFixedDelay(this::removerInativos, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    private void removerInativos() {
+        int removidos = janela.removerInativas(System.currentTimeMillis());
+        log.debug("Janelas de limite sem uso removidas: [quantidade={}]", removidos);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        limpeza.shutdownNow();
+    }
+
+    /**
+     * Total da janela do usuário.
+     *
+     * @param usuarioId identificador do usuário
+     * @return total enviado na janela
+     */
+    public BigDecimal usoNaJanela(Long usuarioId) {
+        return BigDecimal.valueOf(janela.total(usuarioId, System.currentTimeMillis()), 2);
+    }
+
+    private static long paraCentavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,253 @@
+package com.guilherme.desafiointer.service.limite;
+
+import com.guilherme.desafiointer.config.LimiteAcumuladorProperties;
+import com.guilherme.desafiointer.domain.TransacaoDiaria;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.repository.RemessaRepository;
+import com.guilherme.desafiointer.repository.TransacaoDiariaRepository;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import com.guilherme.desafiointer.service.strategy.StrategyFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Controle de limite diário com acumulador em memória.
+ *
+ * Mantém, por usuário, o total confirmado e o total reservado do dia.
+ * A validação ocorre sobre esses valores, sem leitura nem lock no banco:
+ * - reservar: valida e reserva de forma atômica por usuário
+ * - commit da transação: a reserva passa a confirmada
+ * - rollback: a reserva é liberada
+ *
+ * Os totais confirmados são gravados em transacoes_diarias em lotes
+ * assíncronos. Na inicialização, o acumulador é reconstruído a partir
+ * das remessas do dia.
+ *
+ * Uso restrito a uma instância por usuário (ver LimiteAcumuladorProperties).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "limite.acumulador", name = "habilitado", havingValue = "true")
+public class ControleLimiteDiarioMemoria implements ControleLimiteDiario {
+
+    private final StrategyFactory strategyFactory;
+    private final RemessaRepository remessaRepository;
+    private final TransacaoDiariaRepository transacaoDiariaRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LimiteAcumuladorProperties properties;
+
+    private final ConcurrentHashMap<Long, UsoDiario> usos = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ChavePendente, BigDecimal> pendentes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService gravador = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "limite-diario-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Uso diário de um usuário: total confirmado e total com reservas em aberto.
+     */
+    record UsoDiario(LocalDate data, BigDecimal confirmado, BigDecimal reservado) {
+
+        static UsoDiario vazio(LocalDate data) {
+            return new UsoDiario(data, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+
+        UsoDiario doDia(LocalDate hoje) {
+            return data.equals(hoje) ? this : vazio(hoje);
+        }
+
+        BigDecimal total() {
+            return confirmado.add(reservado);
+        }
+    }
+
+    /**
+     * Total confirmado aguardando gravação, por usuário e dia.
+     */
+    record ChavePendente(Long usuarioId, LocalDate data) {}
+
+    @Override
+    public void reservar(Usuario usuario, BigDecimal valor) {
+        LocalDate hoje = LocalDate.now();
+        var validator = strategyFactory.getLimiteValidator(usuario.getTipoUsuario());
+
+        usos.compute(usuario.getId(), (id, atual) -> {
+            UsoDiario uso = atual == null ? UsoDiario.vazio(hoje) : atual.doDia(hoje);
+            validator.validar(usuario, uso.total(), valor);
+            return new UsoDiario(hoje, uso.confirmado(), uso.reservado().add(valor));
+        });
+
+        registrarDesfecho(usuario.getId(), hoje, valor);
+    }
+
+    /**
+     * Vincula a reserva ao desfecho da transação atual.
+     * Sem transação ativa, a reserva é confirmada imediatamente.
+     */
+    private void registrarDesfecho(Long usuarioId, LocalDate data, BigDecimal valor) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            confirmar(usuarioId, data, valor);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    confirmar(usuarioId, data, valor);
+                } else {
+                    liberar(usuarioId, data, valor);
+                }
+            }
+        });
+    }
+
+    private void confirmar(Long usuarioId, LocalDate data, BigDecimal valor) {
+        UsoDiario uso = usos.computeIfPresent(usuarioId, (id, atual) -> atual.data().equals(data)
+                ? new UsoDiario(data, atual.confirmado().add(valor), atual.reservado().subtract(valor))
+                : atual);
+
+        if (uso != null && uso.data().equals(data)) {
+            pendentes.merge(new ChavePendente(usuarioId, data), uso.confirmado(), BigDecimal::max);
+        }
+    }
+
+    private void liberar(Long usuarioId, LocalDate data, BigDecimal valor) {
+        usos.computeIfPresent(usuarioId, (id, atual) -> atual.data().equals(data)
+                ? new UsoDiario(data, atual.confirmado(), atual.reservado().subtract(valor))
+                : atual);
+    }
+
+    /**
+     * Reconstrói o uso do dia a partir das remessas e inicia a gravação periódica.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        reconstruir(LocalDate.now());
+
+        long intervalo = properties.getIntervaloFlush().toMillis();
+        gravador.scheduleWithFixedDelay(this::gravarPendentes, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Carrega os totais enviados no dia, preservando reservas já existentes.
+     *
+     * @param hoje dia de referência
+     */
+    void reconstruir(LocalDate hoje) {
+        var totais = remessaRepository.somarEnviadoPorUsuarioDesde(hoje.atStartOfDay());
+        totais.forEach(total -> usos.compute(total.getUsuarioId(), (id, atual) -> {
+            UsoDiario uso = atual == null ? UsoDiario.vazio(hoje) : atual.doDia(hoje);
+            return new UsoDiario(hoje, uso.confirmado().add(total.getTotal()), uso.reservado());
+        }));
+
+        log.info("Acumulador de limite diário reconstruído: [usuarios={}, data={}]", totais.size(), hoje);
+    }
+
+    /**
+     * Grava em lote os totais confirmados pendentes.
+     * Entradas alteradas durante a gravação permanecem para o próximo ciclo.
+     */
+    void gravarPendentes() {
+        if (pendentes.isEmpty()) {
+            return;
+        }
+
+        Map<ChavePendente, BigDecimal> lote = new HashMap<>();
+        for (Map.Entry<ChavePendente, BigDecimal> entrada : pendentes.entrySet()) {
+            if (lote.size() >= properties.getTamanhoLote()) {
+                break;
+            }
+            lote.put(entrada.getKey(), entrada.getValue());
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> gravarLote(lote));
+            lote.forEach(pendentes::remove);
+            log.debug("Totais diários gravados: [quantidade={}]", lote.size());
+        } catch (Exception e) {
+            log.warn("Falha ao gravar totais diários; nova tentativa no próximo ciclo: [quantidade={}] - {}",
+                    lote.size(), e.getMessage());
+        }
+    }
+
+    private void gravarLote(Map<ChavePendente, BigDecimal> lote) {
+        Map<LocalDate, List<ChavePendente>> porData = lote.keySet().stream()
+                .collect(Collectors.groupingBy(ChavePendente::data));
+
+        List<TransacaoDiaria> alteradas = new ArrayList<>(lote.size());
+        porData.forEach((data, chaves) -> {
+            List<Long> usuarioIds = chaves.stream().map(ChavePendente::usuarioId).toList();
+            Map<Long, TransacaoDiaria> existentes = transacaoDiariaRepository
+                    .findByDataAndUsuarioIdIn(data, usuarioIds).stream()
+                    .collect(Collectors.toMap(t -> t.getUsuario().getId(), Function.identity()));
+
+            chaves.forEach(chave -> {
+                TransacaoDiaria transacaoDiaria = existentes.computeIfAbsent(chave.usuarioId(),
+                        id -> TransacaoDiaria.builder()
+                                .usuario(usuarioRepository.getReferenceById(id))
+                                .data(data)
+                                .build());
+                transacaoDiaria.atualizarValorTotal(lote.get(chave));
+                alteradas.add(transacaoDiaria);
+            });
+        });
+
+        transacaoDiariaRepository.saveAll(alteradas);
+    }
+
+    /**
+     * Grava os pendentes restantes antes de encerrar a aplicação.
+     */
+    @PreDestroy
+    public void encerrar() {
+        gravador.shutdown();
+        try {
+            gravador.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        while (!pendentes.isEmpty()) {
+            int antes = pendentes.size();
+            gravarPendentes();
+            if (pendentes.size() >= antes) {
+                log.warn("Totais diários não gravados no encerramento: [quantidade={}]", pendentes.size());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Total do dia (confirmado + reservado) do usuário.
+     *
+     * @param usuarioId identificador do usuário
+     * @return uso atual ou zero se não houver registro do dia
+     */
+    public BigDecimal usoDoDia(Long usuarioId) {
+        UsoDiario uso = usos.get(usuarioId);
+        return uso == null || !uso.data().equals(LocalDate.now()) ? BigDecimal.ZERO : uso.total();
+    }
+}
@@ -0,0 +1,219 @@
+package com.guilherme.desafiointer.service.limite;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Uso por usuário em janela deslizante de tempo, em centavos.
+ *
+ * Cada usuário possui um anel de baldes de duração fixa (ex.: 96 × 15 min)
+ * armazenado em um int[], além do total corrente da janela. Avançar o
+ * tempo zera apenas os baldes que saíram da janela, portanto registrar
+ * e consultar custam O(1) amortizado e não alocam objetos após a criação
+ * da janela do usuário (~450 bytes para 96 baldes, com a trava).
+ *
+ * O acesso a cada janela usa ReentrantLock, e não synchronized, para não
+ * fixar a thread portadora quando as remessas rodam em threads virtuais.
+ *
+ * Janelas sem uso são removidas por removerInativas.
+ */
+public final class JanelaDeslizanteUso {
+
+    private final int numeroBaldes;
+    private final long duracaoBaldeMillis;
+    private final ConcurrentHashMap<Long, Janela> janelas = new ConcurrentHashMap<>();
+    private final Function<Long, Janela> criarJanela = usuarioId -> new Janela();
+
+    public JanelaDeslizanteUso(int numeroBaldes, long duracaoBaldeMillis) {
+        if (numeroBaldes < 1 || duracaoBaldeMillis < 1) {
+            throw new IllegalArgumentException("Quantidade e duração dos baldes devem ser positivas");
+        }
+        this.numeroBaldes = numeroBaldes;
+        this.duracaoBaldeMillis = duracaoBaldeMillis;
+    }
+
+    /**
+     * Registra o valor se o total da janela, somado a ele, não ultrapassar o limite.
+     *
+     * @param usuarioId identificador do usuário
+     * @param centavos valor a registrar
+     * @param limiteCentavos total máximo da janela
+     * @param agoraMillis instante atual
+     * @return true se registrado; false se o limite seria excedido
+     */
+    public boolean registrar(Long usuarioId, long centavos, long limiteCentavos, long agoraMillis) {
+        long balde = balde(agoraMillis);
+        while (true) {
+            Janela janela = janelas.computeIfAbsent(usuarioId, criarJanela);
+            janela.trava.lock();
+            try {
+                if (janela.removida) {
+                    continue;
+                }
+                janela.avancar(balde);
+                if (janela.total + centavos > limiteCentavos) {
+                    return false;
+                }
+                janela.somar(balde, centavos);
+                return true;
+            } finally {
+                janela.trava.unlock();
+            }
+        }
+    }
+
+    /**
+     * Desfaz um registro, se o seu balde ainda estiver na janela.
+     *
+     * @param usuarioId identificador do usuário
+     * @param centavos valor registrado
+     * @param baldeRegistro balde em que o valor foi registrado
+     * @param agoraMillis instante atual
+     */
+    public void estornar(Long usuarioId, long centavos, long baldeRegistro, long agoraMillis) {
+        Janela janela = janelas.get(usuarioId);
+        if (janela == null) {
+            return;
+        }
+        janela.trava.lock();
+        try {
+            janela.avancar(balde(agoraMillis));
+            if (!janela.removida && janela.contem(baldeRegistro)) {
+                janela.somar(baldeRegistro, -centavos);
+            }
+        } finally {
+            janela.trava.unlock();
+        }
+    }
+
+    /**
+     * Carrega um valor histórico sem verificar limite (reconstrução).
+     *
+     * @param usuarioId identificador do usuário
+     * @param centavos valor enviado
+     * @param instanteMillis instante do envio
+     * @param agoraMillis instante atual
+     */
+    public void carregar(Long usuarioId, long centavos, long instanteMillis, long agoraMillis) {
+        long baldeEnvio = balde(instanteMillis);
+        while (true) {
+            Janela janela = janelas.computeIfAbsent(usuarioId, criarJanela);
+            janela.trava.lock();
+            try {
+                if (janela.removida) {
+                    continue;
+                }
+                janela.avancar(balde(agoraMillis));
+                if (janela.contem(baldeEnvio)) {
+                    janela.somar(baldeEnvio, centavos);
+                }
+                return;
+            } finally {
+                janela.trava.unlock();
+            }
+        }
+    }
+
+    /**
+     * Total da janela do usuário no instante informado.
+     *
+     * @param usuarioId identificador do usuário
+     * @param agoraMillis instante atual
+     * @return total em centavos
+     */
+    public long total(Long usuarioId, long agoraMillis) {
+        Janela janela = janelas.get(usuarioId);
+        if (janela == null) {
+            return 0L;
+        }
+        janela.trava.lock();
+        try {
+            janela.avancar(balde(agoraMillis));
+            return janela.total;
+        } finally {
+            janela.trava.unlock();
+        }
+    }
+
+    /**
+     * Remove janelas cujo total chegou a zero.
+     *
+     * @param agoraMillis instante atual
+     * @return quantidade de janelas removidas
+     */
+    public int removerInativas(long agoraMillis) {
+        long balde = balde(agoraMillis);
+        int antes = janelas.size();
+        janelas.values().removeIf(janela -> {
+            janela.trava.lock();
+            try {
+                janela.avancar(balde);
+                janela.removida = janela.total == 0;
+                return janela.removida;
+            } finally {
+                janela.trava.unlock();
+            }
+        });
+        return Math.max(0, antes - janelas.size());
+    }
+
+    /**
+     * Índice absoluto do balde que contém o instante.
+     */
+    public long balde(long instanteMillis) {
+        return instanteMillis / duracaoBaldeMillis;
+    }
+
+    public int quantidadeUsuarios() {
+        return janelas.size();
+    }
+
+    /**
+     * Anel de baldes de um usuário; acesso protegido pela trava da própria instância.
+     */
+    private final class Janela {
+
+        private final ReentrantLock trava = new ReentrantLock();
+        private final int[] baldes = new int[numeroBaldes];
+        private long baldeAtual = Long.MIN_VALUE;
+        private long total;
+        private boolean removida;
+
+        /**
+         * Move a janela até o balde atual, zerando os baldes que expiraram.
+         */
+        void avancar(long balde) {
+            if (balde <= baldeAtual) {
+                return;
+            }
+            if (baldeAtual == Long.MIN_VALUE || balde - baldeAtual >= numeroBaldes) {
+                Arrays.fill(baldes, 0);
+                total = 0;
+            } else {
+                for (long b = baldeAtual + 1; b <= balde; b++) {
+                    int indice = indice(b);
+                    total -= baldes[indice];
+                    baldes[indice] = 0;
+                }
+            }
+            baldeAtual = balde;
+        }
+
+        boolean contem(long balde) {
+            return balde <= baldeAtual && baldeAtual - balde < numeroBaldes;
+        }
+
+        void somar(long balde, long centavos) {
+            int indice = indice(balde);
+            long novo = Math.max(0L, Math.min(Integer.MAX_VALUE, baldes[indice] + centavos));
+            total += novo - baldes[indice];
+            baldes[indice] = (int) novo;
+        }
+
+        private int indice(long balde) {
+            return (int) Math.floorMod(balde, (long) numeroBaldes);
+        }
+    }
+}
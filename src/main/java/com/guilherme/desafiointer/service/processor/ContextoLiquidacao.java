@@ -0,0 +1,24 @@
+package com.guilherme.desafiointer.service.processor;
+
+import com.guilherme.desafiointer.domain.Carteira;
+import com.guilherme.desafiointer.dto.remessa.RemessaLiquidacaoRequestDTO;
+import java.util.Map;
+
+/**
+ * Resultado da validação de uma liquidação multilateral, repassado ao processador.
+ *
+ * As carteiras de todos os participantes são bloqueadas uma única vez, em
+ * ordem de ID, e reutilizadas para todas as remessas.
+ *
+ * @param requisicao dados validados da liquidação
+ * @param carteiras carteiras bloqueadas dos participantes, por ID do usuário
+ */
+public record ContextoLiquidacao(
+        RemessaLiquidacaoRequestDTO requisicao,
+        Map<Long, Carteira> carteiras
+) {
+
+    public Carteira carteira(Long usuarioId) {
+        return carteiras.get(usuarioId);
+    }
+}
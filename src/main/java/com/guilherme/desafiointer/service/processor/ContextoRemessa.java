@@ -0,0 +1,30 @@
+package com.guilherme.desafiointer.service.processor;
+
+import com.guilherme.desafiointer.domain.Carteira;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+
+/**
+ * Resultado da validação de uma remessa, repassado ao processador.
+ *
+ * As carteiras (com seus usuários) são carregadas uma única vez, em uma
+ * consulta com lock pessimista, e reutilizadas em todo o processamento.
+ *
+ * @param requisicao dados validados da remessa
+ * @param carteiraRemetente carteira bloqueada do remetente
+ * @param carteiraDestinatario carteira bloqueada do destinatário
+ */
+public record ContextoRemessa(
+        RemessaRequestDTO requisicao,
+        Carteira carteiraRemetente,
+        Carteira carteiraDestinatario
+) {
+
+    public Usuario remetente() {
+        return carteiraRemetente.getUsuario();
+    }
+
+    public Usuario destinatario() {
+        return carteiraDestinatario.getUsuario();
+    }
+}
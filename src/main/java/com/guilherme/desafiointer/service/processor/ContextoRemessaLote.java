@@ -0,0 +1,31 @@
+package com.guilherme.desafiointer.service.processor;
+
+import com.guilherme.desafiointer.domain.Carteira;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.RemessaLoteRequestDTO;
+import java.util.Map;
+
+/**
+ * Resultado da validação de uma remessa em lote, repassado ao processador.
+ *
+ * Remetente e destinatários são bloqueados uma única vez, em ordem de ID,
+ * e reutilizados para todas as remessas do lote.
+ *
+ * @param requisicao dados validados do lote
+ * @param carteiraRemetente carteira bloqueada do remetente
+ * @param carteirasDestinatarios carteiras bloqueadas dos destinatários, por ID do usuário
+ */
+public record ContextoRemessaLote(
+        RemessaLoteRequestDTO requisicao,
+        Carteira carteiraRemetente,
+        Map<Long, Carteira> carteirasDestinatarios
+) {
+
+    public Usuario remetente() {
+        return carteiraRemetente.getUsuario();
+    }
+
+    public Carteira carteiraDestinatario(Long destinatarioId) {
+        return carteirasDestinatarios.get(destinatarioId);
+    }
+}
@@ -0,0 +1,38 @@
+package com.guilherme.desafiointer.service.processor;
+
+import com.guilherme.desafiointer.domain.Remessa;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Resultado de uma liquidação multilateral.
+ *
+ * @param remessas remessas persistidas, na ordem da requisição
+ * @param posicoes posição líquida de cada participante por moeda, em ordem
+ *                 de usuário e moeda (negativa = débito, positiva = crédito)
+ */
+public record LiquidacaoMultilateral(
+        List<Remessa> remessas,
+        List<PosicaoLiquida> posicoes
+) {
+
+    /**
+     * Quantidade de carteiras efetivamente alteradas (com alguma posição diferente de zero).
+     */
+    public long carteirasAtualizadas() {
+        return posicoes.stream()
+                .filter(posicao -> posicao.valor().signum() != 0)
+                .map(PosicaoLiquida::usuarioId)
+                .distinct()
+                .count();
+    }
+
+    /**
+     * Saldo líquido de um participante numa moeda após compensar todas as remessas do lote.
+     *
+     * @param usuarioId ID do usuário
+     * @param moeda moeda da posição (BRL, USD)
+     * @param valor soma dos créditos menos a soma dos débitos (com taxas)
+     */
+    public record PosicaoLiquida(Long usuarioId, String moeda, BigDecimal valor) {}
+}
@@ -2,12 +2,13 @@ package com.guilherme.desafiointer.service.processor;
 
 import com.guilherme.desafiointer.domain.Remessa;
 import com.guilherme.desafiointer.domain.Usuario;
-import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.exception.domain.LimiteDiarioExcedidoException;
 import com.guilherme.desafiointer.exception.domain.SaldoInsuficienteException;
 import com.guilherme.desafiointer.exception.remessa.RemessaException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface RemessaProcessor {
 
@@ -15,34 +16,65 @@ public interface RemessaProcessor {
      * Processa remessa internacional completa com validações e conversões.
      *
      * Executa sequencialmente:
-     * 1. Busca carteiras com lock pessimista
+     * 1. Usa as carteiras já bloqueadas pela validação (ContextoRemessa)
      * 2. Obtém cotação oficial com cache
      * 3. Calcula taxa baseada no tipo de usuário
      * 4. Converte valores entre moedas (BRL ↔ USD)
-     * 5. Valida saldo e limites diários
+     * 5. Valida saldo e reserva limite diário (ControleLimiteDiario)
      * 6. Executa débito/crédito transacional
-     * 7. Persiste remessa e atualiza histórico
-     * 8. Limpa caches para consistência
+     * 7. Persiste remessa e incrementa resumos diário e mensal
+     * 8. Atualiza caches de histórico e totais após o commit
      *
-     * @param remessaRequestDTO dados da transferência incluindo usuários, valor e moeda
+     * @param contexto requisição validada com as carteiras bloqueadas de remetente e destinatário
      * @return Remessa persistida com valores calculados e timestamp
      * @throws RemessaException quando regras de negócio são violadas
      * @throws SaldoInsuficienteException quando saldo inadequado
      * @throws IllegalArgumentException quando moeda não suportada
      */
-    Remessa processarRemessa(RemessaRequestDTO remessaRequestDTO);
+    Remessa processarRemessa(ContextoRemessa contexto);
 
     /**
-     * Busca histórico paginado de remessas com cache automático.
+     * Processa um lote de remessas de um remetente para vários destinatários.
      *
-     * Utiliza cache inteligente baseado em:
-     * - ID do usuário consultante
-     * - Período de consulta (início/fim)
-     * - Número da página solicitada
+     * Cotação, taxa, saldo e limite diário são tratados uma única vez para o
+     * lote; débito, créditos, remessas e resumos são gravados na transação
+     * corrente, em batch.
      *
-     * Cache evitado quando:
-     * - Consultas muito recentes (dados podem estar mudando)
-     * - Períodos muito amplos (baixa probabilidade de reutilização)
+     * @param contexto lote validado com as carteiras bloqueadas
+     * @return remessas persistidas, na ordem dos itens da requisição
+     * @throws RemessaException quando regras de negócio são violadas
+     * @throws SaldoInsuficienteException quando o saldo não cobre o total do lote
+     * @throws IllegalArgumentException quando moeda não suportada
+     */
+    List<Remessa> processarLote(ContextoRemessaLote contexto);
+
+    /**
+     * Processa uma liquidação multilateral: remessas entre vários remetentes
+     * e destinatários, compensadas antes de alterar as carteiras.
+     *
+     * As posições líquidas de cada carteira e moeda são calculadas em
+     * memória; o saldo é validado sobre a posição líquida e cada carteira
+     * recebe uma única atualização. Cada remessa continua registrada
+     * individualmente, e o limite diário de cada remetente é reservado
+     * sobre o total bruto enviado por ele.
+     *
+     * @param contexto liquidação validada com as carteiras bloqueadas
+     * @return remessas persistidas e posições líquidas aplicadas
+     * @throws SaldoInsuficienteException quando alguma posição líquida excede o saldo
+     * @throws LimiteDiarioExcedidoException quando o total de um remetente excede o limite
+     * @throws IllegalArgumentException quando moeda não suportada
+     */
+    LiquidacaoMultilateral processarLiquidacao(ContextoLiquidacao contexto);
+
+    /**
+     * Busca histórico paginado de remessas com cache segmentado por dia.
+     *
+     * O histórico de cada usuário é mantido em cache como segmentos diários:
+     * - Consultas por período combinam os segmentos já em cache
+     * - Apenas dias ausentes são carregados do banco
+     * - Janelas deslizantes reutilizam os segmentos entre chamadas
+     *
+     * Ordenações customizadas não usam o cache.
      *
      * @param usuario usuário proprietário das remessas
      * @param inicio data/hora inicial do período (inclusive)
@@ -8,19 +8,27 @@ import com.guilherme.desafiointer.exception.remessa.RemessaException;
 import com.guilherme.desafiointer.exception.domain.SaldoInsuficienteException;
 import com.guilherme.desafiointer.repository.CarteiraRepository;
 import com.guilherme.desafiointer.repository.RemessaRepository;
-import com.guilherme.desafiointer.repository.TransacaoDiariaRepository;
+import com.guilherme.desafiointer.service.cache.HistoricoCacheUpdater;
+import com.guilherme.desafiointer.service.cache.HistoricoSegmentadoCache;
 import com.guilherme.desafiointer.service.interfaces.CotacaoServiceInterface;
+import com.guilherme.desafiointer.service.limite.ControleLimiteDiario;
+import com.guilherme.desafiointer.service.resumo.ResumoRemessaService;
 import com.guilherme.desafiointer.service.strategy.StrategyFactory;
+import com.guilherme.desafiointer.service.strategy.TaxaStrategy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import org.springframework.cache.annotation.Cacheable;
 
 /**
@@ -38,27 +46,192 @@ public class RemessaProcessorImpl implements RemessaProcessor {
     private final CotacaoServiceInterface cotacaoService;
     private final RemessaRepository remessaRepository;
     private final CarteiraRepository carteiraRepository;
-    private final TransacaoDiariaRepository transacaoDiariaRepository;
+    private final List<ControleLimiteDiario> controlesLimiteDiario;
     private final StrategyFactory strategyFactory;
+    private final HistoricoCacheUpdater historicoCacheUpdater;
+    private final HistoricoSegmentadoCache historicoSegmentadoCache;
+    private final ResumoRemessaService resumoRemessaService;
 
     /**
-     * Processa remessa completa com lock de carteiras e transação atômica.
+     * Processa remessa completa sobre as carteiras já bloqueadas no contexto.
      * Executa débito/crédito, validações e persistência em sequência segura.
+     * Os resumos diário e mensal são incrementados na mesma transação.
+     * Após o commit, a remessa é aplicada aos caches de histórico e totais.
      *
-     * @param remessaRequestDTO dados da remessa
+     * @param contexto requisição validada e carteiras bloqueadas
      * @return Remessa persistida com dados calculados
      */
     @Override
-    public Remessa processarRemessa(RemessaRequestDTO remessaRequestDTO) {
-        var dadosProcessamento = prepararDadosProcessamento(remessaRequestDTO);
+    public Remessa processarRemessa(ContextoRemessa contexto) {
+        RemessaRequestDTO remessaRequestDTO = contexto.requisicao();
+        var dadosProcessamento = prepararDadosProcessamento(contexto);
         processarTransacao(dadosProcessamento);
-        limparCachesAposTransacao();
-        return criarEPersistirRemessa(remessaRequestDTO, dadosProcessamento);
+        Remessa remessa = criarEPersistirRemessa(remessaRequestDTO, dadosProcessamento);
+        resumoRemessaService.registrar(remessa);
+        historicoCacheUpdater.registrarAposCommit(remessa);
+        return remessa;
     }
 
     /**
-     * Busca histórico paginado com cache automático.
-     * Chave de cache inclui usuário, período e página para precisão.
+     * Processa um lote de remessas de um único remetente sobre as carteiras
+     * já bloqueadas no contexto.
+     *
+     * A cotação e a taxa do tipo de usuário são obtidas uma vez; saldo e
+     * limite diário são validados e reservados uma vez, para o total do lote.
+     * O débito do remetente é único; os créditos dos destinatários e as
+     * inserções das remessas saem em batch JDBC no flush. Os resumos recebem
+     * um incremento por dia/mês, não por remessa.
+     *
+     * @param contexto lote validado e carteiras bloqueadas
+     * @return remessas persistidas, na ordem dos itens
+     */
+    @Override
+    public List<Remessa> processarLote(ContextoRemessaLote contexto) {
+        var requisicao = contexto.requisicao();
+        Carteira carteiraRemetente = contexto.carteiraRemetente();
+        Usuario remetente = contexto.remetente();
+
+        String moedaDestino = requisicao.moedaDestino().toUpperCase();
+        String moedaOrigem = determinarMoedaOrigem(moedaDestino);
+        BigDecimal cotacao = obterCotacao(moedaDestino);
+        TaxaStrategy taxaStrategy = strategyFactory.getTaxaStrategy(remetente.getTipoUsuario());
+        LocalDateTime dataCriacao = LocalDateTime.now();
+
+        List<Remessa> remessas = new ArrayList<>(requisicao.itens().size());
+        BigDecimal valorTotal = BigDecimal.ZERO;
+        BigDecimal taxaTotal = BigDecimal.ZERO;
+        for (var item : requisicao.itens()) {
+            BigDecimal taxa = taxaStrategy.calcularTaxa(item.valor());
+            valorTotal = valorTotal.add(item.valor());
+            taxaTotal = taxaTotal.add(taxa);
+            remessas.add(Remessa.builder()
+                    .usuario(remetente)
+                    .destinatario(contexto.carteiraDestinatario(item.destinatarioId()).getUsuario())
+                    .valor(item.valor())
+                    .valorConvertido(converter(item.valor(), cotacao, moedaDestino))
+                    .taxa(taxa)
+                    .moedaDestino(requisicao.moedaDestino())
+                    .cotacao(cotacao)
+                    .dataCriacao(dataCriacao)
+                    .build());
+        }
+
+        BigDecimal valorTotalDebito = valorTotal.add(taxaTotal);
+        validarSaldo(carteiraRemetente, valorTotalDebito, moedaOrigem);
+        BigDecimal valorLimite = valorTotal;
+        controlesLimiteDiario.forEach(controle -> controle.reservar(remetente, valorLimite));
+
+        // Carteiras gerenciadas: as alterações são gravadas no flush, com os updates em batch
+        carteiraRemetente.debitar(valorTotalDebito, moedaOrigem);
+        for (Remessa remessa : remessas) {
+            contexto.carteiraDestinatario(remessa.getDestinatario().getId())
+                    .creditar(remessa.getValorConvertido(), moedaDestino);
+        }
+
+        List<Remessa> persistidas = remessaRepository.saveAll(remessas);
+        resumoRemessaService.registrarLote(persistidas);
+        historicoCacheUpdater.registrarAposCommit(persistidas);
+
+        log.debug("Lote processado: [usuarioId={}, remessas={}, valorTotal={}, taxaTotal={}]",
+                remetente.getId(), persistidas.size(), valorTotal, taxaTotal);
+        return persistidas;
+    }
+
+    /**
+     * Processa uma liquidação multilateral sobre as carteiras já bloqueadas
+     * no contexto.
+     *
+     * Cotação e estratégia de taxa são obtidas uma vez por moeda e tipo de
+     * usuário. Cada remessa movimenta em memória a posição líquida do
+     * remetente (valor + taxa, na moeda de origem) e do destinatário (valor
+     * convertido, na moeda de destino). O saldo é validado sobre a posição
+     * líquida: uma carteira pode enviar o que recebe no mesmo lote. O limite
+     * diário de cada remetente é reservado uma vez, sobre o total bruto
+     * enviado, como se as remessas fossem feitas uma a uma.
+     *
+     * Cada carteira recebe uma única alteração por moeda (posições zeradas
+     * não geram update); remessas e resumos saem em batch no flush.
+     *
+     * @param contexto liquidação validada e carteiras bloqueadas
+     * @return remessas persistidas e posições líquidas
+     */
+    @Override
+    public LiquidacaoMultilateral processarLiquidacao(ContextoLiquidacao contexto) {
+        List<RemessaRequestDTO> itens = contexto.requisicao().remessas();
+        Map<String, BigDecimal> cotacoes = new HashMap<>();
+        Map<TipoUsuario, TaxaStrategy> taxaStrategies = new EnumMap<>(TipoUsuario.class);
+        Map<Long, Map<String, BigDecimal>> posicoes = new TreeMap<>();
+        Map<Long, BigDecimal> enviadoPorRemetente = new TreeMap<>();
+        LocalDateTime dataCriacao = LocalDateTime.now();
+
+        List<Remessa> remessas = new ArrayList<>(itens.size());
+        for (RemessaRequestDTO item : itens) {
+            Usuario remetente = contexto.carteira(item.getUsuarioId()).getUsuario();
+            Usuario destinatario = contexto.carteira(item.getDestinatarioId()).getUsuario();
+            String moedaDestino = item.getMoedaDestino().toUpperCase();
+            String moedaOrigem = determinarMoedaOrigem(moedaDestino);
+            BigDecimal cotacao = cotacoes.computeIfAbsent(moedaDestino, this::obterCotacao);
+            BigDecimal taxa = taxaStrategies
+                    .computeIfAbsent(remetente.getTipoUsuario(), strategyFactory::getTaxaStrategy)
+                    .calcularTaxa(item.getValor());
+            BigDecimal valorConvertido = converter(item.getValor(), cotacao, moedaDestino);
+
+            movimentar(posicoes, remetente.getId(), moedaOrigem, item.getValor().add(taxa).negate());
+            movimentar(posicoes, destinatario.getId(), moedaDestino, valorConvertido);
+            enviadoPorRemetente.merge(remetente.getId(), item.getValor(), BigDecimal::add);
+
+            remessas.add(Remessa.builder()
+                    .usuario(remetente)
+                    .destinatario(destinatario)
+                    .valor(item.getValor())
+                    .valorConvertido(valorConvertido)
+                    .taxa(taxa)
+                    .moedaDestino(item.getMoedaDestino())
+                    .cotacao(cotacao)
+                    .dataCriacao(dataCriacao)
+                    .build());
+        }
+
+        posicoes.forEach((usuarioId, porMoeda) -> porMoeda.forEach((moeda, liquido) -> {
+            if (liquido.signum() < 0) {
+                validarSaldo(contexto.carteira(usuarioId), liquido.negate(), moeda);
+            }
+        }));
+        enviadoPorRemetente.forEach((usuarioId, total) -> {
+            Usuario remetente = contexto.carteira(usuarioId).getUsuario();
+            controlesLimiteDiario.forEach(controle -> controle.reservar(remetente, total));
+        });
+
+        // Carteiras gerenciadas: uma alteração por carteira, gravada no flush com os updates em batch
+        List<LiquidacaoMultilateral.PosicaoLiquida> posicoesLiquidas = new ArrayList<>();
+        posicoes.forEach((usuarioId, porMoeda) -> porMoeda.forEach((moeda, liquido) -> {
+            Carteira carteira = contexto.carteira(usuarioId);
+            if (liquido.signum() > 0) {
+                carteira.creditar(liquido, moeda);
+            } else if (liquido.signum() < 0) {
+                carteira.debitar(liquido.negate(), moeda);
+            }
+            posicoesLiquidas.add(new LiquidacaoMultilateral.PosicaoLiquida(usuarioId, moeda, liquido));
+        }));
+
+        List<Remessa> persistidas = remessaRepository.saveAll(remessas);
+        resumoRemessaService.registrarLote(persistidas);
+        historicoCacheUpdater.registrarAposCommit(persistidas);
+
+        LiquidacaoMultilateral liquidacao = new LiquidacaoMultilateral(persistidas, posicoesLiquidas);
+        log.debug("Liquidação processada: [remessas={}, participantes={}, carteirasAtualizadas={}]",
+                persistidas.size(), posicoes.size(), liquidacao.carteirasAtualizadas());
+        return liquidacao;
+    }
+
+    private void movimentar(Map<Long, Map<String, BigDecimal>> posicoes, Long usuarioId,
+                            String moeda, BigDecimal valor) {
+        posicoes.computeIfAbsent(usuarioId, id -> new TreeMap<>()).merge(moeda, valor, BigDecimal::add);
+    }
+
+    /**
+     * Busca histórico paginado montado a partir de segmentos diários em cache.
+     * Consultas com ordenação customizada vão direto ao repositório.
      *
      * @param usuario usuário alvo
      * @param inicio data inicial
@@ -67,13 +240,12 @@ public class RemessaProcessorImpl implements RemessaProcessor {
      * @return página de remessas
      */
     @Override
-    @Cacheable(
-            cacheNames = AppConstants.CACHE_HISTORICO,
-            key = "'hist_' + #usuario.id + '_' + #inicio.toString() + '_' + #fim.toString() + '_' + #pageable.pageNumber"
-    )
     public Page<Remessa> buscarHistorico(Usuario usuario, LocalDateTime inicio,
                                          LocalDateTime fim, Pageable pageable) {
-        return remessaRepository.buscarHistoricoTransacoes(usuario, inicio, fim, pageable);
+        if (pageable.getSort().isSorted()) {
+            return remessaRepository.buscarHistoricoTransacoes(usuario, inicio, fim, pageable);
+        }
+        return historicoSegmentadoCache.buscarHistorico(usuario, inicio, fim, pageable);
     }
 
     /**
@@ -83,7 +255,6 @@ public class RemessaProcessorImpl implements RemessaProcessor {
     private record DadosProcessamentoRemessa(
             Carteira carteiraRemetente,
             Carteira carteiraDestinatario,
-            TransacaoDiaria transacaoDiaria,
             BigDecimal taxa,
             BigDecimal valorTotalDebito,
             BigDecimal cotacao,
@@ -94,12 +265,12 @@ public class RemessaProcessorImpl implements RemessaProcessor {
 
     /**
      * Prepara todos os dados necessários para processamento da remessa.
-     * Obtém carteiras com lock, calcula valores e valida operação.
+     * Usa as carteiras bloqueadas do contexto, calcula valores e valida operação.
      */
-    private DadosProcessamentoRemessa prepararDadosProcessamento(RemessaRequestDTO remessaRequestDTO) {
-        // Obter carteiras com lock pessimista
-        Carteira carteiraRemetente = buscarCarteiraComLock(remessaRequestDTO.getUsuarioId());
-        Carteira carteiraDestinatario = buscarCarteiraComLock(remessaRequestDTO.getDestinatarioId());
+    private DadosProcessamentoRemessa prepararDadosProcessamento(ContextoRemessa contexto) {
+        RemessaRequestDTO remessaRequestDTO = contexto.requisicao();
+        Carteira carteiraRemetente = contexto.carteiraRemetente();
+        Carteira carteiraDestinatario = contexto.carteiraDestinatario();
 
         // Determinar moedas de origem e destino
         String moedaDestino = remessaRequestDTO.getMoedaDestino().toUpperCase();
@@ -115,32 +286,20 @@ public class RemessaProcessorImpl implements RemessaProcessor {
         BigDecimal taxa = strategyFactory.getTaxaStrategy(carteiraRemetente.getUsuario().getTipoUsuario())
                 .calcularTaxa(remessaRequestDTO.getValor());
 
-        // ✅ CORREÇÃO PRINCIPAL: Calcular valores baseado na conversão CORRETA
-        BigDecimal valorConvertido;
-        if ("USD".equalsIgnoreCase(moedaDestino)) {
-            // BRL → USD: divide pela cotação (valor diminui)
-            valorConvertido = remessaRequestDTO.getValor().divide(cotacao, 2, RoundingMode.HALF_UP);
-            log.debug("Conversão BRL→USD: {} ÷ {} = {}", remessaRequestDTO.getValor(), cotacao, valorConvertido);
-        } else if ("BRL".equalsIgnoreCase(moedaDestino)) {
-            // USD → BRL: multiplica pela cotação (valor aumenta)
-            valorConvertido = remessaRequestDTO.getValor().multiply(cotacao).setScale(2, RoundingMode.HALF_UP);
-            log.debug("Conversão USD→BRL: {} × {} = {}", remessaRequestDTO.getValor(), cotacao, valorConvertido);
-        } else {
-            throw new IllegalArgumentException("Moeda de destino não suportada: " + moedaDestino);
-        }
+        BigDecimal valorConvertido = converter(remessaRequestDTO.getValor(), cotacao, moedaDestino);
 
         BigDecimal valorTotalDebito = remessaRequestDTO.getValor().add(taxa);
 
         // Validar saldo na moeda de origem correta
         validarSaldo(carteiraRemetente, valorTotalDebito, moedaOrigem);
 
-        // Processar limite diário
-        TransacaoDiaria transacaoDiaria = processarLimiteDiario(carteiraRemetente, remessaRequestDTO.getValor());
+        // Validar e reservar limites diários (valor sem taxa)
+        controlesLimiteDiario.forEach(controle ->
+                controle.reservar(carteiraRemetente.getUsuario(), remessaRequestDTO.getValor()));
 
         return new DadosProcessamentoRemessa(
                 carteiraRemetente,
                 carteiraDestinatario,
-                transacaoDiaria,
                 taxa,
                 valorTotalDebito,
                 cotacao,
@@ -150,6 +309,25 @@ public class RemessaProcessorImpl implements RemessaProcessor {
         );
     }
 
+    /**
+     * Converte o valor da moeda de origem para a moeda de destino.
+     */
+    private BigDecimal converter(BigDecimal valor, BigDecimal cotacao, String moedaDestino) {
+        BigDecimal valorConvertido;
+        if ("USD".equalsIgnoreCase(moedaDestino)) {
+            // BRL → USD: divide pela cotação (valor diminui)
+            valorConvertido = valor.divide(cotacao, 2, RoundingMode.HALF_UP);
+            log.debug("Conversão BRL→USD: {} ÷ {} = {}", valor, cotacao, valorConvertido);
+        } else if ("BRL".equalsIgnoreCase(moedaDestino)) {
+            // USD → BRL: multiplica pela cotação (valor aumenta)
+            valorConvertido = valor.multiply(cotacao).setScale(2, RoundingMode.HALF_UP);
+            log.debug("Conversão USD→BRL: {} × {} = {}", valor, cotacao, valorConvertido);
+        } else {
+            throw new IllegalArgumentException("Moeda de destino não suportada: " + moedaDestino);
+        }
+        return valorConvertido;
+    }
+
     /**
      * Determina a moeda de origem baseada na moeda de destino
      * Se destino é USD, origem é BRL e vice-versa
@@ -181,30 +359,6 @@ public class RemessaProcessorImpl implements RemessaProcessor {
         // Persistir alterações nas carteiras
         carteiraRepository.save(dados.carteiraRemetente());
         carteiraRepository.save(dados.carteiraDestinatario());
-
-        // Atualizar a transação diária considerando o valor sem taxa
-        atualizarTransacaoDiaria(dados.transacaoDiaria(),
-                dados.valorTotalDebito().subtract(dados.taxa()));
-    }
-
-    /**
-     * Valida e processa limite diário do usuario.
-     * Utiliza strategy pattern para diferentes tipos de usuario.
-     */
-    private TransacaoDiaria processarLimiteDiario(Carteira carteira, BigDecimal valor) {
-        var transacaoDiaria = buscarOuCriarTransacaoDiaria(carteira.getUsuario());
-        strategyFactory.getLimiteValidator(carteira.getUsuario().getTipoUsuario())
-                .validar(carteira.getUsuario(), transacaoDiaria.getValorTotal(), valor);
-        return transacaoDiaria;
-    }
-
-    /**
-     * Atualiza transação diária acumulando valor processado.
-     * Persiste nova soma no repositório.
-     */
-    private void atualizarTransacaoDiaria(TransacaoDiaria transacaoDiaria, BigDecimal valor) {
-        transacaoDiaria.atualizarValorTotal(transacaoDiaria.getValorTotal().add(valor));
-        transacaoDiariaRepository.save(transacaoDiaria);
     }
 
     /**
@@ -226,18 +380,6 @@ public class RemessaProcessorImpl implements RemessaProcessor {
         return remessaRepository.save(remessa);
     }
 
-    /**
-     * Busca carteira com lock pessimista para evitar concorrência.
-     * Lança RemessaException se carteira não encontrada.
-     */
-    private Carteira buscarCarteiraComLock(Long usuarioId) {
-        return carteiraRepository.findByUsuarioIdWithPessimisticLock(usuarioId)
-                .orElseThrow(() -> RemessaException.negocio(
-                        RemessaErrorType.CARTEIRA_NAO_ENCONTRADA,
-                        "Carteira não encontrada"
-                ));
-    }
-
     /**
      * Valida saldo suficiente na moeda especificada.
      * Lança SaldoInsuficienteException se inadequado.
@@ -262,26 +404,6 @@ public class RemessaProcessorImpl implements RemessaProcessor {
         }
     }
 
-    /**
-     * Busca ou cria transação diária com cache por usuário e data.
-     * Cache evita consultas repetitivas no mesmo dia.
-     *
-     * @param usuario usuário da transação
-     * @return TransacaoDiaria existente ou nova com valor zero
-     */
-    @Cacheable(
-            cacheNames = AppConstants.CACHE_TOTAIS,
-            key = "'total_' + #usuario.id + '_' + T(java.time.LocalDate).now()"
-    )
-    public TransacaoDiaria buscarOuCriarTransacaoDiaria(Usuario usuario) {
-        return transacaoDiariaRepository.findByUsuarioAndData(usuario, LocalDate.now())
-                .orElse(TransacaoDiaria.builder()
-                        .usuario(usuario)
-                        .data(LocalDate.now())
-                        .valorTotal(BigDecimal.ZERO)
-                        .build());
-    }
-
     /**
      * Obtém cotação da moeda com cache por símbolo.
      * Cache por moeda evita chamadas excessivas à API do Banco Central.
@@ -304,16 +426,4 @@ public class RemessaProcessorImpl implements RemessaProcessor {
         }
         return cotacao;
     }
-
-    /**
-     * Limpa todos os caches após transação bem-sucedida.
-     * Garante consistência após alterações em dados relacionados.
-     */
-    @CacheEvict(value = {
-            AppConstants.CACHE_HISTORICO,
-            AppConstants.CACHE_TOTAIS,
-            AppConstants.CACHE_COTACOES},
-            allEntries = true)
-    public void limparCachesAposTransacao() {
-    }
-}
\ No newline at end of file
+}
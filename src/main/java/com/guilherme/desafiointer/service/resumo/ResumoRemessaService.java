@@ -0,0 +1,184 @@
+package com.guilherme.desafiointer.service.resumo;
+
+import com.guilherme.desafiointer.domain.Remessa;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.TotaisRemessaDTO;
+import com.guilherme.desafiointer.repository.RemessaRepository;
+import com.guilherme.desafiointer.repository.ResumoRemessaDiarioRepository;
+import com.guilherme.desafiointer.repository.ResumoRemessaMensalRepository;
+import com.guilherme.desafiointer.service.cache.TotaisPeriodoCache;
+import com.guilherme.desafiointer.service.cache.TotalPeriodoCacheKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumos diários e mensais de remessas enviadas.
+ *
+ * Cada remessa incrementa, na mesma transação, as linhas de resumo do seu
+ * dia e do seu mês. Totais por período são compostos por:
+ * - frações de dia nas pontas: consulta direta às remessas
+ * - dias completos fora de meses completos: resumo diário (até ~60 linhas)
+ * - meses completos: resumo mensal (uma linha por mês e moeda)
+ *
+ * O custo independe do volume de remessas do período. Remessas anteriores
+ * aos resumos entram pela migração V7__ResumosRemessaExistentes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResumoRemessaService {
+
+    private final RemessaRepository remessaRepository;
+    private final ResumoRemessaDiarioRepository resumoDiarioRepository;
+    private final ResumoRemessaMensalRepository resumoMensalRepository;
+    private final TotaisPeriodoCache totaisPeriodoCache;
+
+    /**
+     * Acumula a remessa nos resumos diário e mensal do remetente.
+     * Deve ser chamado na transação que persiste a remessa.
+     *
+     * @param remessa remessa persistida
+     */
+    public void registrar(Remessa remessa) {
+        Long usuarioId = remessa.getUsuario().getId();
+        LocalDate dia = remessa.getDataCriacao().toLocalDate();
+        String moeda = remessa.getMoedaDestino().toUpperCase();
+
+        resumoDiarioRepository.acumular(usuarioId, dia, moeda, 1,
+                remessa.getValor(), remessa.getTaxa(), remessa.getValorConvertido());
+        resumoMensalRepository.acumular(usuarioId, dia.withDayOfMonth(1), moeda, 1,
+                remessa.getValor(), remessa.getTaxa(), remessa.getValorConvertido());
+    }
+
+    /**
+     * Acumula um lote de remessas com um único incremento por linha de resumo
+     * (remetente, dia/mês e moeda), em vez de um por remessa.
+     * Deve ser chamado na transação que persiste as remessas.
+     *
+     * @param remessas remessas persistidas
+     */
+    public void registrarLote(List<Remessa> remessas) {
+        Map<ChaveResumo, TotaisRemessaDTO> porDia = new LinkedHashMap<>();
+        for (Remessa remessa : remessas) {
+            ChaveResumo chave = new ChaveResumo(remessa.getUsuario().getId(),
+                    remessa.getDataCriacao().toLocalDate(), remessa.getMoedaDestino().toUpperCase());
+            porDia.merge(chave, new TotaisRemessaDTO(1L, remessa.getValor(), remessa.getTaxa(),
+                    remessa.getValorConvertido()), TotaisRemessaDTO::somar);
+        }
+
+        Map<ChaveResumo, TotaisRemessaDTO> porMes = new LinkedHashMap<>();
+        porDia.forEach((chave, totais) -> {
+            resumoDiarioRepository.acumular(chave.usuarioId(), chave.periodo(), chave.moeda(),
+                    totais.quantidade(), totais.totalValor(), totais.totalTaxa(), totais.totalValorConvertido());
+            porMes.merge(new ChaveResumo(chave.usuarioId(), chave.periodo().withDayOfMonth(1), chave.moeda()),
+                    totais, TotaisRemessaDTO::somar);
+        });
+        porMes.forEach((chave, totais) -> resumoMensalRepository.acumular(chave.usuarioId(), chave.periodo(),
+                chave.moeda(), totais.quantidade(), totais.totalValor(), totais.totalTaxa(), totais.totalValorConvertido()));
+    }
+
+    /**
+     * Linha de resumo: remetente, período (dia ou primeiro dia do mês) e moeda.
+     */
+    private record ChaveResumo(Long usuarioId, LocalDate periodo, String moeda) {}
+
+    /**
+     * Calcula os totais de remessas enviadas pelo usuário no período.
+     *
+     * @param usuario remetente
+     * @param inicio início do período (inclusive)
+     * @param fim fim do período (inclusive)
+     * @return totais agregados
+     */
+    public TotaisRemessaDTO calcularTotais(Usuario usuario, LocalDateTime inicio, LocalDateTime fim) {
+        if (inicio.isAfter(fim)) {
+            return TotaisRemessaDTO.VAZIO;
+        }
+
+        Long usuarioId = usuario.getId();
+        LocalDate primeiroDia = inicio.toLocalDate();
+        LocalDate ultimoDia = fim.toLocalDate();
+
+        if (primeiroDia.equals(ultimoDia) && !(inicioDoDia(inicio) && fimDoDia(fim))) {
+            return remessaRepository.somarTotaisPorPeriodo(usuarioId, inicio, fim);
+        }
+
+        TotaisRemessaDTO totais = TotaisRemessaDTO.VAZIO;
+        if (!inicioDoDia(inicio)) {
+            totais = totais.somar(remessaRepository.somarTotaisPorPeriodo(
+                    usuarioId, inicio, primeiroDia.atTime(LocalTime.MAX)));
+            primeiroDia = primeiroDia.plusDays(1);
+        }
+        if (!fimDoDia(fim)) {
+            totais = totais.somar(remessaRepository.somarTotaisPorPeriodo(
+                    usuarioId, ultimoDia.atStartOfDay(), fim));
+            ultimoDia = ultimoDia.minusDays(1);
+        }
+
+        return totais.somar(somarDiasCompletos(usuarioId, primeiroDia, ultimoDia));
+    }
+
+    /**
+     * Total enviado no período, com cache descartado após cada remessa do período.
+     */
+    public BigDecimal calcularTotalEnviadoPorPeriodo(Usuario usuario, LocalDateTime inicio, LocalDateTime fim) {
+        return totaisPeriodoCache.obter(TotalPeriodoCacheKey.enviado(usuario.getId(), inicio, fim),
+                () -> calcularTotais(usuario, inicio, fim).totalValor());
+    }
+
+    /**
+     * Total de taxas cobradas no período, com cache descartado após cada remessa do período.
+     */
+    public BigDecimal calcularTotalTaxasPorPeriodo(Usuario usuario, LocalDateTime inicio, LocalDateTime fim) {
+        return totaisPeriodoCache.obter(TotalPeriodoCacheKey.taxas(usuario.getId(), inicio, fim),
+                () -> calcularTotais(usuario, inicio, fim).totalTaxa());
+    }
+
+    /**
+     * Soma dias completos usando o resumo mensal para os meses inteiramente
+     * contidos no intervalo e o resumo diário para as sobras.
+     */
+    private TotaisRemessaDTO somarDiasCompletos(Long usuarioId, LocalDate primeiroDia, LocalDate ultimoDia) {
+        if (primeiroDia.isAfter(ultimoDia)) {
+            return TotaisRemessaDTO.VAZIO;
+        }
+
+        LocalDate primeiroMes = primeiroDia.getDayOfMonth() == 1
+                ? primeiroDia
+                : primeiroDia.with(TemporalAdjusters.firstDayOfNextMonth());
+        LocalDate fimUltimoMes = ultimoDia.equals(ultimoDia.with(TemporalAdjusters.lastDayOfMonth()))
+                ? ultimoDia
+                : ultimoDia.withDayOfMonth(1).minusDays(1);
+
+        if (primeiroMes.isAfter(fimUltimoMes)) {
+            return resumoDiarioRepository.somarPeriodo(usuarioId, primeiroDia, ultimoDia);
+        }
+
+        TotaisRemessaDTO totais = resumoMensalRepository.somarPeriodo(
+                usuarioId, primeiroMes, fimUltimoMes.withDayOfMonth(1));
+        if (primeiroDia.isBefore(primeiroMes)) {
+            totais = totais.somar(resumoDiarioRepository.somarPeriodo(usuarioId, primeiroDia, primeiroMes.minusDays(1)));
+        }
+        if (ultimoDia.isAfter(fimUltimoMes)) {
+            totais = totais.somar(resumoDiarioRepository.somarPeriodo(usuarioId, fimUltimoMes.plusDays(1), ultimoDia));
+        }
+        return totais;
+    }
+
+    private boolean inicioDoDia(LocalDateTime instante) {
+        return instante.toLocalTime().equals(LocalTime.MIDNIGHT);
+    }
+
+    private boolean fimDoDia(LocalDateTime instante) {
+        return instante.toLocalTime().equals(LocalTime.MAX);
+    }
+}
@@ -10,9 +10,14 @@ import java.math.BigDecimal;
 @Component
 public class LimiteDiarioPFValidator implements LimiteDiarioValidator {
 
+    @Override
+    public BigDecimal getLimiteDiario() {
+        return AppConstants.LIMITE_DIARIO_PF;
+    }
+
     @Override
     public void validar(Usuario usuario, BigDecimal valorTotalDiario, BigDecimal valorNovaTransacao) {
-        if (valorTotalDiario.add(valorNovaTransacao).compareTo(AppConstants.LIMITE_DIARIO_PF) > 0) {
+        if (valorTotalDiario.add(valorNovaTransacao).compareTo(getLimiteDiario()) > 0) {
             throw new LimiteDiarioExcedidoException("Limite diário de R$10.000,00 excedido para Pessoa Física.");
         }
     }
@@ -9,9 +9,14 @@ import java.math.BigDecimal;
 @Component
 public class LimiteDiarioPJValidator implements LimiteDiarioValidator {
 
+    @Override
+    public BigDecimal getLimiteDiario() {
+        return AppConstants.LIMITE_DIARIO_PJ;
+    }
+
     @Override
     public void validar(Usuario usuario, BigDecimal valorTotalDiario, BigDecimal valorNovaTransacao) {
-        if (valorTotalDiario.add(valorNovaTransacao).compareTo(AppConstants.LIMITE_DIARIO_PJ) > 0) {
+        if (valorTotalDiario.add(valorNovaTransacao).compareTo(getLimiteDiario()) > 0) {
             throw new LimiteDiarioExcedidoException("Limite diário de R$50.000,00 excedido para Pessoa Jurídica.");
         }
     }
@@ -4,5 +4,11 @@ import com.guilherme.desafiointer.domain.Usuario;
 import java.math.BigDecimal;
 
 public interface LimiteDiarioValidator {
+
+    /**
+     * Total diário máximo permitido para o tipo de usuário.
+     */
+    BigDecimal getLimiteDiario();
+
     void validar(Usuario usuario, BigDecimal valorTotalDiario, BigDecimal valorNovaTransacao);
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.guilherme.desafiointer.service.unicidade;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para textos, seguro para uso concorrente.
+ *
+ * Responde "talvez contenha" ou "certamente não contém"; nunca produz
+ * falso negativo para valores adicionados. Os índices são obtidos por
+ * hashing duplo (h1 + i * h2) sobre um hash de 64 bits do texto.
+ */
+public final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long quantidadeBits;
+    private final int quantidadeHashes;
+
+    private FiltroBloom(long quantidadeBits, int quantidadeHashes) {
+        this.quantidadeBits = quantidadeBits;
+        this.quantidadeHashes = quantidadeHashes;
+        this.bits = new AtomicLongArray((int) ((quantidadeBits + 63) >>> 6));
+    }
+
+    /**
+     * Cria um filtro dimensionado para a capacidade e taxa de falso positivo.
+     *
+     * @param capacidadeEsperada quantidade de valores esperada
+     * @param taxaFalsoPositivo taxa de falso positivo na capacidade esperada
+     * @return filtro vazio
+     */
+    public static FiltroBloom criar(int capacidadeEsperada, double taxaFalsoPositivo) {
+        double ln2 = Math.log(2);
+        long quantidadeBits = Math.max(64,
+                (long) Math.ceil(-capacidadeEsperada * Math.log(taxaFalsoPositivo) / (ln2 * ln2)));
+        int quantidadeHashes = Math.max(1,
+                (int) Math.round((double) quantidadeBits / capacidadeEsperada * ln2));
+        return new FiltroBloom(quantidadeBits, quantidadeHashes);
+    }
+
+    public void adicionar(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= quantidadeHashes; i++) {
+            long indice = indice(h1 + i * h2);
+            int palavra = (int) (indice >>> 6);
+            long mascara = 1L << indice;
+            long atual = bits.get(palavra);
+            while ((atual & mascara) == 0 && !bits.weakCompareAndSetVolatile(palavra, atual, atual | mascara)) {
+                atual = bits.get(palavra);
+            }
+        }
+    }
+
+    public boolean podeConter(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= quantidadeHashes; i++) {
+            long indice = indice(h1 + i * h2);
+            if ((bits.get((int) (indice >>> 6)) & (1L << indice)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getQuantidadeBits() {
+        return quantidadeBits;
+    }
+
+    public int getQuantidadeHashes() {
+        return quantidadeHashes;
+    }
+
+    private long indice(int hashCombinado) {
+        return Integer.toUnsignedLong(hashCombinado) % quantidadeBits;
+    }
+
+    /**
+     * FNV-1a de 64 bits seguido da mistura final do MurmurHash3.
+     */
+    private static long hash64(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
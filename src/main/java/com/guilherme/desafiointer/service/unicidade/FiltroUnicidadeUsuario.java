@@ -0,0 +1,90 @@
+package com.guilherme.desafiointer.service.unicidade;
+
+import com.guilherme.desafiointer.config.FiltroUnicidadeProperties;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Pré-teste em memória da unicidade de documentos e emails.
+ *
+ * Carregado na inicialização com todos os usuários e atualizado a cada
+ * cadastro desta instância. Resposta negativa dispensa a consulta de
+ * existência; resposta positiva (ou filtro ainda não carregado) mantém a
+ * consulta. Cadastros feitos por outras réplicas podem não estar no
+ * filtro: nesse caso a constraint única do banco rejeita a gravação.
+ */
+@Slf4j
+@Component
+public class FiltroUnicidadeUsuario {
+
+    private final UsuarioRepository usuarioRepository;
+    private final FiltroUnicidadeProperties properties;
+    private final FiltroBloom documentos;
+    private final FiltroBloom emails;
+    private final AtomicLong registros = new AtomicLong();
+    private volatile boolean carregado;
+
+    public FiltroUnicidadeUsuario(UsuarioRepository usuarioRepository, FiltroUnicidadeProperties properties) {
+        this.usuarioRepository = usuarioRepository;
+        this.properties = properties;
+        this.documentos = properties.isHabilitado()
+                ? FiltroBloom.criar(properties.getCapacidadeEsperada(), properties.getTaxaFalsoPositivo()) : null;
+        this.emails = properties.isHabilitado()
+                ? FiltroBloom.criar(properties.getCapacidadeEsperada(), properties.getTaxaFalsoPositivo()) : null;
+    }
+
+    /**
+     * Carrega documentos e emails cadastrados.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void inicializar() {
+        if (!properties.isHabilitado()) {
+            return;
+        }
+
+        try (Stream<UsuarioRepository.ChaveUnicidade> chaves = usuarioRepository.buscarChavesUnicidade()) {
+            chaves.forEach(chave -> registrar(chave.getDocumento(), chave.getEmail()));
+        }
+        carregado = true;
+
+        log.info("Filtro de unicidade carregado: [usuarios={}, bits={}, hashes={}]",
+                registros.get(), documentos.getQuantidadeBits(), documentos.getQuantidadeHashes());
+        if (registros.get() > properties.getCapacidadeEsperada()) {
+            log.warn("Filtro de unicidade acima da capacidade esperada ({}): taxa de falso positivo maior que {}",
+                    properties.getCapacidadeEsperada(), properties.getTaxaFalsoPositivo());
+        }
+    }
+
+    /**
+     * Registra documento e email de um usuário gravado.
+     */
+    public void registrar(String documento, String email) {
+        if (!properties.isHabilitado()) {
+            return;
+        }
+        documentos.adicionar(documento);
+        emails.adicionar(email);
+        registros.incrementAndGet();
+    }
+
+    /**
+     * @return false somente se o documento certamente não está cadastrado
+     */
+    public boolean documentoPodeExistir(String documento) {
+        return !carregado || documentos.podeConter(documento);
+    }
+
+    /**
+     * @return false somente se o email certamente não está cadastrado
+     */
+    public boolean emailPodeExistir(String email) {
+        return !carregado || emails.podeConter(email);
+    }
+}
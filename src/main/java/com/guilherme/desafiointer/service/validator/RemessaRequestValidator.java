@@ -0,0 +1,159 @@
+package com.guilherme.desafiointer.service.validator;
+
+import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+/**
+ * Validador pré-compilado de {@link RemessaRequestDTO}.
+ *
+ * Aplica as mesmas regras das anotações do DTO (obrigatoriedade, valor
+ * positivo e moeda ISO-4217) sem reflexão nem expressão regular, em uma
+ * única passada. Requisições válidas não alocam objetos.
+ *
+ * É usado como validador do binder no controller e, para chamadas que não
+ * passam pela camada web, pelo {@link RemessaValidator}. A requisição
+ * aprovada é marcada no próprio DTO e não é validada novamente.
+ */
+@Component
+@Slf4j
+public class RemessaRequestValidator implements Validator {
+
+    /**
+     * Regras verificadas, na ordem em que são reportadas.
+     * Cada regra ocupa um bit do resultado de {@link #verificar(RemessaRequestDTO)}.
+     */
+    enum Violacao {
+        USUARIO_NULO("usuarioId", "NotNull", "ID do usuário é obrigatório"),
+        DESTINATARIO_NULO("destinatarioId", "NotNull", "ID do destinatário é obrigatório"),
+        VALOR_NULO("valor", "NotNull", "Valor é obrigatório"),
+        VALOR_NAO_POSITIVO("valor", "Positive", "Valor deve ser maior que zero"),
+        MOEDA_NULA("moedaDestino", "NotNull", "Moeda de destino é obrigatória"),
+        MOEDA_FORA_DO_PADRAO("moedaDestino", "Pattern", "Moeda destino deve seguir o padrão ISO-4217");
+
+        private final String campo;
+        private final String codigo;
+        private final String mensagem;
+
+        Violacao(String campo, String codigo, String mensagem) {
+            this.campo = campo;
+            this.codigo = codigo;
+            this.mensagem = mensagem;
+        }
+
+        int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    private static final Violacao[] VIOLACOES = Violacao.values();
+
+    @Override
+    public boolean supports(@NonNull Class<?> clazz) {
+        return RemessaRequestDTO.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * Validação usada pelo binder do Spring MVC. Os erros são registrados
+     * por campo, mantendo o formato de resposta de {@code @Valid}.
+     */
+    @Override
+    public void validate(@NonNull Object target, @NonNull Errors errors) {
+        RemessaRequestDTO requisicao = (RemessaRequestDTO) target;
+        int violacoes = verificar(requisicao);
+        if (violacoes == 0) {
+            requisicao.marcarComoValidada();
+            return;
+        }
+        for (Violacao violacao : VIOLACOES) {
+            if ((violacoes & violacao.bit()) != 0) {
+                errors.rejectValue(violacao.campo, violacao.codigo, violacao.mensagem);
+            }
+        }
+    }
+
+    /**
+     * Valida a requisição caso ainda não tenha sido validada.
+     *
+     * @param requisicao dados da remessa
+     * @throws RemessaException com {@link RemessaErrorType#DADOS_INVALIDOS} quando houver violações
+     */
+    public void validar(RemessaRequestDTO requisicao) {
+        if (requisicao == null) {
+            throw RemessaException.validacao(
+                    RemessaErrorType.DADOS_INVALIDOS,
+                    "Dados da remessa são obrigatórios"
+            );
+        }
+        if (requisicao.isValidada()) {
+            return;
+        }
+
+        int violacoes = verificar(requisicao);
+        if (violacoes != 0) {
+            String mensagemErro = mensagens(violacoes);
+            log.error("Erro na validação dos campos obrigatórios: {}", mensagemErro);
+            throw RemessaException.validacao(RemessaErrorType.DADOS_INVALIDOS, mensagemErro);
+        }
+        requisicao.marcarComoValidada();
+    }
+
+    /**
+     * Verifica todas as regras e devolve as violações como máscara de bits.
+     *
+     * @return 0 quando a requisição é válida
+     */
+    public static int verificar(RemessaRequestDTO requisicao) {
+        int violacoes = 0;
+        if (requisicao.getUsuarioId() == null) {
+            violacoes |= Violacao.USUARIO_NULO.bit();
+        }
+        if (requisicao.getDestinatarioId() == null) {
+            violacoes |= Violacao.DESTINATARIO_NULO.bit();
+        }
+        if (requisicao.getValor() == null) {
+            violacoes |= Violacao.VALOR_NULO.bit();
+        } else if (requisicao.getValor().signum() <= 0) {
+            violacoes |= Violacao.VALOR_NAO_POSITIVO.bit();
+        }
+        String moeda = requisicao.getMoedaDestino();
+        if (moeda == null) {
+            violacoes |= Violacao.MOEDA_NULA.bit();
+        } else if (!codigoIso4217(moeda)) {
+            violacoes |= Violacao.MOEDA_FORA_DO_PADRAO.bit();
+        }
+        return violacoes;
+    }
+
+    /**
+     * Equivalente a {@code ^[A-Z]{3}$}.
+     */
+    private static boolean codigoIso4217(String moeda) {
+        return moeda.length() == 3
+                && letraMaiuscula(moeda.charAt(0))
+                && letraMaiuscula(moeda.charAt(1))
+                && letraMaiuscula(moeda.charAt(2));
+    }
+
+    private static boolean letraMaiuscula(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static String mensagens(int violacoes) {
+        StringBuilder mensagem = new StringBuilder();
+        for (Violacao violacao : VIOLACOES) {
+            if ((violacoes & violacao.bit()) != 0) {
+                if (!mensagem.isEmpty()) {
+                    mensagem.append("; ");
+                }
+                mensagem.append(violacao.mensagem);
+            }
+        }
+        return mensagem.toString();
+    }
+}
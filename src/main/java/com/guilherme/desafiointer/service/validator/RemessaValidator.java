@@ -1,12 +1,18 @@
 package com.guilherme.desafiointer.service.validator;
 
+import com.guilherme.desafiointer.config.constants.AppConstants;
+import com.guilherme.desafiointer.domain.Carteira;
 import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.RemessaLiquidacaoRequestDTO;
+import com.guilherme.desafiointer.dto.remessa.RemessaLoteRequestDTO;
 import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
 import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
 import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.repository.CarteiraRepository;
 import com.guilherme.desafiointer.repository.UsuarioRepository;
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Validator;
+import com.guilherme.desafiointer.service.processor.ContextoLiquidacao;
+import com.guilherme.desafiointer.service.processor.ContextoRemessa;
+import com.guilherme.desafiointer.service.processor.ContextoRemessaLote;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
@@ -14,7 +20,11 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Set;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 /**
  * Componente responsável pela validação de dados relacionados a remessas.
@@ -26,20 +36,141 @@ public class RemessaValidator {
 
     private static final int PERIODO_MAXIMO_DIAS = 90;
     private static final int TAMANHO_MAXIMO_PAGINA = 50;
+    private static final int TAMANHO_BLOCO_LOCK = 1000;
 
-    private final Validator validator;
+    private final RemessaRequestValidator remessaRequestValidator;
     private final UsuarioRepository usuarioRepository;
+    private final CarteiraRepository carteiraRepository;
 
     /**
-     * Valida os dados da requisição de remessa.
+     * Valida os dados da requisição de remessa e carrega os participantes.
+     *
+     * Validações em memória são feitas antes de acessar o banco (os campos
+     * só são verificados se a requisição ainda não foi validada); em seguida,
+     * remetente e destinatário são carregados com suas carteiras em uma única
+     * consulta com lock pessimista. Deve ser chamado dentro da transação
+     * da remessa.
      *
      * @param remessaRequestDTO DTO contendo os dados da remessa
+     * @return contexto com as carteiras bloqueadas para o processamento
      * @throws RemessaException se houver erro na validação
      */
-    public void validarDadosRemessa(RemessaRequestDTO remessaRequestDTO) {
-        validarCamposObrigatorios(remessaRequestDTO);
-        validarUsuarios(remessaRequestDTO);
+    public ContextoRemessa validarDadosRemessa(RemessaRequestDTO remessaRequestDTO) {
+        remessaRequestValidator.validar(remessaRequestDTO);
         validarRemetenteDestinatario(remessaRequestDTO);
+        return carregarParticipantes(remessaRequestDTO);
+    }
+
+    /**
+     * Valida um lote de remessas e carrega remetente e destinatários.
+     *
+     * Todas as carteiras são bloqueadas uma única vez, em ordem crescente de
+     * ID do usuário (ver bloquearCarteiras). Deve ser chamado dentro da
+     * transação do lote.
+     *
+     * @param requisicao dados do lote
+     * @return contexto com as carteiras bloqueadas para o processamento
+     * @throws RemessaException se houver erro na validação
+     */
+    public ContextoRemessaLote validarDadosLote(RemessaLoteRequestDTO requisicao) {
+        validarCamposLote(requisicao);
+
+        Long remetenteId = requisicao.usuarioId();
+        SortedSet<Long> usuarioIds = new TreeSet<>();
+        usuarioIds.add(remetenteId);
+        for (RemessaLoteRequestDTO.Item item : requisicao.itens()) {
+            if (remetenteId.equals(item.destinatarioId())) {
+                throw RemessaException.validacao(
+                        RemessaErrorType.DADOS_INVALIDOS,
+                        "Remetente e destinatário não podem ser o mesmo usuário"
+                );
+            }
+            usuarioIds.add(item.destinatarioId());
+        }
+
+        Map<Long, Carteira> carteiras = bloquearCarteiras(usuarioIds);
+
+        Carteira carteiraRemetente = carteiras.remove(remetenteId);
+        if (carteiraRemetente == null) {
+            throw participanteNaoEncontrado(remetenteId, "Usuário remetente não encontrado");
+        }
+        for (Long destinatarioId : usuarioIds) {
+            if (!destinatarioId.equals(remetenteId) && !carteiras.containsKey(destinatarioId)) {
+                throw participanteNaoEncontrado(destinatarioId,
+                        "Usuário destinatário não encontrado: " + destinatarioId);
+            }
+        }
+
+        return new ContextoRemessaLote(requisicao, carteiraRemetente, carteiras);
+    }
+
+    /**
+     * Valida uma liquidação multilateral e carrega todos os participantes.
+     *
+     * Cada remessa passa pelas mesmas validações em memória da remessa
+     * individual; as carteiras de todos os remetentes e destinatários são
+     * bloqueadas uma única vez, em ordem crescente de ID do usuário. Deve ser
+     * chamado dentro da transação da liquidação.
+     *
+     * @param requisicao remessas da liquidação
+     * @return contexto com as carteiras bloqueadas para o processamento
+     * @throws RemessaException se houver erro na validação
+     */
+    public ContextoLiquidacao validarDadosLiquidacao(RemessaLiquidacaoRequestDTO requisicao) {
+        if (requisicao == null || requisicao.remessas() == null || requisicao.remessas().isEmpty()
+                || requisicao.remessas().size() > AppConstants.TAMANHO_MAXIMO_LOTE_REMESSAS) {
+            throw RemessaException.validacao(
+                    RemessaErrorType.DADOS_INVALIDOS,
+                    "A liquidação deve conter entre 1 e " + AppConstants.TAMANHO_MAXIMO_LOTE_REMESSAS + " remessas"
+            );
+        }
+
+        SortedSet<Long> usuarioIds = new TreeSet<>();
+        for (RemessaRequestDTO remessa : requisicao.remessas()) {
+            if (remessa == null) {
+                throw RemessaException.validacao(
+                        RemessaErrorType.DADOS_INVALIDOS,
+                        "Remessa da liquidação é obrigatória"
+                );
+            }
+            remessaRequestValidator.validar(remessa);
+            validarRemetenteDestinatario(remessa);
+            usuarioIds.add(remessa.getUsuarioId());
+            usuarioIds.add(remessa.getDestinatarioId());
+        }
+
+        Map<Long, Carteira> carteiras = bloquearCarteiras(usuarioIds);
+        for (Long usuarioId : usuarioIds) {
+            if (!carteiras.containsKey(usuarioId)) {
+                throw participanteNaoEncontrado(usuarioId, "Usuário participante não encontrado: " + usuarioId);
+            }
+        }
+
+        return new ContextoLiquidacao(requisicao, carteiras);
+    }
+
+    /**
+     * Bloqueia de antemão, em ordem crescente de ID do usuário, as carteiras
+     * de remetentes e destinatários de remessas realizadas em uma mesma
+     * transação (blocos da importação). Sem isso cada remessa bloquearia as
+     * suas carteiras ao ser processada, fora de ordem em relação às demais
+     * do bloco, e blocos concorrentes com remessas cruzadas (A→B em um, B→A
+     * em outro) entrariam em deadlock. Participantes ausentes são ignorados
+     * aqui e recusados na validação da remessa.
+     *
+     * @param requisicoes remessas da transação
+     */
+    public void bloquearParticipantes(List<RemessaRequestDTO> requisicoes) {
+        SortedSet<Long> usuarioIds = new TreeSet<>();
+        for (RemessaRequestDTO requisicao : requisicoes) {
+            if (requisicao.getUsuarioId() != null) {
+                usuarioIds.add(requisicao.getUsuarioId());
+            }
+            if (requisicao.getDestinatarioId() != null) {
+                usuarioIds.add(requisicao.getDestinatarioId());
+            }
+        }
+        bloquearCarteiras(usuarioIds);
     }
 
     /**
@@ -96,36 +227,89 @@ public class RemessaValidator {
         }
     }
 
-    private void validarCamposObrigatorios(RemessaRequestDTO remessaRequestDTO) {
-        Set<ConstraintViolation<RemessaRequestDTO>> violations = validator.validate(remessaRequestDTO);
-        if (!violations.isEmpty()) {
-            String mensagemErro = violations.stream()
-                    .map(ConstraintViolation::getMessage)
-                    .reduce((m1, m2) -> m1 + "; " + m2)
-                    .orElse("Erro de validação");
+    /**
+     * Carrega as carteiras (com usuários) de remetente e destinatário.
+     * Só consulta a existência do usuário quando a carteira não é encontrada,
+     * para diferenciar usuário inexistente de usuário sem carteira.
+     */
+    private ContextoRemessa carregarParticipantes(RemessaRequestDTO remessaRequestDTO) {
+        Long remetenteId = remessaRequestDTO.getUsuarioId();
+        Long destinatarioId = remessaRequestDTO.getDestinatarioId();
 
-            log.error("Erro na validação dos campos obrigatórios: {}", mensagemErro);
-            throw RemessaException.validacao(
-                    RemessaErrorType.DADOS_INVALIDOS,
-                    mensagemErro
-            );
+        List<Carteira> carteiras = carteiraRepository.buscarPorUsuariosComLock(List.of(remetenteId, destinatarioId));
+
+        Carteira carteiraRemetente = null;
+        Carteira carteiraDestinatario = null;
+        for (Carteira carteira : carteiras) {
+            if (remetenteId.equals(carteira.getUsuario().getId())) {
+                carteiraRemetente = carteira;
+            } else {
+                carteiraDestinatario = carteira;
+            }
+        }
+
+        if (carteiraRemetente == null) {
+            throw participanteNaoEncontrado(remetenteId, "Usuário remetente não encontrado");
+        }
+        if (carteiraDestinatario == null) {
+            throw participanteNaoEncontrado(destinatarioId, "Usuário destinatário não encontrado");
         }
+
+        return new ContextoRemessa(remessaRequestDTO, carteiraRemetente, carteiraDestinatario);
     }
 
-    private void validarUsuarios(RemessaRequestDTO remessaRequestDTO) {
-        if (!usuarioRepository.existsById(remessaRequestDTO.getUsuarioId())) {
-            throw RemessaException.negocio(
-                    RemessaErrorType.USUARIO_NAO_ENCONTRADO,
-                    "Usuário remetente não encontrado"
-            );
+    /**
+     * Bloqueia as carteiras dos usuários em ordem crescente de ID (a mesma
+     * ordem das remessas individuais, evitando deadlock), em blocos de até
+     * {@value #TAMANHO_BLOCO_LOCK} para limitar o tamanho da lista do IN.
+     *
+     * @return carteiras encontradas, por ID do usuário
+     */
+    private Map<Long, Carteira> bloquearCarteiras(SortedSet<Long> usuarioIds) {
+        Map<Long, Carteira> carteiras = new HashMap<>(usuarioIds.size() * 2);
+        List<Long> ids = List.copyOf(usuarioIds);
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_BLOCO_LOCK) {
+            List<Long> bloco = ids.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_LOCK, ids.size()));
+            carteiraRepository.buscarPorUsuariosComLock(bloco)
+                    .forEach(carteira -> carteiras.put(carteira.getUsuario().getId(), carteira));
+        }
+        return carteiras;
+    }
+
+    private RemessaException participanteNaoEncontrado(Long usuarioId, String mensagemUsuario) {
+        if (!usuarioRepository.existsById(usuarioId)) {
+            return RemessaException.negocio(RemessaErrorType.USUARIO_NAO_ENCONTRADO, mensagemUsuario);
         }
+        return RemessaException.negocio(RemessaErrorType.CARTEIRA_NAO_ENCONTRADA, "Carteira não encontrada");
+    }
 
-        if (!usuarioRepository.existsById(remessaRequestDTO.getDestinatarioId())) {
-            throw RemessaException.negocio(
-                    RemessaErrorType.USUARIO_NAO_ENCONTRADO,
-                    "Usuário destinatário não encontrado"
+    /**
+     * Repete as regras das anotações do DTO para chamadas que não passam
+     * pela camada web.
+     */
+    private void validarCamposLote(RemessaLoteRequestDTO requisicao) {
+        if (requisicao == null || requisicao.usuarioId() == null || requisicao.moedaDestino() == null) {
+            throw RemessaException.validacao(
+                    RemessaErrorType.DADOS_INVALIDOS,
+                    "Remetente e moeda de destino são obrigatórios"
+            );
+        }
+        if (requisicao.itens() == null || requisicao.itens().isEmpty()
+                || requisicao.itens().size() > AppConstants.TAMANHO_MAXIMO_LOTE_REMESSAS) {
+            throw RemessaException.validacao(
+                    RemessaErrorType.DADOS_INVALIDOS,
+                    "O lote deve conter entre 1 e " + AppConstants.TAMANHO_MAXIMO_LOTE_REMESSAS + " remessas"
             );
         }
+        for (RemessaLoteRequestDTO.Item item : requisicao.itens()) {
+            if (item == null || item.destinatarioId() == null
+                    || item.valor() == null || item.valor().signum() <= 0) {
+                throw RemessaException.validacao(
+                        RemessaErrorType.DADOS_INVALIDOS,
+                        "Cada remessa do lote exige destinatário e valor positivo"
+                );
+            }
+        }
     }
 
     private void validarRemetenteDestinatario(RemessaRequestDTO remessaRequestDTO) {
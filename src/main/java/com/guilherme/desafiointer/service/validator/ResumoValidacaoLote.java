@@ -0,0 +1,12 @@
+package com.guilherme.desafiointer.service.validator;
+
+/**
+ * Resultado da validação de documentos em lote.
+ *
+ * @param total documentos processados
+ * @param cpfsValidos documentos reconhecidos como CPF válido
+ * @param cnpjsValidos documentos reconhecidos como CNPJ válido
+ * @param invalidos documentos que não são CPF nem CNPJ válidos
+ */
+public record ResumoValidacaoLote(long total, long cpfsValidos, long cnpjsValidos, long invalidos) {
+}
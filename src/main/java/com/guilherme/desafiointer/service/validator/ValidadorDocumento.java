@@ -0,0 +1,157 @@
+package com.guilherme.desafiointer.service.validator;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Validação de CPF e CNPJ por varredura de caracteres, sem alocação.
+ *
+ * Os dígitos verificadores são acumulados em uma única passagem sobre o
+ * texto original; caracteres de formatação (pontos, hífens, barras,
+ * espaços) são ignorados, sem gerar cópia limpa do documento.
+ *
+ * CNPJ alfanumérico (Receita Federal, a partir de julho/2026):
+ * - 12 primeiros caracteres: dígitos ou letras maiúsculas A-Z
+ * - 2 últimos caracteres: dígitos verificadores numéricos
+ * - Valor de cada caractere: código ASCII - 48 (0-9 → 0-9, A-Z → 17-42)
+ * - Pesos e módulo 11 inalterados; CNPJ numérico continua válido
+ */
+@UtilityClass
+public class ValidadorDocumento {
+
+    private static final int TAMANHO_CPF = 11;
+    private static final int TAMANHO_CNPJ = 14;
+
+    /**
+     * Valida CPF com ou sem formatação.
+     *
+     * @param cpf documento a validar
+     * @return true se contém 11 dígitos com verificadores válidos e não repetidos
+     */
+    public static boolean validarCPF(CharSequence cpf) {
+        if (cpf == null) {
+            return false;
+        }
+
+        int quantidade = 0;
+        int soma1 = 0;
+        int soma2 = 0;
+        int verificador1 = 0;
+        int verificador2 = 0;
+        int primeiro = 0;
+        boolean todosIguais = true;
+
+        for (int i = 0, n = cpf.length(); i < n; i++) {
+            char c = cpf.charAt(i);
+            if (c < '0' || c > '9') {
+                continue;
+            }
+            if (quantidade == TAMANHO_CPF) {
+                return false;
+            }
+
+            int digito = c - '0';
+            if (quantidade == 0) {
+                primeiro = digito;
+            } else if (digito != primeiro) {
+                todosIguais = false;
+            }
+
+            if (quantidade < 9) {
+                soma1 += digito * (10 - quantidade);
+                soma2 += digito * (11 - quantidade);
+            } else if (quantidade == 9) {
+                verificador1 = digito;
+                soma2 += digito * 2;
+            } else {
+                verificador2 = digito;
+            }
+            quantidade++;
+        }
+
+        return quantidade == TAMANHO_CPF
+                && !todosIguais
+                && verificador1 == digitoCPF(soma1)
+                && verificador2 == digitoCPF(soma2);
+    }
+
+    /**
+     * Valida CNPJ numérico ou alfanumérico, com ou sem formatação.
+     *
+     * @param cnpj documento a validar
+     * @return true se contém 14 caracteres com verificadores válidos e não repetidos
+     */
+    public static boolean validarCNPJ(CharSequence cnpj) {
+        if (cnpj == null) {
+            return false;
+        }
+
+        int quantidade = 0;
+        int soma1 = 0;
+        int soma2 = 0;
+        int verificador1 = 0;
+        int verificador2 = 0;
+        int primeiro = 0;
+        boolean todosIguais = true;
+
+        for (int i = 0, n = cnpj.length(); i < n; i++) {
+            char c = cnpj.charAt(i);
+            int valor;
+            if (c >= '0' && c <= '9') {
+                valor = c - '0';
+            } else if (c >= 'A' && c <= 'Z') {
+                if (quantidade >= 12) {
+                    return false;
+                }
+                valor = c - '0';
+            } else if (c >= 'a' && c <= 'z') {
+                return false;
+            } else {
+                continue;
+            }
+            if (quantidade == TAMANHO_CNPJ) {
+                return false;
+            }
+
+            if (quantidade == 0) {
+                primeiro = valor;
+            } else if (valor != primeiro) {
+                todosIguais = false;
+            }
+
+            if (quantidade < 12) {
+                soma1 += valor * pesoCNPJ(quantidade, 5);
+                soma2 += valor * pesoCNPJ(quantidade, 6);
+            } else if (quantidade == 12) {
+                verificador1 = valor;
+                soma2 += valor * 2;
+            } else {
+                verificador2 = valor;
+            }
+            quantidade++;
+        }
+
+        return quantidade == TAMANHO_CNPJ
+                && !todosIguais
+                && verificador1 == digitoCNPJ(soma1)
+                && verificador2 == digitoCNPJ(soma2);
+    }
+
+    /**
+     * Pesos do CNPJ: decrescem a partir do inicial até 2 e recomeçam em 9.
+     * Primeiro verificador começa em 5; segundo em 6.
+     */
+    private static int pesoCNPJ(int posicao, int pesoInicial) {
+        int peso = pesoInicial - posicao;
+        return peso >= 2 ? peso : peso + 8;
+    }
+
+    private static int digitoCPF(int soma) {
+        int digito = 11 - (soma % 11);
+        return digito >= 10 ? 0 : digito;
+    }
+
+    private static int digitoCNPJ(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
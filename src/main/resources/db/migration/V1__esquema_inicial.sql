@@ -0,0 +1,64 @@
+-- V1: esquema inicial (IDs por IDENTITY)
+--
+-- Corresponde ao esquema que o Hibernate gerava antes das migrações.
+-- Bancos existentes sem histórico do Flyway recebem o baseline nesta versão
+-- (spring.flyway.baseline-on-migrate) e seguem a partir da V2, sem executar
+-- este script: tabelas e restrições novas entram sempre em versões novas.
+-- SQL compatível com PostgreSQL e H2.
+
+CREATE TABLE usuarios (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nome_completo VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    documento VARCHAR(255) NOT NULL,
+    senha VARCHAR(255) NOT NULL,
+    tipo_usuario VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_usuarios PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_email UNIQUE (email),
+    CONSTRAINT uk_usuarios_documento UNIQUE (documento),
+    CONSTRAINT ck_usuarios_tipo_usuario CHECK (tipo_usuario IN ('PF', 'PJ'))
+);
+
+CREATE TABLE carteiras (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    usuario_id BIGINT NOT NULL,
+    saldobrl NUMERIC(38, 2) NOT NULL,
+    saldousd NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_carteiras PRIMARY KEY (id),
+    CONSTRAINT uk_carteiras_usuario UNIQUE (usuario_id),
+    CONSTRAINT fk_carteiras_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
+
+CREATE TABLE remessas (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    usuario_id BIGINT NOT NULL,
+    destinatario_id BIGINT NOT NULL,
+    valor NUMERIC(38, 2) NOT NULL,
+    taxa NUMERIC(38, 2) NOT NULL,
+    moeda_destino VARCHAR(255) NOT NULL,
+    cotacao NUMERIC(38, 2) NOT NULL,
+    data_criacao TIMESTAMP(6) NOT NULL,
+    valor_convertido NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_remessas PRIMARY KEY (id),
+    CONSTRAINT fk_remessas_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id),
+    CONSTRAINT fk_remessas_destinatario FOREIGN KEY (destinatario_id) REFERENCES usuarios (id)
+);
+
+CREATE TABLE transacoes_diarias (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    usuario_id BIGINT NOT NULL,
+    data DATE NOT NULL,
+    valor_total NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_transacoes_diarias PRIMARY KEY (id),
+    CONSTRAINT fk_transacoes_diarias_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
+
+CREATE TABLE cotacoes_historico (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    moeda VARCHAR(255) NOT NULL,
+    valor NUMERIC(10, 4) NOT NULL,
+    data_hora TIMESTAMP(6) NOT NULL,
+    is_fim_de_semana BOOLEAN NOT NULL,
+    ultima_atualizacao TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_cotacoes_historico PRIMARY KEY (id)
+);
@@ -0,0 +1,23 @@
+-- V3: índices das consultas frequentes
+--
+-- Já cobertos por restrições únicas:
+--   usuarios(email), usuarios(documento)          buscas e verificações de unicidade (V1)
+--   carteiras(usuario_id)                         carteira do usuário e locks da remessa (V1)
+--   transacoes_diarias(usuario_id, data)          limite diário (V5)
+--   resumos_remessa_*(usuario_id, período, moeda) totais por período (V6)
+--
+-- Em tabelas grandes no PostgreSQL, prefira criar estes índices antes
+-- com CREATE INDEX CONCURRENTLY (o IF NOT EXISTS evita a duplicação).
+
+-- Histórico e totais do remetente no período
+CREATE INDEX IF NOT EXISTS idx_remessas_usuario_data ON remessas (usuario_id, data_criacao);
+
+-- Reconstrução do uso diário em memória (envios a partir de um instante)
+CREATE INDEX IF NOT EXISTS idx_remessas_data_criacao ON remessas (data_criacao);
+
+-- Chave estrangeira do destinatário (exclusão de usuário, consultas por destinatário)
+CREATE INDEX IF NOT EXISTS idx_remessas_destinatario ON remessas (destinatario_id);
+
+-- Última cotação (útil) por moeda
+CREATE INDEX IF NOT EXISTS idx_cotacoes_historico_moeda_util_data
+    ON cotacoes_historico (moeda, is_fim_de_semana, data_hora);
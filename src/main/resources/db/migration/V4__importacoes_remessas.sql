@@ -0,0 +1,30 @@
+-- V4: importações de remessas por arquivo e seus pontos de retomada por partição
+-- SQL compatível com PostgreSQL e H2.
+
+CREATE TABLE importacoes_remessas (
+    id UUID NOT NULL,
+    formato VARCHAR(10) NOT NULL,
+    arquivo VARCHAR(500) NOT NULL,
+    particoes INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    linhas_lidas BIGINT NOT NULL,
+    criada_em TIMESTAMP(6) NOT NULL,
+    concluida_em TIMESTAMP(6),
+    CONSTRAINT pk_importacoes_remessas PRIMARY KEY (id),
+    CONSTRAINT ck_importacoes_remessas_formato CHECK (formato IN ('CSV', 'NDJSON')),
+    CONSTRAINT ck_importacoes_remessas_status CHECK (status IN ('PENDENTE', 'PROCESSANDO', 'CONCLUIDA', 'FALHOU'))
+);
+
+CREATE SEQUENCE IF NOT EXISTS importacoes_remessas_particoes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE importacoes_remessas_particoes (
+    id BIGINT NOT NULL,
+    importacao_id UUID NOT NULL,
+    particao INTEGER NOT NULL,
+    ultima_linha BIGINT NOT NULL,
+    realizadas BIGINT NOT NULL,
+    rejeitadas BIGINT NOT NULL,
+    CONSTRAINT pk_importacoes_remessas_particoes PRIMARY KEY (id),
+    CONSTRAINT uk_importacoes_remessas_particoes UNIQUE (importacao_id, particao),
+    CONSTRAINT fk_importacoes_remessas_particoes_importacao FOREIGN KEY (importacao_id) REFERENCES importacoes_remessas (id)
+);
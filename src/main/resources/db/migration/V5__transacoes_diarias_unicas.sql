@@ -0,0 +1,34 @@
+-- V5: uma transação diária por usuário e data
+--
+-- O upsert do limite diário (ON CONFLICT / MERGE) depende da restrição única
+-- em (usuario_id, data), que o esquema original não tinha. Linhas duplicadas
+-- de bancos existentes são consolidadas antes: a de menor ID recebe a soma
+-- dos totais do dia e as demais são removidas.
+-- SQL compatível com PostgreSQL e H2.
+
+UPDATE transacoes_diarias t
+SET valor_total = (
+    SELECT SUM(d.valor_total)
+    FROM transacoes_diarias d
+    WHERE d.usuario_id = t.usuario_id AND d.data = t.data
+)
+WHERE t.id = (
+    SELECT MIN(d.id)
+    FROM transacoes_diarias d
+    WHERE d.usuario_id = t.usuario_id AND d.data = t.data
+)
+AND EXISTS (
+    SELECT 1
+    FROM transacoes_diarias d
+    WHERE d.usuario_id = t.usuario_id AND d.data = t.data AND d.id <> t.id
+);
+
+DELETE FROM transacoes_diarias t
+WHERE EXISTS (
+    SELECT 1
+    FROM transacoes_diarias d
+    WHERE d.usuario_id = t.usuario_id AND d.data = t.data AND d.id < t.id
+);
+
+ALTER TABLE transacoes_diarias
+    ADD CONSTRAINT uk_transacoes_diarias_usuario_data UNIQUE (usuario_id, data);
@@ -0,0 +1,38 @@
+-- V6: resumos de remessas por usuário, período e moeda
+--
+-- Totais diários e mensais incrementados a cada remessa (upsert na restrição
+-- única), lidos nos totais por período no lugar da soma das remessas.
+-- IDs por sequência com incremento de 50, como as demais tabelas após a V2.
+-- SQL compatível com PostgreSQL e H2.
+
+CREATE SEQUENCE IF NOT EXISTS resumos_remessa_diarios_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE resumos_remessa_diarios (
+    id BIGINT NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    dia DATE NOT NULL,
+    moeda VARCHAR(3) NOT NULL,
+    quantidade BIGINT NOT NULL,
+    total_valor NUMERIC(38, 2) NOT NULL,
+    total_taxa NUMERIC(38, 2) NOT NULL,
+    total_valor_convertido NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_resumos_remessa_diarios PRIMARY KEY (id),
+    CONSTRAINT uk_resumos_remessa_diarios UNIQUE (usuario_id, dia, moeda),
+    CONSTRAINT fk_resumos_remessa_diarios_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS resumos_remessa_mensais_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE resumos_remessa_mensais (
+    id BIGINT NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    mes DATE NOT NULL,
+    moeda VARCHAR(3) NOT NULL,
+    quantidade BIGINT NOT NULL,
+    total_valor NUMERIC(38, 2) NOT NULL,
+    total_taxa NUMERIC(38, 2) NOT NULL,
+    total_valor_convertido NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_resumos_remessa_mensais PRIMARY KEY (id),
+    CONSTRAINT uk_resumos_remessa_mensais UNIQUE (usuario_id, mes, moeda),
+    CONSTRAINT fk_resumos_remessa_mensais_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
@@ -0,0 +1,9 @@
+-- V8: execução dona de cada importação de remessas
+--
+-- Só a execução que assumiu a importação (status PROCESSANDO com o seu
+-- identificador) a renova e finaliza. Uma execução que deixa de ser
+-- renovada (instância encerrada) pode ser retomada por outra instância.
+-- SQL compatível com PostgreSQL e H2.
+
+ALTER TABLE importacoes_remessas ADD COLUMN execucao UUID;
+ALTER TABLE importacoes_remessas ADD COLUMN renovada_em TIMESTAMP(6);
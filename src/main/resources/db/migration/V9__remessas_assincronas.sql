@@ -0,0 +1,26 @@
+-- V9: remessas enviadas de forma assíncrona (202 Accepted)
+--
+-- Cada envio é gravado como PENDENTE antes da resposta, para que a
+-- situação seja consultável em qualquer instância e que uma remessa aceita
+-- e ainda não processada seja retomada por outra instância (ou após o
+-- reinício). As linhas finalizadas são removidas após a retenção.
+-- SQL compatível com PostgreSQL e H2.
+
+CREATE TABLE remessas_assincronas (
+    id UUID NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    destinatario_id BIGINT NOT NULL,
+    valor NUMERIC(38, 2) NOT NULL,
+    moeda_destino VARCHAR(3) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    remessa_id BIGINT,
+    erro VARCHAR(50),
+    mensagem VARCHAR(500),
+    recebida_em TIMESTAMP(6) NOT NULL,
+    atualizada_em TIMESTAMP(6) NOT NULL,
+    concluida_em TIMESTAMP(6),
+    CONSTRAINT pk_remessas_assincronas PRIMARY KEY (id),
+    CONSTRAINT ck_remessas_assincronas_status CHECK (status IN ('PENDENTE', 'PROCESSANDO', 'CONCLUIDA', 'REJEITADA'))
+);
+
+CREATE INDEX idx_remessas_assincronas_status ON remessas_assincronas (status, atualizada_em);
@@ -56,7 +56,7 @@ class TipoUsuarioTest {
         @Test
         @DisplayName("Deve retornar formato correto para CNPJ")
         void deveRetornarFormatoCorretoCNPJ() {
-            assertEquals("CNPJ deve conter 14 dígitos numéricos",
+            assertEquals("CNPJ deve conter 14 caracteres: 12 alfanuméricos e 2 dígitos verificadores",
                     TipoUsuario.PJ.getFormatoDocumento());
         }
     }
@@ -0,0 +1,248 @@
+package com.guilherme.desafiointer.integration;
+
+import com.guilherme.desafiointer.config.TestConfig;
+import com.guilherme.desafiointer.domain.Carteira;
+import com.guilherme.desafiointer.domain.Remessa;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.exception.domain.SaldoInsuficienteException;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.repository.CarteiraRepository;
+import com.guilherme.desafiointer.repository.RemessaRepository;
+import com.guilherme.desafiointer.repository.ResumoRemessaDiarioRepository;
+import com.guilherme.desafiointer.repository.ResumoRemessaMensalRepository;
+import com.guilherme.desafiointer.repository.TransacaoDiariaRepository;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import com.guilherme.desafiointer.service.agrupamento.AgrupadorRemessas;
+import com.guilherme.desafiointer.service.interfaces.CotacaoServiceInterface;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@TestPropertySource(properties = {
+        "remessas.agrupamento.habilitado=true",
+        "remessas.agrupamento.janela=PT0.5S",
+        "remessas.agrupamento.tamanho-maximo=50",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.guilherme.desafiointer.integration.ContadorSql"
+})
+@DisplayName("Testes de Integração - Agrupamento de Remessas")
+class AgrupadorRemessasIntegrationTest {
+
+    private static final long ESPERA_MAXIMA_SEGUNDOS = 30;
+    private static final int PARES = 6;
+
+    @Autowired
+    private AgrupadorRemessas agrupadorRemessas;
+
+    @MockBean
+    private CotacaoServiceInterface cotacaoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CarteiraRepository carteiraRepository;
+
+    @Autowired
+    private RemessaRepository remessaRepository;
+
+    @Autowired
+    private TransacaoDiariaRepository transacaoDiariaRepository;
+
+    @Autowired
+    private ResumoRemessaDiarioRepository resumoRemessaDiarioRepository;
+
+    @Autowired
+    private ResumoRemessaMensalRepository resumoRemessaMensalRepository;
+
+    private final List<Long> remetentes = new ArrayList<>();
+    private final List<Long> destinatarios = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(cotacaoService.obterCotacao(anyString())).thenReturn(new BigDecimal("5.00"));
+
+        for (int i = 0; i < PARES; i++) {
+            remetentes.add(criarUsuario("Empresa " + i, "empresa" + i + "@agrupamento.com",
+                    "documento-agrupamento-pj-" + i, TipoUsuario.PJ, "1000.00"));
+            destinatarios.add(criarUsuario("Pessoa " + i, "pessoa" + i + "@agrupamento.com",
+                    "documento-agrupamento-pf-" + i, TipoUsuario.PF, "0.00"));
+        }
+        ContadorSql.limpar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        remessaRepository.deleteAllInBatch();
+        resumoRemessaDiarioRepository.deleteAllInBatch();
+        resumoRemessaMensalRepository.deleteAllInBatch();
+        transacaoDiariaRepository.deleteAllInBatch();
+        carteiraRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    private Long criarUsuario(String nome, String email, String documento, TipoUsuario tipo, String saldoBRL) {
+        return transactionTemplate.execute(status -> {
+            Usuario usuario = usuarioRepository.save(Usuario.builder()
+                    .nomeCompleto(nome)
+                    .email(email)
+                    .senha("Senha@123")
+                    .tipoUsuario(tipo)
+                    .documento(documento)
+                    .build());
+            carteiraRepository.save(Carteira.builder()
+                    .saldoBRL(new BigDecimal(saldoBRL))
+                    .saldoUSD(BigDecimal.ZERO)
+                    .usuario(usuario)
+                    .build());
+            return usuario.getId();
+        });
+    }
+
+    private RemessaRequestDTO remessa(Long remetenteId, Long destinatarioId, String valor) {
+        return RemessaRequestDTO.builder()
+                .usuarioId(remetenteId)
+                .destinatarioId(destinatarioId)
+                .valor(new BigDecimal(valor))
+                .moedaDestino("USD")
+                .build();
+    }
+
+    private Remessa aguardar(CompletableFuture<Remessa> resultado) throws Exception {
+        return resultado.get(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS);
+    }
+
+    private Throwable falha(CompletableFuture<Remessa> resultado) {
+        return assertThrows(ExecutionException.class, () -> aguardar(resultado)).getCause();
+    }
+
+    private long bloqueios() {
+        return ContadorSql.selects().stream().filter(sql -> sql.contains("for update")).count();
+    }
+
+    private BigDecimal saldoBRL(Long usuarioId) {
+        return carteiraRepository.findByUsuarioId(usuarioId).orElseThrow().getSaldoBRL();
+    }
+
+    private BigDecimal saldoUSD(Long usuarioId) {
+        return carteiraRepository.findByUsuarioId(usuarioId).orElseThrow().getSaldoUSD();
+    }
+
+    @Nested
+    @DisplayName("Testes de agrupamento")
+    class AgrupamentoTests {
+
+        @Test
+        @DisplayName("Deve gravar remessas independentes da janela em uma única transação")
+        void deveGravarRemessasIndependentesJuntas() throws Exception {
+            List<CompletableFuture<Remessa>> resultados = new ArrayList<>();
+            for (int i = 0; i < PARES; i++) {
+                resultados.add(agrupadorRemessas.submeter(remessa(remetentes.get(i), destinatarios.get(i), "100.00")));
+            }
+
+            for (int i = 0; i < PARES; i++) {
+                Remessa remessa = aguardar(resultados.get(i));
+                assertEquals(remetentes.get(i), remessa.getUsuario().getId());
+                assertNotNull(remessa.getId());
+            }
+            assertAll(
+                    () -> assertEquals(1, bloqueios(), () -> "comandos: " + ContadorSql.comandos()),
+                    () -> assertEquals(1, ContadorSql.comandos().stream()
+                            .filter(sql -> sql.startsWith("insert into remessas")).count()),
+                    () -> assertEquals(PARES, remessaRepository.count()),
+                    () -> assertEquals(0, new BigDecimal("899.00").compareTo(saldoBRL(remetentes.get(0)))),
+                    () -> assertEquals(0, new BigDecimal("20.00").compareTo(saldoUSD(destinatarios.get(PARES - 1))))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve adiar para o grupo seguinte remessas da mesma carteira, na ordem de chegada")
+        void deveAdiarRemessasDaMesmaCarteira() throws Exception {
+            CompletableFuture<Remessa> primeira = agrupadorRemessas.submeter(
+                    remessa(remetentes.get(0), destinatarios.get(0), "600.00"));
+            CompletableFuture<Remessa> independente = agrupadorRemessas.submeter(
+                    remessa(remetentes.get(1), destinatarios.get(1), "100.00"));
+            CompletableFuture<Remessa> segunda = agrupadorRemessas.submeter(
+                    remessa(remetentes.get(0), destinatarios.get(2), "600.00"));
+
+            aguardar(primeira);
+            aguardar(independente);
+            Throwable falha = falha(segunda);
+
+            assertAll(
+                    () -> assertInstanceOf(SaldoInsuficienteException.class, falha),
+                    () -> assertEquals(0, new BigDecimal("394.00").compareTo(saldoBRL(remetentes.get(0)))),
+                    () -> assertEquals(0, BigDecimal.ZERO.compareTo(saldoUSD(destinatarios.get(2)))),
+                    () -> assertEquals(2, remessaRepository.count())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de isolamento de falhas")
+    class IsolamentoTests {
+
+        @Test
+        @DisplayName("Deve rejeitar só a remessa inválida e gravar as demais do grupo")
+        void deveIsolarRemessaRejeitada() throws Exception {
+            CompletableFuture<Remessa> valida = agrupadorRemessas.submeter(
+                    remessa(remetentes.get(0), destinatarios.get(0), "100.00"));
+            CompletableFuture<Remessa> semSaldo = agrupadorRemessas.submeter(
+                    remessa(remetentes.get(1), destinatarios.get(1), "5000.00"));
+            CompletableFuture<Remessa> destinatarioInexistente = agrupadorRemessas.submeter(
+                    remessa(remetentes.get(2), Long.MAX_VALUE, "100.00"));
+            CompletableFuture<Remessa> outraValida = agrupadorRemessas.submeter(
+                    remessa(remetentes.get(3), destinatarios.get(3), "100.00"));
+
+            aguardar(valida);
+            aguardar(outraValida);
+            Throwable falhaSaldo = falha(semSaldo);
+            Throwable falhaDestinatario = falha(destinatarioInexistente);
+
+            assertAll(
+                    () -> assertInstanceOf(SaldoInsuficienteException.class, falhaSaldo),
+                    () -> assertEquals(RemessaErrorType.USUARIO_NAO_ENCONTRADO,
+                            assertInstanceOf(RemessaException.class, falhaDestinatario).getErrorType()),
+                    () -> assertEquals(2, remessaRepository.count()),
+                    () -> assertEquals(0, new BigDecimal("1000.00").compareTo(saldoBRL(remetentes.get(1)))),
+                    () -> assertEquals(0, new BigDecimal("899.00").compareTo(saldoBRL(remetentes.get(3))))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve propagar ao chamador a exceção da própria remessa")
+        void devePropagarExcecaoAoChamador() {
+            RemessaRequestDTO requisicao = remessa(remetentes.get(0), destinatarios.get(0), "5000.00");
+
+            assertThrows(SaldoInsuficienteException.class, () -> agrupadorRemessas.realizar(requisicao));
+            assertEquals(0, remessaRepository.count());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.guilherme.desafiointer.integration;
+
+import com.guilherme.desafiointer.config.TestConfig;
+import com.guilherme.desafiointer.config.constants.AppConstants;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@DisplayName("Testes de Integração - Cache de Segundo Nível")
+class CacheSegundoNivelIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    private <T> T buscarEmNovaSessao(Class<T> tipo, Long id) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.find(tipo, id);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve carregar usuário por ID da memória a partir da segunda sessão")
+    void deveCarregarUsuarioDoCache() {
+        Long id = transactionTemplate.execute(status -> usuarioRepository.save(Usuario.builder()
+                .nomeCompleto("Usuário Cache")
+                .email("cache.l2@teste.com")
+                .documento("529.982.247-25")
+                .senha("Senha@123")
+                .tipoUsuario(TipoUsuario.PF)
+                .build()).getId());
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        buscarEmNovaSessao(Usuario.class, id);
+        Usuario usuario = buscarEmNovaSessao(Usuario.class, id);
+
+        CacheRegionStatistics regiao = statistics.getDomainDataRegionStatistics(AppConstants.REGIAO_USUARIO);
+        assertAll(
+                () -> assertEquals("cache.l2@teste.com", usuario.getEmail()),
+                () -> assertEquals(1, regiao.getMissCount()),
+                () -> assertEquals(1, regiao.getHitCount()),
+                () -> assertEquals(1, regiao.getPutCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve refletir alteração de usuário no cache após o commit")
+    void deveAtualizarUsuarioNoCache() {
+        Long id = transactionTemplate.execute(status -> usuarioRepository.save(Usuario.builder()
+                .nomeCompleto("Usuário Cache")
+                .email("cache.l2.alteracao@teste.com")
+                .documento("248.438.034-80")
+                .senha("Senha@123")
+                .tipoUsuario(TipoUsuario.PF)
+                .build()).getId());
+        buscarEmNovaSessao(Usuario.class, id);
+
+        transactionTemplate.executeWithoutResult(status ->
+                usuarioRepository.findById(id).orElseThrow().setSenhaEncoded("NovaSenha@123"));
+
+        assertEquals("NovaSenha@123", buscarEmNovaSessao(Usuario.class, id).getSenha());
+    }
+}
@@ -0,0 +1,48 @@
+package com.guilherme.desafiointer.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registra os comandos SQL preparados pelo Hibernate para que os testes
+ * possam verificar quantas consultas cada operação executa.
+ *
+ * Os comandos das tarefas periódicas (retomada das remessas assíncronas,
+ * renovação das importações e @Scheduled) não são registrados: executam em
+ * momentos arbitrários e tornariam as contagens instáveis. As threads de
+ * trabalho (agrupamento, partições) continuam registradas.
+ */
+public class ContadorSql implements StatementInspector {
+
+    private static final Set<String> THREADS_PERIODICAS = Set.of(
+            "remessas-assincronas-retomada", "importacao-remessas-renovacao", "scheduling-");
+
+    private static final List<String> COMANDOS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        if (!periodica(Thread.currentThread().getName())) {
+            COMANDOS.add(sql.toLowerCase(Locale.ROOT));
+        }
+        return sql;
+    }
+
+    private static boolean periodica(String thread) {
+        return THREADS_PERIODICAS.stream().anyMatch(thread::startsWith);
+    }
+
+    public static void limpar() {
+        COMANDOS.clear();
+    }
+
+    public static List<String> selects() {
+        return COMANDOS.stream().filter(sql -> sql.startsWith("select")).toList();
+    }
+
+    public static List<String> comandos() {
+        return List.copyOf(COMANDOS);
+    }
+}
@@ -0,0 +1,419 @@
+package com.guilherme.desafiointer.integration;
+
+import com.guilherme.desafiointer.config.ImportacaoRemessasProperties;
+import com.guilherme.desafiointer.config.TestConfig;
+import com.guilherme.desafiointer.domain.Carteira;
+import com.guilherme.desafiointer.domain.ImportacaoRemessa;
+import com.guilherme.desafiointer.domain.ImportacaoRemessa.Formato;
+import com.guilherme.desafiointer.domain.ImportacaoRemessa.Status;
+import com.guilherme.desafiointer.domain.ImportacaoRemessaParticao;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.ImportacaoRemessasDTO;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.repository.CarteiraRepository;
+import com.guilherme.desafiointer.repository.ImportacaoRemessaParticaoRepository;
+import com.guilherme.desafiointer.repository.ImportacaoRemessaRepository;
+import com.guilherme.desafiointer.repository.RemessaRepository;
+import com.guilherme.desafiointer.repository.ResumoRemessaDiarioRepository;
+import com.guilherme.desafiointer.repository.ResumoRemessaMensalRepository;
+import com.guilherme.desafiointer.repository.TransacaoDiariaRepository;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import com.guilherme.desafiointer.service.importacao.ImportacaoRemessasService;
+import com.guilherme.desafiointer.service.interfaces.CotacaoServiceInterface;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@TestPropertySource(properties = {
+        "remessas.importacao.particoes=3",
+        "remessas.importacao.tamanho-bloco=4",
+        "remessas.importacao.capacidade-fila=2",
+        "remessas.importacao.diretorio=target/importacoes-remessas-teste"
+})
+@DisplayName("Testes de Integração - Importação de Remessas")
+class ImportacaoRemessasIntegrationTest {
+
+    private static final long ESPERA_MAXIMA_SEGUNDOS = 30;
+
+    @Autowired
+    private ImportacaoRemessasService importacaoService;
+
+    @Autowired
+    private ImportacaoRemessasProperties properties;
+
+    @MockBean
+    private CotacaoServiceInterface cotacaoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CarteiraRepository carteiraRepository;
+
+    @Autowired
+    private RemessaRepository remessaRepository;
+
+    @Autowired
+    private TransacaoDiariaRepository transacaoDiariaRepository;
+
+    @Autowired
+    private ResumoRemessaDiarioRepository resumoRemessaDiarioRepository;
+
+    @Autowired
+    private ResumoRemessaMensalRepository resumoRemessaMensalRepository;
+
+    @Autowired
+    private ImportacaoRemessaRepository importacaoRepository;
+
+    @Autowired
+    private ImportacaoRemessaParticaoRepository particaoRepository;
+
+    private Long empresaA;
+    private Long empresaB;
+    private Long pessoa1;
+    private Long pessoa2;
+
+    @BeforeEach
+    void setUp() {
+        when(cotacaoService.obterCotacao(anyString())).thenReturn(new BigDecimal("5.00"));
+
+        empresaA = criarUsuario("Empresa A", "empresa.a@teste.com", "45.997.418/0001-53", TipoUsuario.PJ, "10000.00");
+        empresaB = criarUsuario("Empresa B", "empresa.b@teste.com", "11.222.333/0001-81", TipoUsuario.PJ, "10000.00");
+        pessoa1 = criarUsuario("Pessoa 1", "pessoa1@teste.com", "529.982.247-25", TipoUsuario.PF, "0.00");
+        pessoa2 = criarUsuario("Pessoa 2", "pessoa2@teste.com", "248.438.034-80", TipoUsuario.PF, "0.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        particaoRepository.deleteAllInBatch();
+        importacaoRepository.deleteAllInBatch();
+        remessaRepository.deleteAllInBatch();
+        resumoRemessaDiarioRepository.deleteAllInBatch();
+        resumoRemessaMensalRepository.deleteAllInBatch();
+        transacaoDiariaRepository.deleteAllInBatch();
+        carteiraRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    private Long criarUsuario(String nome, String email, String documento, TipoUsuario tipo, String saldoBRL) {
+        return transactionTemplate.execute(status -> {
+            Usuario usuario = usuarioRepository.save(Usuario.builder()
+                    .nomeCompleto(nome)
+                    .email(email)
+                    .senha("Senha@123")
+                    .tipoUsuario(tipo)
+                    .documento(documento)
+                    .build());
+            carteiraRepository.save(Carteira.builder()
+                    .saldoBRL(new BigDecimal(saldoBRL))
+                    .saldoUSD(BigDecimal.ZERO)
+                    .usuario(usuario)
+                    .build());
+            return usuario.getId();
+        });
+    }
+
+    private ImportacaoRemessasDTO importar(String nomeArquivo, String conteudo) {
+        return importacaoService.iniciar(new MockMultipartFile("arquivo", nomeArquivo, "text/plain",
+                conteudo.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    private ImportacaoRemessasDTO aguardar(UUID id) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(ESPERA_MAXIMA_SEGUNDOS);
+        ImportacaoRemessasDTO situacao = importacaoService.consultar(id);
+        while (situacao.status() == Status.PENDENTE || situacao.status() == Status.PROCESSANDO) {
+            assertTrue(System.nanoTime() < limite, "importação não terminou: " + situacao);
+            Thread.sleep(20);
+            situacao = importacaoService.consultar(id);
+        }
+        return situacao;
+    }
+
+    /**
+     * Resultado por linha: número da linha -> "STATUS;remessaId;mensagem".
+     */
+    private Map<Long, String> resultado(UUID id) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        importacaoService.escreverResultado(id, saida);
+        List<String> linhas = saida.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("linha;status;remessaId;mensagem", linhas.get(0));
+        return linhas.stream().skip(1)
+                .collect(Collectors.toMap(
+                        linha -> Long.valueOf(linha.substring(0, linha.indexOf(';'))),
+                        linha -> linha.substring(linha.indexOf(';') + 1)));
+    }
+
+    private BigDecimal saldoBRL(Long usuarioId) {
+        return carteiraRepository.findByUsuarioId(usuarioId).orElseThrow().getSaldoBRL();
+    }
+
+    private BigDecimal saldoUSD(Long usuarioId) {
+        return carteiraRepository.findByUsuarioId(usuarioId).orElseThrow().getSaldoUSD();
+    }
+
+    @Nested
+    @DisplayName("Testes de processamento")
+    class ProcessamentoTests {
+
+        @Test
+        @DisplayName("Deve realizar as linhas válidas e registrar o motivo das rejeitadas")
+        void deveProcessarArquivoCsv() throws Exception {
+            String conteudo = String.join("\n",
+                    "usuarioId;destinatarioId;valor;moedaDestino",
+                    empresaA + ";" + pessoa1 + ";100.00;USD",
+                    empresaB + ";" + pessoa2 + ";50.00;USD",
+                    "linha-invalida",
+                    empresaA + ";" + Long.MAX_VALUE + ";10.00;USD",
+                    "",
+                    empresaB + ";" + pessoa1 + ";abc;USD",
+                    empresaA + ";" + pessoa2 + ";100.00;USD",
+                    empresaB + ";" + empresaB + ";10.00;USD");
+
+            ImportacaoRemessasDTO situacao = aguardar(importar("remessas.csv", conteudo).id());
+            Map<Long, String> resultado = resultado(situacao.id());
+
+            assertAll(
+                    () -> assertEquals(Status.CONCLUIDA, situacao.status()),
+                    () -> assertEquals(Formato.CSV, situacao.formato()),
+                    () -> assertEquals(9, situacao.linhasLidas()),
+                    () -> assertEquals(3, situacao.realizadas()),
+                    () -> assertEquals(4, situacao.rejeitadas()),
+                    () -> assertEquals(3, remessaRepository.count()),
+                    () -> assertEquals(List.of(2L, 3L, 4L, 5L, 7L, 8L, 9L), resultado.keySet().stream().sorted().toList()),
+                    () -> assertTrue(resultado.get(2L).startsWith("REALIZADA;")),
+                    () -> assertTrue(resultado.get(4L).startsWith("REJEITADA;;Formato inválido"), resultado.get(4L)),
+                    () -> assertTrue(resultado.get(5L).contains("destinatário não encontrado"), resultado.get(5L)),
+                    () -> assertTrue(resultado.get(7L).startsWith("REJEITADA;;Número inválido"), resultado.get(7L)),
+                    () -> assertTrue(resultado.get(9L).startsWith("REJEITADA;;"), resultado.get(9L)),
+                    () -> assertEquals(0, new BigDecimal("20.00").compareTo(saldoUSD(pessoa1))),
+                    () -> assertEquals(0, new BigDecimal("30.00").compareTo(saldoUSD(pessoa2)))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve processar as remessas de um remetente na ordem do arquivo")
+        void deveManterOrdemDoRemetente() throws Exception {
+            Long empresaC = criarUsuario("Empresa C", "empresa.c@teste.com", "12.345.678/0001-90", TipoUsuario.PJ, "250.00");
+            String linha = empresaC + ";" + pessoa1 + ";100.00;USD";
+
+            ImportacaoRemessasDTO situacao = aguardar(importar("remessas.csv", String.join("\n", linha, linha, linha)).id());
+            Map<Long, String> resultado = resultado(situacao.id());
+
+            assertAll(
+                    () -> assertEquals(2, situacao.realizadas()),
+                    () -> assertEquals(1, situacao.rejeitadas()),
+                    () -> assertTrue(resultado.get(1L).startsWith("REALIZADA;")),
+                    () -> assertTrue(resultado.get(2L).startsWith("REALIZADA;")),
+                    () -> assertTrue(resultado.get(3L).contains("Saldo insuficiente"), resultado.get(3L)),
+                    () -> assertEquals(0, new BigDecimal("48.00").compareTo(saldoBRL(empresaC)))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve repetir a linha com falha transitória em vez de rejeitá-la")
+        void deveRepetirLinhaComFalhaTransitoria() throws Exception {
+            when(cotacaoService.obterCotacao(anyString()))
+                    .thenThrow(new CannotAcquireLockException("lock"), new CannotAcquireLockException("lock"))
+                    .thenReturn(new BigDecimal("5.00"));
+
+            ImportacaoRemessasDTO situacao = aguardar(importar("remessas.csv", empresaA + ";" + pessoa1 + ";100.00;USD").id());
+
+            assertAll(
+                    () -> assertEquals(Status.CONCLUIDA, situacao.status()),
+                    () -> assertEquals(1, situacao.realizadas()),
+                    () -> assertEquals(0, situacao.rejeitadas()),
+                    () -> assertTrue(resultado(situacao.id()).get(1L).startsWith("REALIZADA;"))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve falhar a importação sem rejeitar a linha quando a falha transitória persiste")
+        void deveFalharSemRejeitarComFalhaTransitoriaPersistente() throws Exception {
+            when(cotacaoService.obterCotacao(anyString())).thenThrow(new CannotAcquireLockException("lock"));
+
+            ImportacaoRemessasDTO situacao = aguardar(importar("remessas.csv", empresaA + ";" + pessoa1 + ";100.00;USD").id());
+
+            assertAll(
+                    () -> assertEquals(Status.FALHOU, situacao.status()),
+                    () -> assertEquals(0, situacao.realizadas()),
+                    () -> assertEquals(0, situacao.rejeitadas()),
+                    () -> assertEquals(0, remessaRepository.count())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve importar arquivo NDJSON deduzindo o formato pela extensão")
+        void deveProcessarArquivoNdjson() throws Exception {
+            String conteudo = String.join("\n",
+                    "{\"usuarioId\":" + empresaA + ",\"destinatarioId\":" + pessoa1 + ",\"valor\":25.00,\"moedaDestino\":\"USD\"}",
+                    "{\"usuarioId\":" + empresaB + ",\"destinatarioId\":" + pessoa2 + ",\"valor\":-1,\"moedaDestino\":\"USD\"}",
+                    "{\"usuarioId\":");
+
+            ImportacaoRemessasDTO situacao = aguardar(importar("remessas.ndjson", conteudo).id());
+            Map<Long, String> resultado = resultado(situacao.id());
+
+            assertAll(
+                    () -> assertEquals(Formato.NDJSON, situacao.formato()),
+                    () -> assertEquals(1, situacao.realizadas()),
+                    () -> assertEquals(2, situacao.rejeitadas()),
+                    () -> assertTrue(resultado.get(1L).startsWith("REALIZADA;")),
+                    () -> assertTrue(resultado.get(2L).startsWith("REJEITADA;"), resultado.get(2L)),
+                    () -> assertTrue(resultado.get(3L).startsWith("REJEITADA;;JSON inválido"), resultado.get(3L)),
+                    () -> assertEquals(0, new BigDecimal("5.00").compareTo(saldoUSD(pessoa1)))
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de retomada")
+    class RetomadaTests {
+
+        /**
+         * Importação de 4 linhas (um remetente, uma partição) interrompida com
+         * as linhas 1 e 2 confirmadas; a 3 foi escrita antes de um commit que
+         * não aconteceu.
+         */
+        private UUID interrompida(Status status, LocalDateTime renovadaEm) throws IOException {
+            UUID id = UUID.randomUUID();
+            Path diretorio = Files.createDirectories(Path.of(properties.getDiretorio(), id.toString()));
+            Path entrada = Files.writeString(diretorio.resolve("entrada.csv"),
+                    String.join("\n", Collections.nCopies(4, empresaA + ";" + pessoa1 + ";10.00;USD")));
+            Files.writeString(diretorio.resolve("resultado-0.csv"), "1;REALIZADA;1;\n2;REALIZADA;2;\n3;REALIZADA;3;\n");
+            transactionTemplate.executeWithoutResult(transacao -> {
+                ImportacaoRemessa importacao = importacaoRepository.save(ImportacaoRemessa.builder()
+                        .id(id)
+                        .formato(Formato.CSV)
+                        .arquivo(entrada.toAbsolutePath().toString())
+                        .particoes(1)
+                        .status(status)
+                        .execucao(status == Status.PROCESSANDO ? UUID.randomUUID() : null)
+                        .renovadaEm(renovadaEm)
+                        .criadaEm(LocalDateTime.now())
+                        .build());
+                particaoRepository.save(ImportacaoRemessaParticao.builder()
+                        .importacao(importacao)
+                        .particao(0)
+                        .ultimaLinha(2)
+                        .realizadas(2)
+                        .build());
+            });
+            return id;
+        }
+
+        @Test
+        @DisplayName("Deve retomar após a última linha confirmada descartando resultado não confirmado")
+        void deveRetomarAposUltimaLinhaConfirmada() throws Exception {
+            UUID id = interrompida(Status.FALHOU, null);
+
+            importacaoService.retomar(id);
+            ImportacaoRemessasDTO situacao = aguardar(id);
+            Map<Long, String> resultado = resultado(id);
+
+            assertAll(
+                    () -> assertEquals(Status.CONCLUIDA, situacao.status()),
+                    () -> assertEquals(4, situacao.realizadas()),
+                    () -> assertEquals(2, remessaRepository.count()),
+                    () -> assertEquals(List.of(1L, 2L, 3L, 4L), resultado.keySet().stream().sorted().toList()),
+                    () -> assertNotEquals("REALIZADA;3;", resultado.get(3L)),
+                    () -> assertEquals(0, new BigDecimal("4.00").compareTo(saldoUSD(pessoa1)))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve retomar execução sem renovação de uma instância encerrada")
+        void deveRetomarExecucaoExpirada() throws Exception {
+            UUID id = interrompida(Status.PROCESSANDO, LocalDateTime.now().minusHours(1));
+
+            importacaoService.retomar(id);
+            ImportacaoRemessasDTO situacao = aguardar(id);
+
+            assertAll(
+                    () -> assertEquals(Status.CONCLUIDA, situacao.status()),
+                    () -> assertEquals(4, situacao.realizadas()),
+                    () -> assertEquals(2, remessaRepository.count())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve recusar retomada de execução ativa em outra instância")
+        void deveRecusarRetomadaDeExecucaoAtiva() throws Exception {
+            UUID id = interrompida(Status.PROCESSANDO, LocalDateTime.now());
+
+            RemessaException exception = assertThrows(RemessaException.class, () -> importacaoService.retomar(id));
+            assertAll(
+                    () -> assertEquals(RemessaErrorType.OPERACAO_EM_ANDAMENTO, exception.getErrorType()),
+                    () -> assertEquals(Status.PROCESSANDO, importacaoService.consultar(id).status()),
+                    () -> assertEquals(0, remessaRepository.count())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve recusar avanço de bloco com linhas já confirmadas")
+        void deveRecusarAvancoDeBlocoConfirmado() throws Exception {
+            UUID id = interrompida(Status.PROCESSANDO, LocalDateTime.now());
+
+            Integer repetido = transactionTemplate.execute(transacao -> particaoRepository.avancar(id, 0, 2, 4, 2, 0));
+            Integer seguinte = transactionTemplate.execute(transacao -> particaoRepository.avancar(id, 0, 3, 4, 2, 0));
+
+            assertAll(
+                    () -> assertEquals(0, repetido),
+                    () -> assertEquals(1, seguinte),
+                    () -> assertEquals(4, particaoRepository.buscarPorImportacao(id).get(0).getUltimaLinha())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve recusar retomada de importação concluída")
+        void deveRecusarRetomadaDeConcluida() throws Exception {
+            UUID id = aguardar(importar("remessas.csv", empresaA + ";" + pessoa1 + ";10.00;USD").id()).id();
+
+            RemessaException exception = assertThrows(RemessaException.class, () -> importacaoService.retomar(id));
+            assertEquals(RemessaErrorType.DADOS_INVALIDOS, exception.getErrorType());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção para importação inexistente")
+        void deveLancarExcecaoParaImportacaoInexistente() {
+            UUID id = UUID.randomUUID();
+
+            RemessaException exception = assertThrows(RemessaException.class, () -> importacaoService.consultar(id));
+            assertEquals(RemessaErrorType.IMPORTACAO_REMESSAS_NAO_ENCONTRADA, exception.getErrorType());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.guilherme.desafiointer.integration;
+
+import com.guilherme.desafiointer.config.TestConfig;
+import com.guilherme.desafiointer.domain.CotacaoHistorico;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.repository.CarteiraRepository;
+import com.guilherme.desafiointer.repository.CotacaoHistoricoRepository;
+import com.guilherme.desafiointer.repository.UsuarioLoteRepository;
+import com.guilherme.desafiointer.repository.UsuarioLoteRepository.NovoUsuario;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.guilherme.desafiointer.integration.ContadorSql")
+@DisplayName("Testes de Integração - Inserção em Lote")
+@Transactional
+class InsercaoEmLoteIntegrationTest {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private CotacaoHistoricoRepository cotacaoHistoricoRepository;
+
+    @Autowired
+    private UsuarioLoteRepository usuarioLoteRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CarteiraRepository carteiraRepository;
+
+    @BeforeEach
+    void setUp() {
+        ContadorSql.limpar();
+    }
+
+    private long comandos(String prefixo) {
+        return ContadorSql.comandos().stream().filter(sql -> sql.startsWith(prefixo)).count();
+    }
+
+    private long leiturasDeSequencia(String sequencia) {
+        return ContadorSql.comandos().stream()
+                .filter(sql -> sql.contains("next value for " + sequencia))
+                .count();
+    }
+
+    /*
+     * O StatementInspector é chamado quando o comando é preparado: em batch o
+     * mesmo insert é reaproveitado para todas as linhas, enquanto com IDENTITY
+     * cada linha prepara (e executa) o seu.
+     */
+
+    @Test
+    @DisplayName("Deve agrupar os inserts de 120 cotações lendo a sequência a cada 50 IDs")
+    void deveAgruparInsertsDeCotacao() {
+        LocalDateTime agora = LocalDateTime.now();
+        cotacaoHistoricoRepository.saveAll(IntStream.range(0, 120)
+                .mapToObj(i -> CotacaoHistorico.builder()
+                        .moeda("USD")
+                        .valor(new BigDecimal("5.00").add(BigDecimal.valueOf(i, 4)))
+                        .dataHora(agora.minusMinutes(i))
+                        .isFimDeSemana(false)
+                        .ultimaAtualizacao(agora)
+                        .build())
+                .toList());
+        entityManager.flush();
+
+        assertAll(
+                () -> assertEquals(1, comandos("insert into cotacoes_historico"), () -> "comandos: " + ContadorSql.comandos()),
+                () -> assertTrue(leiturasDeSequencia("cotacoes_historico_seq") <= 4,
+                        () -> "comandos: " + ContadorSql.comandos()),
+                () -> assertEquals(120, cotacaoHistoricoRepository.count())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve inserir usuários e carteiras da importação em batches")
+    void deveAgruparInsertsDaImportacao() {
+        List<NovoUsuario> usuarios = IntStream.range(0, 60)
+                .mapToObj(i -> new NovoUsuario("Usuário " + i, "lote" + i + "@teste.com",
+                        "documento-" + i, "hash", TipoUsuario.PF))
+                .toList();
+
+        usuarioLoteRepository.inserirComCarteiras(usuarios);
+
+        assertAll(
+                () -> assertEquals(1, comandos("insert into usuarios"), () -> "comandos: " + ContadorSql.comandos()),
+                () -> assertEquals(1, comandos("insert into carteiras"), () -> "comandos: " + ContadorSql.comandos()),
+                () -> assertTrue(leiturasDeSequencia("usuarios_seq") <= 3, () -> "comandos: " + ContadorSql.comandos()),
+                () -> assertEquals(60, usuarioRepository.count()),
+                () -> assertEquals(60, carteiraRepository.count())
+        );
+    }
+}
@@ -0,0 +1,245 @@
+package com.guilherme.desafiointer.integration;
+
+import com.guilherme.desafiointer.config.TestConfig;
+import com.guilherme.desafiointer.domain.Carteira;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.RemessaLiquidacaoRequestDTO;
+import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.exception.domain.LimiteDiarioExcedidoException;
+import com.guilherme.desafiointer.exception.domain.SaldoInsuficienteException;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.repository.CarteiraRepository;
+import com.guilherme.desafiointer.repository.RemessaRepository;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import com.guilherme.desafiointer.service.interfaces.CotacaoServiceInterface;
+import com.guilherme.desafiointer.service.interfaces.RemessaServiceInterface;
+import com.guilherme.desafiointer.service.processor.LiquidacaoMultilateral;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.guilherme.desafiointer.integration.ContadorSql")
+@DisplayName("Testes de Integração - Liquidação Multilateral")
+@Transactional
+class LiquidacaoMultilateralIntegrationTest {
+
+    private static final BigDecimal COTACAO = new BigDecimal("5.00");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private RemessaServiceInterface remessaService;
+
+    @MockBean
+    private CotacaoServiceInterface cotacaoService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CarteiraRepository carteiraRepository;
+
+    @Autowired
+    private RemessaRepository remessaRepository;
+
+    private Long empresaA;
+    private Long empresaB;
+    private Long empresaC;
+
+    @BeforeEach
+    void setUp() {
+        when(cotacaoService.obterCotacao(anyString())).thenReturn(COTACAO);
+
+        empresaA = criarUsuario("Empresa A", "empresa.a@teste.com", "45.997.418/0001-53",
+                TipoUsuario.PJ, "10000.00", "1000.00");
+        empresaB = criarUsuario("Empresa B", "empresa.b@teste.com", "12.345.678/0001-90",
+                TipoUsuario.PJ, "10000.00", "1000.00");
+        empresaC = criarUsuario("Empresa C", "empresa.c@teste.com", "documento-liquidacao-c",
+                TipoUsuario.PJ, "10000.00", "1000.00");
+        entityManager.flush();
+        entityManager.clear();
+        ContadorSql.limpar();
+    }
+
+    private Long criarUsuario(String nome, String email, String documento, TipoUsuario tipo,
+                              String saldoBRL, String saldoUSD) {
+        Usuario usuario = usuarioRepository.save(Usuario.builder()
+                .nomeCompleto(nome)
+                .email(email)
+                .senha("Senha@123")
+                .tipoUsuario(tipo)
+                .documento(documento)
+                .build());
+        carteiraRepository.save(Carteira.builder()
+                .saldoBRL(new BigDecimal(saldoBRL))
+                .saldoUSD(new BigDecimal(saldoUSD))
+                .usuario(usuario)
+                .build());
+        return usuario.getId();
+    }
+
+    private RemessaRequestDTO remessa(Long remetenteId, Long destinatarioId, String valor, String moedaDestino) {
+        return RemessaRequestDTO.builder()
+                .usuarioId(remetenteId)
+                .destinatarioId(destinatarioId)
+                .valor(new BigDecimal(valor))
+                .moedaDestino(moedaDestino)
+                .build();
+    }
+
+    private long comandos(String prefixo) {
+        return ContadorSql.comandos().stream().filter(sql -> sql.startsWith(prefixo)).count();
+    }
+
+    private void assertSaldos(Long usuarioId, String saldoBRL, String saldoUSD) {
+        Carteira carteira = carteiraRepository.findByUsuarioId(usuarioId).orElseThrow();
+        assertEquals(0, new BigDecimal(saldoBRL).compareTo(carteira.getSaldoBRL()),
+                () -> "saldo BRL do usuário " + usuarioId + ": " + carteira.getSaldoBRL());
+        assertEquals(0, new BigDecimal(saldoUSD).compareTo(carteira.getSaldoUSD()),
+                () -> "saldo USD do usuário " + usuarioId + ": " + carteira.getSaldoUSD());
+    }
+
+    @Nested
+    @DisplayName("Testes de compensação")
+    class CompensacaoTests {
+
+        @Test
+        @DisplayName("Deve aplicar a posição líquida de cada carteira e registrar todas as remessas")
+        void deveAplicarPosicoesLiquidas() {
+            LiquidacaoMultilateral liquidacao = remessaService.realizarLiquidacao(new RemessaLiquidacaoRequestDTO(List.of(
+                    remessa(empresaA, empresaB, "1000.00", "USD"),
+                    remessa(empresaB, empresaA, "100.00", "BRL"),
+                    remessa(empresaB, empresaC, "1000.00", "USD"),
+                    remessa(empresaC, empresaA, "2000.00", "USD"))));
+            entityManager.flush();
+            entityManager.clear();
+
+            assertAll(
+                    () -> assertEquals(4, liquidacao.remessas().size()),
+                    () -> assertEquals(6, liquidacao.posicoes().size()),
+                    () -> assertEquals(3, liquidacao.carteirasAtualizadas()),
+                    () -> assertEquals(4, remessaRepository.count()),
+                    () -> assertSaldos(empresaA, "9490.00", "1400.00"),
+                    () -> assertSaldos(empresaB, "8990.00", "1099.00"),
+                    () -> assertSaldos(empresaC, "7980.00", "1200.00")
+            );
+        }
+
+        @Test
+        @DisplayName("Deve bloquear as carteiras uma vez e gravar uma atualização por carteira em batch")
+        void deveAgruparComandosDaLiquidacao() {
+            remessaService.realizarLiquidacao(new RemessaLiquidacaoRequestDTO(List.of(
+                    remessa(empresaA, empresaB, "1000.00", "USD"),
+                    remessa(empresaB, empresaA, "100.00", "BRL"),
+                    remessa(empresaA, empresaC, "300.00", "USD"),
+                    remessa(empresaC, empresaA, "2000.00", "USD"))));
+            entityManager.flush();
+
+            verify(cotacaoService, times(1)).obterCotacao("USD");
+            verify(cotacaoService, times(1)).obterCotacao("BRL");
+            assertAll(
+                    () -> assertEquals(1, ContadorSql.selects().stream().filter(sql -> sql.contains("for update")).count(),
+                            () -> "comandos: " + ContadorSql.comandos()),
+                    () -> assertEquals(1, comandos("update carteiras"), () -> "comandos: " + ContadorSql.comandos()),
+                    () -> assertEquals(1, comandos("insert into remessas"), () -> "comandos: " + ContadorSql.comandos())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve aceitar envio coberto pelo que a carteira recebe na mesma liquidação")
+        void deveCompensarRecebimentoNaMesmaLiquidacao() {
+            Long semSaldo = criarUsuario("Empresa Sem Saldo", "sem.saldo@teste.com", "documento-liquidacao-d",
+                    TipoUsuario.PJ, "0.00", "0.00");
+
+            remessaService.realizarLiquidacao(new RemessaLiquidacaoRequestDTO(List.of(
+                    remessa(empresaB, semSaldo, "200.00", "BRL"),
+                    remessa(semSaldo, empresaB, "500.00", "USD"))));
+            entityManager.flush();
+            entityManager.clear();
+
+            assertAll(
+                    () -> assertSaldos(semSaldo, "495.00", "0.00"),
+                    () -> assertSaldos(empresaB, "10000.00", "898.00"),
+                    () -> assertEquals(2, remessaRepository.count())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de rejeição")
+    class RejeicaoTests {
+
+        @Test
+        @DisplayName("Deve rejeitar a liquidação quando uma posição líquida excede o saldo")
+        void deveRejeitarPosicaoSemSaldo() {
+            RemessaLiquidacaoRequestDTO requisicao = new RemessaLiquidacaoRequestDTO(List.of(
+                    remessa(empresaA, empresaB, "9500.00", "USD"),
+                    remessa(empresaB, empresaA, "100.00", "BRL"),
+                    remessa(empresaA, empresaC, "1000.00", "USD")));
+
+            assertThrows(SaldoInsuficienteException.class, () -> remessaService.realizarLiquidacao(requisicao));
+            assertEquals(0, remessaRepository.count());
+        }
+
+        @Test
+        @DisplayName("Deve validar o limite diário sobre o total enviado pelo remetente")
+        void deveRejeitarTotalAcimaDoLimite() {
+            Long pessoaFisica = criarUsuario("Pessoa Física", "pf.liquidacao@teste.com", "529.982.247-25",
+                    TipoUsuario.PF, "20000.00", "0.00");
+            RemessaLiquidacaoRequestDTO requisicao = new RemessaLiquidacaoRequestDTO(List.of(
+                    remessa(pessoaFisica, empresaA, "6000.00", "USD"),
+                    remessa(empresaA, pessoaFisica, "100.00", "USD"),
+                    remessa(pessoaFisica, empresaB, "6000.00", "USD")));
+
+            assertThrows(LimiteDiarioExcedidoException.class, () -> remessaService.realizarLiquidacao(requisicao));
+            assertEquals(0, remessaRepository.count());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar remessa para o próprio remetente")
+        void deveRejeitarRemessaParaSiMesmo() {
+            RemessaLiquidacaoRequestDTO requisicao = new RemessaLiquidacaoRequestDTO(List.of(
+                    remessa(empresaA, empresaB, "10.00", "USD"),
+                    remessa(empresaC, empresaC, "10.00", "USD")));
+
+            RemessaException exception = assertThrows(RemessaException.class,
+                    () -> remessaService.realizarLiquidacao(requisicao));
+            assertEquals(RemessaErrorType.DADOS_INVALIDOS, exception.getErrorType());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar liquidação com participante inexistente")
+        void deveRejeitarParticipanteInexistente() {
+            RemessaLiquidacaoRequestDTO requisicao = new RemessaLiquidacaoRequestDTO(List.of(
+                    remessa(empresaA, empresaB, "10.00", "USD"),
+                    remessa(empresaB, Long.MAX_VALUE, "10.00", "USD")));
+
+            RemessaException exception = assertThrows(RemessaException.class,
+                    () -> remessaService.realizarLiquidacao(requisicao));
+            assertEquals(RemessaErrorType.USUARIO_NAO_ENCONTRADO, exception.getErrorType());
+        }
+    }
+}
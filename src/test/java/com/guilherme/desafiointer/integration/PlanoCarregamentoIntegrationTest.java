@@ -0,0 +1,223 @@
+package com.guilherme.desafiointer.integration;
+
+import com.guilherme.desafiointer.config.TestConfig;
+import com.guilherme.desafiointer.domain.Carteira;
+import com.guilherme.desafiointer.domain.Remessa;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.repository.CarteiraRepository;
+import com.guilherme.desafiointer.repository.RemessaRepository;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.guilherme.desafiointer.integration.ContadorSql",
+        "cache.segundo-nivel.habilitado=false"
+})
+@DisplayName("Testes de Integração - Planos de Carregamento")
+@Transactional
+class PlanoCarregamentoIntegrationTest {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CarteiraRepository carteiraRepository;
+
+    @Autowired
+    private RemessaRepository remessaRepository;
+
+    private Usuario remetente;
+    private Usuario destinatario;
+
+    @BeforeEach
+    void setUp() {
+        remetente = criarUsuario("João Remetente", "remetente.plano@teste.com", "529.982.247-25");
+        destinatario = criarUsuario("Maria Destinatária", "destinatario.plano@teste.com", "248.438.034-80");
+        entityManager.flush();
+        entityManager.clear();
+        ContadorSql.limpar();
+    }
+
+    private Usuario criarUsuario(String nome, String email, String documento) {
+        Usuario usuario = usuarioRepository.save(Usuario.builder()
+                .nomeCompleto(nome)
+                .email(email)
+                .senha("Senha@123")
+                .tipoUsuario(TipoUsuario.PF)
+                .documento(documento)
+                .build());
+        carteiraRepository.save(Carteira.builder()
+                .saldoBRL(new BigDecimal("1000.00"))
+                .saldoUSD(new BigDecimal("200.00"))
+                .usuario(usuario)
+                .build());
+        return usuario;
+    }
+
+    private void criarRemessa(LocalDateTime dataCriacao) {
+        entityManager.persist(Remessa.builder()
+                .usuario(entityManager.getReference(Usuario.class, remetente.getId()))
+                .destinatario(entityManager.getReference(Usuario.class, destinatario.getId()))
+                .valor(new BigDecimal("100.00"))
+                .taxa(new BigDecimal("2.00"))
+                .moedaDestino("USD")
+                .cotacao(new BigDecimal("5.00"))
+                .valorConvertido(new BigDecimal("19.60"))
+                .dataCriacao(dataCriacao)
+                .build());
+    }
+
+    private String consultas() {
+        return "consultas: " + ContadorSql.comandos();
+    }
+
+    @Nested
+    @DisplayName("Testes do usuário")
+    class UsuarioTests {
+
+        @Test
+        @DisplayName("Deve carregar o usuário sem consultar a carteira")
+        void deveCarregarUsuarioSemCarteira() {
+            Usuario usuario = usuarioRepository.findById(remetente.getId()).orElseThrow();
+
+            assertAll(
+                    () -> assertEquals(1, ContadorSql.selects().size(), consultas()),
+                    () -> assertTrue(ContadorSql.selects().stream().noneMatch(sql -> sql.contains("carteiras")), consultas()),
+                    () -> assertFalse(Hibernate.isPropertyInitialized(usuario, "carteira"))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve consultar a carteira apenas quando acessada")
+        void deveConsultarCarteiraSobDemanda() {
+            Usuario usuario = usuarioRepository.findById(remetente.getId()).orElseThrow();
+            BigDecimal saldo = usuario.getCarteira().getSaldoBRL();
+
+            assertAll(
+                    () -> assertEquals(0, new BigDecimal("1000.00").compareTo(saldo)),
+                    () -> assertEquals(2, ContadorSql.selects().size(), consultas())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve carregar usuário e carteira em uma única consulta com o grafo de administração")
+        void deveCarregarUsuarioComCarteira() {
+            Usuario usuario = usuarioRepository.findComCarteiraById(remetente.getId()).orElseThrow();
+            BigDecimal saldo = usuario.getCarteira().getSaldoUSD();
+
+            assertAll(
+                    () -> assertEquals(0, new BigDecimal("200.00").compareTo(saldo)),
+                    () -> assertEquals(1, ContadorSql.selects().size(), consultas()),
+                    () -> assertTrue(ContadorSql.selects().get(0).contains("carteiras"), consultas())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes da carteira")
+    class CarteiraTests {
+
+        @Test
+        @DisplayName("Deve bloquear a carteira sem junção nem consulta do usuário")
+        void deveBloquearCarteiraSemUsuario() {
+            Carteira carteira = carteiraRepository.findByUsuarioIdWithPessimisticLock(remetente.getId()).orElseThrow();
+
+            List<String> selects = ContadorSql.selects();
+            assertAll(
+                    () -> assertEquals(1, selects.size(), consultas()),
+                    () -> assertFalse(selects.get(0).contains("join"), selects.get(0)),
+                    () -> assertFalse(selects.get(0).contains("usuarios"), selects.get(0)),
+                    () -> assertFalse(Hibernate.isInitialized(carteira.getUsuario())),
+                    () -> assertEquals(remetente.getId(), carteira.getUsuario().getId())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve carregar carteiras e usuários da remessa sem consultas secundárias")
+        void deveCarregarCarteirasComUsuarios() {
+            List<Carteira> carteiras = carteiraRepository.buscarPorUsuariosComLock(
+                    List.of(remetente.getId(), destinatario.getId()));
+            carteiras.forEach(carteira -> carteira.getUsuario().getTipoUsuario());
+
+            assertAll(
+                    () -> assertEquals(2, carteiras.size()),
+                    () -> assertEquals(1, ContadorSql.selects().size(), consultas())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes do histórico")
+    class HistoricoTests {
+
+        @BeforeEach
+        void criarRemessas() {
+            LocalDateTime agora = LocalDateTime.now();
+            criarRemessa(agora.minusHours(2));
+            criarRemessa(agora.minusHours(1));
+            entityManager.flush();
+            entityManager.clear();
+            ContadorSql.limpar();
+        }
+
+        @Test
+        @DisplayName("Deve trazer remetente e destinatário na consulta do período, sem carteiras")
+        void deveCarregarParticipantesNaConsultaDoPeriodo() {
+            LocalDateTime agora = LocalDateTime.now();
+            List<Remessa> remessas = remessaRepository.buscarRemessasDoPeriodo(
+                    entityManager.getReference(Usuario.class, remetente.getId()), agora.minusDays(1), agora);
+            entityManager.clear();
+
+            assertAll(
+                    () -> assertEquals(2, remessas.size()),
+                    () -> assertEquals("Maria Destinatária", remessas.get(0).getDestinatario().getNomeCompleto()),
+                    () -> assertEquals("João Remetente", remessas.get(1).getUsuario().getNomeCompleto()),
+                    () -> assertEquals(1, ContadorSql.selects().size(), consultas()),
+                    () -> assertTrue(ContadorSql.selects().stream().noneMatch(sql -> sql.contains("carteiras")), consultas())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve paginar o histórico sem consultar carteiras")
+        void devePaginarHistoricoSemCarteiras() {
+            LocalDateTime agora = LocalDateTime.now();
+            Page<Remessa> pagina = remessaRepository.buscarHistoricoTransacoes(
+                    entityManager.getReference(Usuario.class, remetente.getId()),
+                    agora.minusDays(1), agora, PageRequest.of(0, 1));
+            entityManager.clear();
+
+            assertAll(
+                    () -> assertEquals(2, pagina.getTotalElements()),
+                    () -> assertEquals("Maria Destinatária", pagina.getContent().get(0).getDestinatario().getNomeCompleto()),
+                    () -> assertEquals(2, ContadorSql.selects().size(), consultas()),
+                    () -> assertTrue(ContadorSql.selects().stream().noneMatch(sql -> sql.contains("carteiras")), consultas())
+            );
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.guilherme.desafiointer.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guilherme.desafiointer.config.TestConfig;
+import com.guilherme.desafiointer.controller.RemessaAssincronaController;
+import com.guilherme.desafiointer.domain.Carteira;
+import com.guilherme.desafiointer.domain.RemessaAssincrona;
+import com.guilherme.desafiointer.domain.RemessaAssincrona.Status;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.RemessaAssincronaDTO;
+import com.guilherme.desafiointer.exception.handler.GlobalExceptionHandler;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.repository.CarteiraRepository;
+import com.guilherme.desafiointer.repository.RemessaAssincronaRepository;
+import com.guilherme.desafiointer.repository.RemessaRepository;
+import com.guilherme.desafiointer.repository.ResumoRemessaDiarioRepository;
+import com.guilherme.desafiointer.repository.ResumoRemessaMensalRepository;
+import com.guilherme.desafiointer.repository.TransacaoDiariaRepository;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import com.guilherme.desafiointer.service.assincrona.RemessasAssincronasService;
+import com.guilherme.desafiointer.service.interfaces.CotacaoServiceInterface;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@DisplayName("Testes de Integração - Remessas Assíncronas")
+class RemessaAssincronaIntegrationTest {
+
+    private static final long ESPERA_MAXIMA_MS = TimeUnit.SECONDS.toMillis(30);
+
+    @Autowired
+    private RemessaAssincronaController controller;
+
+    @Autowired
+    private RemessasAssincronasService remessasAssincronasService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private CotacaoServiceInterface cotacaoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CarteiraRepository carteiraRepository;
+
+    @Autowired
+    private RemessaRepository remessaRepository;
+
+    @Autowired
+    private RemessaAssincronaRepository remessaAssincronaRepository;
+
+    @Autowired
+    private TransacaoDiariaRepository transacaoDiariaRepository;
+
+    @Autowired
+    private ResumoRemessaDiarioRepository resumoRemessaDiarioRepository;
+
+    @Autowired
+    private ResumoRemessaMensalRepository resumoRemessaMensalRepository;
+
+    private MockMvc mockMvc;
+    private Long empresa;
+    private Long pessoa;
+
+    @BeforeEach
+    void setUp() {
+        when(cotacaoService.obterCotacao(anyString())).thenReturn(new BigDecimal("5.00"));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        empresa = criarUsuario("Empresa Assíncrona", "empresa@assincrona.com", "45.997.418/0001-53",
+                TipoUsuario.PJ, "1000.00");
+        pessoa = criarUsuario("Pessoa Assíncrona", "pessoa@assincrona.com", "529.982.247-25",
+                TipoUsuario.PF, "0.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        remessaAssincronaRepository.deleteAllInBatch();
+        remessaRepository.deleteAllInBatch();
+        resumoRemessaDiarioRepository.deleteAllInBatch();
+        resumoRemessaMensalRepository.deleteAllInBatch();
+        transacaoDiariaRepository.deleteAllInBatch();
+        carteiraRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    private Long criarUsuario(String nome, String email, String documento, TipoUsuario tipo, String saldoBRL) {
+        return transactionTemplate.execute(status -> {
+            Usuario usuario = usuarioRepository.save(Usuario.builder()
+                    .nomeCompleto(nome)
+                    .email(email)
+                    .senha("Senha@123")
+                    .tipoUsuario(tipo)
+                    .documento(documento)
+                    .build());
+            carteiraRepository.save(Carteira.builder()
+                    .saldoBRL(new BigDecimal(saldoBRL))
+                    .saldoUSD(BigDecimal.ZERO)
+                    .usuario(usuario)
+                    .build());
+            return usuario.getId();
+        });
+    }
+
+    private String corpo(Long remetenteId, Long destinatarioId, String valor) {
+        return "{\"usuarioId\":" + remetenteId + ",\"destinatarioId\":" + destinatarioId
+                + ",\"valor\":" + valor + ",\"moedaDestino\":\"USD\"}";
+    }
+
+    private RemessaAssincronaDTO enviar(Long remetenteId, Long destinatarioId, String valor) throws Exception {
+        MvcResult resultado = mockMvc.perform(post("/api/remessas/assincronas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo(remetenteId, destinatarioId, valor)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn();
+        return objectMapper.readValue(resultado.getResponse().getContentAsString(), RemessaAssincronaDTO.class);
+    }
+
+    private RemessaAssincronaDTO aguardarFinalizacao(UUID id) throws InterruptedException {
+        long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MS;
+        RemessaAssincronaDTO situacao = remessasAssincronasService.consultar(id);
+        while (!situacao.finalizada() && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            situacao = remessasAssincronasService.consultar(id);
+        }
+        return situacao;
+    }
+
+    private boolean aguardarSemAcompanhamentos() throws InterruptedException {
+        long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MS;
+        while (remessasAssincronasService.acompanhamentosAtivos() > 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        return remessasAssincronasService.acompanhamentosAtivos() == 0;
+    }
+
+    /**
+     * Grava uma remessa como se tivesse sido recebida por outra instância.
+     */
+    private UUID gravar(Status status, LocalDateTime atualizadaEm) {
+        return remessaAssincronaRepository.save(RemessaAssincrona.builder()
+                .id(UUID.randomUUID())
+                .usuarioId(empresa)
+                .destinatarioId(pessoa)
+                .valor(new BigDecimal("100.00"))
+                .moedaDestino("USD")
+                .status(status)
+                .recebidaEm(atualizadaEm)
+                .atualizadaEm(atualizadaEm)
+                .build()).getId();
+    }
+
+    @Nested
+    @DisplayName("Testes de envio")
+    class EnvioTests {
+
+        @Test
+        @DisplayName("Deve aceitar a remessa com 202 e concluí-la em segundo plano")
+        void deveAceitarEConcluirRemessa() throws Exception {
+            RemessaAssincronaDTO aceita = enviar(empresa, pessoa, "100.00");
+            RemessaAssincronaDTO situacao = aguardarFinalizacao(aceita.id());
+
+            assertAll(
+                    () -> assertNotEquals(Status.CONCLUIDA, aceita.status()),
+                    () -> assertEquals(Status.CONCLUIDA, situacao.status()),
+                    () -> assertEquals(empresa, situacao.remessa().getUsuarioId()),
+                    () -> assertNotNull(situacao.concluidaEm()),
+                    () -> assertEquals(1, remessaRepository.count()),
+                    () -> assertEquals(0, new BigDecimal("899.00").compareTo(
+                            carteiraRepository.findByUsuarioId(empresa).orElseThrow().getSaldoBRL()))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve processar as remessas do mesmo remetente na ordem de envio")
+        void deveRespeitarOrdemDoRemetente() throws Exception {
+            RemessaAssincronaDTO primeira = enviar(empresa, pessoa, "600.00");
+            RemessaAssincronaDTO segunda = enviar(empresa, pessoa, "600.00");
+
+            RemessaAssincronaDTO situacaoPrimeira = aguardarFinalizacao(primeira.id());
+            RemessaAssincronaDTO situacaoSegunda = aguardarFinalizacao(segunda.id());
+
+            assertAll(
+                    () -> assertEquals(Status.CONCLUIDA, situacaoPrimeira.status()),
+                    () -> assertEquals(Status.REJEITADA, situacaoSegunda.status()),
+                    () -> assertEquals(RemessaErrorType.SALDO_INSUFICIENTE, situacaoSegunda.erro()),
+                    () -> assertNotNull(situacaoSegunda.mensagem()),
+                    () -> assertEquals(1, remessaRepository.count())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve responder 400 sem enfileirar remessa com campos inválidos")
+        void deveRecusarCamposInvalidos() throws Exception {
+            mockMvc.perform(post("/api/remessas/assincronas")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"usuarioId\":1,\"valor\":0,\"moedaDestino\":\"usd\"}"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de acompanhamento")
+    class AcompanhamentoTests {
+
+        @Test
+        @DisplayName("Deve enviar por eventos a situação final e encerrar o fluxo")
+        void deveAcompanharPorEventos() throws Exception {
+            RemessaAssincronaDTO aceita = enviar(empresa, pessoa, "100.00");
+
+            MvcResult resultado = mockMvc.perform(get("/api/remessas/assincronas/{id}/eventos", aceita.id()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            resultado.getAsyncResult(ESPERA_MAXIMA_MS);
+
+            String eventos = resultado.getResponse().getContentAsString();
+            assertAll(
+                    () -> assertTrue(eventos.contains("event:situacao"), eventos),
+                    () -> assertTrue(eventos.contains("\"status\":\"CONCLUIDA\""), eventos)
+            );
+        }
+
+        @Test
+        @DisplayName("Deve descartar da memória o acompanhamento da remessa finalizada")
+        void deveDescartarAcompanhamentoFinalizado() throws Exception {
+            RemessaAssincronaDTO aceita = enviar(empresa, pessoa, "100.00");
+            aguardarFinalizacao(aceita.id());
+
+            assertTrue(aguardarSemAcompanhamentos());
+        }
+
+        @Test
+        @DisplayName("Deve consultar a situação pelo identificador")
+        void deveConsultarSituacao() throws Exception {
+            RemessaAssincronaDTO aceita = enviar(empresa, pessoa, "100.00");
+            aguardarFinalizacao(aceita.id());
+
+            mockMvc.perform(get("/api/remessas/assincronas/{id}", aceita.id()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("CONCLUIDA"))
+                    .andExpect(jsonPath("$.remessa.destinatarioId").value(pessoa));
+        }
+
+        @Test
+        @DisplayName("Deve responder 404 para remessa desconhecida")
+        void deveResponderNaoEncontrada() throws Exception {
+            mockMvc.perform(get("/api/remessas/assincronas/{id}", UUID.randomUUID()))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de retomada")
+    class RetomadaTests {
+
+        @Test
+        @DisplayName("Deve processar a remessa pendente recebida por uma instância encerrada")
+        void deveRetomarRemessaPendente() throws Exception {
+            UUID id = gravar(Status.PENDENTE, LocalDateTime.now().minusMinutes(10));
+
+            remessasAssincronasService.retomar();
+            RemessaAssincronaDTO situacao = aguardarFinalizacao(id);
+
+            assertAll(
+                    () -> assertEquals(Status.CONCLUIDA, situacao.status()),
+                    () -> assertEquals(empresa, situacao.remessa().getUsuarioId()),
+                    () -> assertEquals(1, remessaRepository.count())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar sem reprocessar a remessa interrompida em processamento")
+        void deveRejeitarRemessaInterrompida() {
+            UUID id = gravar(Status.PROCESSANDO, LocalDateTime.now().minusMinutes(10));
+
+            remessasAssincronasService.retomar();
+            RemessaAssincronaDTO situacao = remessasAssincronasService.consultar(id);
+
+            assertAll(
+                    () -> assertEquals(Status.REJEITADA, situacao.status()),
+                    () -> assertEquals(RemessaErrorType.ERRO_PROCESSAMENTO, situacao.erro()),
+                    () -> assertEquals(0, remessaRepository.count())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve manter na fila de outra instância a remessa pendente recente")
+        void deveManterRemessaPendenteRecente() {
+            UUID id = gravar(Status.PENDENTE, LocalDateTime.now());
+
+            remessasAssincronasService.retomar();
+
+            assertAll(
+                    () -> assertEquals(Status.PENDENTE, remessasAssincronasService.consultar(id).status()),
+                    () -> assertEquals(0, remessaRepository.count())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve acompanhar por eventos a remessa processada em outra instância")
+        void deveAcompanharRemessaDeOutraInstancia() throws Exception {
+            UUID id = gravar(Status.PROCESSANDO, LocalDateTime.now());
+
+            MvcResult resultado = mockMvc.perform(get("/api/remessas/assincronas/{id}/eventos", id))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            transactionTemplate.executeWithoutResult(status -> remessaAssincronaRepository.finalizar(
+                    id, Status.REJEITADA, null, RemessaErrorType.SALDO_INSUFICIENTE, "Saldo insuficiente",
+                    LocalDateTime.now()));
+            resultado.getAsyncResult(ESPERA_MAXIMA_MS);
+
+            String eventos = resultado.getResponse().getContentAsString();
+            assertAll(
+                    () -> assertTrue(eventos.contains("\"status\":\"PROCESSANDO\""), eventos),
+                    () -> assertTrue(eventos.contains("\"status\":\"REJEITADA\""), eventos),
+                    () -> assertTrue(aguardarSemAcompanhamentos())
+            );
+        }
+    }
+}
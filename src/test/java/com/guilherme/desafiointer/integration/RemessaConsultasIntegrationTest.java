@@ -0,0 +1,144 @@
+package com.guilherme.desafiointer.integration;
+
+import com.guilherme.desafiointer.config.TestConfig;
+import com.guilherme.desafiointer.domain.Carteira;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.repository.CarteiraRepository;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import com.guilherme.desafiointer.service.interfaces.CotacaoServiceInterface;
+import com.guilherme.desafiointer.service.interfaces.RemessaServiceInterface;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.guilherme.desafiointer.integration.ContadorSql")
+@DisplayName("Testes de Integração - Consultas por Remessa")
+@Transactional
+class RemessaConsultasIntegrationTest {
+
+    /**
+     * Comandos de uma remessa: bloqueio das duas carteiras, reserva do limite
+     * diário (upsert), insert da remessa, update das carteiras (um comando em
+     * lote) e os upserts dos resumos diário e mensal. A leitura da sequência
+     * de remessas é amortizada pelo otimizador pooled e não entra na conta.
+     */
+    private static final int COMANDOS_POR_REMESSA = 6;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private RemessaServiceInterface remessaService;
+
+    @MockBean
+    private CotacaoServiceInterface cotacaoService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CarteiraRepository carteiraRepository;
+
+    private Usuario remetente;
+    private Usuario destinatario;
+
+    @BeforeEach
+    void setUp() {
+        remetente = criarUsuario("João Remetente", "remetente.sql@teste.com", "529.982.247-25");
+        destinatario = criarUsuario("Maria Destinatária", "destinatario.sql@teste.com", "248.438.034-80");
+        when(cotacaoService.obterCotacao(anyString())).thenReturn(new BigDecimal("5.00"));
+        entityManager.flush();
+        entityManager.clear();
+        ContadorSql.limpar();
+    }
+
+    private Usuario criarUsuario(String nome, String email, String documento) {
+        Usuario usuario = usuarioRepository.save(Usuario.builder()
+                .nomeCompleto(nome)
+                .email(email)
+                .senha("Senha@123")
+                .tipoUsuario(TipoUsuario.PF)
+                .documento(documento)
+                .build());
+        carteiraRepository.save(Carteira.builder()
+                .saldoBRL(new BigDecimal("1000.00"))
+                .saldoUSD(new BigDecimal("200.00"))
+                .usuario(usuario)
+                .build());
+        return usuario;
+    }
+
+    private RemessaRequestDTO remessa(Long remetenteId, Long destinatarioId) {
+        return RemessaRequestDTO.builder()
+                .usuarioId(remetenteId)
+                .destinatarioId(destinatarioId)
+                .valor(new BigDecimal("100.00"))
+                .moedaDestino("USD")
+                .build();
+    }
+
+    private List<String> selectsDeCarteira() {
+        return ContadorSql.selects().stream()
+                .filter(sql -> sql.contains("carteiras"))
+                .toList();
+    }
+
+    private long comandosSemSequencia() {
+        return ContadorSql.comandos().stream()
+                .filter(sql -> !sql.startsWith("select next value for"))
+                .count();
+    }
+
+    @Test
+    @DisplayName("Deve carregar e bloquear as duas carteiras em uma única consulta")
+    void deveCarregarCarteirasEmUmaConsulta() {
+        remessaService.realizarRemessa(remessa(remetente.getId(), destinatario.getId()));
+        entityManager.flush();
+
+        List<String> selects = selectsDeCarteira();
+        assertAll(
+                () -> assertEquals(1, selects.size(), () -> "consultas: " + ContadorSql.comandos()),
+                () -> assertTrue(selects.get(0).contains("for update"), selects.get(0)),
+                () -> assertEquals(COMANDOS_POR_REMESSA, comandosSemSequencia(),
+                        () -> "comandos: " + ContadorSql.comandos()),
+                () -> assertTrue(ContadorSql.selects().stream()
+                                .noneMatch(sql -> sql.contains("from usuarios") && !sql.contains("carteiras")),
+                        () -> "consultas: " + ContadorSql.comandos())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve consultar a existência do usuário apenas quando a carteira não é encontrada")
+    void deveConsultarUsuarioApenasNoCaminhoDeErro() {
+        RemessaException exception = assertThrows(RemessaException.class, () ->
+                remessaService.realizarRemessa(remessa(remetente.getId(), Long.MAX_VALUE)));
+
+        assertAll(
+                () -> assertEquals(RemessaErrorType.USUARIO_NAO_ENCONTRADO, exception.getErrorType()),
+                () -> assertEquals(1, selectsDeCarteira().size())
+        );
+    }
+}
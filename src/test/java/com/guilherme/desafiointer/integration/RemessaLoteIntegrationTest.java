@@ -0,0 +1,242 @@
+package com.guilherme.desafiointer.integration;
+
+import com.guilherme.desafiointer.config.TestConfig;
+import com.guilherme.desafiointer.domain.Carteira;
+import com.guilherme.desafiointer.domain.Remessa;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.RemessaLoteRequestDTO;
+import com.guilherme.desafiointer.dto.remessa.RemessaLoteRequestDTO.Item;
+import com.guilherme.desafiointer.dto.remessa.TotaisRemessaDTO;
+import com.guilherme.desafiointer.exception.domain.LimiteDiarioExcedidoException;
+import com.guilherme.desafiointer.exception.domain.SaldoInsuficienteException;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.repository.CarteiraRepository;
+import com.guilherme.desafiointer.repository.RemessaRepository;
+import com.guilherme.desafiointer.repository.ResumoRemessaDiarioRepository;
+import com.guilherme.desafiointer.repository.TransacaoDiariaRepository;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import com.guilherme.desafiointer.service.interfaces.CotacaoServiceInterface;
+import com.guilherme.desafiointer.service.interfaces.RemessaServiceInterface;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.guilherme.desafiointer.integration.ContadorSql")
+@DisplayName("Testes de Integração - Remessas em Lote")
+@Transactional
+class RemessaLoteIntegrationTest {
+
+    private static final BigDecimal COTACAO = new BigDecimal("5.00");
+    private static final int DESTINATARIOS = 120;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private RemessaServiceInterface remessaService;
+
+    @MockBean
+    private CotacaoServiceInterface cotacaoService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CarteiraRepository carteiraRepository;
+
+    @Autowired
+    private RemessaRepository remessaRepository;
+
+    @Autowired
+    private TransacaoDiariaRepository transacaoDiariaRepository;
+
+    @Autowired
+    private ResumoRemessaDiarioRepository resumoRemessaDiarioRepository;
+
+    private Usuario empresa;
+    private final List<Long> destinatarios = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(cotacaoService.obterCotacao(anyString())).thenReturn(COTACAO);
+
+        empresa = criarUsuario("Empresa Pagadora", "pagadora@teste.com", "45.997.418/0001-53",
+                TipoUsuario.PJ, new BigDecimal("50000.00"));
+        for (int i = 0; i < DESTINATARIOS; i++) {
+            destinatarios.add(criarUsuario("Funcionário " + i, "funcionario" + i + "@teste.com",
+                    "documento-lote-" + i, TipoUsuario.PF, BigDecimal.ZERO).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        ContadorSql.limpar();
+    }
+
+    private Usuario criarUsuario(String nome, String email, String documento, TipoUsuario tipo, BigDecimal saldoBRL) {
+        Usuario usuario = usuarioRepository.save(Usuario.builder()
+                .nomeCompleto(nome)
+                .email(email)
+                .senha("Senha@123")
+                .tipoUsuario(tipo)
+                .documento(documento)
+                .build());
+        carteiraRepository.save(Carteira.builder()
+                .saldoBRL(saldoBRL)
+                .saldoUSD(BigDecimal.ZERO)
+                .usuario(usuario)
+                .build());
+        return usuario;
+    }
+
+    private RemessaLoteRequestDTO lote(Long remetenteId, List<Long> ids, String valor) {
+        return new RemessaLoteRequestDTO(remetenteId, "USD",
+                ids.stream().map(id -> new Item(id, new BigDecimal(valor))).toList());
+    }
+
+    private long comandos(String prefixo, String tabela) {
+        return ContadorSql.comandos().stream()
+                .filter(sql -> sql.startsWith(prefixo) && sql.contains(tabela))
+                .count();
+    }
+
+    private BigDecimal saldoBRL(Long usuarioId) {
+        return carteiraRepository.findByUsuarioId(usuarioId).orElseThrow().getSaldoBRL();
+    }
+
+    private BigDecimal saldoUSD(Long usuarioId) {
+        return carteiraRepository.findByUsuarioId(usuarioId).orElseThrow().getSaldoUSD();
+    }
+
+    @Nested
+    @DisplayName("Testes de processamento")
+    class ProcessamentoTests {
+
+        @Test
+        @DisplayName("Deve pagar todos os destinatários debitando o remetente uma única vez")
+        void devePagarTodosOsDestinatarios() {
+            List<Remessa> remessas = remessaService.realizarRemessaLote(lote(empresa.getId(), destinatarios, "100.00"));
+            entityManager.flush();
+            entityManager.clear();
+
+            BigDecimal taxaTotal = remessas.stream().map(Remessa::getTaxa).reduce(BigDecimal.ZERO, BigDecimal::add);
+            TotaisRemessaDTO resumo = resumoRemessaDiarioRepository.somarPeriodo(
+                    empresa.getId(), LocalDate.now(), LocalDate.now());
+            assertAll(
+                    () -> assertEquals(DESTINATARIOS, remessas.size()),
+                    () -> assertEquals(destinatarios.get(7), remessas.get(7).getDestinatario().getId()),
+                    () -> assertEquals(0, new BigDecimal("1.00").compareTo(remessas.get(0).getTaxa())),
+                    () -> assertEquals(0, new BigDecimal("50000.00").subtract(new BigDecimal("12000.00")).subtract(taxaTotal)
+                            .compareTo(saldoBRL(empresa.getId()))),
+                    () -> assertEquals(0, new BigDecimal("20.00").compareTo(saldoUSD(destinatarios.get(0)))),
+                    () -> assertEquals(0, new BigDecimal("20.00").compareTo(saldoUSD(destinatarios.get(DESTINATARIOS - 1)))),
+                    () -> assertEquals(DESTINATARIOS, remessaRepository.count()),
+                    () -> assertEquals(0, new BigDecimal("12000.00").compareTo(
+                            transacaoDiariaRepository.buscarValorTotal(empresa.getId(), LocalDate.now()).orElseThrow())),
+                    () -> assertEquals(DESTINATARIOS, resumo.quantidade()),
+                    () -> assertEquals(0, taxaTotal.compareTo(resumo.totalTaxa()))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve bloquear, cotar e reservar limite uma vez e gravar em batch")
+        void deveAgruparComandosDoLote() {
+            remessaService.realizarRemessaLote(lote(empresa.getId(), destinatarios, "100.00"));
+            entityManager.flush();
+
+            verify(cotacaoService, times(1)).obterCotacao("USD");
+            assertAll(
+                    () -> assertEquals(1, ContadorSql.selects().stream().filter(sql -> sql.contains("for update")).count(),
+                            () -> "comandos: " + ContadorSql.comandos()),
+                    () -> assertEquals(1, comandos("", "transacoes_diarias"), () -> "comandos: " + ContadorSql.comandos()),
+                    () -> assertEquals(1, comandos("update carteiras", ""), () -> "comandos: " + ContadorSql.comandos()),
+                    () -> assertEquals(1, comandos("insert into remessas", ""), () -> "comandos: " + ContadorSql.comandos()),
+                    () -> assertEquals(1, comandos("", "resumos_remessa_diarios"), () -> "comandos: " + ContadorSql.comandos()),
+                    () -> assertEquals(1, comandos("", "resumos_remessa_mensais"), () -> "comandos: " + ContadorSql.comandos())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve creditar duas vezes o destinatário repetido no lote")
+        void deveCreditarDestinatarioRepetido() {
+            Long destinatario = destinatarios.get(0);
+
+            remessaService.realizarRemessaLote(lote(empresa.getId(), List.of(destinatario, destinatario), "50.00"));
+            entityManager.flush();
+            entityManager.clear();
+
+            assertEquals(0, new BigDecimal("20.00").compareTo(saldoUSD(destinatario)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de rejeição")
+    class RejeicaoTests {
+
+        @Test
+        @DisplayName("Deve validar o limite diário sobre o total do lote")
+        void deveRejeitarLoteAcimaDoLimite() {
+            Long pessoaFisica = criarUsuario("Pessoa Física", "pf.lote@teste.com", "529.982.247-25",
+                    TipoUsuario.PF, new BigDecimal("20000.00")).getId();
+            RemessaLoteRequestDTO requisicao = lote(pessoaFisica, destinatarios.subList(0, 2), "6000.00");
+
+            assertThrows(LimiteDiarioExcedidoException.class, () -> remessaService.realizarRemessaLote(requisicao));
+            assertEquals(0, remessaRepository.count());
+        }
+
+        @Test
+        @DisplayName("Deve validar o saldo sobre o total do lote com taxas")
+        void deveRejeitarLoteSemSaldo() {
+            RemessaLoteRequestDTO requisicao = lote(empresa.getId(), destinatarios.subList(0, 5), "9950.00");
+
+            assertThrows(SaldoInsuficienteException.class, () -> remessaService.realizarRemessaLote(requisicao));
+            assertEquals(0, remessaRepository.count());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar lote em que o remetente também é destinatário")
+        void deveRejeitarRemetenteComoDestinatario() {
+            RemessaLoteRequestDTO requisicao = lote(empresa.getId(), List.of(destinatarios.get(0), empresa.getId()), "10.00");
+
+            RemessaException exception = assertThrows(RemessaException.class,
+                    () -> remessaService.realizarRemessaLote(requisicao));
+            assertEquals(RemessaErrorType.DADOS_INVALIDOS, exception.getErrorType());
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar lote com destinatário inexistente")
+        void deveRejeitarDestinatarioInexistente() {
+            RemessaLoteRequestDTO requisicao = lote(empresa.getId(),
+                    IntStream.of(0, 1).mapToObj(destinatarios::get).toList(), "10.00");
+            List<Item> itens = new ArrayList<>(requisicao.itens());
+            itens.add(new Item(Long.MAX_VALUE, new BigDecimal("10.00")));
+
+            RemessaException exception = assertThrows(RemessaException.class,
+                    () -> remessaService.realizarRemessaLote(new RemessaLoteRequestDTO(empresa.getId(), "USD", itens)));
+            assertEquals(RemessaErrorType.USUARIO_NAO_ENCONTRADO, exception.getErrorType());
+        }
+    }
+}
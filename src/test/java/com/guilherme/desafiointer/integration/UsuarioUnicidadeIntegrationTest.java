@@ -0,0 +1,106 @@
+package com.guilherme.desafiointer.integration;
+
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.repository.CarteiraRepository;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import com.guilherme.desafiointer.service.UsuarioService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Violação das restrições únicas de usuarios no banco (H2), como quando outra
+ * requisição cadastra o mesmo documento ou email entre a verificação de
+ * unicidade e o INSERT. A verificação prévia é desligada (existsBy* sempre
+ * falso) para que o conflito só apareça na gravação.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "usuarios.filtro-unicidade.habilitado=false",
+        "usuarios.cache.habilitado=false"
+})
+@DisplayName("Testes de Integração - Unicidade de Usuários")
+class UsuarioUnicidadeIntegrationTest {
+
+    private static final String SENHA = "Senha@123";
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @SpyBean
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CarteiraRepository carteiraRepository;
+
+    private Usuario existente;
+
+    @BeforeEach
+    void setUp() {
+        existente = usuarioService.criarUsuario("Usuário Existente", "existente@teste.com", SENHA,
+                TipoUsuario.PF, "529.982.247-25");
+        doReturn(false).when(usuarioRepository).existsByDocumento(anyString());
+        doReturn(false).when(usuarioRepository).existsByEmail(anyString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        carteiraRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    private void assertConflito(RemessaException exception) {
+        assertAll(
+                () -> assertEquals(RemessaErrorType.USUARIO_JA_CADASTRADO, exception.getErrorType()),
+                () -> assertEquals(HttpStatus.CONFLICT, exception.getErrorType().getHttpStatus())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve retornar conflito ao cadastrar documento já gravado")
+    void deveRetornarConflitoParaDocumentoDuplicado() {
+        RemessaException exception = assertThrows(RemessaException.class, () -> usuarioService.criarUsuario(
+                "Outro Usuário", "outro@teste.com", SENHA, TipoUsuario.PF, existente.getDocumento()));
+
+        assertConflito(exception);
+        assertEquals(1, usuarioRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve retornar conflito ao cadastrar email já gravado")
+    void deveRetornarConflitoParaEmailDuplicado() {
+        RemessaException exception = assertThrows(RemessaException.class, () -> usuarioService.criarUsuario(
+                "Outro Usuário", existente.getEmail(), SENHA, TipoUsuario.PF, "248.438.034-80"));
+
+        assertConflito(exception);
+        assertEquals(1, usuarioRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve retornar conflito ao atualizar para o email de outro usuário")
+    void deveRetornarConflitoAoAtualizarParaEmailDeOutro() {
+        Usuario outro = usuarioService.criarUsuario("Outro Usuário", "outro@teste.com", SENHA,
+                TipoUsuario.PF, "248.438.034-80");
+
+        RemessaException exception = assertThrows(RemessaException.class, () -> usuarioService.atualizarUsuario(
+                outro.getId(), outro.getNomeCompleto(), existente.getEmail(), TipoUsuario.PF, outro.getDocumento()));
+
+        assertConflito(exception);
+        assertEquals("outro@teste.com", usuarioRepository.findById(outro.getId()).orElseThrow().getEmail());
+    }
+}
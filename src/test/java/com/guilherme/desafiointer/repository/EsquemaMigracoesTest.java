@@ -0,0 +1,263 @@
+package com.guilherme.desafiointer.repository;
+
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.integration.ContadorSql;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aplica as migrações do Flyway num H2 em memória, valida as entidades contra
+ * o esquema resultante e confere, via EXPLAIN, que cada consulta dos
+ * repositórios é resolvida por índice.
+ *
+ * Fora da verificação, por percorrerem a tabela inteira de propósito:
+ * UsuarioRepository.buscarChavesUnicidade e UsuarioRepository.percorrerResumos.
+ */
+@DataJpaTest
+@DisplayName("Testes do esquema versionado")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migracoes;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.guilherme.desafiointer.integration.ContadorSql"
+})
+class EsquemaMigracoesTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.now();
+    private static final LocalDate HOJE = AGORA.toLocalDate();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CarteiraRepository carteiraRepository;
+
+    @Autowired
+    private RemessaRepository remessaRepository;
+
+    @Autowired
+    private TransacaoDiariaRepository transacaoDiariaRepository;
+
+    @Autowired
+    private CotacaoHistoricoRepository cotacaoHistoricoRepository;
+
+    @Autowired
+    private ResumoRemessaDiarioRepository resumoRemessaDiarioRepository;
+
+    @Autowired
+    private ResumoRemessaMensalRepository resumoRemessaMensalRepository;
+
+    @Autowired
+    private ImportacaoRemessaParticaoRepository importacaoRemessaParticaoRepository;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuario = entityManager.persistFlushFind(Usuario.builder()
+                .nomeCompleto("Usuário Esquema")
+                .email("esquema@teste.com")
+                .documento("529.982.247-25")
+                .senha("Senha@123")
+                .tipoUsuario(TipoUsuario.PF)
+                .build());
+        entityManager.clear();
+    }
+
+    /**
+     * Executa a consulta, captura os SELECTs gerados pelo Hibernate e
+     * verifica no plano do H2 que nenhuma tabela é lida por varredura completa.
+     */
+    private void assertUsaIndices(Runnable consulta) {
+        ContadorSql.limpar();
+        consulta.run();
+        List<String> selects = ContadorSql.selects();
+        assertFalse(selects.isEmpty(), "nenhuma consulta executada");
+
+        for (String sql : selects) {
+            String plano = explicar(sql);
+            assertFalse(plano.contains("tableScan"), () -> "varredura completa em:\n" + plano);
+        }
+    }
+
+    private String explicar(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql,
+                statement -> {
+                    int parametros = statement.getParameterMetaData().getParameterCount();
+                    for (int i = 1; i <= parametros; i++) {
+                        statement.setObject(i, null);
+                    }
+                },
+                resultado -> {
+                    resultado.next();
+                    return resultado.getString(1);
+                });
+    }
+
+    @Test
+    @DisplayName("Deve criar as sequências de IDs com incremento de 50")
+    void deveCriarSequencias() {
+        List<Long> incrementos = jdbcTemplate.queryForList(
+                "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME LIKE '%_SEQ'", Long.class);
+
+        assertAll(
+                () -> assertEquals(8, incrementos.size()),
+                () -> assertTrue(incrementos.stream().allMatch(incremento -> incremento == 50L), incrementos::toString)
+        );
+    }
+
+    @Nested
+    @DisplayName("Consultas de usuários")
+    class UsuarioTests {
+
+        @Test
+        @DisplayName("Deve buscar por email, documento e ID pelos índices únicos")
+        void deveBuscarPorChavesUnicas() {
+            assertAll(
+                    () -> assertUsaIndices(() -> usuarioRepository.findByEmail("esquema@teste.com")),
+                    () -> assertUsaIndices(() -> usuarioRepository.findByDocumento("529.982.247-25")),
+                    () -> assertUsaIndices(() -> usuarioRepository.existsByEmail("esquema@teste.com")),
+                    () -> assertUsaIndices(() -> usuarioRepository.existsByDocumento("529.982.247-25")),
+                    () -> assertUsaIndices(() -> usuarioRepository.findComCarteiraById(usuario.getId()))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve verificar lotes de documentos e emails pelos índices únicos")
+        void deveVerificarLotesPorIndice() {
+            assertAll(
+                    () -> assertUsaIndices(() -> usuarioRepository.buscarDocumentosExistentes(
+                            Set.of("529.982.247-25", "248.438.034-80"))),
+                    () -> assertUsaIndices(() -> usuarioRepository.buscarEmailsExistentes(
+                            Set.of("esquema@teste.com", "outro@teste.com")))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve paginar por cursor pela chave primária")
+        void devePaginarPelaChavePrimaria() {
+            assertUsaIndices(() -> usuarioRepository.buscarResumosAposCursor(0L, Limit.of(20)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Consultas de carteiras")
+    class CarteiraTests {
+
+        @Test
+        @DisplayName("Deve buscar e bloquear carteiras pelo usuário")
+        void deveBuscarCarteiraPeloUsuario() {
+            assertAll(
+                    () -> assertUsaIndices(() -> carteiraRepository.findByUsuarioId(usuario.getId())),
+                    () -> assertUsaIndices(() -> carteiraRepository.findByUsuarioIdWithPessimisticLock(usuario.getId())),
+                    () -> assertUsaIndices(() -> carteiraRepository.buscarPorUsuariosComLock(List.of(usuario.getId(), 2L)))
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Consultas de remessas")
+    class RemessaTests {
+
+        @Test
+        @DisplayName("Deve consultar o histórico pelo índice de remetente e data")
+        void deveConsultarHistoricoPorIndice() {
+            Usuario remetente = entityManager.find(Usuario.class, usuario.getId());
+
+            assertAll(
+                    () -> assertUsaIndices(() -> remessaRepository.buscarHistoricoTransacoes(
+                            remetente, AGORA.minusDays(30), AGORA, PageRequest.of(0, 1))),
+                    () -> assertUsaIndices(() -> remessaRepository.buscarRemessasDoPeriodo(
+                            remetente, AGORA.minusDays(1), AGORA)),
+                    () -> assertUsaIndices(() -> remessaRepository.somarTotaisPorPeriodo(
+                            usuario.getId(), AGORA.minusHours(1), AGORA))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve reconstruir o uso diário pelo índice de data de criação")
+        void deveReconstruirUsoDiarioPorIndice() {
+            assertAll(
+                    () -> assertUsaIndices(() -> remessaRepository.somarEnviadoPorUsuarioDesde(AGORA.minusDays(1))),
+                    () -> assertUsaIndices(() -> remessaRepository.buscarEnviosDesde(AGORA.minusDays(1)))
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Consultas de limite diário e resumos")
+    class LimiteEResumoTests {
+
+        @Test
+        @DisplayName("Deve consultar transações diárias pelo índice único de usuário e data")
+        void deveConsultarTransacoesDiariasPorIndice() {
+            Usuario dono = entityManager.find(Usuario.class, usuario.getId());
+
+            assertAll(
+                    () -> assertUsaIndices(() -> transacaoDiariaRepository.findByUsuarioAndData(dono, HOJE)),
+                    () -> assertUsaIndices(() -> transacaoDiariaRepository.buscarValorTotal(usuario.getId(), HOJE)),
+                    () -> assertUsaIndices(() -> transacaoDiariaRepository.findByDataAndUsuarioIdIn(
+                            HOJE, List.of(usuario.getId(), 2L))),
+                    () -> assertUsaIndices(() -> transacaoDiariaRepository.findByUsuarioAndDataBetweenOrderByDataDesc(
+                            dono, HOJE.minusDays(7), HOJE))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve somar os resumos pelos índices únicos de usuário e período")
+        void deveSomarResumosPorIndice() {
+            assertAll(
+                    () -> assertUsaIndices(() -> resumoRemessaDiarioRepository.somarPeriodo(
+                            usuario.getId(), HOJE.minusDays(7), HOJE)),
+                    () -> assertUsaIndices(() -> resumoRemessaMensalRepository.somarPeriodo(
+                            usuario.getId(), HOJE.withDayOfMonth(1).minusMonths(3), HOJE.withDayOfMonth(1)))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve buscar a última cotação pelo índice de moeda e data")
+        void deveBuscarUltimaCotacaoPorIndice() {
+            assertAll(
+                    () -> assertUsaIndices(() -> cotacaoHistoricoRepository.findUltimaCotacao("USD")),
+                    () -> assertUsaIndices(() -> cotacaoHistoricoRepository.findUltimaCotacaoUtil("USD"))
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Consultas de importações de remessas")
+    class ImportacaoRemessaTests {
+
+        @Test
+        @DisplayName("Deve buscar as partições pelo índice único de importação e partição")
+        void deveBuscarParticoesPorIndice() {
+            assertUsaIndices(() -> importacaoRemessaParticaoRepository.buscarPorImportacao(UUID.randomUUID()));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.guilherme.desafiointer.repository;
+
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.TotaisRemessaDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.TestPropertySource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aplica as migrações do Flyway sobre um banco no formato anterior a elas
+ * (esquema-baseline.sql: esquema gerado pelo Hibernate, com dados), como os
+ * bancos de produção que entram no baseline da V1 sem executá-la. O contexto
+ * sobe com ddl-auto=validate, então as entidades são validadas contra o
+ * esquema resultante; os dados conferem a consolidação das transações
+ * diárias e o preenchimento dos resumos.
+ */
+@DataJpaTest
+@DisplayName("Testes de migração a partir do baseline")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migracao-baseline;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.sql.init.mode=never"
+})
+class MigracaoBaselineTest {
+
+    private static final LocalDate DIA_DUPLICADO = LocalDate.of(2024, 1, 10);
+
+    @TestConfiguration
+    static class BancoBaseline {
+
+        /**
+         * Cria o esquema e os dados anteriores às migrações antes de migrar.
+         */
+        @Bean
+        FlywayMigrationStrategy migrarSobreBaseline() {
+            return flyway -> {
+                new ResourceDatabasePopulator(new ClassPathResource("esquema-baseline.sql"))
+                        .execute(flyway.getConfiguration().getDataSource());
+                flyway.migrate();
+            };
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TransacaoDiariaRepository transacaoDiariaRepository;
+
+    @Autowired
+    private ResumoRemessaDiarioRepository resumoRemessaDiarioRepository;
+
+    @Autowired
+    private ResumoRemessaMensalRepository resumoRemessaMensalRepository;
+
+    @Autowired
+    private RemessaRepository remessaRepository;
+
+    @Test
+    @DisplayName("Deve registrar o baseline na V1 e aplicar as versões seguintes")
+    void deveAplicarVersoesAposBaseline() {
+        String tipoV1 = jdbcTemplate.queryForObject(
+                "SELECT \"type\" FROM \"flyway_schema_history\" WHERE \"version\" = '1'", String.class);
+        List<String> aplicadas = jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" AND \"type\" <> 'BASELINE'",
+                String.class);
+
+        assertAll(
+                () -> assertEquals("BASELINE", tipoV1),
+                () -> assertTrue(aplicadas.containsAll(List.of("2", "3", "4", "5", "6", "7")), aplicadas::toString)
+        );
+    }
+
+    @Test
+    @DisplayName("Deve consolidar as linhas duplicadas do mesmo dia somando os totais")
+    void deveConsolidarDuplicadas() {
+        List<BigDecimal> totais = jdbcTemplate.queryForList(
+                "SELECT valor_total FROM transacoes_diarias WHERE usuario_id = 1 AND data = ?",
+                BigDecimal.class, DIA_DUPLICADO);
+
+        assertAll(
+                () -> assertEquals(1, totais.size()),
+                () -> assertEquals(0, new BigDecimal("150.00").compareTo(totais.get(0))),
+                () -> assertEquals(3, jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM transacoes_diarias", Integer.class))
+        );
+    }
+
+    @Test
+    @DisplayName("Deve impedir uma segunda linha para o mesmo usuário e dia")
+    void deveImpedirDuplicadas() {
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO transacoes_diarias (id, usuario_id, data, valor_total) VALUES (999, 1, ?, 1.00)",
+                DIA_DUPLICADO));
+    }
+
+    @Test
+    @DisplayName("Deve incrementar o total consolidado pelo upsert do limite diário")
+    void deveIncrementarTotalConsolidado() {
+        Optional<BigDecimal> total = transacaoDiariaRepository.incrementarValorTotal(
+                1L, DIA_DUPLICADO, new BigDecimal("10.00"), new BigDecimal("10000.00"));
+
+        assertEquals(0, new BigDecimal("160.00").compareTo(total.orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Deve gerar IDs por sequência acima dos IDs existentes")
+    void deveGerarIdsAcimaDosExistentes() {
+        Usuario usuario = usuarioRepository.saveAndFlush(Usuario.builder()
+                .nomeCompleto("Usuário Pós Migração")
+                .email("novo@baseline.com")
+                .documento("111.444.777-35")
+                .senha("Senha@123")
+                .tipoUsuario(TipoUsuario.PF)
+                .build());
+
+        assertTrue(usuario.getId() > 7, () -> "ID " + usuario.getId());
+    }
+
+    @Test
+    @DisplayName("Deve criar as tabelas de resumo com upsert pela restrição única")
+    void deveCriarTabelasDeResumo() {
+        LocalDate dia = LocalDate.of(2024, 3, 5);
+        BigDecimal valor = new BigDecimal("10.00");
+
+        resumoRemessaDiarioRepository.acumular(1L, dia, "USD", 1, valor, valor, valor);
+        resumoRemessaDiarioRepository.acumular(1L, dia, "USD", 1, valor, valor, valor);
+
+        assertEquals(2L, resumoRemessaDiarioRepository.somarPeriodo(1L, dia, dia).quantidade());
+    }
+
+    @Test
+    @DisplayName("Deve preencher os resumos com as remessas existentes")
+    void devePreencherResumosComRemessasExistentes() {
+        LocalDate janeiro = LocalDate.of(2024, 1, 1);
+        LocalDate fevereiro = LocalDate.of(2024, 2, 1);
+        TotaisRemessaDTO dia = resumoRemessaDiarioRepository.somarPeriodo(1L, DIA_DUPLICADO, DIA_DUPLICADO);
+        TotaisRemessaDTO meses = resumoRemessaMensalRepository.somarPeriodo(1L, janeiro, fevereiro);
+        TotaisRemessaDTO remessas = remessaRepository.somarTotaisPorPeriodo(
+                1L, janeiro.atStartOfDay(), fevereiro.plusMonths(1).atStartOfDay());
+
+        assertAll(
+                () -> assertEquals(2L, dia.quantidade()),
+                () -> assertEquals(0, new BigDecimal("150.00").compareTo(dia.totalValor())),
+                () -> assertEquals(0, new BigDecimal("3.00").compareTo(dia.totalTaxa())),
+                () -> assertEquals(3L, resumoRemessaMensalRepository.somarPeriodo(1L, janeiro, janeiro).quantidade()),
+                () -> assertEquals(remessas.quantidade(), meses.quantidade()),
+                () -> assertEquals(0, remessas.totalValor().compareTo(meses.totalValor())),
+                () -> assertEquals(0, remessas.totalValorConvertido().compareTo(meses.totalValorConvertido()))
+        );
+    }
+}
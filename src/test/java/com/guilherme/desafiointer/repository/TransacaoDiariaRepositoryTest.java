@@ -0,0 +1,124 @@
+package com.guilherme.desafiointer.repository;
+
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.TransacaoDiaria;
+import com.guilherme.desafiointer.domain.Usuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("Testes do TransacaoDiariaRepository")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never"
+})
+class TransacaoDiariaRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransacaoDiariaRepository transacaoDiariaRepository;
+
+    private static final BigDecimal LIMITE = new BigDecimal("10000.00");
+
+    private Usuario usuario;
+    private LocalDate hoje;
+
+    @BeforeEach
+    void setUp() {
+        usuario = entityManager.persist(Usuario.builder()
+                .nomeCompleto("João Silva")
+                .email("joao@email.com")
+                .documento("529.982.247-25")
+                .tipoUsuario(TipoUsuario.PF)
+                .senha("Senha@123")
+                .build());
+        entityManager.flush();
+        hoje = LocalDate.now();
+    }
+
+    @Nested
+    @DisplayName("Testes de upsert do total diário")
+    class UpsertTests {
+
+        @Test
+        @DisplayName("Deve criar linha do dia na primeira remessa")
+        void deveCriarLinhaNaPrimeiraRemessa() {
+            Optional<BigDecimal> total = transacaoDiariaRepository.incrementarValorTotal(
+                    usuario.getId(), hoje, new BigDecimal("100.00"), LIMITE);
+
+            assertEquals(0, new BigDecimal("100.00").compareTo(total.orElseThrow()));
+            assertEquals(0, new BigDecimal("100.00").compareTo(
+                    transacaoDiariaRepository.buscarValorTotal(usuario.getId(), hoje).orElseThrow()));
+        }
+
+        @Test
+        @DisplayName("Deve incrementar linha existente sem duplicar")
+        void deveIncrementarLinhaExistente() {
+            transacaoDiariaRepository.incrementarValorTotal(usuario.getId(), hoje, new BigDecimal("100.00"), LIMITE);
+            Optional<BigDecimal> total = transacaoDiariaRepository.incrementarValorTotal(
+                    usuario.getId(), hoje, new BigDecimal("250.50"), LIMITE);
+
+            assertAll(
+                    () -> assertEquals(0, new BigDecimal("350.50").compareTo(total.orElseThrow())),
+                    () -> assertEquals(1, transacaoDiariaRepository.count())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve recusar incremento que ultrapassa o limite sem alterar o total")
+        void deveRecusarIncrementoAcimaDoLimite() {
+            transacaoDiariaRepository.incrementarValorTotal(usuario.getId(), hoje, new BigDecimal("9000.00"), LIMITE);
+
+            Optional<BigDecimal> total = transacaoDiariaRepository.incrementarValorTotal(
+                    usuario.getId(), hoje, new BigDecimal("1000.01"), LIMITE);
+
+            assertAll(
+                    () -> assertTrue(total.isEmpty()),
+                    () -> assertEquals(0, new BigDecimal("9000.00").compareTo(
+                            transacaoDiariaRepository.buscarValorTotal(usuario.getId(), hoje).orElseThrow()))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve recusar primeira remessa acima do limite sem criar linha")
+        void deveRecusarPrimeiraRemessaAcimaDoLimite() {
+            Optional<BigDecimal> total = transacaoDiariaRepository.incrementarValorTotal(
+                    usuario.getId(), hoje, new BigDecimal("10000.01"), LIMITE);
+
+            assertAll(
+                    () -> assertTrue(total.isEmpty()),
+                    () -> assertEquals(0, transacaoDiariaRepository.count())
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Deve impedir duas linhas para o mesmo usuário e data")
+    void deveImpedirLinhasDuplicadas() {
+        transacaoDiariaRepository.incrementarValorTotal(usuario.getId(), hoje, new BigDecimal("100.00"), LIMITE);
+
+        TransacaoDiaria duplicada = TransacaoDiaria.builder()
+                .usuario(usuario)
+                .data(hoje)
+                .valorTotal(BigDecimal.ONE)
+                .build();
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> transacaoDiariaRepository.saveAndFlush(duplicada));
+    }
+}
@@ -0,0 +1,156 @@
+package com.guilherme.desafiointer.repository;
+
+import com.guilherme.desafiointer.domain.Carteira;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.usuario.PaginaUsuariosDTO;
+import com.guilherme.desafiointer.dto.usuario.UsuarioResumoDTO;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.service.UsuarioService;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("Testes da listagem de usuários")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never"
+})
+class UsuarioListagemRepositoryTest {
+
+    private static final String[] DOCUMENTOS = {
+            "529.982.247-25", "248.438.034-80", "111.444.777-35", "123.456.789-09", "987.654.321-00"
+    };
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private UsuarioService usuarioService;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // A listagem usa apenas o repositório
+        usuarioService = new UsuarioService(usuarioRepository, null, null, null);
+
+        for (int i = 0; i < DOCUMENTOS.length; i++) {
+            Usuario usuario = Usuario.builder()
+                    .nomeCompleto("Usuário " + i)
+                    .email("usuario" + i + "@teste.com")
+                    .documento(DOCUMENTOS[i])
+                    .senha("Senha@123")
+                    .tipoUsuario(i % 2 == 0 ? TipoUsuario.PF : TipoUsuario.PJ)
+                    .build();
+            usuario.setCarteira(Carteira.builder()
+                    .usuario(usuario)
+                    .saldoBRL(BigDecimal.ZERO)
+                    .saldoUSD(BigDecimal.ZERO)
+                    .build());
+            ids.add(entityManager.persist(usuario).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Nested
+    @DisplayName("Testes de paginação por cursor")
+    class PaginacaoTests {
+
+        @Test
+        @DisplayName("Deve percorrer todas as páginas em ordem de ID sem repetir usuários")
+        void devePercorrerTodasAsPaginas() {
+            List<Long> lidos = new ArrayList<>();
+            List<Integer> tamanhos = new ArrayList<>();
+            Long cursor = null;
+            do {
+                PaginaUsuariosDTO pagina = usuarioService.listarPagina(cursor, 2);
+                pagina.usuarios().forEach(usuario -> lidos.add(usuario.id()));
+                tamanhos.add(pagina.usuarios().size());
+                cursor = pagina.proximoCursor();
+            } while (cursor != null);
+
+            assertAll(
+                    () -> assertEquals(ids, lidos),
+                    () -> assertEquals(List.of(2, 2, 1), tamanhos)
+            );
+        }
+
+        @Test
+        @DisplayName("Não deve indicar próxima página quando a página termina exatamente no último usuário")
+        void naoDeveIndicarProximaPaginaNoFim() {
+            PaginaUsuariosDTO pagina = usuarioService.listarPagina(ids.get(0), 4);
+
+            assertAll(
+                    () -> assertEquals(ids.subList(1, 5), pagina.usuarios().stream().map(UsuarioResumoDTO::id).toList()),
+                    () -> assertNull(pagina.proximoCursor())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve projetar apenas os dados de resumo")
+        void deveProjetarResumo() {
+            UsuarioResumoDTO resumo = usuarioRepository.buscarResumosAposCursor(0L, Limit.of(1)).get(0);
+
+            assertEquals(new UsuarioResumoDTO(ids.get(0), "Usuário 0", "usuario0@teste.com",
+                    DOCUMENTOS[0], TipoUsuario.PF), resumo);
+        }
+
+        @Test
+        @DisplayName("Deve recusar tamanho de página acima do máximo")
+        void deveRecusarTamanhoAcimaDoMaximo() {
+            RemessaException exception = assertThrows(RemessaException.class,
+                    () -> usuarioService.listarPagina(null, 101));
+
+            assertEquals(RemessaErrorType.DADOS_INVALIDOS, exception.getErrorType());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de streaming")
+    class StreamingTests {
+
+        @Test
+        @DisplayName("Deve percorrer todos os usuários sem carregar entidades")
+        void devePercorrerTodosOsUsuarios() {
+            List<Long> lidos = new ArrayList<>();
+
+            long quantidade = usuarioService.percorrerUsuarios(usuario -> lidos.add(usuario.id()));
+
+            assertAll(
+                    () -> assertEquals(DOCUMENTOS.length, quantidade),
+                    () -> assertEquals(ids, lidos),
+                    () -> assertTrue(entityManager.getEntityManager()
+                            .unwrap(Session.class).getStatistics().getEntityCount() == 0)
+            );
+        }
+
+        @Test
+        @DisplayName("Deve expor stream de resumos ordenado por ID")
+        void deveExporStreamOrdenado() {
+            try (Stream<UsuarioResumoDTO> resumos = usuarioRepository.percorrerResumos()) {
+                assertEquals(ids, resumos.map(UsuarioResumoDTO::id).toList());
+            }
+        }
+    }
+}
@@ -17,11 +17,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import java.util.Optional;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
 @ActiveProfiles("test")
+@TestPropertySource(properties = "usuarios.filtro-unicidade.habilitado=false")
 @DisplayName("Testes do UsuarioService")
 class UsuarioServiceTest {
 
@@ -59,7 +61,7 @@ class UsuarioServiceTest {
                     .build();
 
             when(passwordEncoder.encode(SENHA_VALIDA)).thenReturn(SENHA_ENCODED);
-            when(usuarioRepository.save(any(Usuario.class)))
+            when(usuarioRepository.saveAndFlush(any(Usuario.class)))
                     .thenAnswer(invocation -> invocation.getArgument(0));
 
             // Act
@@ -79,7 +81,7 @@ class UsuarioServiceTest {
                     () -> assertEquals(BigDecimal.ZERO, usuarioSalvo.getCarteira().getSaldoUSD())
             );
 
-            verify(usuarioRepository, times(1)).save(any(Usuario.class));
+            verify(usuarioRepository, times(1)).saveAndFlush(any(Usuario.class));
             verify(passwordEncoder, times(1)).encode(SENHA_VALIDA);
         }
 
@@ -0,0 +1,194 @@
+package com.guilherme.desafiointer.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.guilherme.desafiointer.config.UsuarioCacheProperties;
+import com.guilherme.desafiointer.config.constants.AppConstants;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import com.guilherme.desafiointer.service.cache.CacheUsuarios;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do CacheUsuarios")
+class CacheUsuariosTest {
+
+    private static final Long ID = 1L;
+    private static final String EMAIL = "teste@teste.com";
+    private static final String DOCUMENTO = "529.982.247-25";
+
+    private UsuarioRepository usuarioRepository;
+    private CaffeineCacheManager cacheManager;
+    private UsuarioCacheProperties properties;
+    private CacheUsuarios cacheUsuarios;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository = mock(UsuarioRepository.class);
+        cacheManager = new CaffeineCacheManager(AppConstants.CACHE_USUARIOS,
+                AppConstants.CACHE_USUARIOS_DOCUMENTO, AppConstants.CACHE_USUARIOS_EMAIL);
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100).recordStats());
+        properties = new UsuarioCacheProperties();
+        cacheUsuarios = new CacheUsuarios(cacheManager, usuarioRepository, properties);
+
+        Usuario usuario = usuario(EMAIL, DOCUMENTO);
+        when(usuarioRepository.findById(ID)).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.findByDocumento(DOCUMENTO)).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.findByEmail(EMAIL)).thenReturn(Optional.of(usuario));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Usuario usuario(String email, String documento) {
+        return Usuario.builder()
+                .id(ID)
+                .nomeCompleto("Usuário Teste")
+                .email(email)
+                .documento(documento)
+                .senha("hash")
+                .tipoUsuario(TipoUsuario.PF)
+                .build();
+    }
+
+    private double taxaDeAcerto(String cacheName) {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(cacheName);
+        return cache.getNativeCache().stats().hitRate();
+    }
+
+    @Nested
+    @DisplayName("Testes de leitura")
+    class LeituraTests {
+
+        @Test
+        @DisplayName("Deve consultar o banco apenas na primeira leitura por ID")
+        void deveLerDoCacheAposPrimeiraConsulta() {
+            cacheUsuarios.buscarPorId(ID);
+            cacheUsuarios.buscarPorId(ID);
+            Usuario usuario = cacheUsuarios.buscarPorId(ID).orElseThrow();
+
+            verify(usuarioRepository, times(1)).findById(ID);
+            assertAll(
+                    () -> assertEquals(EMAIL, usuario.getEmail()),
+                    () -> assertEquals(DOCUMENTO, usuario.getDocumento()),
+                    () -> assertEquals(TipoUsuario.PF, usuario.getTipoUsuario()),
+                    () -> assertEquals(2.0 / 3.0, taxaDeAcerto(AppConstants.CACHE_USUARIOS), 1e-9)
+            );
+        }
+
+        @Test
+        @DisplayName("Deve compartilhar o snapshot entre ID, documento e email")
+        void deveCompartilharSnapshotEntreChaves() {
+            cacheUsuarios.buscarPorDocumento(DOCUMENTO);
+
+            assertTrue(cacheUsuarios.buscarPorId(ID).isPresent());
+            assertTrue(cacheUsuarios.buscarPorEmail(EMAIL).isPresent());
+            assertTrue(cacheUsuarios.buscarPorDocumento(DOCUMENTO).isPresent());
+
+            verify(usuarioRepository, times(1)).findByDocumento(DOCUMENTO);
+            verify(usuarioRepository, never()).findById(any());
+            verify(usuarioRepository, never()).findByEmail(any());
+        }
+
+        @Test
+        @DisplayName("Deve retornar cópias independentes do snapshot")
+        void deveRetornarCopiasIndependentes() {
+            Usuario primeira = cacheUsuarios.buscarPorId(ID).orElseThrow();
+            primeira.setSenhaEncoded("alterada");
+
+            assertEquals("hash", cacheUsuarios.buscarPorId(ID).orElseThrow().getSenha());
+        }
+
+        @Test
+        @DisplayName("Não deve cachear usuário inexistente")
+        void naoDeveCachearUsuarioInexistente() {
+            when(usuarioRepository.findById(2L)).thenReturn(Optional.empty());
+
+            assertTrue(cacheUsuarios.buscarPorId(2L).isEmpty());
+            assertTrue(cacheUsuarios.buscarPorId(2L).isEmpty());
+
+            verify(usuarioRepository, times(2)).findById(2L);
+        }
+
+        @Test
+        @DisplayName("Deve consultar sempre o banco quando desabilitado")
+        void deveConsultarBancoQuandoDesabilitado() {
+            properties.setHabilitado(false);
+
+            cacheUsuarios.buscarPorId(ID);
+            cacheUsuarios.buscarPorId(ID);
+
+            verify(usuarioRepository, times(2)).findById(ID);
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de invalidação")
+    class InvalidacaoTests {
+
+        @Test
+        @DisplayName("Deve invalidar ID, documento e email somente após o commit")
+        void deveInvalidarAposCommit() {
+            cacheUsuarios.buscarPorId(ID);
+            TransactionSynchronizationManager.initSynchronization();
+
+            cacheUsuarios.invalidarAposCommit(usuario(EMAIL, DOCUMENTO));
+            cacheUsuarios.buscarPorEmail(EMAIL);
+            verify(usuarioRepository, never()).findByEmail(EMAIL);
+
+            List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            sincronizacoes.forEach(TransactionSynchronization::afterCommit);
+
+            assertAll(
+                    () -> assertNull(cacheManager.getCache(AppConstants.CACHE_USUARIOS).get(ID)),
+                    () -> assertNull(cacheManager.getCache(AppConstants.CACHE_USUARIOS_DOCUMENTO).get(DOCUMENTO)),
+                    () -> assertNull(cacheManager.getCache(AppConstants.CACHE_USUARIOS_EMAIL).get(EMAIL))
+            );
+            cacheUsuarios.buscarPorEmail(EMAIL);
+            verify(usuarioRepository, times(1)).findByEmail(EMAIL);
+        }
+
+        @Test
+        @DisplayName("Não deve seguir índice de email que mudou")
+        void naoDeveSeguirIndiceDesatualizado() {
+            cacheUsuarios.buscarPorEmail(EMAIL);
+            Usuario alterado = usuario("novo@teste.com", DOCUMENTO);
+            cacheManager.getCache(AppConstants.CACHE_USUARIOS).evict(ID);
+            when(usuarioRepository.findById(ID)).thenReturn(Optional.of(alterado));
+            cacheUsuarios.buscarPorId(ID);
+            when(usuarioRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+            assertTrue(cacheUsuarios.buscarPorEmail(EMAIL).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Não deve gravar leitura concorrente a uma invalidação")
+        void naoDeveGravarLeituraConcorrente() {
+            when(usuarioRepository.findById(ID)).thenAnswer(invocation -> {
+                cacheUsuarios.invalidar(ID, DOCUMENTO, EMAIL);
+                return Optional.of(usuario(EMAIL, DOCUMENTO));
+            });
+
+            cacheUsuarios.buscarPorId(ID);
+
+            assertNull(cacheManager.getCache(AppConstants.CACHE_USUARIOS).get(ID));
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package com.guilherme.desafiointer.service;
+
+import com.guilherme.desafiointer.config.AdmissaoRemessasProperties;
+import com.guilherme.desafiointer.config.RemessaAgrupamentoProperties;
+import com.guilherme.desafiointer.controller.RemessaController;
+import com.guilherme.desafiointer.domain.Remessa;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.exception.domain.AdmissaoRecusadaException;
+import com.guilherme.desafiointer.exception.handler.GlobalExceptionHandler;
+import com.guilherme.desafiointer.service.admissao.BaldeTokens;
+import com.guilherme.desafiointer.service.admissao.ControleAdmissao;
+import com.guilherme.desafiointer.service.admissao.EsperaConexoes;
+import com.guilherme.desafiointer.service.admissao.LimiteAdaptativo;
+import com.guilherme.desafiointer.service.agrupamento.AgrupadorRemessas;
+import com.guilherme.desafiointer.service.interfaces.RemessaServiceInterface;
+import com.guilherme.desafiointer.service.validator.RemessaRequestValidator;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Testes do ControleAdmissao")
+class ControleAdmissaoTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+    private static final Long USUARIO = 1L;
+
+    private final EsperaConexoes esperaConexoes = mock(EsperaConexoes.class);
+    private AdmissaoRemessasProperties properties;
+    private ControleAdmissao controleAdmissao;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissaoRemessasProperties();
+        properties.setHabilitado(true);
+        properties.setRemessasPorSegundo(2);
+        properties.setRajada(3);
+        properties.setMaximoEmProcessamento(1);
+        controleAdmissao = new ControleAdmissao(properties, esperaConexoes);
+    }
+
+    @Nested
+    @DisplayName("Testes do balde de tokens")
+    class BaldeTokensTests {
+
+        private final BaldeTokens baldes = new BaldeTokens(2, 3);
+        private final long inicio = 1_000 * SEGUNDO;
+
+        @Test
+        @DisplayName("Deve aceitar a rajada e informar a espera pelo próximo token")
+        void deveAceitarRajadaEInformarEspera() {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(0, baldes.consumir(USUARIO, inicio));
+            }
+            assertEquals(SEGUNDO / 2, baldes.consumir(USUARIO, inicio));
+            assertEquals(0, baldes.consumir(USUARIO, inicio + SEGUNDO / 2));
+        }
+
+        @Test
+        @DisplayName("Deve reabastecer na taxa configurada sem ultrapassar a rajada")
+        void deveReabastecerAteARajada() {
+            for (int i = 0; i < 3; i++) {
+                baldes.consumir(USUARIO, inicio);
+            }
+            long depois = inicio + 10 * SEGUNDO;
+
+            for (int i = 0; i < 3; i++) {
+                assertEquals(0, baldes.consumir(USUARIO, depois));
+            }
+            assertTrue(baldes.consumir(USUARIO, depois) > 0);
+        }
+
+        @Test
+        @DisplayName("Deve manter baldes independentes por usuário")
+        void deveIsolarUsuarios() {
+            for (int i = 0; i < 3; i++) {
+                baldes.consumir(USUARIO, inicio);
+            }
+
+            assertTrue(baldes.consumir(USUARIO, inicio) > 0);
+            assertEquals(0, baldes.consumir(2L, inicio));
+        }
+
+        @Test
+        @DisplayName("Deve remover apenas os baldes já cheios")
+        void deveRemoverBaldesCheios() {
+            baldes.consumir(USUARIO, inicio);
+            baldes.consumir(2L, inicio + SEGUNDO);
+
+            assertEquals(1, baldes.removerCheios(inicio + SEGUNDO / 2));
+            assertEquals(1, baldes.quantidadeUsuarios());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes do limite adaptativo")
+    class LimiteAdaptativoTests {
+
+        private static final long LATENCIA = TimeUnit.MILLISECONDS.toNanos(10);
+
+        private final LimiteAdaptativo limite = new LimiteAdaptativo(10, 2, 100, 1.5, 0.2, 600);
+
+        /**
+         * Ocupa todas as vagas e as devolve com a latência informada.
+         */
+        private void ciclo(long latencia, boolean esperaConexoes) {
+            int reservadas = 0;
+            while (limite.adquirir()) {
+                reservadas++;
+            }
+            for (int i = 0; i < reservadas; i++) {
+                limite.liberar(latencia, esperaConexoes);
+            }
+        }
+
+        @Test
+        @DisplayName("Deve aumentar o limite sob carga com latência estável")
+        void deveAumentarComLatenciaEstavel() {
+            for (int i = 0; i < 20; i++) {
+                ciclo(LATENCIA, false);
+            }
+
+            assertTrue(limite.limite() > 10, () -> "limite: " + limite.limite());
+            assertEquals(0, limite.emProcessamento());
+        }
+
+        @Test
+        @DisplayName("Deve reduzir o limite quando a latência sobe além da tolerância")
+        void deveReduzirComLatenciaAlta() {
+            for (int i = 0; i < 5; i++) {
+                ciclo(LATENCIA, false);
+            }
+            int antes = limite.limite();
+
+            for (int i = 0; i < 5; i++) {
+                ciclo(10 * LATENCIA, false);
+            }
+
+            assertTrue(limite.limite() < antes, () -> "antes: " + antes + ", depois: " + limite.limite());
+        }
+
+        @Test
+        @DisplayName("Deve reduzir o limite com espera por conexões sem passar do mínimo")
+        void deveRespeitarMinimo() {
+            for (int i = 0; i < 100; i++) {
+                ciclo(LATENCIA, true);
+            }
+
+            assertEquals(2, limite.limite());
+        }
+
+        @Test
+        @DisplayName("Não deve aumentar o limite com pouca carga")
+        void naoDeveAumentarComPoucaCarga() {
+            for (int i = 0; i < 100; i++) {
+                assertTrue(limite.adquirir());
+                limite.liberar(LATENCIA, false);
+            }
+
+            assertEquals(10, limite.limite());
+        }
+
+        @Test
+        @DisplayName("Deve recusar vagas acima do limite")
+        void deveRecusarAcimaDoLimite() {
+            for (int i = 0; i < 10; i++) {
+                assertTrue(limite.adquirir());
+            }
+
+            assertFalse(limite.adquirir());
+            assertEquals(10, limite.emProcessamento());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes da espera por conexões")
+    class EsperaConexoesTests {
+
+        private final HikariDataSource dataSource = mock(HikariDataSource.class);
+        private final HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        private EsperaConexoes espera;
+
+        @BeforeEach
+        void setUp() throws Exception {
+            when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+            when(dataSource.unwrap(HikariDataSource.class)).thenReturn(dataSource);
+            when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+            when(dataSource.getMaximumPoolSize()).thenReturn(20);
+            espera = new EsperaConexoes(dataSource, properties);
+        }
+
+        @Test
+        @DisplayName("Não deve indicar saturação com poucas threads em segundo plano esperando conexão")
+        void naoDeveIndicarSaturacaoComPoucaEspera() {
+            when(pool.getThreadsAwaitingConnection()).thenReturn(6);
+
+            assertFalse(espera.saturado());
+        }
+
+        @Test
+        @DisplayName("Deve indicar saturação com metade do pool esperando conexão")
+        void deveIndicarSaturacaoComMetadeDoPool() {
+            when(pool.getThreadsAwaitingConnection()).thenReturn(10);
+
+            assertTrue(espera.saturado());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de admissão")
+    class AdmissaoTests {
+
+        @Test
+        @DisplayName("Deve recusar acima da rajada do remetente com o tempo para nova tentativa")
+        void deveRecusarAcimaDaTaxa() {
+            for (int i = 0; i < 3; i++) {
+                assertEquals("ok", controleAdmissao.executar(USUARIO, () -> "ok"));
+            }
+
+            AdmissaoRecusadaException exception = assertThrows(AdmissaoRecusadaException.class,
+                    () -> controleAdmissao.executar(USUARIO, () -> "ok"));
+
+            assertAll(
+                    () -> assertTrue(exception.getTentarNovamenteEm().compareTo(Duration.ofMillis(500)) <= 0),
+                    () -> assertEquals(1, exception.segundosParaNovaTentativa()),
+                    () -> assertEquals(0, exception.getStackTrace().length),
+                    () -> assertEquals(0, controleAdmissao.emProcessamento())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve recusar quando a instância atinge o máximo em processamento")
+        void deveRecusarSemVagas() throws Exception {
+            CountDownLatch iniciada = new CountDownLatch(1);
+            CountDownLatch liberar = new CountDownLatch(1);
+            CompletableFuture<String> emAndamento = CompletableFuture.supplyAsync(
+                    () -> controleAdmissao.executar(USUARIO, () -> {
+                        iniciada.countDown();
+                        aguardar(liberar);
+                        return "ok";
+                    }));
+            assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+
+            AdmissaoRecusadaException exception = assertThrows(AdmissaoRecusadaException.class,
+                    () -> controleAdmissao.executar(2L, () -> "ok"));
+            liberar.countDown();
+
+            assertAll(
+                    () -> assertEquals(properties.getEsperaCapacidadeEsgotada(), exception.getTentarNovamenteEm()),
+                    () -> assertEquals("ok", emAndamento.get(5, TimeUnit.SECONDS)),
+                    () -> assertEquals("ok", controleAdmissao.executar(2L, () -> "ok"))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve devolver a vaga quando a operação falha")
+        void deveDevolverVagaNaFalha() {
+            assertThrows(IllegalStateException.class, () -> controleAdmissao.executar(USUARIO, () -> {
+                throw new IllegalStateException("falha");
+            }));
+
+            assertEquals(0, controleAdmissao.emProcessamento());
+        }
+
+        @Test
+        @DisplayName("Deve limitar as consultas separadamente das remessas")
+        void deveLimitarConsultasSeparadamente() {
+            properties.setMaximoConsultas(1);
+            controleAdmissao = new ControleAdmissao(properties, esperaConexoes);
+
+            AdmissaoRecusadaException exception = assertThrows(AdmissaoRecusadaException.class,
+                    () -> controleAdmissao.executarConsulta(USUARIO,
+                            () -> controleAdmissao.executarConsulta(2L, () -> "ok")));
+
+            assertAll(
+                    () -> assertEquals(properties.getEsperaCapacidadeEsgotada(), exception.getTentarNovamenteEm()),
+                    () -> assertEquals("ok", controleAdmissao.executarConsulta(USUARIO,
+                            () -> controleAdmissao.executar(USUARIO, () -> "ok")))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve reduzir o limite adaptativo enquanto há espera por conexões")
+        void deveReduzirLimiteComEsperaPorConexoes() {
+            properties.setMaximoEmProcessamento(40);
+            properties.setRemessasPorSegundo(1000);
+            properties.setRajada(1000);
+            properties.getAdaptativo().setHabilitado(true);
+            controleAdmissao = new ControleAdmissao(properties, esperaConexoes);
+            when(esperaConexoes.saturado()).thenReturn(true);
+            int limiteInicial = controleAdmissao.limiteRemessas();
+
+            for (int i = 0; i < 50; i++) {
+                controleAdmissao.executar(USUARIO, () -> "ok");
+            }
+
+            assertAll(
+                    () -> assertEquals(20, limiteInicial),
+                    () -> assertTrue(controleAdmissao.limiteRemessas() < limiteInicial),
+                    () -> assertEquals(properties.getMaximoConsultas() / 2, controleAdmissao.limiteConsultas())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve consumir um token de cada remetente da liquidação")
+        void deveConsumirTokenDeCadaRemetente() {
+            for (int i = 0; i < 3; i++) {
+                assertEquals("ok", controleAdmissao.executar(List.of(USUARIO, 2L), () -> "ok"));
+            }
+
+            assertAll(
+                    () -> assertThrows(AdmissaoRecusadaException.class,
+                            () -> controleAdmissao.executar(List.of(3L, 2L), () -> "ok")),
+                    () -> assertThrows(AdmissaoRecusadaException.class,
+                            () -> controleAdmissao.executar(USUARIO, () -> "ok")),
+                    () -> assertEquals(0, controleAdmissao.emProcessamento())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve verificar apenas a taxa do remetente no envio assíncrono")
+        void deveVerificarTaxaSemReservarVaga() {
+            for (int i = 0; i < 3; i++) {
+                controleAdmissao.verificarTaxa(USUARIO);
+            }
+
+            assertAll(
+                    () -> assertThrows(AdmissaoRecusadaException.class, () -> controleAdmissao.verificarTaxa(USUARIO)),
+                    () -> assertThrows(AdmissaoRecusadaException.class,
+                            () -> controleAdmissao.executar(USUARIO, () -> "ok")),
+                    () -> assertEquals(0, controleAdmissao.emProcessamento())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve executar sem limites quando desabilitado")
+        void deveIgnorarQuandoDesabilitado() {
+            ControleAdmissao desabilitado = new ControleAdmissao(new AdmissaoRemessasProperties(), esperaConexoes);
+
+            for (int i = 0; i < 100; i++) {
+                assertEquals("ok", desabilitado.executar(USUARIO, () -> "ok"));
+            }
+        }
+
+        private void aguardar(CountDownLatch latch) {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes no controller")
+    class ControllerTests {
+
+        private final RemessaServiceInterface remessaService = mock(RemessaServiceInterface.class);
+        private MockMvc mockMvc;
+
+        @BeforeEach
+        void setUp() {
+            properties.setMaximoEmProcessamento(10);
+            controleAdmissao = new ControleAdmissao(properties, esperaConexoes);
+            mockMvc = MockMvcBuilders
+                    .standaloneSetup(new RemessaController(remessaService, new RemessaRequestValidator(),
+                            new AgrupadorRemessas(remessaService, null, null, null, new RemessaAgrupamentoProperties(), null),
+                            controleAdmissao))
+                    .setControllerAdvice(new GlobalExceptionHandler())
+                    .build();
+
+            Remessa remessa = Remessa.builder()
+                    .usuario(Usuario.builder().id(USUARIO).build())
+                    .destinatario(Usuario.builder().id(2L).build())
+                    .valor(new BigDecimal("100.00"))
+                    .moedaDestino("USD")
+                    .build();
+            when(remessaService.realizarRemessa(any(RemessaRequestDTO.class))).thenReturn(remessa);
+        }
+
+        @Test
+        @DisplayName("Deve responder 429 com Retry-After sem chamar o serviço")
+        void deveResponder429ComRetryAfter() throws Exception {
+            String corpo = "{\"usuarioId\":1,\"destinatarioId\":2,\"valor\":100.00,\"moedaDestino\":\"USD\"}";
+            for (int i = 0; i < 3; i++) {
+                mockMvc.perform(post("/api/remessas").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                        .andExpect(status().isCreated());
+            }
+
+            mockMvc.perform(post("/api/remessas").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.status").value(429));
+
+            verify(remessaService, times(3)).realizarRemessa(any(RemessaRequestDTO.class));
+        }
+
+        @Test
+        @DisplayName("Deve aplicar a taxa do remetente aos lotes")
+        void deveAplicarTaxaAosLotes() throws Exception {
+            when(remessaService.realizarRemessaLote(any())).thenReturn(List.of(Remessa.builder()
+                    .usuario(Usuario.builder().id(USUARIO).build())
+                    .destinatario(Usuario.builder().id(2L).build())
+                    .valor(new BigDecimal("100.00"))
+                    .taxa(new BigDecimal("2.00"))
+                    .moedaDestino("USD")
+                    .build()));
+            String corpo = "{\"usuarioId\":1,\"moedaDestino\":\"USD\","
+                    + "\"itens\":[{\"destinatarioId\":2,\"valor\":100.00}]}";
+            for (int i = 0; i < 3; i++) {
+                mockMvc.perform(post("/api/remessas/lote").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                        .andExpect(status().isCreated());
+            }
+
+            mockMvc.perform(post("/api/remessas/lote").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                    .andExpect(status().isTooManyRequests());
+
+            verify(remessaService, times(3)).realizarRemessaLote(any());
+        }
+    }
+}
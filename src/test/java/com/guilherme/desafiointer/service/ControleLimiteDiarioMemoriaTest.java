@@ -0,0 +1,149 @@
+package com.guilherme.desafiointer.service;
+
+import com.guilherme.desafiointer.config.LimiteAcumuladorProperties;
+import com.guilherme.desafiointer.domain.TransacaoDiaria;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.exception.domain.LimiteDiarioExcedidoException;
+import com.guilherme.desafiointer.repository.RemessaRepository;
+import com.guilherme.desafiointer.repository.TransacaoDiariaRepository;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import com.guilherme.desafiointer.service.limite.ControleLimiteDiarioMemoria;
+import com.guilherme.desafiointer.service.strategy.*;
+import com.guilherme.desafiointer.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do ControleLimiteDiarioMemoria")
+class ControleLimiteDiarioMemoriaTest {
+
+    private RemessaRepository remessaRepository;
+    private TransacaoDiariaRepository transacaoDiariaRepository;
+    private ControleLimiteDiarioMemoria controle;
+    private Usuario remetente;
+
+    @BeforeEach
+    void setUp() {
+        remessaRepository = mock(RemessaRepository.class);
+        transacaoDiariaRepository = mock(TransacaoDiariaRepository.class);
+        UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+        StrategyFactory strategyFactory = new StrategyFactory(new LimiteDiarioPFValidator(),
+                new LimiteDiarioPJValidator(), new TaxaPFStrategy(), new TaxaPJStrategy());
+
+        controle = new ControleLimiteDiarioMemoria(strategyFactory, remessaRepository, transacaoDiariaRepository,
+                usuarioRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new LimiteAcumuladorProperties());
+        remetente = TestDataBuilder.criarRemetentePadrao();
+        when(usuarioRepository.getReferenceById(remetente.getId())).thenReturn(remetente);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void concluirTransacao(int status) {
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        sincronizacoes.forEach(s -> s.afterCompletion(status));
+    }
+
+    @Nested
+    @DisplayName("Testes de reserva")
+    class ReservaTests {
+
+        @Test
+        @DisplayName("Deve contabilizar reservas em aberto na validação do limite")
+        void deveContabilizarReservasEmAberto() {
+            TransactionSynchronizationManager.initSynchronization();
+            controle.reservar(remetente, new BigDecimal("6000.00"));
+
+            assertThrows(LimiteDiarioExcedidoException.class,
+                    () -> controle.reservar(remetente, new BigDecimal("5000.00")));
+            assertEquals(new BigDecimal("6000.00"), controle.usoDoDia(remetente.getId()));
+        }
+
+        @Test
+        @DisplayName("Deve liberar reserva no rollback")
+        void deveLiberarReservaNoRollback() {
+            TransactionSynchronizationManager.initSynchronization();
+            controle.reservar(remetente, new BigDecimal("6000.00"));
+            concluirTransacao(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            assertEquals(0, controle.usoDoDia(remetente.getId()).signum());
+            assertDoesNotThrow(() -> controle.reservar(remetente, new BigDecimal("9000.00")));
+        }
+
+        @Test
+        @DisplayName("Deve considerar remessas do dia carregadas na inicialização")
+        void deveConsiderarRemessasReconstruidas() {
+            RemessaRepository.TotalEnviadoPorUsuario total = mock(RemessaRepository.TotalEnviadoPorUsuario.class);
+            when(total.getUsuarioId()).thenReturn(remetente.getId());
+            when(total.getTotal()).thenReturn(new BigDecimal("9500.00"));
+            when(remessaRepository.somarEnviadoPorUsuarioDesde(any())).thenReturn(List.of(total));
+
+            controle.inicializar();
+
+            assertThrows(LimiteDiarioExcedidoException.class,
+                    () -> controle.reservar(remetente, new BigDecimal("600.00")));
+            controle.encerrar();
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de gravação")
+    class GravacaoTests {
+
+        @Test
+        @DisplayName("Deve gravar total confirmado após o commit")
+        void deveGravarTotalConfirmado() {
+            TransactionSynchronizationManager.initSynchronization();
+            controle.reservar(remetente, new BigDecimal("100.00"));
+            controle.reservar(remetente, new BigDecimal("200.00"));
+            concluirTransacao(TransactionSynchronization.STATUS_COMMITTED);
+            when(transacaoDiariaRepository.findByDataAndUsuarioIdIn(eq(LocalDate.now()), any()))
+                    .thenReturn(List.of());
+
+            controle.encerrar();
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<TransacaoDiaria>> captor = ArgumentCaptor.forClass(List.class);
+            verify(transacaoDiariaRepository).saveAll(captor.capture());
+            TransacaoDiaria gravada = captor.getValue().get(0);
+            assertAll(
+                    () -> assertEquals(remetente, gravada.getUsuario()),
+                    () -> assertEquals(LocalDate.now(), gravada.getData()),
+                    () -> assertEquals(new BigDecimal("300.00"), gravada.getValorTotal())
+            );
+        }
+
+        @Test
+        @DisplayName("Não deve gravar reservas desfeitas")
+        void naoDeveGravarReservasDesfeitas() {
+            TransactionSynchronizationManager.initSynchronization();
+            controle.reservar(remetente, new BigDecimal("100.00"));
+            concluirTransacao(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            controle.encerrar();
+
+            verify(transacaoDiariaRepository, never()).saveAll(any());
+        }
+    }
+}
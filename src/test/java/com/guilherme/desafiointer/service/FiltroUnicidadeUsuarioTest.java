@@ -0,0 +1,142 @@
+package com.guilherme.desafiointer.service;
+
+import com.guilherme.desafiointer.config.FiltroUnicidadeProperties;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import com.guilherme.desafiointer.service.cache.CacheUsuarios;
+import com.guilherme.desafiointer.service.unicidade.FiltroBloom;
+import com.guilherme.desafiointer.service.unicidade.FiltroUnicidadeUsuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do FiltroUnicidadeUsuario")
+class FiltroUnicidadeUsuarioTest {
+
+    private static final String EMAIL = "teste@teste.com";
+    private static final String DOCUMENTO = "529.982.247-25";
+
+    private UsuarioRepository usuarioRepository;
+    private FiltroUnicidadeUsuario filtro;
+    private UsuarioService usuarioService;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository = mock(UsuarioRepository.class);
+        filtro = new FiltroUnicidadeUsuario(usuarioRepository, new FiltroUnicidadeProperties());
+        usuarioService = new UsuarioService(usuarioRepository, mock(PasswordEncoder.class), filtro,
+                mock(CacheUsuarios.class));
+        when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private UsuarioRepository.ChaveUnicidade chave(String documento, String email) {
+        return new UsuarioRepository.ChaveUnicidade() {
+            @Override
+            public String getDocumento() {
+                return documento;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Não deve produzir falso negativo e deve respeitar a taxa de falso positivo")
+    void deveRespeitarTaxaDeFalsoPositivo() {
+        FiltroBloom bloom = FiltroBloom.criar(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> bloom.adicionar("usuario" + i + "@email.com"));
+
+        long falsosNegativos = IntStream.range(0, 10_000)
+                .filter(i -> !bloom.podeConter("usuario" + i + "@email.com")).count();
+        long falsosPositivos = IntStream.range(10_000, 110_000)
+                .filter(i -> bloom.podeConter("usuario" + i + "@email.com")).count();
+
+        assertAll(
+                () -> assertEquals(0, falsosNegativos),
+                () -> assertTrue(falsosPositivos < 2_000, "falsos positivos: " + falsosPositivos)
+        );
+    }
+
+    @Nested
+    @DisplayName("Testes de pré-validação no cadastro")
+    class CadastroTests {
+
+        @Test
+        @DisplayName("Deve consultar o banco enquanto o filtro não foi carregado")
+        void deveConsultarBancoAntesDeCarregar() {
+            usuarioService.criarUsuario("Teste", EMAIL, "Senha@123", TipoUsuario.PF, DOCUMENTO);
+
+            verify(usuarioRepository).existsByDocumento(DOCUMENTO);
+            verify(usuarioRepository).existsByEmail(EMAIL);
+        }
+
+        @Test
+        @DisplayName("Deve dispensar as consultas quando o filtro descarta documento e email")
+        void deveDispensarConsultasParaValoresNovos() {
+            when(usuarioRepository.buscarChavesUnicidade())
+                    .thenReturn(Stream.of(chave("248.438.034-80", "outro@email.com")));
+            filtro.inicializar();
+
+            usuarioService.criarUsuario("Teste", EMAIL, "Senha@123", TipoUsuario.PF, DOCUMENTO);
+
+            verify(usuarioRepository, never()).existsByDocumento(any());
+            verify(usuarioRepository, never()).existsByEmail(any());
+        }
+
+        @Test
+        @DisplayName("Deve consultar o banco para valor registrado no filtro")
+        void deveConsultarBancoParaValorRegistrado() {
+            when(usuarioRepository.buscarChavesUnicidade()).thenReturn(Stream.of(chave(DOCUMENTO, EMAIL)));
+            when(usuarioRepository.existsByDocumento(DOCUMENTO)).thenReturn(true);
+            filtro.inicializar();
+
+            RemessaException exception = assertThrows(RemessaException.class, () ->
+                    usuarioService.criarUsuario("Teste", "novo@email.com", "Senha@123", TipoUsuario.PF, DOCUMENTO));
+
+            assertEquals(RemessaErrorType.DOCUMENTO_JA_CADASTRADO, exception.getErrorType());
+        }
+
+        @Test
+        @DisplayName("Deve converter violação de unicidade do banco em conflito")
+        void deveConverterViolacaoDeUnicidade() {
+            when(usuarioRepository.buscarChavesUnicidade()).thenReturn(Stream.empty());
+            when(usuarioRepository.saveAndFlush(any(Usuario.class)))
+                    .thenThrow(new DataIntegrityViolationException("uk_usuarios_documento"));
+            filtro.inicializar();
+
+            RemessaException exception = assertThrows(RemessaException.class, () ->
+                    usuarioService.criarUsuario("Teste", EMAIL, "Senha@123", TipoUsuario.PF, DOCUMENTO));
+
+            assertEquals(RemessaErrorType.USUARIO_JA_CADASTRADO, exception.getErrorType());
+        }
+
+        @Test
+        @DisplayName("Deve registrar usuário cadastrado no filtro")
+        void deveRegistrarUsuarioCadastrado() {
+            when(usuarioRepository.buscarChavesUnicidade()).thenReturn(Stream.empty());
+            filtro.inicializar();
+
+            usuarioService.criarUsuario("Teste", EMAIL, "Senha@123", TipoUsuario.PF, DOCUMENTO);
+
+            assertAll(
+                    () -> assertTrue(filtro.documentoPodeExistir(DOCUMENTO)),
+                    () -> assertTrue(filtro.emailPodeExistir(EMAIL))
+            );
+        }
+    }
+}
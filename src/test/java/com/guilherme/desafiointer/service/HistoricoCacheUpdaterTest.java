@@ -0,0 +1,124 @@
+package com.guilherme.desafiointer.service;
+
+import com.guilherme.desafiointer.config.constants.AppConstants;
+import com.guilherme.desafiointer.domain.Remessa;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.service.cache.HistoricoCacheUpdater;
+import com.guilherme.desafiointer.service.cache.TotaisPeriodoCache;
+import com.guilherme.desafiointer.service.cache.TotalPeriodoCacheKey;
+import com.guilherme.desafiointer.service.testdata.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do HistoricoCacheUpdater")
+class HistoricoCacheUpdaterTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private HistoricoCacheUpdater updater;
+    private TotaisPeriodoCache totaisPeriodoCache;
+    private Usuario remetente;
+    private Usuario destinatario;
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(AppConstants.CACHE_TOTAIS);
+        totaisPeriodoCache = new TotaisPeriodoCache(cacheManager);
+        updater = new HistoricoCacheUpdater(cacheManager, totaisPeriodoCache);
+        remetente = TestDataBuilder.criarRemetentePadrao();
+        destinatario = TestDataBuilder.criarDestinatarioPadrao();
+        inicio = LocalDateTime.now().minusDays(7);
+        fim = LocalDateTime.now().plusDays(1);
+    }
+
+    private Remessa criarRemessa(Long id, LocalDateTime dataCriacao) {
+        return Remessa.builder()
+                .id(id)
+                .usuario(remetente)
+                .destinatario(destinatario)
+                .valor(new BigDecimal("100.00"))
+                .taxa(new BigDecimal("2.00"))
+                .valorConvertido(new BigDecimal("20.00"))
+                .cotacao(new BigDecimal("5.00"))
+                .moedaDestino("USD")
+                .dataCriacao(dataCriacao)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Testes de totais")
+    class TotaisTests {
+
+        @Test
+        @DisplayName("Deve descartar apenas os totais do remetente cujo período contém a remessa")
+        void deveDescartarTotaisDoPeriodo() {
+            Cache cache = cacheManager.getCache(AppConstants.CACHE_TOTAIS);
+            TotalPeriodoCacheKey enviado = TotalPeriodoCacheKey.enviado(remetente.getId(), inicio, fim);
+            TotalPeriodoCacheKey taxas = TotalPeriodoCacheKey.taxas(remetente.getId(), inicio, fim);
+            TotalPeriodoCacheKey anterior = TotalPeriodoCacheKey.enviado(remetente.getId(),
+                    inicio.minusDays(30), inicio.minusDays(8));
+            TotalPeriodoCacheKey outroUsuario = TotalPeriodoCacheKey.enviado(destinatario.getId(), inicio, fim);
+            cache.put(enviado, new BigDecimal("500.00"));
+            cache.put(taxas, new BigDecimal("10.00"));
+            cache.put(anterior, new BigDecimal("300.00"));
+            cache.put(outroUsuario, new BigDecimal("700.00"));
+
+            updater.registrarAposCommit(criarRemessa(1L, LocalDateTime.now()));
+
+            assertAll(
+                    () -> assertNull(cache.get(enviado)),
+                    () -> assertNull(cache.get(taxas)),
+                    () -> assertEquals(new BigDecimal("300.00"), cache.get(anterior).get()),
+                    () -> assertEquals(new BigDecimal("700.00"), cache.get(outroUsuario).get())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve gravar o total calculado e reutilizá-lo")
+        void deveReutilizarTotalCalculado() {
+            TotalPeriodoCacheKey enviado = TotalPeriodoCacheKey.enviado(remetente.getId(), inicio, fim);
+            AtomicInteger calculos = new AtomicInteger();
+
+            totaisPeriodoCache.obter(enviado, () -> {
+                calculos.incrementAndGet();
+                return new BigDecimal("500.00");
+            });
+            BigDecimal total = totaisPeriodoCache.obter(enviado, () -> {
+                calculos.incrementAndGet();
+                return BigDecimal.ZERO;
+            });
+
+            assertAll(
+                    () -> assertEquals(new BigDecimal("500.00"), total),
+                    () -> assertEquals(1, calculos.get())
+            );
+        }
+
+        @Test
+        @DisplayName("Não deve gravar total calculado durante o commit de uma remessa do período")
+        void naoDeveGravarTotalConcorrenteAoCommit() {
+            Cache cache = cacheManager.getCache(AppConstants.CACHE_TOTAIS);
+            TotalPeriodoCacheKey enviado = TotalPeriodoCacheKey.enviado(remetente.getId(), inicio, fim);
+
+            BigDecimal total = totaisPeriodoCache.obter(enviado, () -> {
+                updater.registrarAposCommit(criarRemessa(1L, LocalDateTime.now()));
+                return new BigDecimal("500.00");
+            });
+
+            assertAll(
+                    () -> assertEquals(new BigDecimal("500.00"), total),
+                    () -> assertNull(cache.get(enviado))
+            );
+        }
+    }
+}
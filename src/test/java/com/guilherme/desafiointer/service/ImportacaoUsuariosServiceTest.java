@@ -0,0 +1,174 @@
+package com.guilherme.desafiointer.service;
+
+import com.guilherme.desafiointer.config.FiltroUnicidadeProperties;
+import com.guilherme.desafiointer.config.ImportacaoUsuariosProperties;
+import com.guilherme.desafiointer.config.SecurityConfig;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.usuario.ImportacaoUsuariosDTO;
+import com.guilherme.desafiointer.dto.usuario.ImportacaoUsuariosDTO.ErroLinha;
+import com.guilherme.desafiointer.dto.usuario.ImportacaoUsuariosDTO.StatusImportacao;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.repository.CarteiraRepository;
+import com.guilherme.desafiointer.repository.UsuarioLoteRepository;
+import com.guilherme.desafiointer.repository.UsuarioRepository;
+import com.guilherme.desafiointer.service.importacao.ImportacaoUsuariosService;
+import com.guilherme.desafiointer.service.unicidade.FiltroUnicidadeUsuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ImportacaoUsuariosService.class, UsuarioLoteRepository.class,
+        ImportacaoUsuariosProperties.class, SecurityConfig.class,
+        FiltroUnicidadeUsuario.class, FiltroUnicidadeProperties.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@DisplayName("Testes do ImportacaoUsuariosService")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "usuarios.importacao.paralelismo=2",
+        "usuarios.importacao.tamanho-lote=3",
+        "usuarios.importacao.retencao=PT0.5S"
+})
+class ImportacaoUsuariosServiceTest {
+
+    private static final String CABECALHO = "nomeCompleto;email;senha;tipoUsuario;documento\n";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ImportacaoUsuariosService importacaoUsuariosService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CarteiraRepository carteiraRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(Usuario.builder()
+                .nomeCompleto("Usuário Existente")
+                .email("existente@email.com")
+                .documento("529.982.247-25")
+                .tipoUsuario(TipoUsuario.PF)
+                .senha("Senha@123")
+                .build());
+        entityManager.flush();
+    }
+
+    private ImportacaoUsuariosDTO importar(String conteudo) {
+        ImportacaoUsuariosDTO resultado = importacaoUsuariosService.importar(new StringReader(conteudo));
+        entityManager.clear();
+        return resultado;
+    }
+
+    private String mensagemDaLinha(ImportacaoUsuariosDTO resultado, long linha) {
+        return resultado.erros().stream()
+                .filter(erro -> erro.linha() == linha)
+                .map(ErroLinha::mensagem)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Nested
+    @DisplayName("Testes de importação")
+    class ImportacaoTests {
+
+        @Test
+        @DisplayName("Deve importar usuários válidos com carteira zerada e senha criptografada")
+        void deveImportarUsuariosValidos() {
+            ImportacaoUsuariosDTO resultado = importar(CABECALHO +
+                    "Maria Souza;maria@email.com;Senha@123;PF;248.438.034-80\n" +
+                    "Empresa LTDA;empresa@email.com;Senha@123;PJ;11.222.333/0001-81\n");
+
+            Usuario maria = usuarioRepository.findByDocumento("248.438.034-80").orElseThrow();
+            assertAll(
+                    () -> assertEquals(StatusImportacao.CONCLUIDA, resultado.status()),
+                    () -> assertEquals(2, resultado.linhasProcessadas()),
+                    () -> assertEquals(2, resultado.importados()),
+                    () -> assertEquals(0, resultado.rejeitados()),
+                    () -> assertTrue(passwordEncoder.matches("Senha@123", maria.getSenha())),
+                    () -> assertEquals(TipoUsuario.PF, maria.getTipoUsuario()),
+                    () -> assertEquals(0, BigDecimal.ZERO.compareTo(
+                            carteiraRepository.findByUsuarioId(maria.getId()).orElseThrow().getSaldoBRL()))
+            );
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar linhas inválidas, repetidas e já cadastradas por linha")
+        void deveRejeitarLinhasInvalidas() {
+            ImportacaoUsuariosDTO resultado = importar(CABECALHO +
+                    "Maria Souza;maria@email.com;Senha@123;PF;248.438.034-80\n" +
+                    "Documento Inválido;invalido@email.com;Senha@123;PF;111.111.111-11\n" +
+                    "Tipo Inválido;tipo@email.com;Senha@123;XX;248.438.034-80\n" +
+                    "Repetido;outra@email.com;Senha@123;PF;248.438.034-80\n" +
+                    "Existente;novo@email.com;Senha@123;PF;529.982.247-25\n" +
+                    ";sem-nome@email.com;Senha@123;PJ;11.222.333/0001-81\n" +
+                    "linha sem campos suficientes\n");
+
+            assertAll(
+                    () -> assertEquals(StatusImportacao.CONCLUIDA, resultado.status()),
+                    () -> assertEquals(7, resultado.linhasProcessadas()),
+                    () -> assertEquals(1, resultado.importados()),
+                    () -> assertEquals(6, resultado.rejeitados()),
+                    () -> assertTrue(mensagemDaLinha(resultado, 3).startsWith("Documento inválido")),
+                    () -> assertTrue(mensagemDaLinha(resultado, 4).startsWith("Tipo de usuário inválido")),
+                    () -> assertEquals("Documento repetido no arquivo", mensagemDaLinha(resultado, 5)),
+                    () -> assertEquals("Documento já cadastrado", mensagemDaLinha(resultado, 6)),
+                    () -> assertEquals("Nome completo é obrigatório", mensagemDaLinha(resultado, 7)),
+                    () -> assertTrue(mensagemDaLinha(resultado, 8).startsWith("Formato inválido")),
+                    () -> assertEquals(2, usuarioRepository.count())
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao consultar importação inexistente")
+    void deveLancarExcecaoParaImportacaoInexistente() {
+        UUID id = UUID.randomUUID();
+        assertThrows(RemessaException.class, () -> importacaoUsuariosService.consultar(id));
+    }
+
+    @Test
+    @DisplayName("Deve descartar a situação da importação finalizada após a retenção")
+    void deveDescartarImportacaoAposRetencao() throws Exception {
+        UUID id = importacaoUsuariosService.iniciar(new MockMultipartFile("arquivo", "usuarios.csv", "text/csv",
+                CABECALHO.getBytes(StandardCharsets.UTF_8))).id();
+
+        long limite = System.currentTimeMillis() + 5_000;
+        while (importacaoUsuariosService.consultar(id).fim() == null && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertEquals(StatusImportacao.CONCLUIDA, importacaoUsuariosService.consultar(id).status());
+
+        Thread.sleep(700);
+        RemessaException exception = assertThrows(RemessaException.class,
+                () -> importacaoUsuariosService.consultar(id));
+        assertEquals(RemessaErrorType.IMPORTACAO_NAO_ENCONTRADA, exception.getErrorType());
+    }
+}
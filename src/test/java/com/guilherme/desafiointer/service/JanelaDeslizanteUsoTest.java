@@ -0,0 +1,97 @@
+package com.guilherme.desafiointer.service;
+
+import com.guilherme.desafiointer.service.limite.JanelaDeslizanteUso;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes da JanelaDeslizanteUso")
+class JanelaDeslizanteUsoTest {
+
+    private static final long BALDE = Duration.ofMinutes(15).toMillis();
+    private static final long JANELA = 96 * BALDE;
+    private static final long LIMITE = 1_000_000L; // R$ 10.000,00
+    private static final Long USUARIO = 1L;
+
+    private JanelaDeslizanteUso janela;
+    private long inicio;
+
+    @BeforeEach
+    void setUp() {
+        janela = new JanelaDeslizanteUso(96, BALDE);
+        inicio = 1_000 * JANELA;
+    }
+
+    @Nested
+    @DisplayName("Testes de registro")
+    class RegistroTests {
+
+        @Test
+        @DisplayName("Deve acumular valores e recusar o que ultrapassa o limite")
+        void deveRecusarAcimaDoLimite() {
+            assertTrue(janela.registrar(USUARIO, 600_000L, LIMITE, inicio));
+            assertTrue(janela.registrar(USUARIO, 400_000L, LIMITE, inicio + BALDE));
+            assertFalse(janela.registrar(USUARIO, 1L, LIMITE, inicio + 2 * BALDE));
+            assertEquals(LIMITE, janela.total(USUARIO, inicio + 2 * BALDE));
+        }
+
+        @Test
+        @DisplayName("Deve manter o limite ao atravessar a meia-noite")
+        void deveManterLimiteNaViradaDoDia() {
+            long antesDaMeiaNoite = inicio + JANELA - BALDE;
+            long depoisDaMeiaNoite = inicio + JANELA + BALDE;
+
+            assertTrue(janela.registrar(USUARIO, LIMITE, LIMITE, antesDaMeiaNoite));
+            assertFalse(janela.registrar(USUARIO, LIMITE, LIMITE, depoisDaMeiaNoite));
+        }
+
+        @Test
+        @DisplayName("Deve liberar valores que saem da janela")
+        void deveLiberarValoresExpirados() {
+            janela.registrar(USUARIO, 600_000L, LIMITE, inicio);
+            janela.registrar(USUARIO, 300_000L, LIMITE, inicio + 10 * BALDE);
+
+            assertEquals(300_000L, janela.total(USUARIO, inicio + JANELA));
+            assertEquals(0L, janela.total(USUARIO, inicio + 10 * BALDE + JANELA));
+            assertTrue(janela.registrar(USUARIO, 700_000L, LIMITE, inicio + JANELA));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de estorno e manutenção")
+    class ManutencaoTests {
+
+        @Test
+        @DisplayName("Deve estornar valor registrado")
+        void deveEstornarValor() {
+            janela.registrar(USUARIO, 600_000L, LIMITE, inicio);
+            janela.estornar(USUARIO, 600_000L, janela.balde(inicio), inicio + BALDE);
+
+            assertEquals(0L, janela.total(USUARIO, inicio + BALDE));
+        }
+
+        @Test
+        @DisplayName("Deve ignorar envios carregados fora da janela")
+        void deveIgnorarEnviosForaDaJanela() {
+            janela.carregar(USUARIO, 500_000L, inicio - JANELA, inicio);
+            janela.carregar(USUARIO, 200_000L, inicio - BALDE, inicio);
+
+            assertEquals(200_000L, janela.total(USUARIO, inicio));
+        }
+
+        @Test
+        @DisplayName("Deve remover apenas janelas sem uso")
+        void deveRemoverJanelasSemUso() {
+            janela.registrar(USUARIO, 100_000L, LIMITE, inicio);
+            janela.registrar(2L, 100_000L, LIMITE, inicio + 50 * BALDE);
+
+            assertEquals(1, janela.removerInativas(inicio + JANELA));
+            assertEquals(1, janela.quantidadeUsuarios());
+            assertEquals(100_000L, janela.total(2L, inicio + JANELA));
+        }
+    }
+}
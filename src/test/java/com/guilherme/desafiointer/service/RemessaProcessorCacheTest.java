@@ -7,9 +7,11 @@ import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
 import com.guilherme.desafiointer.repository.CarteiraRepository;
 import com.guilherme.desafiointer.repository.RemessaRepository;
 import com.guilherme.desafiointer.repository.TransacaoDiariaRepository;
+import com.guilherme.desafiointer.service.cache.SegmentoDiarioKey;
 import com.guilherme.desafiointer.service.impl.RemessaServiceImpl;
 import com.guilherme.desafiointer.service.interfaces.CotacaoServiceInterface;
 import com.guilherme.desafiointer.service.processor.RemessaProcessorImpl;
+import com.guilherme.desafiointer.service.resumo.ResumoRemessaService;
 import com.guilherme.desafiointer.service.strategy.LimiteDiarioValidator;
 import com.guilherme.desafiointer.service.strategy.StrategyFactory;
 import com.guilherme.desafiointer.service.strategy.TaxaStrategy;
@@ -26,10 +28,13 @@ import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -68,6 +73,9 @@ class RemessaProcessorCacheTest {
     @MockBean
     private RemessaValidator remessaValidator;
 
+    @MockBean
+    private ResumoRemessaService resumoRemessaService;
+
     @Autowired
     private CacheManager cacheManager;
 
@@ -98,24 +106,13 @@ class RemessaProcessorCacheTest {
                 .saldoUSD(new BigDecimal("1000.00"))
                 .build();
 
-        // Configurar mocks para carteiras
-        when(carteiraRepository.findByUsuarioIdWithPessimisticLock(remetente.getId()))
-                .thenReturn(Optional.of(carteiraRemetente));
-        when(carteiraRepository.findByUsuarioIdWithPessimisticLock(destinatario.getId()))
-                .thenReturn(Optional.of(carteiraDestinatario));
-
         // Configurar mocks para cotação
         when(cotacaoService.obterCotacao(anyString()))
                 .thenReturn(new BigDecimal("5.00"));
 
         // Configurar mocks para transações diárias
-        TransacaoDiaria transacaoDiaria = TransacaoDiaria.builder()
-                .usuario(remetente)
-                .data(LocalDate.now())
-                .valorTotal(BigDecimal.ZERO)
-                .build();
-        when(transacaoDiariaRepository.findByUsuarioAndData(any(), any()))
-                .thenReturn(Optional.of(transacaoDiaria));
+        when(transacaoDiariaRepository.incrementarValorTotal(any(), any(), any(), any()))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(2)));
 
         // Configurar mocks para estratégias de taxa e limite
         TaxaStrategy taxaStrategy = mock(TaxaStrategy.class);
@@ -197,7 +194,8 @@ class RemessaProcessorCacheTest {
             );
 
             // when
-            remessaProcessor.processarRemessa(remessaRequestDTO);
+            remessaProcessor.processarRemessa(TestDataBuilder.criarContextoRemessa(
+                    remessaRequestDTO, carteiraRemetente, carteiraDestinatario));
 
             // then
             assertAll(
@@ -259,11 +257,11 @@ class RemessaProcessorCacheTest {
         @BeforeEach
         void setUp() {
             inicio = LocalDateTime.now().minusDays(7);
-            fim = LocalDateTime.now();
+            fim = LocalDateTime.now().minusDays(2);
             pageable = PageRequest.of(0, 10);
 
-            when(remessaRepository.buscarHistoricoTransacoes(any(), any(), any(), any()))
-                    .thenReturn(Page.empty());
+            when(remessaRepository.buscarRemessasDoPeriodo(any(), any(), any()))
+                    .thenReturn(List.of());
         }
 
         @Test
@@ -271,28 +269,109 @@ class RemessaProcessorCacheTest {
         void deveUsarCacheAoBuscarHistoricoComMesmosParametros() {
             // when
             remessaProcessor.buscarHistorico(remetente, inicio, fim, pageable);
+            clearInvocations(remessaRepository);
             remessaProcessor.buscarHistorico(remetente, inicio, fim, pageable);
 
             // then
-            verify(remessaRepository, times(1))
-                    .buscarHistoricoTransacoes(remetente, inicio, fim, pageable);
+            verify(remessaRepository, never()).buscarRemessasDoPeriodo(any(), any(), any());
+            verify(remessaRepository, never()).buscarHistoricoTransacoes(any(), any(), any(), any());
         }
 
         @Test
-        @DisplayName("Deve ignorar cache para períodos diferentes")
-        void deveIgnorarCacheParaPeriodosDiferentes() {
+        @DisplayName("Deve carregar apenas os dias ausentes em períodos sobrepostos")
+        void deveCarregarApenasDiasAusentesEmPeriodosSobrepostos() {
             // given
-            LocalDateTime novoFim = fim.plusDays(1);
+            LocalDateTime novoInicio = inicio.minusDays(1);
+            LocalDate diaAusente = novoInicio.toLocalDate();
 
             // when
             remessaProcessor.buscarHistorico(remetente, inicio, fim, pageable);
-            remessaProcessor.buscarHistorico(remetente, inicio, novoFim, pageable);
+            clearInvocations(remessaRepository);
+            remessaProcessor.buscarHistorico(remetente, novoInicio, fim, pageable);
 
             // then
-            verify(remessaRepository, times(1))
-                    .buscarHistoricoTransacoes(remetente, inicio, fim, pageable);
-            verify(remessaRepository, times(1))
-                    .buscarHistoricoTransacoes(remetente, inicio, novoFim, pageable);
+            verify(remessaRepository, times(1)).buscarRemessasDoPeriodo(
+                    remetente, diaAusente.atStartOfDay(), diaAusente.atTime(LocalTime.MAX));
+            verifyNoMoreInteractions(remessaRepository);
+        }
+
+        @Test
+        @DisplayName("Deve consultar o dia atual no banco a cada busca, sem armazená-lo")
+        void deveConsultarDiaAtualSemArmazenar() {
+            // given
+            LocalDateTime agora = LocalDateTime.now();
+            LocalDate hoje = agora.toLocalDate();
+
+            // when
+            remessaProcessor.buscarHistorico(remetente, inicio, agora, pageable);
+            clearInvocations(remessaRepository);
+            remessaProcessor.buscarHistorico(remetente, inicio, agora, pageable);
+
+            // then
+            verify(remessaRepository, times(1)).buscarRemessasDoPeriodo(
+                    eq(remetente), any(), eq(hoje.atTime(LocalTime.MAX)));
+            verifyNoMoreInteractions(remessaRepository);
+            assertNull(cacheManager.getCache(AppConstants.CACHE_HISTORICO)
+                    .get(new SegmentoDiarioKey(remetente.getId(), hoje)));
+        }
+
+        @Test
+        @DisplayName("Deve montar página a partir dos segmentos respeitando período e ordem")
+        void deveMontarPaginaAPartirDosSegmentos() {
+            // given
+            Remessa foraDoPeriodo = criarRemessa(1L, inicio.minusMinutes(1));
+            Remessa antiga = criarRemessa(2L, inicio.plusHours(1));
+            Remessa recente = criarRemessa(3L, fim.minusMinutes(1));
+            List<Remessa> remessas = List.of(recente, antiga, foraDoPeriodo);
+            when(remessaRepository.buscarRemessasDoPeriodo(any(), any(), any()))
+                    .thenAnswer(invocation -> {
+                        LocalDateTime de = invocation.getArgument(1);
+                        LocalDateTime ate = invocation.getArgument(2);
+                        return remessas.stream()
+                                .filter(r -> !r.getDataCriacao().isBefore(de) && !r.getDataCriacao().isAfter(ate))
+                                .toList();
+                    });
+
+            // when
+            Page<Remessa> primeira = remessaProcessor.buscarHistorico(remetente, inicio, fim, PageRequest.of(0, 1));
+            Page<Remessa> segunda = remessaProcessor.buscarHistorico(remetente, inicio, fim, PageRequest.of(1, 1));
+
+            // then
+            assertAll(
+                    () -> assertEquals(List.of(recente), primeira.getContent()),
+                    () -> assertEquals(List.of(antiga), segunda.getContent()),
+                    () -> assertEquals(2, primeira.getTotalElements())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve consultar o repositório diretamente com ordenação customizada")
+        void deveConsultarRepositorioComOrdenacaoCustomizada() {
+            // given
+            PageRequest ordenado = PageRequest.of(0, 10, Sort.by("valor"));
+            when(remessaRepository.buscarHistoricoTransacoes(any(), any(), any(), any()))
+                    .thenReturn(Page.empty());
+
+            // when
+            remessaProcessor.buscarHistorico(remetente, inicio, fim, ordenado);
+
+            // then
+            verify(remessaRepository, times(1)).buscarHistoricoTransacoes(remetente, inicio, fim, ordenado);
+            verify(remessaRepository, never()).buscarRemessasDoPeriodo(any(), any(), any());
+        }
+
+        private Remessa criarRemessa(Long id, LocalDateTime dataCriacao) {
+            return Remessa.builder()
+                    .id(id)
+                    .usuario(remetente)
+                    .destinatario(destinatario)
+                    .valor(new BigDecimal("100.00"))
+                    .taxa(new BigDecimal("2.00"))
+                    .valorConvertido(new BigDecimal("20.00"))
+                    .cotacao(new BigDecimal("5.00"))
+                    .moedaDestino("USD")
+                    .dataCriacao(dataCriacao)
+                    .build();
         }
     }
-}
\ No newline at end of file
+}
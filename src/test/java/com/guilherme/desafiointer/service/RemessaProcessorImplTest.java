@@ -18,7 +18,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import java.math.BigDecimal;
-import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
@@ -71,11 +70,7 @@ class RemessaProcessorImplTest {
         // Criar DTO de remessa
         remessaRequestDTO = criarRemessaDTO();
 
-        // Mockar comportamentos para repositórios e serviços dependentes
-        when(carteiraRepository.findByUsuarioIdWithPessimisticLock(usuarioRemetente.getId()))
-                .thenReturn(Optional.of(carteiraRemetente));
-        when(carteiraRepository.findByUsuarioIdWithPessimisticLock(usuarioDestinatario.getId()))
-                .thenReturn(Optional.of(carteiraDestinatario));
+        // Mockar comportamentos para serviços dependentes
         when(cotacaoService.obterCotacao(anyString())).thenReturn(new BigDecimal("5.00"));
     }
 
@@ -0,0 +1,221 @@
+package com.guilherme.desafiointer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guilherme.desafiointer.config.AdmissaoRemessasProperties;
+import com.guilherme.desafiointer.config.RemessaAgrupamentoProperties;
+import com.guilherme.desafiointer.controller.RemessaController;
+import com.guilherme.desafiointer.domain.Remessa;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.handler.GlobalExceptionHandler;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.service.admissao.ControleAdmissao;
+import com.guilherme.desafiointer.service.agrupamento.AgrupadorRemessas;
+import com.guilherme.desafiointer.service.interfaces.RemessaServiceInterface;
+import com.guilherme.desafiointer.service.validator.RemessaRequestValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Testes do RemessaRequestValidator")
+class RemessaRequestValidatorTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator beanValidator;
+
+    private final RemessaRequestValidator validator = new RemessaRequestValidator();
+
+    @BeforeAll
+    static void criarBeanValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void fecharBeanValidator() {
+        validatorFactory.close();
+    }
+
+    private static RemessaRequestDTO requisicao(Long usuarioId, Long destinatarioId, String valor, String moeda) {
+        return RemessaRequestDTO.builder()
+                .usuarioId(usuarioId)
+                .destinatarioId(destinatarioId)
+                .valor(valor != null ? new BigDecimal(valor) : null)
+                .moedaDestino(moeda)
+                .build();
+    }
+
+    static Stream<Arguments> requisicoes() {
+        return Stream.of(
+                Arguments.of(requisicao(1L, 2L, "100.00", "USD")),
+                Arguments.of(requisicao(1L, 2L, "0.01", "BRL")),
+                Arguments.of(requisicao(null, 2L, "100.00", "USD")),
+                Arguments.of(requisicao(1L, null, "100.00", "USD")),
+                Arguments.of(requisicao(1L, 2L, null, "USD")),
+                Arguments.of(requisicao(1L, 2L, "0", "USD")),
+                Arguments.of(requisicao(1L, 2L, "-10", "USD")),
+                Arguments.of(requisicao(1L, 2L, "100.00", null)),
+                Arguments.of(requisicao(1L, 2L, "100.00", "usd")),
+                Arguments.of(requisicao(1L, 2L, "100.00", "US")),
+                Arguments.of(requisicao(1L, 2L, "100.00", "USDT")),
+                Arguments.of(requisicao(1L, 2L, "100.00", "U1D")),
+                Arguments.of(requisicao(1L, 2L, "100.00", "")),
+                Arguments.of(requisicao(null, null, null, null))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("requisicoes")
+    @DisplayName("Deve produzir as mesmas violações que as anotações do DTO")
+    void deveConcordarComBeanValidation(RemessaRequestDTO dto) {
+        Set<String> esperado = beanValidator.validate(dto).stream()
+                .map(violacao -> violacao.getPropertyPath() + ":" + violacao.getMessage())
+                .collect(Collectors.toSet());
+
+        BeanPropertyBindingResult erros = new BeanPropertyBindingResult(dto, "remessaRequestDTO");
+        validator.validate(dto, erros);
+        Set<String> obtido = erros.getFieldErrors().stream()
+                .map(erro -> erro.getField() + ":" + erro.getDefaultMessage())
+                .collect(Collectors.toSet());
+
+        assertEquals(esperado, obtido);
+    }
+
+    @Nested
+    @DisplayName("Testes de validação única")
+    class ValidacaoUnicaTests {
+
+        @Test
+        @DisplayName("Deve marcar requisição válida e dispensar nova validação")
+        void deveMarcarRequisicaoValida() {
+            RemessaRequestDTO dto = requisicao(1L, 2L, "100.00", "USD");
+
+            validator.validate(dto, new BeanPropertyBindingResult(dto, "remessaRequestDTO"));
+
+            assertTrue(dto.isValidada());
+            assertDoesNotThrow(() -> validator.validar(dto));
+        }
+
+        @Test
+        @DisplayName("Não deve marcar requisição com violações")
+        void naoDeveMarcarRequisicaoInvalida() {
+            RemessaRequestDTO dto = requisicao(1L, 2L, "-1", "USD");
+            BeanPropertyBindingResult erros = new BeanPropertyBindingResult(dto, "remessaRequestDTO");
+
+            validator.validate(dto, erros);
+
+            FieldError erro = erros.getFieldError("valor");
+            assertAll(
+                    () -> assertFalse(dto.isValidada()),
+                    () -> assertNotNull(erro),
+                    () -> assertEquals("Positive", erro.getCode())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve lançar DADOS_INVALIDOS com todas as mensagens fora da camada web")
+        void deveLancarExcecaoComMensagens() {
+            RemessaRequestDTO dto = requisicao(null, 2L, "100.00", "usd");
+
+            RemessaException exception = assertThrows(RemessaException.class, () -> validator.validar(dto));
+
+            assertAll(
+                    () -> assertEquals(RemessaErrorType.DADOS_INVALIDOS, exception.getErrorType()),
+                    () -> assertEquals("ID do usuário é obrigatório; Moeda destino deve seguir o padrão ISO-4217",
+                            exception.getDetail()),
+                    () -> assertFalse(dto.isValidada())
+            );
+        }
+
+        @Test
+        @DisplayName("Não deve aceitar a marcação de validada vinda do JSON")
+        void naoDeveAceitarMarcacaoDoJson() throws Exception {
+            RemessaRequestDTO dto = new ObjectMapper().readValue(
+                    "{\"usuarioId\":1,\"destinatarioId\":2,\"valor\":-5,\"moedaDestino\":\"USD\",\"validada\":true}",
+                    RemessaRequestDTO.class);
+
+            assertFalse(dto.isValidada());
+            assertThrows(RemessaException.class, () -> validator.validar(dto));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de validação no controller")
+    class ControllerTests {
+
+        private final RemessaServiceInterface remessaService = mock(RemessaServiceInterface.class);
+        private final MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new RemessaController(remessaService, validator,
+                        new AgrupadorRemessas(remessaService, null, null, null, new RemessaAgrupamentoProperties(), null),
+                        new ControleAdmissao(new AdmissaoRemessasProperties(), null)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        @Test
+        @DisplayName("Deve entregar ao serviço a requisição já marcada como validada")
+        void deveEntregarRequisicaoValidada() throws Exception {
+            when(remessaService.realizarRemessa(any())).thenReturn(Remessa.builder()
+                    .usuario(Usuario.builder().id(1L).build())
+                    .destinatario(Usuario.builder().id(2L).build())
+                    .valor(new BigDecimal("100.00"))
+                    .moedaDestino("USD")
+                    .build());
+
+            mockMvc.perform(post("/api/remessas")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"usuarioId\":1,\"destinatarioId\":2,\"valor\":100.00,\"moedaDestino\":\"USD\"}"))
+                    .andExpect(status().isCreated());
+
+            ArgumentCaptor<RemessaRequestDTO> captor = ArgumentCaptor.forClass(RemessaRequestDTO.class);
+            verify(remessaService).realizarRemessa(captor.capture());
+            assertTrue(captor.getValue().isValidada());
+        }
+
+        @Test
+        @DisplayName("Deve responder 400 com erros por campo sem chamar o serviço")
+        void deveResponderErrosPorCampo() throws Exception {
+            mockMvc.perform(post("/api/remessas")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"usuarioId\":1,\"valor\":0,\"moedaDestino\":\"usd\"}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errors.destinatarioId").value("ID do destinatário é obrigatório"))
+                    .andExpect(jsonPath("$.errors.valor").value("Valor deve ser maior que zero"))
+                    .andExpect(jsonPath("$.errors.moedaDestino").value("Moeda destino deve seguir o padrão ISO-4217"));
+
+            verifyNoInteractions(remessaService);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar requisição nula")
+    void deveRecusarRequisicaoNula() {
+        RemessaException exception = assertThrows(RemessaException.class, () -> validator.validar(null));
+        assertEquals(RemessaErrorType.DADOS_INVALIDOS, exception.getErrorType());
+    }
+}
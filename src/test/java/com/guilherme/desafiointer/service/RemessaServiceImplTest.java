@@ -2,6 +2,7 @@ package com.guilherme.desafiointer.service;
 
 import com.guilherme.desafiointer.config.TestConfig;
 import com.guilherme.desafiointer.config.constants.AppConstants;
+import com.guilherme.desafiointer.domain.Carteira;
 import com.guilherme.desafiointer.domain.Remessa;
 import com.guilherme.desafiointer.domain.Usuario;
 import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
@@ -9,6 +10,7 @@ import com.guilherme.desafiointer.exception.domain.SaldoInsuficienteException;
 import com.guilherme.desafiointer.exception.remessa.RemessaException;
 import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
 import com.guilherme.desafiointer.service.impl.RemessaServiceImpl;
+import com.guilherme.desafiointer.service.processor.ContextoRemessa;
 import com.guilherme.desafiointer.service.processor.RemessaProcessor;
 import com.guilherme.desafiointer.service.testdata.TestDataBuilder;
 import com.guilherme.desafiointer.service.validator.RemessaValidator;
@@ -52,14 +54,23 @@ class RemessaServiceImplTest {
     private Usuario remetente;
     private Usuario destinatario;
     private RemessaRequestDTO remessaPadrao;
+    private Carteira carteiraRemetente;
+    private Carteira carteiraDestinatario;
 
     @BeforeEach
     void setUp() {
         remetente = TestDataBuilder.criarRemetentePadrao();
         destinatario = TestDataBuilder.criarDestinatarioPadrao();
         remessaPadrao = TestDataBuilder.criarRemessaPadrao(remetente.getId(), destinatario.getId());
+        carteiraRemetente = TestDataBuilder.criarCarteira(remetente, new BigDecimal("1000.00"), BigDecimal.ZERO);
+        carteiraDestinatario = TestDataBuilder.criarCarteira(destinatario, BigDecimal.ZERO, BigDecimal.ZERO);
 
-        doNothing().when(remessaValidator).validarDadosRemessa(any(RemessaRequestDTO.class));
+        when(remessaValidator.validarDadosRemessa(any(RemessaRequestDTO.class)))
+                .thenAnswer(invocation -> contexto(invocation.getArgument(0)));
+    }
+
+    private ContextoRemessa contexto(RemessaRequestDTO dto) {
+        return TestDataBuilder.criarContextoRemessa(dto, carteiraRemetente, carteiraDestinatario);
     }
 
     @Nested
@@ -78,7 +89,7 @@ class RemessaServiceImplTest {
                     .build();
 
             Remessa remessaProcessada = TestDataBuilder.criarRemessaProcessada(remessaTest, remetente, destinatario);
-            when(remessaProcessor.processarRemessa(remessaTest)).thenReturn(remessaProcessada);
+            when(remessaProcessor.processarRemessa(contexto(remessaTest))).thenReturn(remessaProcessada);
 
             // when
             Remessa resultado = remessaService.realizarRemessa(remessaTest);
@@ -102,7 +113,7 @@ class RemessaServiceImplTest {
         @DisplayName("Deve realizar remessa com sucesso")
         void deveRealizarRemessaComSucesso() {
             Remessa remessaEsperada = TestDataBuilder.criarRemessaProcessada(remessaPadrao, remetente, destinatario);
-            when(remessaProcessor.processarRemessa(remessaPadrao)).thenReturn(remessaEsperada);
+            when(remessaProcessor.processarRemessa(contexto(remessaPadrao))).thenReturn(remessaEsperada);
 
             Remessa resultado = remessaService.realizarRemessa(remessaPadrao);
 
@@ -110,7 +121,7 @@ class RemessaServiceImplTest {
                     () -> assertNotNull(resultado),
                     () -> assertEquals(remessaEsperada, resultado),
                     () -> verify(remessaValidator).validarDadosRemessa(remessaPadrao),
-                    () -> verify(remessaProcessor).processarRemessa(remessaPadrao)
+                    () -> verify(remessaProcessor).processarRemessa(contexto(remessaPadrao))
             );
         }
 
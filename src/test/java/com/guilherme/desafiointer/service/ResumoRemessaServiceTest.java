@@ -0,0 +1,185 @@
+package com.guilherme.desafiointer.service;
+
+import com.guilherme.desafiointer.domain.Remessa;
+import com.guilherme.desafiointer.domain.TipoUsuario;
+import com.guilherme.desafiointer.domain.Usuario;
+import com.guilherme.desafiointer.dto.remessa.TotaisRemessaDTO;
+import com.guilherme.desafiointer.repository.RemessaRepository;
+import com.guilherme.desafiointer.repository.ResumoRemessaDiarioRepository;
+import com.guilherme.desafiointer.repository.ResumoRemessaMensalRepository;
+import com.guilherme.desafiointer.service.cache.TotaisPeriodoCache;
+import com.guilherme.desafiointer.service.resumo.ResumoRemessaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ResumoRemessaService.class, TotaisPeriodoCache.class})
+@DisplayName("Testes do ResumoRemessaService")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never"
+})
+class ResumoRemessaServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ResumoRemessaService resumoRemessaService;
+
+    @Autowired
+    private RemessaRepository remessaRepository;
+
+    @Autowired
+    private ResumoRemessaDiarioRepository resumoDiarioRepository;
+
+    @Autowired
+    private ResumoRemessaMensalRepository resumoMensalRepository;
+
+    private Usuario remetente;
+    private Usuario destinatario;
+
+    @BeforeEach
+    void setUp() {
+        remetente = criarUsuario("remetente@email.com", "529.982.247-25");
+        destinatario = criarUsuario("destinatario@email.com", "248.438.034-80");
+
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 0; i < 120; i++) {
+            LocalDateTime dataCriacao = base.plusDays(i * 3L).plusHours(i % 12);
+            registrar(dataCriacao, new BigDecimal(100 + i), i % 2 == 0 ? "USD" : "BRL");
+        }
+        entityManager.flush();
+    }
+
+    private Usuario criarUsuario(String email, String documento) {
+        return entityManager.persist(Usuario.builder()
+                .nomeCompleto("Usuário " + email)
+                .email(email)
+                .documento(documento)
+                .tipoUsuario(TipoUsuario.PF)
+                .senha("Senha@123")
+                .build());
+    }
+
+    private void registrar(LocalDateTime dataCriacao, BigDecimal valor, String moeda) {
+        Remessa remessa = entityManager.persist(Remessa.builder()
+                .usuario(remetente)
+                .destinatario(destinatario)
+                .valor(valor)
+                .taxa(valor.multiply(new BigDecimal("0.02")))
+                .valorConvertido(valor.multiply(new BigDecimal("5.00")))
+                .cotacao(new BigDecimal("5.00"))
+                .moedaDestino(moeda)
+                .dataCriacao(dataCriacao)
+                .build());
+        resumoRemessaService.registrar(remessa);
+    }
+
+    private void assertTotaisIguais(TotaisRemessaDTO esperado, TotaisRemessaDTO atual) {
+        assertAll(
+                () -> assertEquals(esperado.quantidade(), atual.quantidade()),
+                () -> assertEquals(0, esperado.totalValor().compareTo(atual.totalValor())),
+                () -> assertEquals(0, esperado.totalTaxa().compareTo(atual.totalTaxa())),
+                () -> assertEquals(0, esperado.totalValorConvertido().compareTo(atual.totalValorConvertido()))
+        );
+    }
+
+    private void assertEquivalenteAoCalculoDireto(LocalDateTime inicio, LocalDateTime fim) {
+        TotaisRemessaDTO direto = remessaRepository.somarTotaisPorPeriodo(remetente.getId(), inicio, fim);
+        assertTotaisIguais(direto, resumoRemessaService.calcularTotais(remetente, inicio, fim));
+    }
+
+    @Nested
+    @DisplayName("Testes de resumos")
+    class ResumoTests {
+
+        @Test
+        @DisplayName("Deve manter uma linha por dia e moeda")
+        void deveManterUmaLinhaPorDiaEMoeda() {
+            LocalDate dia = LocalDate.of(2024, 1, 1);
+            registrar(dia.atTime(23, 0), new BigDecimal("50.00"), "USD");
+            entityManager.flush();
+
+            TotaisRemessaDTO totais = resumoDiarioRepository.somarPeriodo(remetente.getId(), dia, dia);
+
+            assertAll(
+                    () -> assertEquals(2L, totais.quantidade()),
+                    () -> assertEquals(0, new BigDecimal("150.00").compareTo(totais.totalValor())),
+                    () -> assertEquals(1, resumoDiarioRepository.findAll().stream()
+                            .filter(r -> r.getDia().equals(dia)).count())
+            );
+        }
+
+        @Test
+        @DisplayName("Deve consolidar o mês inteiro no resumo mensal")
+        void deveConsolidarResumoMensal() {
+            LocalDate janeiro = LocalDate.of(2024, 1, 1);
+
+            assertTotaisIguais(
+                    resumoDiarioRepository.somarPeriodo(remetente.getId(), janeiro, janeiro.withDayOfMonth(31)),
+                    resumoMensalRepository.somarPeriodo(remetente.getId(), janeiro, janeiro));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de totais por período")
+    class TotaisTests {
+
+        @Test
+        @DisplayName("Deve calcular período de vários meses com frações de dia")
+        void deveCalcularPeriodoComFracoes() {
+            assertEquivalenteAoCalculoDireto(
+                    LocalDateTime.of(2024, 1, 4, 12, 30),
+                    LocalDateTime.of(2024, 9, 15, 8, 0));
+        }
+
+        @Test
+        @DisplayName("Deve calcular período de dias completos dentro de um mês")
+        void deveCalcularDiasCompletos() {
+            assertEquivalenteAoCalculoDireto(
+                    LocalDate.of(2024, 2, 3).atStartOfDay(),
+                    LocalDate.of(2024, 2, 20).atTime(LocalTime.MAX));
+        }
+
+        @Test
+        @DisplayName("Deve calcular período de meses completos")
+        void deveCalcularMesesCompletos() {
+            assertEquivalenteAoCalculoDireto(
+                    LocalDate.of(2024, 2, 1).atStartOfDay(),
+                    LocalDate.of(2024, 6, 30).atTime(LocalTime.MAX));
+        }
+
+        @Test
+        @DisplayName("Deve calcular fração de um único dia")
+        void deveCalcularFracaoDeUmDia() {
+            assertEquivalenteAoCalculoDireto(
+                    LocalDateTime.of(2024, 1, 1, 9, 0),
+                    LocalDateTime.of(2024, 1, 1, 11, 0));
+        }
+
+        @Test
+        @DisplayName("Deve retornar zero para período sem remessas")
+        void deveRetornarZeroSemRemessas() {
+            TotaisRemessaDTO totais = resumoRemessaService.calcularTotais(remetente,
+                    LocalDate.of(2030, 1, 1).atStartOfDay(), LocalDate.of(2030, 3, 31).atTime(LocalTime.MAX));
+
+            assertTotaisIguais(TotaisRemessaDTO.VAZIO, totais);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.guilherme.desafiointer.service;
+
+import com.guilherme.desafiointer.service.validator.DocumentoValidationService;
+import com.guilherme.desafiointer.service.validator.ResumoValidacaoLote;
+import com.guilherme.desafiointer.service.validator.ValidadorDocumento;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do ValidadorDocumento")
+class ValidadorDocumentoTest {
+
+    @Nested
+    @DisplayName("Testes de CPF")
+    class CpfTests {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"529.982.247-25", "52998224725", "248.438.034-80", " 529 982 247 25 "})
+        @DisplayName("Deve aceitar CPF válido com ou sem formatação")
+        void deveAceitarCpfValido(String cpf) {
+            assertTrue(ValidadorDocumento.validarCPF(cpf));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"529.982.247-24", "111.111.111-11", "5299822472", "529982247250", ""})
+        @DisplayName("Deve recusar CPF inválido, repetido ou com tamanho errado")
+        void deveRecusarCpfInvalido(String cpf) {
+            assertFalse(ValidadorDocumento.validarCPF(cpf));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testes de CNPJ")
+    class CnpjTests {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"45.997.418/0001-53", "45997418000153", "11.222.333/0001-81",
+                "12.ABC.345/01DE-35", "12ABC34501DE35"})
+        @DisplayName("Deve aceitar CNPJ numérico e alfanumérico")
+        void deveAceitarCnpjValido(String cnpj) {
+            assertTrue(ValidadorDocumento.validarCNPJ(cnpj));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"45.997.418/0001-54", "11.111.111/1111-11", "12.ABC.345/01DE-36",
+                "12.abc.345/01de-35", "12.ABC.345/01DE-3A", "4599741800015", ""})
+        @DisplayName("Deve recusar CNPJ inválido, minúsculo ou com verificador não numérico")
+        void deveRecusarCnpjInvalido(String cnpj) {
+            assertFalse(ValidadorDocumento.validarCNPJ(cnpj));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve retornar false para documento null")
+    void deveRetornarFalseParaNull() {
+        assertFalse(ValidadorDocumento.validarCPF(null));
+        assertFalse(ValidadorDocumento.validarCNPJ(null));
+    }
+
+    @Nested
+    @DisplayName("Testes de validação em lote")
+    class LoteTests {
+
+        private final DocumentoValidationService service = new DocumentoValidationService();
+
+        @Test
+        @DisplayName("Deve contar válidos por tipo e inválidos em paralelo")
+        void deveContarDocumentosEmParalelo() {
+            List<String> documentos = Stream.of(
+                    Collections.nCopies(10_000, "529.982.247-25"),
+                    Collections.nCopies(5_000, "12.ABC.345/01DE-35"),
+                    Collections.nCopies(2_500, "111.111.111-11")
+            ).flatMap(List::stream).toList();
+
+            ResumoValidacaoLote resumo = service.validarLote(documentos.stream());
+
+            assertEquals(new ResumoValidacaoLote(17_500, 10_000, 5_000, 2_500), resumo);
+        }
+
+        @Test
+        @DisplayName("Deve validar arquivo com um documento por linha")
+        void deveValidarArquivo(@TempDir Path diretorio) throws IOException {
+            Path arquivo = Files.write(diretorio.resolve("documentos.txt"), List.of(
+                    "529.982.247-25", "", "45.997.418/0001-53", "123"));
+
+            assertEquals(new ResumoValidacaoLote(3, 1, 1, 1), service.validarArquivo(arquivo));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.guilherme.desafiointer.service.agrupamento;
+
+import com.guilherme.desafiointer.config.FabricaThreads;
+import com.guilherme.desafiointer.config.RemessaAgrupamentoProperties;
+import com.guilherme.desafiointer.domain.Remessa;
+import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
+import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
+import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.service.interfaces.RemessaServiceInterface;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Espera limitada do chamador e encerramento do AgrupadorRemessas com uma
+ * gravação presa (que ignora a interrupção, como um I/O de banco bloqueado).
+ */
+@DisplayName("Testes do AgrupadorRemessas")
+class AgrupadorRemessasTest {
+
+    private final RemessaServiceInterface remessaService = mock(RemessaServiceInterface.class);
+    private final CountDownLatch emGravacao = new CountDownLatch(1);
+    private final CountDownLatch liberacao = new CountDownLatch(1);
+    private AgrupadorRemessas agrupadorRemessas;
+
+    @BeforeEach
+    void setUp() {
+        RemessaAgrupamentoProperties properties = new RemessaAgrupamentoProperties();
+        properties.setHabilitado(true);
+        properties.setJanela(Duration.ofMillis(50));
+        properties.setTempoMaximoEspera(Duration.ofMillis(300));
+
+        when(remessaService.realizarRemessa(any())).thenAnswer(invocacao -> {
+            emGravacao.countDown();
+            aguardarSemInterrupcao(liberacao);
+            return Remessa.builder().id(1L).build();
+        });
+
+        agrupadorRemessas = new AgrupadorRemessas(remessaService, null, null, null, properties,
+                new FabricaThreads(new MockEnvironment()));
+        agrupadorRemessas.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberacao.countDown();
+        agrupadorRemessas.encerrar();
+    }
+
+    private static void aguardarSemInterrupcao(CountDownLatch latch) {
+        boolean interrompida = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrompida = true;
+            }
+        }
+        if (interrompida) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static RemessaRequestDTO remessa(Long remetenteId, Long destinatarioId) {
+        return RemessaRequestDTO.builder()
+                .usuarioId(remetenteId)
+                .destinatarioId(destinatarioId)
+                .valor(new BigDecimal("10.00"))
+                .moedaDestino("USD")
+                .build();
+    }
+
+    private void aguardarGravacao() throws InterruptedException {
+        assertTrue(emGravacao.await(5, TimeUnit.SECONDS));
+    }
+
+    private static RemessaErrorType erro(CompletableFuture<Remessa> resultado) {
+        assertTrue(resultado.isCompletedExceptionally());
+        Throwable causa = assertThrows(ExecutionException.class, resultado::get).getCause();
+        return assertInstanceOf(RemessaException.class, causa).getErrorType();
+    }
+
+    @Test
+    @DisplayName("Deve retirar da fila a remessa não gravada no tempo máximo de espera")
+    void deveRetirarDaFilaAposTempoMaximo() throws Exception {
+        CompletableFuture<Remessa> primeira = agrupadorRemessas.submeter(remessa(1L, 2L));
+        aguardarGravacao();
+
+        RemessaException exception = assertThrows(RemessaException.class,
+                () -> agrupadorRemessas.realizar(remessa(3L, 4L)));
+        liberacao.countDown();
+
+        assertAll(
+                () -> assertEquals(RemessaErrorType.FILA_REMESSAS_CHEIA, exception.getErrorType()),
+                () -> assertNotNull(primeira.get(5, TimeUnit.SECONDS)),
+                () -> verify(remessaService, after(300).times(1)).realizarRemessa(any())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve limitar a espera pela remessa em gravação com resultado indeterminado")
+    void deveLimitarEsperaDuranteGravacao() {
+        RemessaException exception = assertThrows(RemessaException.class,
+                () -> agrupadorRemessas.realizar(remessa(1L, 2L)));
+
+        assertEquals(RemessaErrorType.ERRO_PROCESSAMENTO, exception.getErrorType());
+    }
+
+    @Test
+    @DisplayName("Deve concluir com erro as remessas na fila, adiadas e em gravação no encerramento")
+    void deveConcluirRemessasSemResultadoNoEncerramento() throws Exception {
+        CompletableFuture<Remessa> emGravacaoPresa = agrupadorRemessas.submeter(remessa(1L, 2L));
+        CompletableFuture<Remessa> adiada = agrupadorRemessas.submeter(remessa(1L, 5L));
+        aguardarGravacao();
+        CompletableFuture<Remessa> naFila = agrupadorRemessas.submeter(remessa(7L, 8L));
+
+        agrupadorRemessas.encerrar();
+
+        assertAll(
+                () -> assertEquals(RemessaErrorType.ERRO_PROCESSAMENTO, erro(emGravacaoPresa)),
+                () -> assertEquals(RemessaErrorType.ERRO_PROCESSAMENTO, erro(adiada)),
+                () -> assertEquals(RemessaErrorType.FILA_REMESSAS_CHEIA, erro(naFila))
+        );
+    }
+}
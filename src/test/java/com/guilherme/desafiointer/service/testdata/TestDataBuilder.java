@@ -1,6 +1,7 @@
 package com.guilherme.desafiointer.service.testdata;
 
 import com.guilherme.desafiointer.config.constants.AppConstants;
+import com.guilherme.desafiointer.domain.Carteira;
 import com.guilherme.desafiointer.domain.CotacaoHistorico;
 import com.guilherme.desafiointer.domain.Remessa;
 import com.guilherme.desafiointer.domain.TipoUsuario;
@@ -9,6 +10,7 @@ import com.guilherme.desafiointer.dto.integration.bcb.PTAXResponse;
 import com.guilherme.desafiointer.dto.remessa.RemessaRequestDTO;
 import com.guilherme.desafiointer.exception.remessa.RemessaErrorType;
 import com.guilherme.desafiointer.exception.remessa.RemessaException;
+import com.guilherme.desafiointer.service.processor.ContextoRemessa;
 import lombok.experimental.UtilityClass;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -99,6 +101,20 @@ public class TestDataBuilder {
                 .build();
     }
 
+    public static Carteira criarCarteira(Usuario usuario, BigDecimal saldoBRL, BigDecimal saldoUSD) {
+        return Carteira.builder()
+                .id(usuario.getId())
+                .usuario(usuario)
+                .saldoBRL(saldoBRL)
+                .saldoUSD(saldoUSD)
+                .build();
+    }
+
+    public static ContextoRemessa criarContextoRemessa(RemessaRequestDTO dto, Carteira carteiraRemetente,
+                                                       Carteira carteiraDestinatario) {
+        return new ContextoRemessa(dto, carteiraRemetente, carteiraDestinatario);
+    }
+
     public static Remessa criarRemessaProcessada(RemessaRequestDTO dto, Usuario remetente, Usuario destinatario) {
         return Remessa.builder()
                 .id(1L)
@@ -0,0 +1,78 @@
+-- Esquema gerado pelo Hibernate antes das migrações (IDs por IDENTITY,
+-- restrições únicas sem nome, transacoes_diarias sem unicidade por dia),
+-- com dados, para testar o upgrade de bancos que entram no baseline da V1.
+
+create table usuarios (
+    id bigint generated by default as identity,
+    documento varchar(255) not null unique,
+    email varchar(255) not null unique,
+    nome_completo varchar(255) not null,
+    senha varchar(255) not null,
+    tipo_usuario varchar(255) not null check (tipo_usuario in ('PF','PJ')),
+    primary key (id)
+);
+
+create table carteiras (
+    id bigint generated by default as identity,
+    saldobrl numeric(38,2) not null,
+    saldousd numeric(38,2) not null,
+    usuario_id bigint not null unique,
+    primary key (id)
+);
+
+create table cotacoes_historico (
+    id bigint generated by default as identity,
+    data_hora timestamp(6) not null,
+    is_fim_de_semana boolean not null,
+    moeda varchar(255) not null,
+    ultima_atualizacao timestamp(6) not null,
+    valor numeric(10,4) not null,
+    primary key (id)
+);
+
+create table remessas (
+    id bigint generated by default as identity,
+    cotacao numeric(38,2) not null,
+    data_criacao timestamp(6) not null,
+    moeda_destino varchar(255) not null,
+    taxa numeric(38,2) not null,
+    valor numeric(38,2) not null,
+    valor_convertido numeric(38,2) not null,
+    destinatario_id bigint not null,
+    usuario_id bigint not null,
+    primary key (id)
+);
+
+create table transacoes_diarias (
+    id bigint generated by default as identity,
+    data date not null,
+    valor_total numeric(38,2) not null,
+    usuario_id bigint not null,
+    primary key (id)
+);
+
+alter table if exists carteiras add constraint FK_carteiras_usuario foreign key (usuario_id) references usuarios;
+alter table if exists remessas add constraint FK_remessas_destinatario foreign key (destinatario_id) references usuarios;
+alter table if exists remessas add constraint FK_remessas_usuario foreign key (usuario_id) references usuarios;
+alter table if exists transacoes_diarias add constraint FK_transacoes_diarias_usuario foreign key (usuario_id) references usuarios;
+
+insert into usuarios (id, documento, email, nome_completo, senha, tipo_usuario) values
+    (1, '529.982.247-25', 'remetente@baseline.com', 'Remetente Baseline', 'Senha@123', 'PF'),
+    (7, '248.438.034-80', 'destinatario@baseline.com', 'Destinatário Baseline', 'Senha@123', 'PF');
+
+insert into carteiras (id, saldobrl, saldousd, usuario_id) values
+    (1, 1000.00, 0.00, 1),
+    (2, 0.00, 0.00, 7);
+
+insert into remessas (id, cotacao, data_criacao, moeda_destino, taxa, valor, valor_convertido, destinatario_id, usuario_id) values
+    (1, 5.00, TIMESTAMP '2024-01-10 09:00:00', 'USD', 2.00, 100.00, 20.00, 7, 1),
+    (2, 5.00, TIMESTAMP '2024-01-10 15:30:00', 'USD', 1.00, 50.00, 10.00, 7, 1),
+    (3, 1.00, TIMESTAMP '2024-01-20 11:00:00', 'BRL', 0.50, 25.00, 25.00, 7, 1),
+    (120, 5.00, TIMESTAMP '2024-02-01 08:00:00', 'USD', 3.00, 150.00, 30.00, 7, 1);
+
+-- Dois registros do mesmo dia, criados por requisições concorrentes
+insert into transacoes_diarias (id, data, valor_total, usuario_id) values
+    (1, DATE '2024-01-10', 100.00, 1),
+    (2, DATE '2024-01-10', 50.00, 1),
+    (3, DATE '2024-01-20', 25.00, 1),
+    (4, DATE '2024-02-01', 150.00, 1);